@@ -0,0 +1,108 @@
+package com.spring.credit_simulator.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dois resultados JSON do JMH (-rf json): score e bytes alocados por operação
+ * (gc.alloc.rate.norm) de cada benchmark/parâmetro. Com limite informado, termina com
+ * código 1 se algum score piorar mais que o limite percentual.
+ * <p>
+ * Uso: mvn -Pbenchmark test-compile exec:exec
+ * -Djmh.main=com.spring.credit_simulator.benchmark.BenchmarkComparison
+ * -Djmh.args="baseline.json target/jmh-result.json 10"
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BenchmarkComparison <baseline.json> <atual.json> [limite %]");
+            System.exit(2);
+        }
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+        double limitPercent = args.length > 2 ? Double.parseDouble(args[2]) : Double.NaN;
+        int regressions = 0;
+
+        System.out.printf("%-75s %14s %14s %9s %12s %12s%n",
+                "Benchmark", "Baseline", "Atual", "Delta", "B/op base", "B/op atual");
+
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-75s %14s %14.3f %9s%n", entry.getKey(), "-", score(after), "novo");
+                continue;
+            }
+
+            // Modos de tempo: maior é pior; modo throughput: menor é pior
+            double delta = (score(after) - score(before)) / score(before) * 100;
+            double worsening = isThroughput(after) ? -delta : delta;
+            boolean regression = !Double.isNaN(limitPercent) && worsening > limitPercent;
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%% %12.1f %12.1f %s%s%n",
+                    entry.getKey(), score(before), score(after), delta,
+                    allocation(before), allocation(after), unit(after), regression ? "  <-- REGRESSÃO" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) pioraram mais de %.1f%%%n", regressions, limitPercent);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.get("benchmark").asText()
+                .replace("com.spring.credit_simulator.benchmark.", ""));
+
+        JsonNode params = result.get("params");
+        if (params != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+        }
+        return key.toString();
+    }
+
+    private static double score(JsonNode result) {
+        return result.get("primaryMetric").get("score").asDouble();
+    }
+
+    private static String unit(JsonNode result) {
+        return result.get("primaryMetric").get("scoreUnit").asText();
+    }
+
+    private static boolean isThroughput(JsonNode result) {
+        return "thrpt".equals(result.get("mode").asText());
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? Double.NaN : metric.get("score").asDouble();
+    }
+}
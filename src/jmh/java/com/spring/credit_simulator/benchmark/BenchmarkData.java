@@ -0,0 +1,58 @@
+package com.spring.credit_simulator.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Dados variados e determinísticos compartilhados pelos benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Fora do Spring o logback usa DEBUG por padrão; o benchmark mede com INFO, como em produção.
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    static SimulationRequest request(int seed) {
+        return SimulationRequest.builder()
+                .loanAmount(new BigDecimal(10000 + seed % 90000).setScale(2))
+                .birthDate(LocalDate.now().minusYears(20 + seed % 60))
+                .loanTermMonths(12 + seed % 348)
+                .build();
+    }
+
+    static BatchSimulationRequest batch(int size) {
+        return BatchSimulationRequest.builder()
+                .simulations(IntStream.range(0, size)
+                        .mapToObj(BenchmarkData::request)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    static SimulationResponse response(int seed) {
+        return SimulationResponse.builder()
+                .loanAmount(new BigDecimal("50000.00").add(BigDecimal.valueOf(seed, 2)))
+                .birthDate(LocalDate.of(1990, 5, 15).minusDays(seed))
+                .clientAge(35)
+                .loanTermMonths(24)
+                .annualInterestRate(new BigDecimal("3.0"))
+                .monthlyPayment(new BigDecimal("2149.06"))
+                .totalAmount(new BigDecimal("51577.44"))
+                .totalInterest(new BigDecimal("1577.44"))
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.spring.credit_simulator.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * (De)serialização Jackson dos DTOs com a mesma configuração do ObjectMapper do Spring Boot
+ * (application.properties + padrões do Boot).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private ObjectMapper mapper;
+    private SimulationResponse response;
+    private List<SimulationResponse> responses;
+    private byte[] requestJson;
+    private byte[] batchRequestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        responses = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(BenchmarkData::response)
+                .collect(Collectors.toList());
+        response = responses.get(0);
+        requestJson = mapper.writeValueAsBytes(BenchmarkData.request(0));
+        batchRequestJson = mapper.writeValueAsBytes(BenchmarkData.batch(BATCH_SIZE));
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeBatchResponses() throws Exception {
+        return mapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public SimulationRequest deserializeRequest() throws Exception {
+        return mapper.readValue(requestJson, SimulationRequest.class);
+    }
+
+    @Benchmark
+    public BatchSimulationRequest deserializeBatchRequest() throws Exception {
+        return mapper.readValue(batchRequestJson, BatchSimulationRequest.class);
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.credit_simulator.benchmark;
+
+import com.spring.credit_simulator.util.LoanCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do cálculo da parcela ao longo da faixa de prazos (6 a 360 meses): a potência
+ * (1 + r)^n domina e cresce com o prazo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanCalculatorBenchmark {
+
+    @Param({"6", "24", "60", "120", "240", "360"})
+    private int termMonths;
+
+    private final BigDecimal loanAmount = new BigDecimal("50000.00");
+    private final BigDecimal annualInterestRate = new BigDecimal("3.0");
+
+    @Benchmark
+    public BigDecimal calculateMonthlyPayment() {
+        return LoanCalculator.calculateMonthlyPayment(loanAmount, annualInterestRate, termMonths);
+    }
+}
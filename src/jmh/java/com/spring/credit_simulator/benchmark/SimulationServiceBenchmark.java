@@ -0,0 +1,89 @@
+package com.spring.credit_simulator.benchmark;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.service.SimulationMetrics;
+import com.spring.credit_simulator.service.SimulationService;
+import com.spring.credit_simulator.service.SimulationServiceFixture;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimulationService montado como em produção (pool do tamanho dos cores, registry Prometheus,
+ * journal, gravação e armazém analítico desabilitados): simulação individual e batch síncrono em vários tamanhos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        SimulationService service;
+        ExecutorService executorService;
+        SimulationRequest request;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchmarkData.quietLogging();
+            SimulationProperties properties = new SimulationProperties();
+            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            SimulationMetrics metrics = new SimulationMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+            service = SimulationServiceFixture.with(executorService, properties, metrics).build();
+            request = BenchmarkData.request(0);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Batches até o limite do caminho síncrono (100); acima disso a resposta é só o aceite.
+     * Cada execução usa um id novo, já que o agregador recusa ids repetidos.
+     */
+    @State(Scope.Thread)
+    public static class BatchState {
+
+        @Param({"10", "50", "100"})
+        int batchSize;
+
+        BatchSimulationRequest batch;
+        String idPrefix;
+        long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            batch = BenchmarkData.batch(batchSize);
+            idPrefix = UUID.randomUUID() + "-";
+        }
+
+        BatchSimulationRequest next() {
+            batch.setBatchId(idPrefix + sequence++);
+            return batch;
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SimulationResponse simulate(ServiceState state) {
+        return state.service.simulate(state.request);
+    }
+
+    @Benchmark
+    public Object processSyncBatch(ServiceState state, BatchState batch) {
+        return state.service.processBatch(batch.next());
+    }
+}
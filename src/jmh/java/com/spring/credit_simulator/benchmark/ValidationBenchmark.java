@@ -0,0 +1,73 @@
+package com.spring.credit_simulator.benchmark;
+
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.validation.SimulationRequestValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Validação dos itens de um batch válido: cascata @Valid do Hibernate Validator (caminho anterior)
+ * vs SimulationRequestValidator (caminho de @ValidSimulations).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int batchSize;
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private List<SimulationRequest> simulations;
+    private Cascade cascade;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        simulations = IntStream.range(0, batchSize)
+                .mapToObj(BenchmarkData::request)
+                .collect(Collectors.toList());
+        cascade = new Cascade(simulations);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Cascade>> hibernateCascade() {
+        return validator.validate(cascade);
+    }
+
+    @Benchmark
+    public List<SimulationRequestValidator.Violation> precompiled() {
+        return SimulationRequestValidator.validateAll(simulations);
+    }
+
+    public static class Cascade {
+
+        @Valid
+        final List<SimulationRequest> simulations;
+
+        Cascade(List<SimulationRequest> simulations) {
+            this.simulations = simulations;
+        }
+    }
+}
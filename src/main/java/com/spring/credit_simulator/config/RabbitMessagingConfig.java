@@ -0,0 +1,100 @@
+package com.spring.credit_simulator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Topologia RabbitMQ para batches distribuídos: N filas de blocos (uma por partição) e
+ * uma fila de resultados por nó, para que cada resultado volte ao nó dono do batch.
+ */
+@Configuration
+@ConditionalOnProperty(name = "simulation.messaging.mode", havingValue = "rabbit")
+public class RabbitMessagingConfig {
+
+    public static final String CHUNKS_EXCHANGE = "simulation.batch.chunks";
+    public static final String RESULTS_EXCHANGE = "simulation.batch.results";
+
+    @Bean
+    public DirectExchange batchChunksExchange() {
+        return new DirectExchange(CHUNKS_EXCHANGE);
+    }
+
+    @Bean
+    public DirectExchange batchResultsExchange() {
+        return new DirectExchange(RESULTS_EXCHANGE);
+    }
+
+    @Bean
+    public Declarables batchChunkQueues(SimulationProperties properties, DirectExchange batchChunksExchange) {
+        List<Declarable> declarables = new ArrayList<>();
+
+        for (int partition = 0; partition < properties.getMessaging().getPartitions(); partition++) {
+            Queue queue = QueueBuilder.durable(CHUNKS_EXCHANGE + "." + partition).build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(batchChunksExchange).with(String.valueOf(partition)));
+        }
+
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public String[] batchChunkQueueNames(SimulationProperties properties) {
+        return IntStream.range(0, properties.getMessaging().getPartitions())
+                .mapToObj(partition -> CHUNKS_EXCHANGE + "." + partition)
+                .toArray(String[]::new);
+    }
+
+    @Bean
+    public Queue batchResultQueue(SimulationProperties properties) {
+        return QueueBuilder.durable(RESULTS_EXCHANGE + "." + properties.getMessaging().getNodeId()).build();
+    }
+
+    @Bean
+    public Binding batchResultBinding(Queue batchResultQueue, DirectExchange batchResultsExchange,
+                                      SimulationProperties properties) {
+        return BindingBuilder.bind(batchResultQueue).to(batchResultsExchange)
+                .with(properties.getMessaging().getNodeId());
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    /**
+     * Prefetch baixo distribui blocos de forma justa entre consumidores; concorrência define
+     * quantos blocos cada réplica processa em paralelo.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchChunkListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            SimulationProperties properties) {
+
+        SimulationProperties.Messaging messaging = properties.getMessaging();
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(messaging.getPrefetch());
+        factory.setConcurrentConsumers(messaging.getConsumerConcurrency());
+        factory.setMaxConcurrentConsumers(messaging.getMaxConsumerConcurrency());
+        return factory;
+    }
+}
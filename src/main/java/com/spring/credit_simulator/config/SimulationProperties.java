@@ -0,0 +1,396 @@
+package com.spring.credit_simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros ajustáveis do simulador (prefixo "simulation" no application.properties).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "simulation")
+public class SimulationProperties {
+
+    private final Batch batch = new Batch();
+    private final Journal journal = new Journal();
+    private final Messaging messaging = new Messaging();
+    private final Logging logging = new Logging();
+    private final ServerTiming serverTiming = new ServerTiming();
+    private final Warmup warmup = new Warmup();
+    private final MicroBatch microBatch = new MicroBatch();
+    private final Cet cet = new Cet();
+    private final Indexed indexed = new Indexed();
+    private final Scenarios scenarios = new Scenarios();
+    private final Recording recording = new Recording();
+    private final Analytics analytics = new Analytics();
+    private final HttpCache httpCache = new HttpCache();
+    private final Csv csv = new Csv();
+    private final Deadline deadline = new Deadline();
+    private final Broker broker = new Broker();
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Quantidade de simulações processadas por tarefa nos batches assíncronos.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Tempo em que o resumo de um batch concluído continua disponível.
+         */
+        private long summaryRetentionMs = 900_000;
+
+        /**
+         * Máximo de resumos de batches concluídos em memória (cerca de 8 KB cada, pelo sketch de
+         * quantis); os mais antigos saem primeiro.
+         */
+        private int maxRetainedSummaries = 1_000;
+    }
+
+    @Data
+    public static class Journal {
+
+        /**
+         * Habilita o journal de checkpoints em disco para retomar batches após reinício.
+         */
+        private boolean enabled = false;
+
+        private String directory = "data/journal";
+
+        /**
+         * Intervalo do fsync em grupo para registros de blocos concluídos.
+         */
+        private long flushIntervalMs = 200;
+
+        /**
+         * Batches concluídos desde a última compactação que disparam a reescrita do arquivo em
+         * execução (na abertura ele é sempre compactado).
+         */
+        private int compactAfterCompletedBatches = 100;
+    }
+
+    @Data
+    public static class Messaging {
+
+        /**
+         * "local" processa blocos no pool de threads do próprio nó; "rabbit" distribui entre réplicas.
+         */
+        private String mode = "local";
+
+        /**
+         * Identifica a fila de resultados deste nó; deve ser estável entre reinícios.
+         */
+        private String nodeId = "local";
+
+        private int partitions = 8;
+        private int prefetch = 1;
+        private int consumerConcurrency = 2;
+        private int maxConsumerConcurrency = 4;
+    }
+
+    @Data
+    public static class Logging {
+
+        /**
+         * Uma simulação a cada N é registrada em INFO (0 desabilita a amostragem); o detalhe
+         * de cada item fica em DEBUG.
+         */
+        private int sampleRate = 1000;
+
+        /**
+         * Capacidade do buffer do appender assíncrono; cheio, descarta eventos em vez de bloquear.
+         */
+        private int asyncQueueSize = 8192;
+    }
+
+    @Data
+    public static class ServerTiming {
+
+        /**
+         * Permite que requisições amostradas peçam o detalhamento por etapa no header Server-Timing.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Header de requisição que ativa a medição (qualquer valor).
+         */
+        private String header = "X-Server-Timing";
+    }
+
+    @Data
+    public static class Warmup {
+
+        /**
+         * Executa o aquecimento do JIT antes de a aplicação se declarar pronta (readiness).
+         */
+        private boolean enabled = true;
+
+        /**
+         * Simulações sintéticas executadas no aquecimento.
+         */
+        private int iterations = 10_000;
+
+        /**
+         * Tempo máximo do aquecimento; esgotado, a aplicação fica pronta mesmo sem completar as iterações.
+         */
+        private long budgetMs = 10_000;
+    }
+
+    @Data
+    public static class MicroBatch {
+
+        /**
+         * Agrupa simulações individuais concorrentes num único passo de cálculo.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Itens por passo; limita a espera de quem aguarda o passo em andamento terminar.
+         */
+        private int maxSize = 64;
+    }
+
+    @Data
+    public static class Cet {
+
+        /**
+         * Calcula o CET (IOF, tarifa e seguro) em cada simulação.
+         */
+        private boolean enabled = true;
+
+        /**
+         * IOF diário em % sobre a amortização de cada parcela (pessoa física: 0,0082% ao dia).
+         */
+        private double iofDailyRate = 0.0082;
+
+        /**
+         * IOF adicional em % sobre o valor do empréstimo.
+         */
+        private double iofAdditionalRate = 0.38;
+
+        /**
+         * Limite de dias do IOF diário por parcela.
+         */
+        private int iofMaxDays = 365;
+
+        /**
+         * Tarifa de cadastro em R$, descontada do valor liberado.
+         */
+        private BigDecimal fee = BigDecimal.ZERO;
+
+        /**
+         * Seguro prestamista em % do valor do empréstimo.
+         */
+        private double insuranceRate = 0;
+    }
+
+    @Data
+    public static class Indexed {
+
+        /**
+         * Arquivo de cada curva de projeção por nome do índice (classpath: ou file:); uma linha
+         * "mes,taxa" por mês, com a taxa mensal em %.
+         */
+        private Map<String, String> curves = new LinkedHashMap<>(Map.of(
+                "CDI", "classpath:curves/cdi.csv",
+                "IPCA", "classpath:curves/ipca.csv"));
+
+        /**
+         * Índice usado quando a requisição não informa um.
+         */
+        private String defaultIndex = "CDI";
+
+        /**
+         * Intervalo de verificação dos arquivos (file:) para recarregar a curva alterada; 0 desabilita.
+         */
+        private long refreshIntervalMs = 60_000;
+    }
+
+    @Data
+    public static class Scenarios {
+
+        /**
+         * Trajetórias de taxa quando a requisição não informa; o máximo limita o custo por requisição.
+         */
+        private int defaultPaths = 10_000;
+        private int maxPaths = 200_000;
+
+        /**
+         * Volatilidade anual padrão do índice, em % do seu nível.
+         */
+        private double defaultVolatility = 25.0;
+
+        /**
+         * Tempo máximo por requisição; esgotado, a resposta traz só as trajetórias concluídas.
+         */
+        private long timeBudgetMs = 2_000;
+
+        /**
+         * Trajetórias por tarefa do pool; cada bloco tem o seu gerador derivado da semente.
+         */
+        private int blockSize = 1_024;
+    }
+
+    @Data
+    public static class Recording {
+
+        /**
+         * Grava cada simulação concluída no banco embarcado, fora do caminho da requisição.
+         */
+        private boolean enabled = false;
+
+        private String url = "jdbc:h2:file:./data/simulations;DB_CLOSE_ON_EXIT=FALSE";
+
+        /**
+         * Capacidade do buffer em memória; cheio, o registro é descartado (ou espera, ver offerTimeoutMs).
+         */
+        private int bufferSize = 65_536;
+
+        /**
+         * Registros por executeBatch/commit; o escritor grava ao juntar esse tanto ou a cada flushIntervalMs.
+         */
+        private int flushSize = 1_000;
+        private long flushIntervalMs = 200;
+
+        /**
+         * Espera máxima por vaga no buffer cheio; 0 descarta na hora sem segurar a thread do pool.
+         */
+        private long offerTimeoutMs = 0;
+    }
+
+    @Data
+    public static class Analytics {
+
+        /**
+         * Mantém as simulações recentes em colunas na memória para as consultas agregadas.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Duração de cada partição; só as últimas retainedWindows partições ficam na memória.
+         */
+        private int windowMinutes = 60;
+        private int retainedWindows = 24;
+
+        /**
+         * Vazão de pico esperada; a capacidade da partição é essa vazão vezes a duração da janela.
+         */
+        private long expectedRowsPerSecond = 50;
+
+        /**
+         * Linhas por partição (colunas alocadas ao abrir a janela), quando positivo substitui a
+         * capacidade derivada da vazão; cheia, a simulação não entra.
+         */
+        private int partitionCapacity = 0;
+
+        /**
+         * Linhas por tarefa da varredura paralela.
+         */
+        private int scanBlockSize = 16_384;
+    }
+
+    @Data
+    public static class HttpCache {
+
+        /**
+         * ETag e Cache-Control nos GET de simulação, com 304 para If-None-Match sem recalcular.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Teto do max-age: a resposta expira no próximo aniversário do cliente ou neste prazo,
+         * o que vier antes, para que uma mudança de política chegue aos caches.
+         */
+        private long maxAgeSeconds = 86_400;
+    }
+
+    @Data
+    public static class Csv {
+
+        /**
+         * Linhas por bloco validado e simulado no pool; a ordem do arquivo é mantida na saída.
+         */
+        private int chunkSize = 2_000;
+
+        /**
+         * Blocos lidos e ainda não escritos por upload; com chunkSize, limita a memória do batch.
+         */
+        private int maxInFlightChunks = 4;
+
+        /**
+         * Buffer de leitura do upload; uma linha maior que ele é recusada.
+         */
+        private int readBufferSize = 65_536;
+
+        /**
+         * Diretório dos CSVs de resultado gravados em arquivo (um por batch).
+         */
+        private String resultDirectory = "data/csv-results";
+    }
+
+    @Data
+    public static class Deadline {
+
+        /**
+         * Header com o prazo da requisição em milissegundos, normalmente o timeout do próprio cliente.
+         */
+        private String header = "X-Request-Timeout-Ms";
+
+        /**
+         * Prazo das requisições sem o header, o mesmo de spring.mvc.async.request-timeout; 0 desliga
+         * (sem prazo).
+         */
+        private long defaultTimeoutMs = 30_000;
+
+        /**
+         * Teto para o prazo pedido no header.
+         */
+        private long maxTimeoutMs = 60_000;
+
+        /**
+         * Prazo padrão e teto dos endpoints CSV (/api/v1/simulations/batch/csv), feitos para arquivos
+         * de milhões de linhas; 0 desliga (sem prazo, o header ainda pode declarar um).
+         */
+        private long csvTimeoutMs = 0;
+    }
+
+    @Data
+    public static class Broker {
+
+        /**
+         * Espera máxima por uma publicação no broker; acima disso conta como falha.
+         */
+        private long publishTimeoutMs = 2_000;
+
+        /**
+         * Falhas seguidas que abrem o circuito.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * Tempo com o circuito aberto antes de testar o broker com uma nova publicação.
+         */
+        private long openDurationMs = 10_000;
+
+        /**
+         * Blocos simulados no pool local com o circuito aberto; o excedente aguarda a volta do broker.
+         */
+        private int localQueueCapacity = 16;
+
+        /**
+         * Blocos aguardando a volta do broker; com a fila cheia, novos batches recebem 503.
+         */
+        private int maxBacklogChunks = 10_000;
+
+        /**
+         * Intervalo da reconciliação, que republica os blocos em espera quando o broker volta.
+         */
+        private long reconcileIntervalMs = 1_000;
+    }
+}
@@ -1,5 +1,7 @@
 package com.spring.credit_simulator.config;
 
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.util.concurrent.ExecutorService;
@@ -16,4 +18,12 @@ public class ThreadPoolConfig {
     public ExecutorService simulationExecutorService() {
         return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
     }
+
+    /**
+     * Gauges de fila e threads ativas do pool (executor.queued, executor.active, ...).
+     */
+    @Bean
+    public ExecutorServiceMetrics simulationExecutorMetrics(ExecutorService simulationExecutorService) {
+        return new ExecutorServiceMetrics(simulationExecutorService, "simulation", Tags.empty());
+    }
 }
\ No newline at end of file
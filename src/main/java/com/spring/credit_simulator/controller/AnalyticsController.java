@@ -0,0 +1,62 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.dto.AnalyticsResponse;
+import com.spring.credit_simulator.service.SimulationAnalytics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Consultas agregadas sobre as simulações recentes, respondidas pelo armazém colunar em memória.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Análise de Simulações", description = "Agregados das simulações recentes por faixa, prazo ou hora")
+public class AnalyticsController {
+
+    private final SimulationAnalytics simulationAnalytics;
+
+    @GetMapping("/simulations")
+    @Operation(
+            summary = "Agregar simulações recentes",
+            description = "Quantidade, participação, valor financiado, parcela média e juros por grupo. " +
+                    "Sem simulation.analytics.enabled a resposta vem sem grupos."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Agregados calculados com sucesso",
+                    content = @Content(schema = @Schema(implementation = AnalyticsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Agrupamento, faixa etária ou período inválido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<AnalyticsResponse> aggregate(
+            @Parameter(description = "AGE_TIER, TERM ou HOUR")
+            @RequestParam(defaultValue = "AGE_TIER") String groupBy,
+            @Parameter(description = "Filtra uma faixa etária (YOUNG, ADULT, MIDDLE_AGE, SENIOR)")
+            @RequestParam(required = false) String ageTier,
+            @Parameter(description = "Prazo mínimo em meses")
+            @RequestParam(required = false) Integer minTerm,
+            @Parameter(description = "Prazo máximo em meses")
+            @RequestParam(required = false) Integer maxTerm,
+            @Parameter(description = "Últimos N minutos; padrão: toda a janela retida")
+            @RequestParam(required = false) Integer lastMinutes) {
+
+        return ResponseEntity.ok(simulationAnalytics.query(groupBy, ageTier, minTerm, maxTerm, lastMinutes));
+    }
+}
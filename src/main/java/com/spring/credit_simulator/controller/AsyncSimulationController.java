@@ -0,0 +1,97 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.dto.*;
+import com.spring.credit_simulator.service.SimulationMicroBatcher;
+import com.spring.credit_simulator.service.SimulationService;
+import com.spring.credit_simulator.util.StageTimings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante dos endpoints de simulação (Servlet async): a thread do Tomcat é
+ * devolvida ao pool enquanto o cálculo roda no pool de simulação, e a resposta é escrita
+ * quando o CompletableFuture completa. Mesmo contrato JSON de SimulationController.
+ */
+@RestController
+@RequestMapping("/api/v1/async/simulations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Simulações de Crédito (não bloqueante)",
+        description = "Mesmos endpoints de simulação sem reter a thread da requisição durante o cálculo")
+public class AsyncSimulationController {
+
+    private final SimulationService simulationService;
+    private final SimulationMicroBatcher simulationMicroBatcher;
+
+    @PostMapping
+    @Operation(
+            summary = "Realizar simulação de crédito (não bloqueante)",
+            description = "Calcula parcelas, juros e valor total liberando a thread da requisição durante o cálculo"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Simulação realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = SimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos fornecidos",
+                    content = @Content
+            )
+    })
+    public CompletableFuture<ResponseEntity<SimulationResponse>> simulateLoan(
+            @Valid @RequestBody SimulationRequest request) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        return simulationMicroBatcher.simulateAsync(request)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Realizar múltiplas simulações (não bloqueante)",
+            description = "Batches pequenos (até 100) são compostos sem bloquear threads; " +
+                    "batches grandes são aceitos para processamento assíncrono."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch pequeno processado com sucesso",
+                    content = @Content(schema = @Schema(implementation = SimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Batch grande aceito para processamento assíncrono",
+                    content = @Content(schema = @Schema(implementation = BatchSimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos no batch",
+                    content = @Content
+            )
+    })
+    public CompletableFuture<ResponseEntity<?>> simulateBatch(
+            @Valid @RequestBody BatchSimulationRequest batchRequest) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        log.info("Recebido batch {} com {} simulações (não bloqueante)",
+                batchRequest.getBatchId(), batchRequest.getTotalSimulations());
+
+        return simulationService.processBatchAsync(batchRequest)
+                .thenApply(result -> SimulationController.toBatchResponse(batchRequest.getBatchId(), result));
+    }
+}
@@ -0,0 +1,131 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.dto.CsvBatchResponse;
+import com.spring.credit_simulator.service.CsvBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Batches em CSV sem o limite de 10.000 itens do JSON: o upload é lido em fluxo e o resultado
+ * volta em fluxo na mesma resposta ou fica em arquivo para download.
+ */
+@RestController
+@RequestMapping("/api/v1/simulations/batch/csv")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Batch em CSV", description = "Batches de qualquer tamanho, lidos e respondidos em fluxo")
+public class CsvBatchController {
+
+    static final String TEXT_CSV = "text/csv";
+    static final String BATCH_ID_HEADER = SimulationController.BATCH_ID_HEADER;
+    private static final MediaType TEXT_CSV_UTF8 = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final CsvBatchService csvBatchService;
+
+    /**
+     * O resultado é escrito enquanto o upload ainda chega: o cliente precisa ler a resposta
+     * durante o envio (curl lê); senão, use /file.
+     */
+    @PostMapping(consumes = TEXT_CSV, produces = TEXT_CSV)
+    @Operation(
+            summary = "Simular batch em CSV (resposta em fluxo)",
+            description = "Colunas loanAmount,birthDate,loanTermMonths (cabeçalho opcional). Devolve um CSV " +
+                    "com uma linha de resultado por linha do arquivo, na mesma ordem; linhas inválidas vêm " +
+                    "com a mensagem na coluna error"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "CSV de resultado, escrito à medida que os blocos são simulados",
+                    content = @Content(mediaType = TEXT_CSV)
+            )
+    })
+    public void simulateCsv(InputStream body, HttpServletResponse response) throws IOException {
+        String batchId = UUID.randomUUID().toString();
+        log.info("Recebido batch CSV {}", batchId);
+
+        response.setContentType(TEXT_CSV_UTF8.toString());
+        response.setHeader(BATCH_ID_HEADER, batchId);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachment(batchId).toString());
+        csvBatchService.process(batchId, body, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/file", consumes = TEXT_CSV)
+    @Operation(
+            summary = "Simular batch em CSV (resultado em arquivo)",
+            description = "Mesmo processamento, gravando o CSV de resultado no servidor; a resposta traz as " +
+                    "contagens e o endereço para download"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Batch processado e resultado gravado",
+                    content = @Content(schema = @Schema(implementation = CsvBatchResponse.class))
+            )
+    })
+    public ResponseEntity<CsvBatchResponse> simulateCsvToFile(InputStream body) throws IOException {
+        CsvBatchResponse result = csvBatchService.processToFile(body);
+        URI location = URI.create("/api/v1/simulations/batch/csv/" + result.getBatchId());
+        result.setResultUrl(location.toString());
+
+        return ResponseEntity.created(location).body(result);
+    }
+
+    @GetMapping(value = "/{batchId}", produces = TEXT_CSV)
+    @Operation(
+            summary = "Baixar resultado de batch em CSV",
+            description = "CSV de resultado gravado por /file"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "CSV de resultado",
+                    content = @Content(mediaType = TEXT_CSV)
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Resultado não encontrado",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<Resource> downloadResult(
+            @Parameter(description = "ID do batch retornado por /file")
+            @PathVariable String batchId) {
+
+        return csvBatchService.resultFile(batchId)
+                .map(file -> ResponseEntity.ok()
+                        .contentType(TEXT_CSV_UTF8)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, attachment(batchId).toString())
+                        .<Resource>body(new FileSystemResource(file)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ContentDisposition attachment(String batchId) {
+        return ContentDisposition.attachment().filename(batchId + ".csv").build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.service.SimulationMetrics;
+import com.spring.credit_simulator.util.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prazo por requisição: o header configurado (simulation.deadline.header, em ms, limitado por
+ * max-timeout-ms) ou default-timeout-ms. O prazo fica disponível ao serviço e às tarefas do pool
+ * por {@link RequestDeadline#current()}. Nos endpoints não bloqueantes, o timeout assíncrono passa
+ * a ser o prazo e um erro que o container reporte na requisição também a cancela. O Tomcat não
+ * avisa quando o cliente fecha a conexão antes da resposta; nesse caso só o prazo cancela.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final String INTERCEPTOR_KEY = RequestDeadlineFilter.class.getName();
+    private static final String CSV_PATH = "/api/v1/simulations/batch/csv";
+
+    private final SimulationProperties properties;
+    private final SimulationMetrics metrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long timeoutMs = timeoutMillis(request);
+        if (timeoutMs <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline deadline = new RequestDeadline(TimeUnit.MILLISECONDS.toNanos(timeoutMs),
+                metrics::recordDeadlineExceeded);
+        WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(INTERCEPTOR_KEY,
+                new DeadlineInterceptor(deadline));
+
+        RequestDeadline.bind(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.unbind();
+        }
+    }
+
+    /**
+     * Header inválido ou ausente cai no padrão, como uma requisição sem prazo declarado. Os
+     * endpoints CSV usam csv-timeout-ms como padrão e teto, e não os limites dos endpoints JSON.
+     */
+    long timeoutMillis(HttpServletRequest request) {
+        SimulationProperties.Deadline config = properties.getDeadline();
+        boolean csv = request.getRequestURI().startsWith(request.getContextPath() + CSV_PATH);
+        long defaultMs = csv ? config.getCsvTimeoutMs() : config.getDefaultTimeoutMs();
+        long maxMs = csv ? config.getCsvTimeoutMs() : config.getMaxTimeoutMs();
+
+        String header = request.getHeader(config.getHeader());
+        if (header != null) {
+            try {
+                long requested = Long.parseLong(header.trim());
+                if (requested > 0) {
+                    return maxMs > 0 ? Math.min(requested, maxMs) : requested;
+                }
+            } catch (NumberFormatException e) {
+                // segue com o padrão
+            }
+        }
+        return defaultMs;
+    }
+
+    /**
+     * Liga o ciclo de vida do DeferredResult (usado pelos CompletableFuture dos endpoints não
+     * bloqueantes) ao prazo da requisição.
+     */
+    private static final class DeadlineInterceptor implements DeferredResultProcessingInterceptor {
+
+        private final RequestDeadline deadline;
+
+        private DeadlineInterceptor(RequestDeadline deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, DeferredResult<T> deferredResult) {
+            if (request instanceof AsyncWebRequest asyncRequest) {
+                asyncRequest.setTimeout(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos())));
+            }
+        }
+
+        @Override
+        public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+            deadline.cancel(RequestDeadline.EXPIRED);
+            deferredResult.setErrorResult(deadline.exceeded());
+            return false;
+        }
+
+        @Override
+        public <T> boolean handleError(NativeWebRequest request, DeferredResult<T> deferredResult, Throwable t) {
+            deadline.cancel(RequestDeadline.DISCONNECTED);
+            return true;
+        }
+    }
+}
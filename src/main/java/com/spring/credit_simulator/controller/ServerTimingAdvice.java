@@ -0,0 +1,66 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.util.StageTimings;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Checkpoints de desserialização, validação e serialização em torno dos conversores de mensagem.
+ * A validação vai do fim da leitura do corpo até a entrada no controller (ou até a resposta de erro).
+ */
+@ControllerAdvice
+public class ServerTimingAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter,
+                                           Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.start(StageTimings.Stage.DESERIALIZATION);
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.stop(StageTimings.Stage.DESERIALIZATION);
+            timings.start(StageTimings.Stage.VALIDATION);
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.stop(StageTimings.Stage.VALIDATION);
+            timings.start(StageTimings.Stage.SERIALIZATION);
+        }
+        return body;
+    }
+}
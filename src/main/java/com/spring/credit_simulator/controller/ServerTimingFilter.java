@@ -0,0 +1,76 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.util.StageTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Ativa a medição por etapa para requisições que enviam o header configurado
+ * (simulation.server-timing.header) e devolve o resultado em Server-Timing.
+ * A resposta é bufferizada apenas nessas requisições, para que o header inclua a serialização.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+    private final SimulationProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        StageTimings timings = (StageTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+        if (timings == null) {
+            if (!isRequested(request)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            timings = new StageTimings();
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+            response = new ContentCachingResponseWrapper(response);
+        }
+
+        StageTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StageTimings.unbind();
+        }
+
+        // Endpoints não bloqueantes concluem no dispatch assíncrono, que passa por este filtro de novo
+        if (!request.isAsyncStarted()) {
+            timings.stop(StageTimings.Stage.SERIALIZATION);
+
+            ContentCachingResponseWrapper wrapper =
+                    WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (wrapper != null) {
+                wrapper.setHeader(SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private boolean isRequested(HttpServletRequest request) {
+        SimulationProperties.ServerTiming config = properties.getServerTiming();
+        return config.isEnabled() && request.getHeader(config.getHeader()) != null;
+    }
+}
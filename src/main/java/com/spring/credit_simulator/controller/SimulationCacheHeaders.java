@@ -0,0 +1,136 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.service.SimulationMetrics;
+import com.spring.credit_simulator.util.AgeTier;
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache HTTP condicional das simulações prefixadas: o resultado só depende do valor, da data de
+ * nascimento, do prazo, da idade na data corrente e da política (taxas por faixa e configuração
+ * do CET). O ETag forte é o hash desses dados e o max-age vai até a próxima virada de idade
+ * (limitado por {@code maxAgeSeconds}). Um If-None-Match que bate responde 304 antes do cálculo.
+ */
+@Component
+public class SimulationCacheHeaders {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 120;
+
+    private final SimulationProperties.HttpCache config;
+    private final SimulationMetrics metrics;
+
+    /**
+     * Hash das taxas por faixa e da configuração do CET; muda a cada alteração de política.
+     */
+    @Getter
+    private final String policyVersion;
+
+    public SimulationCacheHeaders(SimulationProperties properties, SimulationMetrics metrics) {
+        this.config = properties.getHttpCache();
+        this.metrics = metrics;
+
+        StringBuilder policy = new StringBuilder();
+        for (AgeTier tier : AgeTier.values()) {
+            policy.append(tier.name()).append(':').append(tier.getMaxAge()).append(':')
+                    .append(tier.getAnnualInterestRate().toPlainString()).append(';');
+        }
+        policy.append(properties.getCet());
+        this.policyVersion = HEX.formatHex(sha256(policy.toString()), 0, 8);
+    }
+
+    /**
+     * Responde 304 (sem chamar {@code calculation}) quando o If-None-Match bate com o ETag das
+     * entradas; senão calcula e devolve 200 com ETag e Cache-Control. Entradas com idade fora dos
+     * limites seguem sem cabeçalhos, para a validação do serviço recusar.
+     */
+    public <T> ResponseEntity<T> respond(BigDecimal loanAmount, LocalDate birthDate, List<Integer> terms,
+                                         String ifNoneMatch, Supplier<T> calculation) {
+        LocalDate today = LocalDate.now();
+        int age = Period.between(birthDate, today).getYears();
+        if (!config.isEnabled() || age < MIN_AGE || age > MAX_AGE) {
+            return ResponseEntity.ok(calculation.get());
+        }
+
+        String etag = etag(loanAmount, birthDate, age, terms);
+        CacheControl cacheControl = CacheControl
+                .maxAge(secondsUntilNextAge(birthDate, age), TimeUnit.SECONDS)
+                .cachePublic();
+
+        if (matches(ifNoneMatch, etag)) {
+            metrics.recordNotModified();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(calculation.get());
+    }
+
+    /**
+     * Entradas como chegaram (o valor vai para a resposta com a mesma escala), idade e política.
+     */
+    String etag(BigDecimal loanAmount, LocalDate birthDate, int age, List<Integer> terms) {
+        String canonical = policyVersion + '|' + loanAmount.toPlainString() + '|' + birthDate + '|' + age + '|' + terms;
+        return '"' + HEX.formatHex(sha256(canonical), 0, 16) + '"';
+    }
+
+    /**
+     * Até a meia-noite (fuso do servidor) do próximo aniversário; 29/02 vira 28/02 em ano comum,
+     * o que só antecipa a expiração.
+     */
+    long secondsUntilNextAge(LocalDate birthDate, int age) {
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime rollover = birthDate.plusYears(age + 1L).atStartOfDay(ZoneId.systemDefault());
+        long seconds = Math.max(1, Duration.between(now, rollover).getSeconds());
+        return Math.min(seconds, config.getMaxAgeSeconds());
+    }
+
+    /**
+     * Comparação fraca, como pede o If-None-Match: lista separada por vírgulas, "*" e prefixo W/.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
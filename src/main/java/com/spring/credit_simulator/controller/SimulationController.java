@@ -1,7 +1,14 @@
 package com.spring.credit_simulator.controller;
 
 import com.spring.credit_simulator.dto.*;
+import com.spring.credit_simulator.service.BatchAggregationService;
+import com.spring.credit_simulator.service.IndexCurveRegistry;
+import com.spring.credit_simulator.service.PrepaymentService;
+import com.spring.credit_simulator.service.ScenarioSimulationService;
+import com.spring.credit_simulator.service.SimulationMicroBatcher;
 import com.spring.credit_simulator.service.SimulationService;
+import com.spring.credit_simulator.util.IndexCurve;
+import com.spring.credit_simulator.util.StageTimings;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +19,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/simulations")
 @RequiredArgsConstructor
@@ -23,7 +34,15 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Simulações de Crédito", description = "Endpoints para simulação de empréstimos")
 public class SimulationController {
 
+    static final String BATCH_ID_HEADER = "X-Batch-Id";
+
     private final SimulationService simulationService;
+    private final SimulationMicroBatcher simulationMicroBatcher;
+    private final BatchAggregationService batchAggregationService;
+    private final IndexCurveRegistry indexCurveRegistry;
+    private final ScenarioSimulationService scenarioSimulationService;
+    private final PrepaymentService prepaymentService;
+    private final SimulationCacheHeaders cacheHeaders;
 
     @PostMapping
     @Operation(
@@ -50,16 +69,93 @@ public class SimulationController {
     public ResponseEntity<SimulationResponse> simulateLoan(
             @Valid @RequestBody SimulationRequest request) {
 
-        log.info("Recebida requisição de simulação: valor={}, prazo={} meses",
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        log.debug("Recebida requisição de simulação: valor={}, prazo={} meses",
                 request.getLoanAmount(), request.getLoanTermMonths());
 
-        SimulationResponse response = simulationService.simulate(request);
+        SimulationResponse response = simulationMicroBatcher.simulate(request);
 
-        log.info("Simulação concluída: parcela=R$ {}", response.getMonthlyPayment());
+        log.debug("Simulação concluída: parcela=R$ {}", response.getMonthlyPayment());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Mesma simulação por query string, cacheável: ETag e Cache-Control até a próxima virada de
+     * idade; If-None-Match que bate responde 304 sem calcular.
+     */
+    @GetMapping
+    @Operation(
+            summary = "Consultar simulação de crédito (cacheável)",
+            description = "Mesmo cálculo do POST com os dados na query string. Responde com ETag e " +
+                    "Cache-Control; com If-None-Match igual ao ETag, devolve 304 sem recalcular"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Simulação realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = SimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Resultado inalterado desde o ETag informado",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos fornecidos",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<SimulationResponse> getSimulation(
+            @Valid @ParameterObject SimulationRequest request,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        return cacheHeaders.respond(request.getLoanAmount(), request.getBirthDate(),
+                List.of(request.getLoanTermMonths()), ifNoneMatch, () -> simulationMicroBatcher.simulate(request));
+    }
+
+    /**
+     * Grade de prazos para o mesmo valor e cliente, com o mesmo cache condicional do GET individual.
+     */
+    @GetMapping("/grid")
+    @Operation(
+            summary = "Consultar grade de prazos (cacheável)",
+            description = "Simula o mesmo valor e cliente em cada prazo informado (até 60), na ordem pedida. " +
+                    "Responde com ETag e Cache-Control; com If-None-Match igual ao ETag, devolve 304 sem recalcular"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Grade calculada com sucesso",
+                    content = @Content(schema = @Schema(implementation = SimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Resultado inalterado desde o ETag informado",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos fornecidos",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<SimulationResponse>> getSimulationGrid(
+            @Valid @ParameterObject SimulationGridRequest request,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        return cacheHeaders.respond(request.getLoanAmount(), request.getBirthDate(),
+                request.getTerms(), ifNoneMatch, () -> simulationService.simulateGrid(request));
+    }
+
     /**
      * Processa múltiplas simulações. Retorna List para batches pequenos (≤100)
      * ou BatchSimulationResponse para processamento assíncrono (>100).
@@ -91,16 +187,154 @@ public class SimulationController {
     public ResponseEntity<?> simulateBatch(
             @Valid @RequestBody BatchSimulationRequest batchRequest) {
 
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
         int totalSimulations = batchRequest.getTotalSimulations();
         log.info("Recebido batch {} com {} simulações",
                 batchRequest.getBatchId(), totalSimulations);
 
         Object result = simulationService.processBatch(batchRequest);
 
+        return toBatchResponse(batchRequest.getBatchId(), result);
+    }
+
+    /**
+     * Cada cenário é independente e calculado em O(1) pelas fórmulas fechadas de saldo.
+     */
+    @PostMapping("/prepayments")
+    @Operation(
+            summary = "Simular quitação antecipada e amortização extraordinária",
+            description = "Calcula, para cada cenário (mês, valor), o saldo devedor, a parcela ou o prazo " +
+                    "resultante e os juros economizados; sem valor, o cenário é a quitação no mês"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cenários calculados com sucesso",
+                    content = @Content(schema = @Schema(implementation = PrepaymentResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos ou mês fora do prazo",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<PrepaymentResponse> simulatePrepayments(
+            @Valid @RequestBody PrepaymentRequest request) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        return ResponseEntity.ok(prepaymentService.simulate(request));
+    }
+
+    @PostMapping("/indexed")
+    @Operation(
+            summary = "Realizar simulação pós-fixada",
+            description = "Calcula a parcela sobre a curva de projeção do índice (CDI, IPCA) mais o spread " +
+                    "da faixa etária; a tabela mês a mês é incluída com schedule=true"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Simulação realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = IndexedSimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos ou índice não disponível",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<IndexedSimulationResponse> simulateIndexed(
+            @Valid @RequestBody SimulationRequest request,
+            @Parameter(description = "Índice da curva; padrão em simulation.indexed.default-index")
+            @RequestParam(required = false) String index,
+            @Parameter(description = "Inclui a tabela de parcelas")
+            @RequestParam(defaultValue = "false") boolean schedule) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        IndexCurve curve = indexCurveRegistry.get(index);
+        return ResponseEntity.ok(simulationService.simulateIndexed(request, curve, schedule));
+    }
+
+    /**
+     * Todos os itens do lote usam a mesma versão da curva, mesmo que ela seja recarregada no meio.
+     */
+    @PostMapping("/indexed/batch")
+    @Operation(
+            summary = "Realizar múltiplas simulações pós-fixadas",
+            description = "Processa o lote inteiro sobre a mesma versão da curva do índice, sem tabela de parcelas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processado com sucesso",
+                    content = @Content(schema = @Schema(implementation = IndexedSimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos no batch ou índice não disponível",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<IndexedSimulationResponse>> simulateIndexedBatch(
+            @Valid @RequestBody BatchSimulationRequest batchRequest,
+            @Parameter(description = "Índice da curva; padrão em simulation.indexed.default-index")
+            @RequestParam(required = false) String index) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        log.info("Recebido batch pós-fixado {} com {} simulações",
+                batchRequest.getBatchId(), batchRequest.getTotalSimulations());
+
+        IndexCurve curve = indexCurveRegistry.get(index);
+        return ResponseEntity.ok(simulationService.simulateIndexed(batchRequest.getSimulations(), curve));
+    }
+
+    /**
+     * Trajetórias reproduzíveis pela semente; com o orçamento de tempo esgotado, a resposta traz
+     * só as concluídas (budgetExhausted).
+     */
+    @PostMapping("/indexed/scenarios")
+    @Operation(
+            summary = "Simular cenários de taxa do pós-fixado",
+            description = "Gera trajetórias aleatórias do índice em torno da curva projetada e retorna a " +
+                    "distribuição do total pago e da maior parcela"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cenários simulados com sucesso",
+                    content = @Content(schema = @Schema(implementation = ScenarioSimulationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos ou índice não disponível",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ScenarioSimulationResponse> simulateScenarios(
+            @Valid @RequestBody ScenarioSimulationRequest request,
+            @Parameter(description = "Índice da curva; padrão em simulation.indexed.default-index")
+            @RequestParam(required = false) String index) {
+
+        StageTimings.stopCurrent(StageTimings.Stage.VALIDATION);
+
+        IndexCurve curve = indexCurveRegistry.get(index);
+        return ResponseEntity.ok(scenarioSimulationService.simulate(request, curve));
+    }
+
+    /**
+     * 202 para batch aceito para processamento assíncrono, 200 com a lista de resultados caso contrário.
+     * O id do batch é gerado no servidor; no batch síncrono, que responde só a lista, ele vai no
+     * header X-Batch-Id para consultar status e resumo depois.
+     */
+    static ResponseEntity<?> toBatchResponse(String batchId, Object result) {
         if (result instanceof BatchSimulationResponse) {
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
         } else {
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok().header(BATCH_ID_HEADER, batchId).body(result);
         }
     }
 
@@ -125,13 +359,40 @@ public class SimulationController {
 
         log.debug("Consultando status do batch {}", batchId);
 
-        BatchStatusResponse status = BatchStatusResponse.builder()
-                .batchId(batchId)
-                .status("PROCESSING")
-                .message("Batch está sendo processado")
-                .progress(45)
-                .build();
+        return batchAggregationService.getStatus(batchId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Estatísticas agregadas (somas, percentis de parcela, faixas etárias) sem baixar os resultados.
+     */
+    @GetMapping("/batch/{batchId}/summary")
+    @Operation(
+            summary = "Consultar resumo estatístico de um batch",
+            description = "Retorna somas, mínimo/máximo, percentis da parcela e contagem por faixa etária, " +
+                    "atualizados incrementalmente enquanto o batch é processado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resumo retornado com sucesso",
+                    content = @Content(schema = @Schema(implementation = BatchSummaryResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Batch não encontrado",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<BatchSummaryResponse> getBatchSummary(
+            @Parameter(description = "ID do batch a ser consultado")
+            @PathVariable String batchId) {
+
+        log.debug("Consultando resumo do batch {}", batchId);
 
-        return ResponseEntity.ok(status);
+        return batchAggregationService.getSummary(batchId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Agregados das simulações recentes por grupo, na ordem da chave.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsResponse {
+
+    private String groupBy;
+
+    // Intervalo consultado e linhas percorridas e aceitas pelos filtros
+    private Instant from;
+    private Instant to;
+    private long scannedRows;
+    private long matchedRows;
+
+    private List<Group> groups;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        /**
+         * Faixa etária, prazo em meses ou início da hora (ISO-8601), conforme o agrupamento.
+         */
+        private String key;
+        private long count;
+
+        /**
+         * Participação do grupo nas linhas aceitas, em %.
+         */
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal share;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal totalLoanAmount;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal averageLoanAmount;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal averageMonthlyPayment;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal totalInterest;
+    }
+}
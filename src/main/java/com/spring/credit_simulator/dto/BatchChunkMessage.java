@@ -0,0 +1,48 @@
+package com.spring.credit_simulator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bloco de um batch publicado na fila particionada. O offset identifica o bloco dentro do batch
+ * e ownerNode indica o nó que aceitou o batch e recebe o resultado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChunkMessage {
+
+    private String batchId;
+    private int offset;
+    private String ownerNode;
+    private List<SimulationRequest> simulations;
+
+    /**
+     * Bloco que começa em offset: as simulações de offset até offset + chunkSize (ou o fim).
+     */
+    public static BatchChunkMessage of(String batchId, List<SimulationRequest> simulations, int offset, int chunkSize) {
+        return BatchChunkMessage.builder()
+                .batchId(batchId)
+                .offset(offset)
+                .simulations(simulations.subList(offset, Math.min(offset + chunkSize, simulations.size())))
+                .build();
+    }
+
+    /**
+     * Todos os blocos do batch, na ordem dos offsets.
+     */
+    public static List<BatchChunkMessage> split(BatchSimulationRequest batchRequest, int chunkSize) {
+        List<SimulationRequest> simulations = batchRequest.getSimulations();
+        List<BatchChunkMessage> chunks = new ArrayList<>((simulations.size() + chunkSize - 1) / chunkSize);
+        for (int offset = 0; offset < simulations.size(); offset += chunkSize) {
+            chunks.add(of(batchRequest.getBatchId(), simulations, offset, chunkSize));
+        }
+        return chunks;
+    }
+}
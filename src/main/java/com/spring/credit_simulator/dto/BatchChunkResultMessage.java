@@ -0,0 +1,28 @@
+package com.spring.credit_simulator.dto;
+
+import com.spring.credit_simulator.util.SimulationAggregate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um bloco devolvido ao nó dono do batch: apenas o agregado parcial serializado,
+ * nunca as simulações individuais.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChunkResultMessage {
+
+    private String batchId;
+    private int offset;
+    private byte[] aggregate;
+
+    public static BatchChunkResultMessage of(String batchId, int offset, SimulationAggregate partial) {
+        return new BatchChunkResultMessage(batchId, offset, partial.toBytes());
+    }
+
+    public SimulationAggregate toPartial() {
+        return SimulationAggregate.fromBytes(aggregate);
+    }
+}
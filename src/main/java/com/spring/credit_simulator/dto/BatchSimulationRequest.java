@@ -1,6 +1,7 @@
 package com.spring.credit_simulator.dto;
 
-import jakarta.validation.Valid;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spring.credit_simulator.validation.ValidSimulations;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -18,17 +19,20 @@ import java.util.UUID;
 public class BatchSimulationRequest {
 
     /**
-     * ID único do batch gerado automaticamente via @Builder.Default.
+     * ID único do batch gerado automaticamente via @Builder.Default. Só de leitura no JSON: o id
+     * vem sempre do servidor, nunca do corpo da requisição.
      */
     @Builder.Default
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String batchId = UUID.randomUUID().toString();
 
     /**
-     * Lista de simulações com validação em cascata (@Valid).
+     * Lista de simulações validada por @ValidSimulations: mesmas regras e mensagens do @Valid em
+     * cascata, sem o custo de metadados e reflexão por item.
      */
     @NotEmpty(message = "Deve haver pelo menos uma simulação no batch")
     @Size(max = 10000, message = "O batch não pode conter mais de 10.000 simulações")
-    @Valid
+    @ValidSimulations
     private List<SimulationRequest> simulations;
 
     private boolean asyncProcessing;
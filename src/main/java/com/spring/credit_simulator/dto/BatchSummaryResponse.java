@@ -0,0 +1,83 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Estatísticas agregadas de um batch, calculadas incrementalmente sem materializar as simulações.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSummaryResponse {
+
+    private String batchId;
+    private String status;
+    private Integer totalSimulations;
+    private Long processedSimulations;
+    private Long rejectedSimulations;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal totalLoanAmount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal totalAmount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal totalInterest;
+
+    private PaymentDistribution monthlyPayment;
+    private List<AgeTierSummary> ageTiers;
+
+    /**
+     * Distribuição das parcelas; percentis aproximados com erro relativo de até 1%.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PaymentDistribution {
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal min;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal max;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal average;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal p50;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal p90;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal p99;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AgeTierSummary {
+
+        private String ageRange;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal annualInterestRate;
+
+        private Long count;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal totalLoanAmount;
+    }
+}
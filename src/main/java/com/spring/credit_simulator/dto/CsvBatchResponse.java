@@ -0,0 +1,18 @@
+package com.spring.credit_simulator.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Resumo de um batch em CSV gravado em arquivo; o resultado linha a linha é baixado pelo batchId.
+ */
+@Data
+@Builder
+public class CsvBatchResponse {
+
+    private String batchId;
+    private long totalRows;
+    private long processedRows;
+    private long rejectedRows;
+    private String resultUrl;
+}
@@ -0,0 +1,76 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Simulação pós-fixada: taxa do mês = índice projetado + spread da faixa etária, com parcela
+ * constante calculada sobre a curva. A tabela só é montada quando pedida.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor
+public class IndexedSimulationResponse {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal loanAmount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    LocalDate birthDate;
+
+    int clientAge;
+    int loanTermMonths;
+
+    // Índice e versão da curva usados no cálculo
+    String index;
+    long curveVersion;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal spreadAnnualRate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal monthlyPayment;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal totalAmount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal totalInterest;
+
+    List<Installment> schedule;
+
+    /**
+     * Linha da tabela: a última parcela absorve o arredondamento da parcela e zera o saldo.
+     */
+    @Value
+    @Builder
+    @Jacksonized
+    @AllArgsConstructor
+    public static class Installment {
+
+        int month;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        BigDecimal monthlyRate;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        BigDecimal payment;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        BigDecimal interest;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        BigDecimal amortization;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        BigDecimal balance;
+    }
+}
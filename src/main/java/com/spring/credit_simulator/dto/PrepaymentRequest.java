@@ -0,0 +1,74 @@
+package com.spring.credit_simulator.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Cenários de quitação e amortização extraordinária sobre uma simulação prefixada.
+ * Cada cenário é independente: aplica um único pagamento sobre o contrato original.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrepaymentRequest {
+
+    @NotNull(message = "A simulação é obrigatória")
+    @Valid
+    private SimulationRequest simulation;
+
+    @NotEmpty(message = "Deve haver pelo menos um cenário")
+    @Size(max = 1000, message = "Não pode haver mais de 1.000 cenários")
+    @Valid
+    private List<Scenario> scenarios;
+
+    /**
+     * O que fazer com o saldo restante depois da amortização extraordinária.
+     */
+    public enum Mode {
+        /**
+         * Mantém a parcela e encurta o prazo.
+         */
+        REDUCE_TERM,
+        /**
+         * Mantém o prazo e recalcula a parcela.
+         */
+        REDUCE_PAYMENT
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Scenario {
+
+        /**
+         * Parcelas já pagas quando o valor é aplicado (0 = antes da primeira).
+         */
+        @NotNull(message = "O mês é obrigatório")
+        @Min(value = 0, message = "O mês não pode ser negativo")
+        private Integer month;
+
+        /**
+         * Valor extra; ausente (ou maior que o saldo) quita o contrato.
+         */
+        @DecimalMin(value = "0.01", message = "O valor deve ser positivo")
+        @Digits(integer = 7, fraction = 2, message = "O valor deve ter no máximo 2 casas decimais")
+        private BigDecimal amount;
+
+        @Builder.Default
+        private Mode mode = Mode.REDUCE_TERM;
+    }
+}
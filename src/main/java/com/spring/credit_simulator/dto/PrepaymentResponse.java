@@ -0,0 +1,63 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Simulação original e o resultado de cada cenário de quitação ou amortização, na ordem pedida.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrepaymentResponse {
+
+    private SimulationResponse simulation;
+    private List<Result> scenarios;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+
+        private int month;
+        private PrepaymentRequest.Mode mode;
+
+        /**
+         * Verdadeiro quando o valor aplicado quita o saldo.
+         */
+        private boolean payoff;
+
+        // Saldo depois da parcela do mês, antes e depois do valor aplicado
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal outstandingBalance;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal prepaymentAmount;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal remainingBalance;
+
+        // Parcelas restantes: a parcela nova, a quantidade e a última (menor, ao encurtar o prazo)
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal monthlyPayment;
+
+        private int remainingMonths;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal lastPayment;
+
+        /**
+         * Parcelas restantes do contrato original menos o valor aplicado e as parcelas restantes novas.
+         */
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal interestSaved;
+    }
+}
@@ -0,0 +1,40 @@
+package com.spring.credit_simulator.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cenários de taxa para uma simulação pós-fixada. Campos opcionais usam os padrões de
+ * simulation.scenarios; a mesma semente com o mesmo número de trajetórias reproduz o resultado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioSimulationRequest {
+
+    @NotNull(message = "A simulação é obrigatória")
+    @Valid
+    private SimulationRequest simulation;
+
+    @Min(value = 1, message = "Deve haver pelo menos 1 trajetória")
+    @Max(value = 1_000_000, message = "O máximo é de 1.000.000 trajetórias")
+    private Integer paths;
+
+    private Long seed;
+
+    /**
+     * Volatilidade anual do índice em % do seu nível (lognormal).
+     */
+    @DecimalMin(value = "0.0", message = "A volatilidade não pode ser negativa")
+    @DecimalMax(value = "200.0", message = "A volatilidade não pode passar de 200%")
+    private Double volatility;
+}
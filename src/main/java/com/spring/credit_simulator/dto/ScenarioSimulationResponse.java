@@ -0,0 +1,48 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Distribuição do total pago e da maior parcela sobre as trajetórias de taxa simuladas.
+ * Com o orçamento de tempo esgotado, {@code completedPaths} fica abaixo de {@code requestedPaths}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioSimulationResponse {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal loanAmount;
+
+    private int clientAge;
+    private int loanTermMonths;
+
+    private String index;
+    private long curveVersion;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal spreadAnnualRate;
+
+    private long seed;
+    private double volatility;
+    private int requestedPaths;
+    private long completedPaths;
+    private boolean budgetExhausted;
+    private long elapsedMs;
+
+    /**
+     * Parcela da curva projetada, sem choques: referência para as distribuições.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal projectedMonthlyPayment;
+
+    private BatchSummaryResponse.PaymentDistribution totalPaid;
+    private BatchSummaryResponse.PaymentDistribution maxInstallment;
+}
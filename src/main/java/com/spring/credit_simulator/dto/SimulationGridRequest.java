@@ -0,0 +1,41 @@
+package com.spring.credit_simulator.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.spring.credit_simulator.validation.SimulationRequestValidator.*;
+
+/**
+ * Grade de prazos para um mesmo valor e cliente, recebida como query string
+ * (ex.: {@code ?loanAmount=50000&birthDate=1990-05-15&terms=12,24,36}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationGridRequest {
+
+    @NotNull(message = LOAN_AMOUNT_REQUIRED_MESSAGE)
+    @DecimalMin(value = LOAN_AMOUNT_MIN, message = LOAN_AMOUNT_MIN_MESSAGE)
+    @DecimalMax(value = LOAN_AMOUNT_MAX, message = LOAN_AMOUNT_MAX_MESSAGE)
+    @Digits(integer = LOAN_AMOUNT_INTEGER_DIGITS, fraction = LOAN_AMOUNT_FRACTION_DIGITS,
+            message = LOAN_AMOUNT_DIGITS_MESSAGE)
+    private BigDecimal loanAmount;
+
+    @NotNull(message = BIRTH_DATE_REQUIRED_MESSAGE)
+    @Past(message = BIRTH_DATE_PAST_MESSAGE)
+    private LocalDate birthDate;
+
+    @NotEmpty(message = "Deve haver pelo menos um prazo")
+    @Size(max = 60, message = "Não pode haver mais de 60 prazos")
+    private List<@NotNull(message = TERM_REQUIRED_MESSAGE)
+            @Min(value = TERM_MIN, message = TERM_MIN_MESSAGE)
+            @Max(value = TERM_MAX, message = TERM_MAX_MESSAGE) Integer> terms;
+}
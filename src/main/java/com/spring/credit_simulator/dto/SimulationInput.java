@@ -0,0 +1,32 @@
+package com.spring.credit_simulator.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forma interna e imutável de uma simulação já validada, com prazo primitivo. Usada pelos blocos
+ * de batch mantidos em memória até o processamento, no lugar do SimulationRequest desserializado.
+ */
+@Value
+public class SimulationInput {
+
+    BigDecimal loanAmount;
+    LocalDate birthDate;
+    int loanTermMonths;
+
+    public static SimulationInput of(SimulationRequest request) {
+        return new SimulationInput(request.getLoanAmount(), request.getBirthDate(), request.getLoanTermMonths());
+    }
+
+    public static List<SimulationInput> of(List<SimulationRequest> requests) {
+        List<SimulationInput> inputs = new ArrayList<>(requests.size());
+        for (SimulationRequest request : requests) {
+            inputs.add(of(request));
+        }
+        return inputs;
+    }
+}
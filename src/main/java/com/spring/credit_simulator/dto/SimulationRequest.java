@@ -10,6 +10,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import static com.spring.credit_simulator.validation.SimulationRequestValidator.*;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,19 +21,20 @@ public class SimulationRequest {
     /**
      * BigDecimal para precisão em cálculos financeiros.
      */
-    @NotNull(message = "O valor do empréstimo é obrigatório")
-    @DecimalMin(value = "1000.00", message = "O valor mínimo do empréstimo é R$ 1.000,00")
-    @DecimalMax(value = "1000000.00", message = "O valor máximo do empréstimo é R$ 1.000.000,00")
-    @Digits(integer = 8, fraction = 2, message = "O valor deve ter no máximo 8 dígitos inteiros e 2 decimais")
+    @NotNull(message = LOAN_AMOUNT_REQUIRED_MESSAGE)
+    @DecimalMin(value = LOAN_AMOUNT_MIN, message = LOAN_AMOUNT_MIN_MESSAGE)
+    @DecimalMax(value = LOAN_AMOUNT_MAX, message = LOAN_AMOUNT_MAX_MESSAGE)
+    @Digits(integer = LOAN_AMOUNT_INTEGER_DIGITS, fraction = LOAN_AMOUNT_FRACTION_DIGITS,
+            message = LOAN_AMOUNT_DIGITS_MESSAGE)
     private BigDecimal loanAmount;
 
-    @NotNull(message = "A data de nascimento é obrigatória")
-    @Past(message = "A data de nascimento deve estar no passado")
+    @NotNull(message = BIRTH_DATE_REQUIRED_MESSAGE)
+    @Past(message = BIRTH_DATE_PAST_MESSAGE)
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate birthDate;
 
-    @NotNull(message = "O prazo do empréstimo é obrigatório")
-    @Min(value = 6, message = "O prazo mínimo é de 6 meses")
-    @Max(value = 360, message = "O prazo máximo é de 360 meses (30 anos)")
+    @NotNull(message = TERM_REQUIRED_MESSAGE)
+    @Min(value = TERM_MIN, message = TERM_MIN_MESSAGE)
+    @Max(value = TERM_MAX, message = TERM_MAX_MESSAGE)
     private Integer loanTermMonths;
 }
\ No newline at end of file
@@ -1,40 +1,59 @@
 package com.spring.credit_simulator.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-@Data
+/**
+ * Serialização feita por SimulationResponseSerializer (sem reflexão); as anotações
+ * de formato continuam valendo para desserialização e documentação.
+ * <p>
+ * Imutável e com idade/prazo primitivos: o SimulationService cria pelo construtor, sem builder
+ * nem Integer por item. O builder fica para testes e para a desserialização (@Jacksonized).
+ */
+@Value
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
+@JsonSerialize(using = SimulationResponseSerializer.class)
 public class SimulationResponse {
 
     // Dados originais da solicitação
     @JsonFormat(shape = JsonFormat.Shape.STRING) // BigDecimal como String para precisão no JSON
-    private BigDecimal loanAmount;
+    BigDecimal loanAmount;
 
     @JsonFormat(pattern = "yyyy-MM-dd")
-    private LocalDate birthDate;
+    LocalDate birthDate;
 
-    private Integer clientAge;
-    private Integer loanTermMonths;
+    int clientAge;
+    int loanTermMonths;
 
     // Dados calculados
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal annualInterestRate;
+    BigDecimal annualInterestRate;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal monthlyPayment;
+    BigDecimal monthlyPayment;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal totalAmount;
+    BigDecimal totalAmount;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal totalInterest;
+    BigDecimal totalInterest;
+
+    // Custo Efetivo Total: encargos descontados do valor liberado e taxa anual efetiva em %
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal iofAmount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal feesAmount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal cetAnnualRate;
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializador dedicado de SimulationResponse: escreve os campos diretamente no JsonGenerator,
+ * sem introspecção de bean nem getters por reflexão. Produz o mesmo JSON do serializador
+ * reflexivo: BigDecimal como string (toString), datas yyyy-MM-dd e nulos conforme a inclusão configurada.
+ */
+public class SimulationResponseSerializer extends StdSerializer<SimulationResponse> {
+
+    private static final SerializedString LOAN_AMOUNT = new SerializedString("loanAmount");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializedString CLIENT_AGE = new SerializedString("clientAge");
+    private static final SerializedString LOAN_TERM_MONTHS = new SerializedString("loanTermMonths");
+    private static final SerializedString ANNUAL_INTEREST_RATE = new SerializedString("annualInterestRate");
+    private static final SerializedString MONTHLY_PAYMENT = new SerializedString("monthlyPayment");
+    private static final SerializedString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializedString TOTAL_INTEREST = new SerializedString("totalInterest");
+    private static final SerializedString IOF_AMOUNT = new SerializedString("iofAmount");
+    private static final SerializedString FEES_AMOUNT = new SerializedString("feesAmount");
+    private static final SerializedString CET_ANNUAL_RATE = new SerializedString("cetAnnualRate");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAX_FAST_DIGITS = 18; // Cabe em long sem overflow
+    private static final int BUFFER_SIZE = 24;
+
+    public SimulationResponseSerializer() {
+        super(SimulationResponse.class);
+    }
+
+    @Override
+    public void serialize(SimulationResponse value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(SimulationResponse.class)
+                .getValueInclusion();
+        boolean writeNulls = inclusion == JsonInclude.Include.ALWAYS
+                || inclusion == JsonInclude.Include.USE_DEFAULTS;
+        char[] buffer = new char[BUFFER_SIZE];
+
+        gen.writeStartObject(value);
+        writeDecimal(gen, LOAN_AMOUNT, value.getLoanAmount(), buffer, writeNulls);
+        writeDate(gen, BIRTH_DATE, value.getBirthDate(), buffer, writeNulls);
+        gen.writeFieldName(CLIENT_AGE);
+        gen.writeNumber(value.getClientAge());
+        gen.writeFieldName(LOAN_TERM_MONTHS);
+        gen.writeNumber(value.getLoanTermMonths());
+        writeDecimal(gen, ANNUAL_INTEREST_RATE, value.getAnnualInterestRate(), buffer, writeNulls);
+        writeDecimal(gen, MONTHLY_PAYMENT, value.getMonthlyPayment(), buffer, writeNulls);
+        writeDecimal(gen, TOTAL_AMOUNT, value.getTotalAmount(), buffer, writeNulls);
+        writeDecimal(gen, TOTAL_INTEREST, value.getTotalInterest(), buffer, writeNulls);
+        writeDecimal(gen, IOF_AMOUNT, value.getIofAmount(), buffer, writeNulls);
+        writeDecimal(gen, FEES_AMOUNT, value.getFeesAmount(), buffer, writeNulls);
+        writeDecimal(gen, CET_ANNUAL_RATE, value.getCetAnnualRate(), buffer, writeNulls);
+        gen.writeEndObject();
+    }
+
+    private static void writeDecimal(JsonGenerator gen, SerializedString name, BigDecimal value,
+                                     char[] buffer, boolean writeNulls) throws IOException {
+        if (value == null) {
+            writeNull(gen, name, writeNulls);
+            return;
+        }
+
+        gen.writeFieldName(name);
+        int length = formatDecimal(value, buffer);
+        if (length < 0) {
+            gen.writeString(value.toString());
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    private static void writeDate(JsonGenerator gen, SerializedString name, LocalDate value,
+                                  char[] buffer, boolean writeNulls) throws IOException {
+        if (value == null) {
+            writeNull(gen, name, writeNulls);
+            return;
+        }
+
+        gen.writeFieldName(name);
+        int length = formatDate(value, buffer);
+        if (length < 0) {
+            gen.writeString(DATE_FORMAT.format(value));
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    private static void writeNull(JsonGenerator gen, SerializedString name, boolean writeNulls)
+            throws IOException {
+        if (writeNulls) {
+            gen.writeFieldName(name);
+            gen.writeNull();
+        }
+    }
+
+    /**
+     * Caminho rápido baseado em long: dígitos do valor não escalado com o ponto decimal inserido,
+     * idêntico a BigDecimal.toString() na notação plana. Retorna -1 quando toString() usaria
+     * notação científica ou o valor não cabe em long (o chamador usa toString()).
+     */
+    static int formatDecimal(BigDecimal value, char[] buffer) {
+        int scale = value.scale();
+        if (scale < 0 || scale > MAX_FAST_DIGITS || value.precision() > MAX_FAST_DIGITS) {
+            return -1;
+        }
+
+        long unscaled = value.unscaledValue().longValue();
+        boolean negative = unscaled < 0;
+        long digitsLeft = Math.abs(unscaled);
+        int digits = digitCount(digitsLeft);
+
+        // toString() troca para notação científica quando o expoente ajustado é menor que -6
+        if (digits - 1 - scale < -6) {
+            return -1;
+        }
+
+        int integerDigits = Math.max(digits - scale, 1);
+        int length = (negative ? 1 : 0) + integerDigits + (scale > 0 ? scale + 1 : 0);
+        int position = length;
+
+        for (int i = 0; i < scale; i++) {
+            buffer[--position] = (char) ('0' + digitsLeft % 10);
+            digitsLeft /= 10;
+        }
+        if (scale > 0) {
+            buffer[--position] = '.';
+        }
+        do {
+            buffer[--position] = (char) ('0' + digitsLeft % 10);
+            digitsLeft /= 10;
+        } while (digitsLeft > 0);
+        if (negative) {
+            buffer[--position] = '-';
+        }
+
+        return length;
+    }
+
+    /**
+     * yyyy-MM-dd sem DateTimeFormatter para anos de 4 dígitos; demais anos usam o formatter.
+     */
+    static int formatDate(LocalDate date, char[] buffer) {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            return -1;
+        }
+
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+
+        buffer[0] = (char) ('0' + year / 1000);
+        buffer[1] = (char) ('0' + year / 100 % 10);
+        buffer[2] = (char) ('0' + year / 10 % 10);
+        buffer[3] = (char) ('0' + year % 10);
+        buffer[4] = '-';
+        buffer[5] = (char) ('0' + month / 10);
+        buffer[6] = (char) ('0' + month % 10);
+        buffer[7] = '-';
+        buffer[8] = (char) ('0' + day / 10);
+        buffer[9] = (char) ('0' + day % 10);
+        return 10;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
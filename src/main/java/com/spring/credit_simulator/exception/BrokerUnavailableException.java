@@ -0,0 +1,12 @@
+package com.spring.credit_simulator.exception;
+
+/**
+ * Broker fora do ar com a fila de espera local cheia: o batch não é aceito. Respondido com 503
+ * para o cliente tentar de novo mais tarde.
+ */
+public class BrokerUnavailableException extends RuntimeException {
+
+    public BrokerUnavailableException(int backlogChunks) {
+        super("Broker indisponível e " + backlogChunks + " blocos já aguardando; tente novamente mais tarde");
+    }
+}
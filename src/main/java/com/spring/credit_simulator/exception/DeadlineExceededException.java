@@ -0,0 +1,23 @@
+package com.spring.credit_simulator.exception;
+
+import lombok.Getter;
+
+/**
+ * Trabalho da requisição abandonado: o prazo esgotou ("expired") ou o cliente desconectou
+ * ("disconnected"). Respondido com 503, quando ainda há quem leia a resposta.
+ */
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Código estável do motivo, usado como tag de métrica.
+     */
+    private final String reason;
+
+    public DeadlineExceededException(String reason) {
+        super("disconnected".equals(reason)
+                ? "Cliente desconectado; o processamento restante foi abandonado"
+                : "Prazo da requisição esgotado; o processamento restante foi abandonado");
+        this.reason = reason;
+    }
+}
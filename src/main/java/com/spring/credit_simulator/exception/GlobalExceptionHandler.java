@@ -1,5 +1,7 @@
 package com.spring.credit_simulator.exception;
 
+import com.spring.credit_simulator.service.SimulationMetrics;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,8 +17,11 @@ import java.util.Map;
  * Tratamento centralizado de exceções com respostas estruturadas para APIs REST.
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final SimulationMetrics metrics;
+
     /**
      * Trata erros de Bean Validation (@Valid).
      */
@@ -35,6 +40,8 @@ public class GlobalExceptionHandler {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
+            // Índices de batch removidos para manter a cardinalidade da tag fixa
+            metrics.recordRejection(fieldName.replaceAll("\\[\\d+]", "[]") + "." + error.getCode());
         });
 
         response.put("errors", errors);
@@ -63,6 +70,39 @@ public class GlobalExceptionHandler {
         return response;
     }
 
+    /**
+     * Prazo esgotado ou cliente desconectado: o trabalho restante já foi descartado.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, Object> handleDeadlineExceeded(DeadlineExceededException ex) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Deadline Exceeded");
+        response.put("message", ex.getMessage());
+        response.put("reason", ex.getReason());
+
+        return response;
+    }
+
+    /**
+     * Broker indisponível e fila de espera cheia: o batch não foi aceito.
+     */
+    @ExceptionHandler(BrokerUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, Object> handleBrokerUnavailable(BrokerUnavailableException ex) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+
+        return response;
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, Object> handleGenericException(Exception ex) {
@@ -12,23 +12,35 @@ public class ValidationException extends RuntimeException {
     private final String field;
     private final Object rejectedValue;
 
+    /**
+     * Código estável do motivo da recusa, usado como tag de métrica.
+     */
+    private final String reason;
+
     public ValidationException(String message) {
         super(message);
         this.field = null;
         this.rejectedValue = null;
+        this.reason = "BusinessRule";
     }
 
     public ValidationException(String field, Object rejectedValue, String message) {
+        this(field, rejectedValue, message, "BusinessRule");
+    }
+
+    public ValidationException(String field, Object rejectedValue, String message, String reason) {
         super(message);
         this.field = field;
         this.rejectedValue = rejectedValue;
+        this.reason = reason;
     }
 
     public static ValidationException invalidAge(int age) {
         return new ValidationException(
                 "birthDate",
                 age,
-                String.format("Cliente deve ter pelo menos 18 anos. Idade atual: %d anos", age)
+                String.format("Cliente deve ter pelo menos 18 anos. Idade atual: %d anos", age),
+                "MinAge"
         );
     }
 
@@ -36,7 +48,8 @@ public class ValidationException extends RuntimeException {
         return new ValidationException(
                 "birthDate",
                 age,
-                "Idade inválida. Por favor, verifique a data de nascimento."
+                "Idade inválida. Por favor, verifique a data de nascimento.",
+                "MaxAge"
         );
     }
 
@@ -44,7 +57,8 @@ public class ValidationException extends RuntimeException {
         return new ValidationException(
                 "loanAmount",
                 amount,
-                "Valor do empréstimo deve estar entre R$ 1.000 e R$ 1.000.000"
+                "Valor do empréstimo deve estar entre R$ 1.000 e R$ 1.000.000",
+                "LoanAmountRange"
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchStatusResponse;
+import com.spring.credit_simulator.dto.BatchSummaryResponse;
+import com.spring.credit_simulator.util.AgeTier;
+import com.spring.credit_simulator.util.SimulationAggregate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Agregados incrementais por batch. Cada worker acumula um parcial próprio e o publica
+ * via CAS (AtomicReference), sem locks e sem guardar as simulações individuais.
+ * Batches concluídos ficam disponíveis por summary-retention-ms, até max-retained-summaries;
+ * a limpeza acontece ao registrar ou concluir batches, sem thread própria.
+ */
+@Service
+@Slf4j
+public class BatchAggregationService {
+
+    private final Map<String, BatchAggregate> aggregates = new ConcurrentHashMap<>();
+    private final Queue<CompletedBatch> completedBatches = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final long retentionNanos;
+    private final int maxRetained;
+
+    public BatchAggregationService() {
+        this(new SimulationProperties());
+    }
+
+    @Autowired
+    public BatchAggregationService(SimulationProperties properties) {
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBatch().getSummaryRetentionMs());
+        this.maxRetained = properties.getBatch().getMaxRetainedSummaries();
+    }
+
+    /**
+     * O id é gerado no servidor; um id repetido indica erro de programação e não é mesclado ao
+     * agregado existente.
+     */
+    public void register(String batchId, int totalSimulations) {
+        if (aggregates.putIfAbsent(batchId, new BatchAggregate(totalSimulations)) != null) {
+            throw new IllegalStateException("Batch " + batchId + " já registrado");
+        }
+        evictExpired();
+    }
+
+    public void publish(String batchId, SimulationAggregate partial) {
+        BatchAggregate aggregate = aggregates.get(batchId);
+        if (aggregate == null) {
+            log.warn("Parcial descartado: batch {} não registrado", batchId);
+            return;
+        }
+
+        SimulationAggregate snapshot = aggregate.snapshot.accumulateAndGet(partial, SimulationAggregate::merged);
+        if (snapshot.getCount() + snapshot.getRejectedCount() >= aggregate.totalSimulations
+                && aggregate.completed.compareAndSet(false, true)) {
+            completedBatches.add(new CompletedBatch(batchId, System.nanoTime()));
+            completedCount.incrementAndGet();
+            evictExpired();
+        }
+    }
+
+    /**
+     * Remove o agregado de um batch recusado depois de registrado.
+     */
+    public void discard(String batchId) {
+        aggregates.remove(batchId);
+    }
+
+    public Optional<BatchSummaryResponse> getSummary(String batchId) {
+        return Optional.ofNullable(aggregates.get(batchId))
+                .map(aggregate -> toSummary(batchId, aggregate));
+    }
+
+    /**
+     * Progresso real do batch, derivado dos blocos já concluídos (locais ou de outras réplicas).
+     */
+    public Optional<BatchStatusResponse> getStatus(String batchId) {
+        return Optional.ofNullable(aggregates.get(batchId))
+                .map(aggregate -> {
+                    SimulationAggregate snapshot = aggregate.snapshot.get();
+                    long completed = snapshot.getCount() + snapshot.getRejectedCount();
+                    boolean finished = completed >= aggregate.totalSimulations;
+
+                    return BatchStatusResponse.builder()
+                            .batchId(batchId)
+                            .status(finished ? "CONCLUIDO" : "PROCESSANDO")
+                            .message(finished ? "Batch concluído" : "Batch está sendo processado")
+                            .progress((int) (completed * 100 / Math.max(1, aggregate.totalSimulations)))
+                            .totalSimulations(aggregate.totalSimulations)
+                            .processedSimulations((int) completed)
+                            .build();
+                });
+    }
+
+    private BatchSummaryResponse toSummary(String batchId, BatchAggregate aggregate) {
+        SimulationAggregate snapshot = aggregate.snapshot.get();
+        long completed = snapshot.getCount() + snapshot.getRejectedCount();
+
+        return BatchSummaryResponse.builder()
+                .batchId(batchId)
+                .status(completed >= aggregate.totalSimulations ? "CONCLUIDO" : "PROCESSANDO")
+                .totalSimulations(aggregate.totalSimulations)
+                .processedSimulations(snapshot.getCount())
+                .rejectedSimulations(snapshot.getRejectedCount())
+                .totalLoanAmount(money(snapshot.getLoanAmountCents()))
+                .totalAmount(money(snapshot.getTotalAmountCents()))
+                .totalInterest(money(snapshot.getTotalInterestCents()))
+                .monthlyPayment(BatchSummaryResponse.PaymentDistribution.builder()
+                        .min(money(snapshot.getMinMonthlyPaymentCents()))
+                        .max(money(snapshot.getMaxMonthlyPaymentCents()))
+                        .average(money(snapshot.getAverageMonthlyPaymentCents()))
+                        .p50(money(snapshot.getMonthlyPaymentQuantileCents(0.50)))
+                        .p90(money(snapshot.getMonthlyPaymentQuantileCents(0.90)))
+                        .p99(money(snapshot.getMonthlyPaymentQuantileCents(0.99)))
+                        .build())
+                .ageTiers(toTierSummaries(snapshot))
+                .build();
+    }
+
+    private List<BatchSummaryResponse.AgeTierSummary> toTierSummaries(SimulationAggregate snapshot) {
+        return Arrays.stream(AgeTier.values())
+                .map(tier -> BatchSummaryResponse.AgeTierSummary.builder()
+                        .ageRange(tier.getDescription())
+                        .annualInterestRate(tier.getAnnualInterestRate())
+                        .count(snapshot.getTierCount(tier))
+                        .totalLoanAmount(money(snapshot.getTierLoanAmountCents(tier)))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Remove os concluídos mais antigos: os que passaram da retenção e os que excedem o limite.
+     * A fila está na ordem de conclusão, então basta olhar o início.
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        CompletedBatch oldest;
+        while ((oldest = completedBatches.peek()) != null
+                && (completedCount.get() > maxRetained || now - oldest.completedAt >= retentionNanos)) {
+            if (completedBatches.remove(oldest)) {
+                completedCount.decrementAndGet();
+                aggregates.remove(oldest.batchId);
+            }
+        }
+    }
+
+    private static final class BatchAggregate {
+
+        private final int totalSimulations;
+        private final AtomicReference<SimulationAggregate> snapshot =
+                new AtomicReference<>(new SimulationAggregate());
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private BatchAggregate(int totalSimulations) {
+            this.totalSimulations = totalSimulations;
+        }
+    }
+
+    private static final class CompletedBatch {
+
+        private final String batchId;
+        private final long completedAt;
+
+        private CompletedBatch(String batchId, long completedAt) {
+            this.batchId = batchId;
+            this.completedAt = completedAt;
+        }
+    }
+}
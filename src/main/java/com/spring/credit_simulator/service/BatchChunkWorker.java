@@ -0,0 +1,41 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.RabbitMessagingConfig;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
+import com.spring.credit_simulator.dto.BatchChunkResultMessage;
+import com.spring.credit_simulator.util.SimulationAggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumidores de blocos (qualquer réplica) e de resultados (apenas o nó dono do batch).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "simulation.messaging.mode", havingValue = "rabbit")
+public class BatchChunkWorker {
+
+    private final SimulationService simulationService;
+    private final RabbitTemplate rabbitTemplate;
+
+    @RabbitListener(queues = "#{@batchChunkQueueNames}", containerFactory = "batchChunkListenerFactory")
+    public void handleChunk(BatchChunkMessage chunk) {
+        log.debug("Processando bloco {} do batch {} (dono: {})",
+                chunk.getOffset(), chunk.getBatchId(), chunk.getOwnerNode());
+
+        SimulationAggregate partial = simulationService.simulateChunk(chunk.getBatchId(), chunk.getSimulations());
+
+        rabbitTemplate.convertAndSend(RabbitMessagingConfig.RESULTS_EXCHANGE, chunk.getOwnerNode(),
+                BatchChunkResultMessage.of(chunk.getBatchId(), chunk.getOffset(), partial));
+    }
+
+    @RabbitListener(queues = "#{@batchResultQueue.name}")
+    public void handleResult(BatchChunkResultMessage result) {
+        simulationService.onChunkCompleted(result.getBatchId(), result.getOffset(), result.toPartial());
+    }
+}
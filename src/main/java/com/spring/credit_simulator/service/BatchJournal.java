@@ -0,0 +1,464 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.util.LoanCalculator;
+import com.spring.credit_simulator.util.SimulationAggregate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only em disco local para batches assíncronos: registra batches aceitos,
+ * blocos concluídos (com o agregado parcial) e a conclusão do batch.
+ * Registro: [tamanho int][crc32 int][payload]; cauda truncada por queda da JVM é descartada na leitura.
+ * Em execução, o arquivo é compactado a cada compact-after-completed-batches batches concluídos.
+ */
+@Component
+@Slf4j
+public class BatchJournal {
+
+    private static final String FILE_NAME = "batches.journal";
+    private static final byte BATCH_ACCEPTED = 1;
+    private static final byte CHUNK_COMPLETED = 2;
+    private static final byte BATCH_COMPLETED = 3;
+
+    /**
+     * Teto de um registro; o maior legítimo é o aceite de um batch de 10.000 itens (~200 KB).
+     * Um tamanho acima disso no cabeçalho é lixo e não deve virar uma alocação.
+     */
+    static final int MAX_RECORD_BYTES = 8 * 1024 * 1024;
+
+    private final SimulationProperties.Journal config;
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private final AtomicInteger completedSinceCompaction = new AtomicInteger();
+
+    private Path file;
+    private FileChannel channel;
+    private ScheduledExecutorService flusher;
+    private long writtenSequence;
+    private volatile long syncedSequence;
+    private List<JournaledBatch> recoveredBatches = new ArrayList<>();
+
+    public BatchJournal(SimulationProperties properties) {
+        this.config = properties.getJournal();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Reconstrói o estado a partir do journal, compacta mantendo só batches pendentes e abre para escrita.
+     */
+    @PostConstruct
+    public void open() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            Path directory = Path.of(config.getDirectory());
+            Files.createDirectories(directory);
+            file = directory.resolve(FILE_NAME);
+
+            recoveredBatches = replay(file);
+            compact(file, recoveredBatches);
+
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "batch-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushPending,
+                    config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+            flusher.scheduleWithFixedDelay(this::compactIfNeeded,
+                    config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+
+            log.info("Journal de batches aberto em {} ({} batches pendentes)", file, recoveredBatches.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir journal de batches", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+
+        flusher.shutdown();
+        flushPending();
+        synchronized (writeLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Falha ao fechar journal de batches", e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Batches não concluídos encontrados na abertura; entregues uma única vez para retomada.
+     */
+    public synchronized List<JournaledBatch> drainRecoveredBatches() {
+        List<JournaledBatch> batches = recoveredBatches;
+        recoveredBatches = new ArrayList<>();
+        return batches;
+    }
+
+    /**
+     * Grava o batch aceito e aguarda o fsync: o 202 só é retornado com o batch durável.
+     */
+    public void recordAccepted(String batchId, int chunkSize, List<SimulationRequest> simulations) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        sync(append(acceptedRecord(batchId, chunkSize, simulations)));
+    }
+
+    /**
+     * Checkpoint de bloco concluído. O fsync é feito em grupo pelo flusher periódico:
+     * um checkpoint perdido apenas faz o bloco ser recalculado, sem duplicar o resultado.
+     */
+    public void recordChunkCompleted(String batchId, int offset, SimulationAggregate partial) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        append(chunkCompletedRecord(batchId, offset, partial));
+    }
+
+    public void recordBatchCompleted(String batchId) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        append(encode(out -> {
+            out.writeByte(BATCH_COMPLETED);
+            out.writeUTF(batchId);
+        }));
+        completedSinceCompaction.incrementAndGet();
+    }
+
+    /**
+     * Compactação em execução, na thread do flusher: reescreve o arquivo só com os batches
+     * pendentes. Gravações e fsync esperam a troca do arquivo; o novo arquivo sai com fsync, então
+     * tudo o que foi gravado antes fica durável.
+     */
+    void compactIfNeeded() {
+        if (completedSinceCompaction.get() < config.getCompactAfterCompletedBatches()) {
+            return;
+        }
+
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (channel == null) {
+                    return;
+                }
+                int completed = completedSinceCompaction.getAndSet(0);
+                try {
+                    long before = channel.size();
+                    channel.close();
+                    List<JournaledBatch> pending = replay(file);
+                    compact(file, pending);
+                    syncedSequence = writtenSequence;
+                    log.info("Journal compactado: {} batches concluídos removidos, {} pendentes, {} -> {} bytes",
+                            completed, pending.size(), before, Files.size(file));
+                } catch (IOException e) {
+                    log.error("Falha ao compactar o journal de batches", e);
+                } finally {
+                    reopen();
+                }
+            }
+        }
+    }
+
+    private void reopen() {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            channel = null;
+            log.error("Falha ao reabrir o journal de batches; novos registros serão recusados", e);
+        }
+    }
+
+    private long append(byte[] payload) {
+        synchronized (writeLock) {
+            if (channel == null) {
+                throw new IllegalStateException("Journal de batches fechado");
+            }
+            try {
+                writeRecord(channel, payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar no journal de batches", e);
+            }
+            return ++writtenSequence;
+        }
+    }
+
+    private static void writeRecord(FileChannel target, byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IOException("Registro de " + payload.length + " bytes excede o limite do journal");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+    }
+
+    /**
+     * Fsync em grupo: um único force() cobre todos os registros gravados até o momento,
+     * e quem chega depois com sequência já coberta retorna sem novo fsync.
+     */
+    private void sync(long sequence) {
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+
+            long target;
+            synchronized (writeLock) {
+                target = writtenSequence;
+            }
+
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha no fsync do journal de batches", e);
+            }
+            syncedSequence = target;
+        }
+    }
+
+    private void flushPending() {
+        long target;
+        synchronized (writeLock) {
+            target = writtenSequence;
+        }
+
+        if (channel != null && target > syncedSequence) {
+            try {
+                sync(target);
+            } catch (UncheckedIOException e) {
+                log.error("Falha no fsync periódico do journal", e);
+            }
+        }
+    }
+
+    private static List<JournaledBatch> replay(Path file) throws IOException {
+        Map<String, JournaledBatch> batches = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte[] payload = readRecord(in);
+                if (payload == null) {
+                    break;
+                }
+                apply(batches, payload);
+                validLength += 8 + payload.length;
+            }
+        }
+
+        long fileLength = Files.size(file);
+        if (validLength < fileLength) {
+            log.warn("Journal com {} bytes finais inválidos (gravação interrompida); descartando",
+                    fileLength - validLength);
+        }
+
+        List<JournaledBatch> pending = new ArrayList<>();
+        for (JournaledBatch batch : batches.values()) {
+            if (!batch.completed) {
+                pending.add(batch);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Lê um registro íntegro; retorna null no fim do arquivo ou em registro truncado/corrompido.
+     */
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                return null;
+            }
+
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static void apply(Map<String, JournaledBatch> batches, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        String batchId = in.readUTF();
+
+        switch (type) {
+            case BATCH_ACCEPTED -> {
+                int chunkSize = in.readInt();
+                int total = in.readInt();
+                List<SimulationRequest> simulations = new ArrayList<>(total);
+                for (int i = 0; i < total; i++) {
+                    simulations.add(SimulationRequest.builder()
+                            .loanAmount(BigDecimal.valueOf(in.readLong(), 2))
+                            .birthDate(LocalDate.ofEpochDay(in.readLong()))
+                            .loanTermMonths(in.readInt())
+                            .build());
+                }
+                batches.put(batchId, new JournaledBatch(batchId, chunkSize, simulations));
+            }
+            case CHUNK_COMPLETED -> {
+                JournaledBatch batch = batches.get(batchId);
+                int offset = in.readInt();
+                SimulationAggregate partial = SimulationAggregate.readFrom(in);
+                if (batch != null) {
+                    batch.completedChunks.putIfAbsent(offset, partial);
+                }
+            }
+            case BATCH_COMPLETED -> {
+                JournaledBatch batch = batches.get(batchId);
+                if (batch != null) {
+                    batch.completed = true;
+                }
+            }
+            default -> throw new IOException("Tipo de registro desconhecido no journal: " + type);
+        }
+    }
+
+    /**
+     * Reescreve o journal apenas com batches pendentes (arquivo temporário + move atômico).
+     */
+    private static void compact(Path file, List<JournaledBatch> pending) throws IOException {
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (JournaledBatch batch : pending) {
+                writeRecord(out, acceptedRecord(batch.batchId, batch.chunkSize, batch.simulations));
+                for (Map.Entry<Integer, SimulationAggregate> chunk : batch.completedChunks.entrySet()) {
+                    writeRecord(out, chunkCompletedRecord(batch.batchId, chunk.getKey(), chunk.getValue()));
+                }
+            }
+            out.force(true);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] acceptedRecord(String batchId, int chunkSize, List<SimulationRequest> simulations) {
+        return encode(out -> {
+            out.writeByte(BATCH_ACCEPTED);
+            out.writeUTF(batchId);
+            out.writeInt(chunkSize);
+            out.writeInt(simulations.size());
+            for (SimulationRequest request : simulations) {
+                out.writeLong(LoanCalculator.toCents(request.getLoanAmount()));
+                out.writeLong(request.getBirthDate().toEpochDay());
+                out.writeInt(request.getLoanTermMonths());
+            }
+        });
+    }
+
+    private static byte[] chunkCompletedRecord(String batchId, int offset, SimulationAggregate partial) {
+        return encode(out -> {
+            out.writeByte(CHUNK_COMPLETED);
+            out.writeUTF(batchId);
+            out.writeInt(offset);
+            partial.writeTo(out);
+        });
+    }
+
+    private static byte[] encode(RecordWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            writer.write(new DataOutputStream(bytes));
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Batch pendente reconstruído do journal, com os agregados dos blocos já concluídos por offset.
+     */
+    @Getter
+    public static class JournaledBatch {
+
+        private final String batchId;
+        private final int chunkSize;
+        private final List<SimulationRequest> simulations;
+        private final Map<Integer, SimulationAggregate> completedChunks = new TreeMap<>();
+        private boolean completed;
+
+        JournaledBatch(String batchId, int chunkSize, List<SimulationRequest> simulations) {
+            this.batchId = batchId;
+            this.chunkSize = chunkSize;
+            this.simulations = Collections.unmodifiableList(simulations);
+        }
+    }
+}
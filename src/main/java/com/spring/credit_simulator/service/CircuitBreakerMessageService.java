@@ -0,0 +1,350 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.exception.BrokerUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Publicação no broker protegida por circuit breaker, para um RabbitMQ lento ou fora do ar não
+ * prender as threads das requisições. Cada publicação espera no máximo publish-timeout-ms; após
+ * failure-threshold falhas seguidas o circuito abre e os blocos deixam de ir ao broker. Com o
+ * circuito aberto, os blocos são simulados no pool local (até local-queue-capacity pendentes) e o
+ * excedente aguarda na fila de reconciliação (até max-backlog-chunks; cheia, o batch é recusado
+ * com {@link BrokerUnavailableException}). Vagas locais liberadas consomem a fila enquanto o
+ * circuito não fecha, e o restante é republicado quando o broker volta. Uma publicação
+ * que esgotou o tempo pode ter chegado ao broker: o resultado repetido do bloco é ignorado por
+ * {@link SimulationService#onChunkCompleted}.
+ */
+@Service
+@Primary
+@Slf4j
+@ConditionalOnProperty(name = "simulation.messaging.mode", havingValue = "rabbit")
+public class CircuitBreakerMessageService implements MessageService {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final MessageService delegate;
+    private final ExecutorService executorService;
+    private final Supplier<SimulationService> simulationService;
+    private final SimulationProperties properties;
+    private final SimulationProperties.Broker config;
+    private final SimulationMetrics metrics;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger localChunks = new AtomicInteger();
+    private final Deque<BatchChunkMessage> backlog = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger backlogSize = new AtomicInteger();
+
+    private volatile long openedAt;
+    private ExecutorService publisher;
+    private ScheduledExecutorService reconciler;
+
+    /**
+     * O SimulationService é obtido só no primeiro bloco desviado: ele próprio depende desta
+     * mensageria.
+     */
+    @Autowired
+    public CircuitBreakerMessageService(RabbitMessageService delegate,
+                                        ExecutorService executorService,
+                                        ObjectProvider<SimulationService> simulationService,
+                                        SimulationProperties properties,
+                                        SimulationMetrics metrics) {
+        this(delegate, executorService, simulationService::getObject, properties, metrics);
+    }
+
+    CircuitBreakerMessageService(MessageService delegate,
+                                 ExecutorService executorService,
+                                 Supplier<SimulationService> simulationService,
+                                 SimulationProperties properties,
+                                 SimulationMetrics metrics) {
+        this.delegate = delegate;
+        this.executorService = executorService;
+        this.simulationService = simulationService;
+        this.properties = properties;
+        this.config = properties.getBroker();
+        this.metrics = metrics;
+        metrics.bindBrokerCircuit(() -> state.get() != State.CLOSED, backlog);
+    }
+
+    @PostConstruct
+    public void start() {
+        publisher = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "broker-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "broker-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile,
+                config.getReconcileIntervalMs(), config.getReconcileIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Blocos ainda na fila de reconciliação não se perdem: com o journal habilitado, o batch é
+     * retomado no próximo início.
+     */
+    @PreDestroy
+    public void close() {
+        reconciler.shutdownNow();
+        publisher.shutdownNow();
+        if (backlogSize.get() > 0) {
+            log.warn("{} blocos não republicados no broker ao encerrar", backlogSize.get());
+        }
+    }
+
+    @Override
+    public void sendToQueue(BatchSimulationRequest batchRequest) {
+        BatchChunkMessage.split(batchRequest, properties.getBatch().getChunkSize()).forEach(this::sendChunk);
+    }
+
+    /**
+     * Publica no broker ou, com o circuito aberto ou a publicação falhando, desvia o bloco.
+     */
+    @Override
+    public void sendChunk(BatchChunkMessage chunk) {
+        if (!allowPublish()) {
+            metrics.recordBrokerPublish("rejected");
+            spill(chunk);
+            return;
+        }
+
+        if (!publish(chunk)) {
+            spill(chunk);
+        }
+    }
+
+    @Override
+    public String checkBatchStatus(String batchId) {
+        return delegate.checkBatchStatus(batchId);
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    int getBacklogSize() {
+        return backlogSize.get();
+    }
+
+    /**
+     * Fechado: publica. Aberto: recusa até open-duration-ms; depois, uma única publicação testa o
+     * broker (meio aberto) e as demais continuam recusadas até o resultado dela.
+     */
+    private boolean allowPublish() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+
+        if (current == State.OPEN
+                && System.nanoTime() - openedAt >= TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationMs())
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            log.info("Testando o broker após {} ms com o circuito aberto", config.getOpenDurationMs());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Publicação numa thread própria, para a espera da requisição parar no timeout mesmo com o
+     * broker travado.
+     */
+    private boolean publish(BatchChunkMessage chunk) {
+        Future<?> future;
+        try {
+            future = publisher.submit(() -> delegate.sendChunk(chunk));
+        } catch (RejectedExecutionException e) {
+            abandonTrial();
+            return false;
+        }
+
+        try {
+            future.get(config.getPublishTimeoutMs(), TimeUnit.MILLISECONDS);
+            onSuccess();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            abandonTrial();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            future.cancel(true);
+            onFailure(e instanceof ExecutionException ? e.getCause() : e);
+            return false;
+        }
+    }
+
+    private void onSuccess() {
+        metrics.recordBrokerPublish("success");
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Broker disponível, circuito fechado ({} blocos aguardando reconciliação)", backlogSize.get());
+        }
+    }
+
+    /**
+     * Publicação de teste sem resultado (interrompida ou recusada no desligamento): o circuito volta
+     * a aberto e o próximo teste espera outro open-duration-ms, em vez de ficar meio aberto para sempre.
+     */
+    private void abandonTrial() {
+        if (state.get() == State.HALF_OPEN) {
+            openedAt = System.nanoTime();
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void onFailure(Throwable cause) {
+        metrics.recordBrokerPublish("failure");
+        if (state.get() == State.HALF_OPEN
+                || consecutiveFailures.incrementAndGet() >= config.getFailureThreshold()) {
+            openedAt = System.nanoTime();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Broker indisponível, circuito aberto por {} ms: {}",
+                        config.getOpenDurationMs(), cause.toString());
+            }
+        } else {
+            log.debug("Falha ao publicar no broker ({} seguidas): {}", consecutiveFailures.get(), cause.toString());
+        }
+    }
+
+    /**
+     * Bloco simulado no pool local, como faria um consumidor; com a fila local cheia, aguarda a
+     * volta do broker. Com a fila de espera também cheia, recusa o batch e tira da fila os blocos
+     * dele que já aguardavam.
+     */
+    private void spill(BatchChunkMessage chunk) {
+        if (runLocally(chunk)) {
+            metrics.recordBrokerSpill("local");
+            return;
+        }
+
+        if (backlogSize.incrementAndGet() > config.getMaxBacklogChunks()) {
+            backlogSize.decrementAndGet();
+            metrics.recordBrokerSpill("refused");
+            for (BatchChunkMessage deferred : backlog) {
+                if (deferred.getBatchId().equals(chunk.getBatchId()) && backlog.removeFirstOccurrence(deferred)) {
+                    backlogSize.decrementAndGet();
+                }
+            }
+            throw new BrokerUnavailableException(config.getMaxBacklogChunks());
+        }
+        backlog.addLast(chunk);
+        metrics.recordBrokerSpill("deferred");
+    }
+
+    /**
+     * Ocupa uma vaga local; ao terminar, a vaga passa ao próximo bloco em espera enquanto o
+     * circuito não fecha.
+     */
+    private boolean runLocally(BatchChunkMessage chunk) {
+        if (localChunks.incrementAndGet() <= config.getLocalQueueCapacity()) {
+            try {
+                executorService.execute(() -> {
+                    try {
+                        processLocally(chunk);
+                    } finally {
+                        localChunks.decrementAndGet();
+                        drainLocally();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                log.debug("Pool local recusou o bloco {} do batch {}", chunk.getOffset(), chunk.getBatchId());
+            }
+        }
+        localChunks.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Com o circuito aberto, leva blocos em espera para as vagas locais livres.
+     */
+    void drainLocally() {
+        BatchChunkMessage chunk;
+        while (state.get() != State.CLOSED && (chunk = pollBacklog()) != null) {
+            if (!runLocally(chunk)) {
+                restoreBacklog(chunk);
+                return;
+            }
+            metrics.recordBrokerSpill("local");
+        }
+    }
+
+    private BatchChunkMessage pollBacklog() {
+        BatchChunkMessage chunk = backlog.pollFirst();
+        if (chunk != null) {
+            backlogSize.decrementAndGet();
+        }
+        return chunk;
+    }
+
+    /**
+     * Devolve ao início da fila um bloco retirado e não processado, preservando a ordem.
+     */
+    private void restoreBacklog(BatchChunkMessage chunk) {
+        backlogSize.incrementAndGet();
+        backlog.offerFirst(chunk);
+    }
+
+    private void processLocally(BatchChunkMessage chunk) {
+        try {
+            SimulationService service = simulationService.get();
+            service.onChunkCompleted(chunk.getBatchId(), chunk.getOffset(),
+                    service.simulateChunk(chunk.getBatchId(), chunk.getSimulations()));
+        } catch (RuntimeException e) {
+            log.error("Falha ao processar localmente o bloco {} do batch {}", chunk.getOffset(), chunk.getBatchId(), e);
+        }
+    }
+
+    /**
+     * Republica os blocos em espera, na ordem, enquanto o circuito permitir; com o circuito
+     * aberto, ocupa as vagas locais livres. Também serve de teste do broker quando não há
+     * requisições chegando.
+     */
+    void reconcile() {
+        int republished = 0;
+        BatchChunkMessage chunk;
+        while (backlogSize.get() > 0 && allowPublish()) {
+            if ((chunk = pollBacklog()) == null) {
+                break;
+            }
+            if (!publish(chunk)) {
+                restoreBacklog(chunk);
+                break;
+            }
+            republished++;
+        }
+
+        if (republished > 0) {
+            metrics.recordBrokerReconciled(republished);
+            log.info("{} blocos republicados no broker ({} ainda em espera)", republished, backlogSize.get());
+        }
+        drainLocally();
+    }
+}
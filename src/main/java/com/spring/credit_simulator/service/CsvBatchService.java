@@ -0,0 +1,335 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.CsvBatchResponse;
+import com.spring.credit_simulator.dto.SimulationInput;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.CsvSimulationReader;
+import com.spring.credit_simulator.util.PaymentFactors;
+import com.spring.credit_simulator.util.RequestDeadline;
+import com.spring.credit_simulator.validation.SimulationRequestValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Batch em CSV sem limite de linhas. O upload é lido em fluxo pelo {@link CsvSimulationReader};
+ * cada bloco de chunkSize linhas é validado e simulado no pool e vira um pedaço do CSV de
+ * resultado, escrito na ordem do arquivo. No máximo maxInFlightChunks blocos ficam na memória,
+ * então o consumo não depende da quantidade de linhas. Linhas inválidas ou recusadas saem no
+ * resultado com a mensagem, sem interromper o batch.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CsvBatchService {
+
+    static final String RESULT_HEADER = "line,loanAmount,birthDate,loanTermMonths,clientAge,annualInterestRate," +
+            "monthlyPayment,totalAmount,totalInterest,cetAnnualRate,error\n";
+
+    private final ExecutorService executorService;
+    private final SimulationService simulationService;
+    private final SimulationProperties properties;
+    private final SimulationMetrics metrics;
+
+    /**
+     * Lê o CSV de {@code in} e escreve o resultado em {@code out} à medida que os blocos terminam.
+     * O prazo da requisição, se houver, é verificado antes de cada bloco; com ele esgotado ou numa
+     * falha de I/O (upload interrompido, cliente que fechou a conexão), os blocos ainda na fila são
+     * descartados e contados como abandonados.
+     */
+    public CsvBatchResponse process(String batchId, InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        SimulationProperties.Csv config = properties.getCsv();
+        RequestDeadline deadline = RequestDeadline.current();
+        CsvSimulationReader reader = new CsvSimulationReader(in, config.getReadBufferSize());
+        Deque<PendingChunk> inFlight = new ArrayDeque<>();
+        long processed = 0;
+        long rejected = 0;
+        boolean completed = false;
+
+        try {
+            out.write(RESULT_HEADER.getBytes(StandardCharsets.UTF_8));
+
+            Chunk chunk;
+            while ((chunk = readChunk(reader, config.getChunkSize())) != null) {
+                if (deadline != null && deadline.isExceeded()) {
+                    metrics.recordAbandonedSimulations(chunk.size);
+                    throw deadline.exceeded();
+                }
+
+                if (inFlight.size() >= config.getMaxInFlightChunks()) {
+                    ChunkResult result = write(inFlight.removeFirst(), out);
+                    processed += result.processed;
+                    rejected += result.rejected;
+                }
+
+                Chunk pending = chunk;
+                inFlight.addLast(new PendingChunk(pending.size,
+                        CompletableFuture.supplyAsync(() -> simulateChunk(batchId, pending), executorService)));
+            }
+
+            while (!inFlight.isEmpty()) {
+                ChunkResult result = write(inFlight.removeFirst(), out);
+                processed += result.processed;
+                rejected += result.rejected;
+            }
+            out.flush();
+            completed = true;
+        } catch (IOException e) {
+            if (deadline != null) {
+                deadline.cancel(RequestDeadline.DISCONNECTED);
+            } else {
+                metrics.recordDeadlineExceeded(RequestDeadline.DISCONNECTED);
+            }
+            throw e;
+        } finally {
+            if (!completed) {
+                abandon(inFlight);
+            }
+            metrics.recordCsvBatch(processed, rejected, System.nanoTime() - start);
+        }
+
+        log.info("Batch CSV {} concluído: {} linhas ({} recusadas)", batchId, processed + rejected, rejected);
+
+        return CsvBatchResponse.builder()
+                .batchId(batchId)
+                .totalRows(processed + rejected)
+                .processedRows(processed)
+                .rejectedRows(rejected)
+                .build();
+    }
+
+    /**
+     * Mesmo processamento, gravando o resultado em resultDirectory/{batchId}.csv. O arquivo só
+     * aparece completo (escrito em .tmp e movido ao final).
+     */
+    public CsvBatchResponse processToFile(InputStream in) throws IOException {
+        String batchId = UUID.randomUUID().toString();
+        Path directory = Path.of(properties.getCsv().getResultDirectory());
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(batchId + ".csv.tmp");
+
+        CsvBatchResponse response;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            response = process(batchId, in, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, directory.resolve(batchId + ".csv"), StandardCopyOption.ATOMIC_MOVE);
+        return response;
+    }
+
+    /**
+     * Arquivo de resultado de um batch gravado por {@link #processToFile}. Só aceita ids no
+     * formato gerado (UUID), para o id não escapar do diretório.
+     */
+    public Optional<Path> resultFile(String batchId) {
+        try {
+            if (!UUID.fromString(batchId).toString().equals(batchId)) {
+                return Optional.empty();
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        Path file = Path.of(properties.getCsv().getResultDirectory()).resolve(batchId + ".csv");
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private static Chunk readChunk(CsvSimulationReader reader, int chunkSize) throws IOException {
+        Chunk chunk = null;
+        while (chunk == null || chunk.size < chunkSize) {
+            if (!reader.next()) {
+                break;
+            }
+            if (chunk == null) {
+                chunk = new Chunk(chunkSize);
+            }
+
+            int i = chunk.size++;
+            chunk.lines[i] = reader.getLineNumber();
+            chunk.loanAmounts[i] = reader.getLoanAmount();
+            chunk.birthDates[i] = reader.getBirthDate();
+            chunk.loanTerms[i] = reader.getLoanTermMonths();
+            chunk.errors[i] = reader.getError();
+        }
+        return chunk;
+    }
+
+    private static ChunkResult write(PendingChunk pending, OutputStream out) throws IOException {
+        ChunkResult result = pending.future.join();
+        out.write(result.csv);
+        out.flush();
+        return result;
+    }
+
+    /**
+     * Blocos que ainda não começaram não rodam; os em execução terminam e são descartados.
+     */
+    private void abandon(Deque<PendingChunk> inFlight) {
+        long abandoned = 0;
+        for (PendingChunk pending : inFlight) {
+            if (pending.future.cancel(false)) {
+                abandoned += pending.rows;
+            }
+        }
+        metrics.recordAbandonedSimulations(abandoned);
+    }
+
+    /**
+     * Validação (mesmas regras do DTO) e simulação de um bloco no pool, com o cache de fatores
+     * compartilhado entre as linhas do bloco.
+     */
+    private ChunkResult simulateChunk(String batchId, Chunk chunk) {
+        StringBuilder csv = new StringBuilder(chunk.size * 128);
+        PaymentFactors factors = new PaymentFactors();
+        List<SimulationRequestValidator.Violation> violations = new ArrayList<>(4);
+        LocalDate today = LocalDate.now();
+        int processed = 0;
+
+        for (int i = 0; i < chunk.size; i++) {
+            String error = chunk.errors[i];
+            if (error == null) {
+                violations.clear();
+                SimulationRequestValidator.validate(i, chunk.loanAmounts[i], chunk.birthDates[i], chunk.loanTerms[i],
+                        today, violations);
+                if (!violations.isEmpty()) {
+                    error = join(violations);
+                }
+            }
+
+            if (error == null) {
+                try {
+                    SimulationResponse response = simulationService.simulate(
+                            new SimulationInput(chunk.loanAmounts[i], chunk.birthDates[i], chunk.loanTerms[i]),
+                            factors, batchId);
+                    appendProcessed(csv, chunk.lines[i], response);
+                    processed++;
+                    continue;
+                } catch (ValidationException e) {
+                    error = e.getMessage();
+                }
+            }
+
+            appendRejected(csv, chunk, i, error);
+        }
+
+        return new ChunkResult(csv.toString().getBytes(StandardCharsets.UTF_8), processed, chunk.size - processed);
+    }
+
+    private static void appendProcessed(StringBuilder csv, long line, SimulationResponse response) {
+        csv.append(line).append(',')
+                .append(response.getLoanAmount().toPlainString()).append(',')
+                .append(response.getBirthDate()).append(',')
+                .append(response.getLoanTermMonths()).append(',')
+                .append(response.getClientAge()).append(',')
+                .append(response.getAnnualInterestRate().toPlainString()).append(',')
+                .append(response.getMonthlyPayment().toPlainString()).append(',')
+                .append(response.getTotalAmount().toPlainString()).append(',')
+                .append(response.getTotalInterest().toPlainString()).append(',');
+        if (response.getCetAnnualRate() != null) {
+            csv.append(response.getCetAnnualRate().toPlainString());
+        }
+        csv.append(",\n");
+    }
+
+    /**
+     * Linha recusada: os campos que foram lidos, colunas calculadas vazias e a mensagem entre aspas
+     * (as mensagens de valor têm vírgula, ex.: "R$ 1.000,00").
+     */
+    private static void appendRejected(StringBuilder csv, Chunk chunk, int i, String error) {
+        BigDecimal loanAmount = chunk.loanAmounts[i];
+        csv.append(chunk.lines[i]).append(',');
+        if (loanAmount != null) {
+            csv.append(loanAmount.toPlainString());
+        }
+        csv.append(',');
+        if (chunk.birthDates[i] != null) {
+            csv.append(chunk.birthDates[i]);
+        }
+        csv.append(',');
+        if (chunk.loanTerms[i] != null) {
+            csv.append(chunk.loanTerms[i]);
+        }
+        csv.append(",,,,,,,\"").append(error.replace("\"", "\"\"")).append("\"\n");
+    }
+
+    private static String join(List<SimulationRequestValidator.Violation> violations) {
+        StringBuilder message = new StringBuilder();
+        for (SimulationRequestValidator.Violation violation : violations) {
+            if (message.length() > 0) {
+                message.append("; ");
+            }
+            message.append(violation.getMessage());
+        }
+        return message.toString();
+    }
+
+    /**
+     * Linhas lidas de um bloco, em colunas; só os blocos em andamento ficam na memória.
+     */
+    private static final class Chunk {
+
+        private final long[] lines;
+        private final BigDecimal[] loanAmounts;
+        private final LocalDate[] birthDates;
+        private final Integer[] loanTerms;
+        private final String[] errors;
+        private int size;
+
+        private Chunk(int capacity) {
+            this.lines = new long[capacity];
+            this.loanAmounts = new BigDecimal[capacity];
+            this.birthDates = new LocalDate[capacity];
+            this.loanTerms = new Integer[capacity];
+            this.errors = new String[capacity];
+        }
+    }
+
+    private static final class PendingChunk {
+
+        private final int rows;
+        private final CompletableFuture<ChunkResult> future;
+
+        private PendingChunk(int rows, CompletableFuture<ChunkResult> future) {
+            this.rows = rows;
+            this.future = future;
+        }
+    }
+
+    private static final class ChunkResult {
+
+        private final byte[] csv;
+        private final int processed;
+        private final int rejected;
+
+        private ChunkResult(byte[] csv, int processed, int rejected) {
+            this.csv = csv;
+            this.processed = processed;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.IndexCurve;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.spring.credit_simulator.validation.SimulationRequestValidator.TERM_MAX;
+
+/**
+ * Curvas de projeção dos índices pós-fixados, lidas de arquivo local. Cada carga gera uma nova
+ * versão imutável (IndexCurve) publicada por troca de referência: quem já pegou a curva termina
+ * o cálculo (ou o lote inteiro) com a mesma versão, sem cópia nem trava.
+ * Arquivos em disco (file:) são verificados periodicamente e recarregados quando alterados;
+ * arquivo inválido mantém a versão anterior.
+ */
+@Component
+@Slf4j
+public class IndexCurveRegistry {
+
+    private final SimulationProperties.Indexed config;
+    private final ResourceLoader resourceLoader;
+    private final Map<String, Loaded> curves = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refresher;
+    private long nextVersion = 1;
+
+    public IndexCurveRegistry(SimulationProperties properties, ResourceLoader resourceLoader) {
+        this.config = properties.getIndexed();
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void open() {
+        config.getCurves().forEach((name, location) -> {
+            Resource resource = resourceLoader.getResource(location);
+            curves.put(normalize(name), load(normalize(name), resource, lastModified(resource)));
+        });
+
+        if (config.getRefreshIntervalMs() > 0 && curves.values().stream().anyMatch(loaded -> loaded.resource.isFile())) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "index-curve-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refresh,
+                    config.getRefreshIntervalMs(), config.getRefreshIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Versão atual da curva; {@code null} ou vazio usa o índice padrão.
+     */
+    public IndexCurve get(String index) {
+        String name = normalize(index == null || index.isBlank() ? config.getDefaultIndex() : index);
+        Loaded loaded = curves.get(name);
+        if (loaded == null) {
+            throw new ValidationException("index", index,
+                    "Índice não disponível. Use um de: " + String.join(", ", curves.keySet()), "UnknownIndex");
+        }
+        return loaded.curve;
+    }
+
+    public Set<String> getIndexes() {
+        return curves.keySet();
+    }
+
+    /**
+     * Recarrega os arquivos em disco alterados desde a última carga.
+     */
+    public void refresh() {
+        curves.replaceAll((name, loaded) -> {
+            long lastModified = lastModified(loaded.resource);
+            if (lastModified == loaded.lastModified) {
+                return loaded;
+            }
+
+            try {
+                Loaded reloaded = load(name, loaded.resource, lastModified);
+                log.info("Curva {} recarregada: versão {} ({} meses)",
+                        name, reloaded.curve.getVersion(), reloaded.curve.getCurveMonths());
+                return reloaded;
+            } catch (RuntimeException e) {
+                log.warn("Curva {} inválida, mantida a versão {}: {}", name, loaded.curve.getVersion(), e.getMessage());
+                return new Loaded(loaded.curve, loaded.resource, lastModified);
+            }
+        });
+    }
+
+    private synchronized Loaded load(String name, Resource resource, long lastModified) {
+        return new Loaded(new IndexCurve(name, nextVersion++, read(resource), TERM_MAX), resource, lastModified);
+    }
+
+    /**
+     * Formato: linhas "mes,taxa" com meses consecutivos a partir de 1 e taxa mensal em %;
+     * linhas vazias, comentários (#) e o cabeçalho são ignorados.
+     */
+    static double[] read(Resource resource) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            double[] rates = new double[TERM_MAX];
+            int months = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || !Character.isDigit(line.charAt(0))) {
+                    continue;
+                }
+
+                String[] fields = line.split(",");
+                int month = Integer.parseInt(fields[0].trim());
+                if (month != months + 1 || fields.length != 2) {
+                    throw new IllegalArgumentException("Linha fora de ordem ou malformada: " + line);
+                }
+                if (months == rates.length) {
+                    rates = Arrays.copyOf(rates, rates.length * 2);
+                }
+                rates[months++] = Double.parseDouble(fields[1].trim()) / 100;
+            }
+
+            return Arrays.copyOf(rates, months);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler curva " + resource.getDescription(), e);
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Loaded {
+
+        private final IndexCurve curve;
+        private final Resource resource;
+        private final long lastModified;
+
+        private Loaded(IndexCurve curve, Resource resource, long lastModified) {
+            this.curve = curve;
+            this.resource = resource;
+            this.lastModified = lastModified;
+        }
+    }
+}
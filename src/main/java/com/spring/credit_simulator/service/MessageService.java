@@ -1,5 +1,6 @@
 package com.spring.credit_simulator.service;
 
+import com.spring.credit_simulator.dto.BatchChunkMessage;
 import com.spring.credit_simulator.dto.BatchSimulationRequest;
 
 /**
@@ -10,5 +11,10 @@ public interface MessageService {
 
     void sendToQueue(BatchSimulationRequest batchRequest);
 
+    /**
+     * Publica um único bloco; usado também na retomada de batches a partir do checkpoint.
+     */
+    void sendChunk(BatchChunkMessage chunk);
+
     String checkBatchStatus(String batchId);
-}
\ No newline at end of file
+}
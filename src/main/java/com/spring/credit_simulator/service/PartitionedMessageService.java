@@ -0,0 +1,50 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.BatchSummaryResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Base para mensageria particionada: o batch é dividido em blocos distribuídos entre N filas,
+ * e os consumidores de todas as réplicas competem por elas, dividindo o trabalho.
+ * O resultado de cada bloco volta ao nó dono do batch (ownerNode).
+ */
+@RequiredArgsConstructor
+public abstract class PartitionedMessageService implements MessageService {
+
+    private final BatchAggregationService batchAggregationService;
+    private final SimulationProperties properties;
+
+    @Override
+    public void sendToQueue(BatchSimulationRequest batchRequest) {
+        BatchChunkMessage.split(batchRequest, properties.getBatch().getChunkSize()).forEach(this::sendChunk);
+    }
+
+    @Override
+    public void sendChunk(BatchChunkMessage chunk) {
+        chunk.setOwnerNode(properties.getMessaging().getNodeId());
+        publish(partitionOf(chunk), chunk);
+    }
+
+    /**
+     * Progresso mantido no nó dono do batch, a partir dos resultados devolvidos pelos consumidores.
+     */
+    @Override
+    public String checkBatchStatus(String batchId) {
+        return batchAggregationService.getSummary(batchId)
+                .map(BatchSummaryResponse::getStatus)
+                .orElse("NAO_ENCONTRADO");
+    }
+
+    /**
+     * Blocos consecutivos do mesmo batch vão para partições consecutivas (round-robin a partir do hash do batch).
+     */
+    int partitionOf(BatchChunkMessage chunk) {
+        int chunkIndex = chunk.getOffset() / properties.getBatch().getChunkSize();
+        return Math.floorMod(chunk.getBatchId().hashCode() + chunkIndex, properties.getMessaging().getPartitions());
+    }
+
+    protected abstract void publish(int partition, BatchChunkMessage chunk);
+}
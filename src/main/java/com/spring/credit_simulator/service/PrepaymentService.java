@@ -0,0 +1,116 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.dto.PrepaymentRequest;
+import com.spring.credit_simulator.dto.PrepaymentResponse;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.LoanCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quitação antecipada e amortização extraordinária sobre o Sistema Price, sem montar a tabela:
+ * saldo no mês, parcela nova e prazo novo saem das fórmulas fechadas do LoanCalculator, então
+ * cada cenário custa O(1) independentemente do mês e do prazo.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PrepaymentService {
+
+    private final SimulationService simulationService;
+
+    public PrepaymentResponse simulate(PrepaymentRequest request) {
+        SimulationResponse simulation = simulationService.simulate(request.getSimulation());
+        LoanCalculator.PaymentFactor factor = LoanCalculator.paymentFactor(
+                simulation.getAnnualInterestRate(), simulation.getLoanTermMonths());
+
+        List<PrepaymentResponse.Result> results = new ArrayList<>(request.getScenarios().size());
+        for (int i = 0; i < request.getScenarios().size(); i++) {
+            results.add(simulate(simulation, factor, request.getScenarios().get(i), i));
+        }
+
+        log.debug("{} cenários de amortização calculados para prazo de {} meses",
+                results.size(), simulation.getLoanTermMonths());
+
+        return PrepaymentResponse.builder()
+                .simulation(simulation)
+                .scenarios(results)
+                .build();
+    }
+
+    private PrepaymentResponse.Result simulate(SimulationResponse simulation, LoanCalculator.PaymentFactor factor,
+                                               PrepaymentRequest.Scenario scenario, int index) {
+        int termMonths = simulation.getLoanTermMonths();
+        int month = scenario.getMonth();
+        if (month >= termMonths) {
+            throw new ValidationException("scenarios[" + index + "].month", month,
+                    String.format("O mês deve ser anterior ao fim do prazo (%d meses)", termMonths),
+                    "PrepaymentMonth");
+        }
+
+        BigDecimal monthlyPayment = simulation.getMonthlyPayment();
+        double payment = monthlyPayment.doubleValue();
+        int remainingMonths = termMonths - month;
+
+        BigDecimal outstanding = money(LoanCalculator.balanceAfter(
+                factor, simulation.getLoanAmount().doubleValue(), payment, month));
+        BigDecimal originalRemaining = monthlyPayment.multiply(BigDecimal.valueOf(remainingMonths));
+        PrepaymentRequest.Mode mode = scenario.getMode() != null ? scenario.getMode() : PrepaymentRequest.Mode.REDUCE_TERM;
+
+        PrepaymentResponse.Result.ResultBuilder result = PrepaymentResponse.Result.builder()
+                .month(month)
+                .mode(mode)
+                .outstandingBalance(outstanding);
+
+        BigDecimal amount = scenario.getAmount();
+        if (amount == null || amount.compareTo(outstanding) >= 0) {
+            return result.payoff(true)
+                    .prepaymentAmount(outstanding)
+                    .remainingBalance(money(0))
+                    .monthlyPayment(money(0))
+                    .remainingMonths(0)
+                    .lastPayment(money(0))
+                    .interestSaved(originalRemaining.subtract(outstanding))
+                    .build();
+        }
+
+        BigDecimal remainingBalance = outstanding.subtract(amount);
+        double balance = remainingBalance.doubleValue();
+        BigDecimal newPayment;
+        BigDecimal lastPayment;
+        int newMonths;
+
+        if (mode == PrepaymentRequest.Mode.REDUCE_PAYMENT) {
+            newMonths = remainingMonths;
+            newPayment = money(LoanCalculator.paymentFor(factor, balance, remainingMonths));
+            lastPayment = newPayment;
+        } else {
+            // Parcelas cheias e uma última com o que sobra do saldo corrigido
+            newMonths = (int) Math.ceil(LoanCalculator.monthsToRepay(factor, balance, payment) - 1e-9);
+            newPayment = monthlyPayment;
+            lastPayment = money(LoanCalculator.balanceAfter(factor, balance, payment, newMonths - 1)
+                    * (1 + factor.getMonthlyRate()));
+        }
+
+        BigDecimal newRemaining = newPayment.multiply(BigDecimal.valueOf(newMonths - 1)).add(lastPayment);
+
+        return result.payoff(false)
+                .prepaymentAmount(amount)
+                .remainingBalance(remainingBalance)
+                .monthlyPayment(newPayment)
+                .remainingMonths(newMonths)
+                .lastPayment(lastPayment)
+                .interestSaved(LoanCalculator.toMoney(originalRemaining.subtract(amount).subtract(newRemaining)))
+                .build();
+    }
+
+    private static BigDecimal money(double value) {
+        return LoanCalculator.toMoney(BigDecimal.valueOf(value));
+    }
+}
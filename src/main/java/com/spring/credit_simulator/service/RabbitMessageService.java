@@ -0,0 +1,30 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.RabbitMessagingConfig;
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publica blocos de batch no RabbitMQ, usando a partição como routing key da exchange de blocos.
+ */
+@Service
+@ConditionalOnProperty(name = "simulation.messaging.mode", havingValue = "rabbit")
+public class RabbitMessageService extends PartitionedMessageService {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public RabbitMessageService(RabbitTemplate rabbitTemplate,
+                                BatchAggregationService batchAggregationService,
+                                SimulationProperties properties) {
+        super(batchAggregationService, properties);
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    protected void publish(int partition, BatchChunkMessage chunk) {
+        rabbitTemplate.convertAndSend(RabbitMessagingConfig.CHUNKS_EXCHANGE, String.valueOf(partition), chunk);
+    }
+}
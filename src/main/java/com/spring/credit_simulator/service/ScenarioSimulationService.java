@@ -0,0 +1,194 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchSummaryResponse;
+import com.spring.credit_simulator.dto.IndexedSimulationResponse;
+import com.spring.credit_simulator.dto.ScenarioSimulationRequest;
+import com.spring.credit_simulator.dto.ScenarioSimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.AgeTier;
+import com.spring.credit_simulator.util.IndexCurve;
+import com.spring.credit_simulator.util.ScenarioAggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Monte Carlo de risco de parcela para o pós-fixado: cada trajetória choca a curva do índice
+ * (lognormal, média na projeção) e recalcula a parcela mês a mês sobre o saldo e o prazo restantes.
+ * <p>
+ * As trajetórias são divididas em blocos de tamanho fixo, e cada bloco recebe um gerador derivado
+ * da semente por split() na ordem dos blocos: o resultado não depende de quantas threads rodaram
+ * nem em que ordem. Os blocos rodam no pool de simulação e devolvem agregados parciais combinados
+ * por merge(). Esgotado o orçamento de tempo, os blocos param e a resposta traz o que terminou.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScenarioSimulationService {
+
+    private static final long AWAIT_GRACE_MS = 100; // Blocos verificam o prazo a cada trajetória
+
+    private final ExecutorService executorService;
+    private final SimulationService simulationService;
+    private final SimulationProperties properties;
+    private final SimulationMetrics metrics;
+
+    public ScenarioSimulationResponse simulate(ScenarioSimulationRequest request, IndexCurve curve) {
+        SimulationProperties.Scenarios config = properties.getScenarios();
+        int paths = request.getPaths() != null ? request.getPaths() : config.getDefaultPaths();
+        if (paths > config.getMaxPaths()) {
+            throw new ValidationException("paths", paths,
+                    String.format("O máximo é de %d trajetórias por simulação", config.getMaxPaths()), "MaxPaths");
+        }
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        double volatility = request.getVolatility() != null ? request.getVolatility() : config.getDefaultVolatility();
+
+        // Valida a idade e dá a parcela projetada de referência
+        IndexedSimulationResponse projected = simulationService.simulateIndexed(request.getSimulation(), curve, false);
+        PathModel model = new PathModel(curve, AgeTier.of(projected.getClientAge()),
+                projected.getLoanAmount().doubleValue(), projected.getLoanTermMonths(),
+                volatility / 100 / Math.sqrt(12));
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getTimeBudgetMs());
+        int blockSize = Math.max(1, config.getBlockSize());
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<CompletableFuture<ScenarioAggregate>> blocks = new ArrayList<>();
+        for (int first = 0; first < paths; first += blockSize) {
+            SplittableRandom random = root.split();
+            int count = Math.min(blockSize, paths - first);
+            blocks.add(CompletableFuture.supplyAsync(() -> model.run(random, count, deadline), executorService));
+        }
+
+        await(blocks, deadline);
+
+        ScenarioAggregate total = new ScenarioAggregate();
+        for (CompletableFuture<ScenarioAggregate> block : blocks) {
+            if (block.isDone() && !block.isCompletedExceptionally()) {
+                total.merge(block.join());
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        boolean budgetExhausted = total.getCount() < paths;
+        metrics.recordScenarios(total.getCount(), elapsedNanos, budgetExhausted);
+        if (budgetExhausted) {
+            log.info("Cenários encerrados pelo orçamento de {} ms: {} de {} trajetórias",
+                    config.getTimeBudgetMs(), total.getCount(), paths);
+        }
+
+        return ScenarioSimulationResponse.builder()
+                .loanAmount(projected.getLoanAmount())
+                .clientAge(projected.getClientAge())
+                .loanTermMonths(projected.getLoanTermMonths())
+                .index(curve.getName())
+                .curveVersion(curve.getVersion())
+                .spreadAnnualRate(projected.getSpreadAnnualRate())
+                .seed(seed)
+                .volatility(volatility)
+                .requestedPaths(paths)
+                .completedPaths(total.getCount())
+                .budgetExhausted(budgetExhausted)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .projectedMonthlyPayment(projected.getMonthlyPayment())
+                .totalPaid(toDistribution(total.getTotalPaid()))
+                .maxInstallment(toDistribution(total.getMaxInstallment()))
+                .build();
+    }
+
+    /**
+     * Aguarda os blocos até o prazo (mais uma folga para os que estão no meio de uma trajetória);
+     * blocos ainda na fila do pool depois disso ficam de fora e encerram sem calcular.
+     */
+    private static void await(List<CompletableFuture<ScenarioAggregate>> blocks, long deadline) {
+        long remaining = deadline - System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AWAIT_GRACE_MS);
+        try {
+            CompletableFuture.allOf(blocks.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Blocos concluídos são usados; os demais ficam de fora
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BatchSummaryResponse.PaymentDistribution toDistribution(ScenarioAggregate.Series series) {
+        return BatchSummaryResponse.PaymentDistribution.builder()
+                .min(money(series.getMinCents()))
+                .max(money(series.getMaxCents()))
+                .average(money(series.getAverageCents()))
+                .p50(money(series.getQuantileCents(0.50)))
+                .p90(money(series.getQuantileCents(0.90)))
+                .p99(money(series.getQuantileCents(0.99)))
+                .build();
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Trajetória: o desvio do índice em log segue um passeio aleatório com volatilidade mensal
+     * {@code sigma}; o termo -sigma²k/2 mantém a média de cada mês na projeção da curva.
+     */
+    static final class PathModel {
+
+        private final IndexCurve curve;
+        private final double spread;
+        private final double loanAmount;
+        private final int termMonths;
+        private final double sigma;
+
+        PathModel(IndexCurve curve, AgeTier tier, double loanAmount, int termMonths, double sigma) {
+            this.curve = curve;
+            this.spread = tier.getAnnualInterestRate().doubleValue() / 1200;
+            this.loanAmount = loanAmount;
+            this.termMonths = termMonths;
+            this.sigma = sigma;
+        }
+
+        ScenarioAggregate run(SplittableRandom random, int paths, long deadline) {
+            ScenarioAggregate aggregate = new ScenarioAggregate();
+            double drift = -0.5 * sigma * sigma;
+
+            for (int path = 0; path < paths && System.nanoTime() - deadline < 0; path++) {
+                double shock = 0;
+                double balance = loanAmount;
+                double totalPaid = 0;
+                double maxInstallment = 0;
+
+                for (int month = 1; month <= termMonths; month++) {
+                    shock += drift + sigma * random.nextGaussian();
+                    double index = curve.indexRate(month) * Math.exp(shock);
+                    double rate = (1 + index) * (1 + spread) - 1;
+                    int remaining = termMonths - month + 1;
+
+                    // Price sobre o saldo e o prazo restantes à taxa do mês
+                    double installment = rate == 0
+                            ? balance / remaining
+                            : balance * rate / -Math.expm1(-remaining * Math.log1p(rate));
+                    balance = balance * (1 + rate) - installment;
+                    totalPaid += installment;
+                    maxInstallment = Math.max(maxInstallment, installment);
+                }
+
+                aggregate.add(Math.round(totalPaid * 100), Math.round(maxInstallment * 100));
+            }
+
+            return aggregate;
+        }
+    }
+}
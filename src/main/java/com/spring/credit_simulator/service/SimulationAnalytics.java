@@ -0,0 +1,394 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.AnalyticsResponse;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.AgeTier;
+import com.spring.credit_simulator.util.LoanCalculator;
+import com.spring.credit_simulator.validation.SimulationRequestValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Armazém colunar em memória das simulações recentes, para consultas agregadas sem tocar no banco
+ * de gravação. Cada janela de {@code windowMinutes} é uma partição com colunas primitivas de
+ * capacidade fixa (instante, faixa, prazo e valores em centavos); as partições ficam num anel de
+ * {@code retainedWindows} posições e uma janela nova sobrescreve a mais antiga. A capacidade vem
+ * de {@code expectedRowsPerSecond} vezes a duração da janela, salvo {@code partitionCapacity}
+ * explícito; partição cheia descarta e conta em métrica.
+ * <p>
+ * A inclusão reserva a linha num contador atômico da partição, sem trava, e publica a linha ao
+ * gravar por último o instante; a consulta percorre as linhas reservadas sem trava, pulando as
+ * ainda não publicadas, em blocos de {@code scanBlockSize} linhas no pool de
+ * simulação, somando em vetores indexados pela chave do grupo. Como o SimulationRecorder, só
+ * recebe simulações depois da prontidão.
+ */
+@Component
+@Slf4j
+public class SimulationAnalytics {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final AgeTier[] TIERS = AgeTier.values();
+    // instante, faixa, prazo, valor, parcela e juros
+    private static final int ROW_BYTES = Integer.BYTES + Byte.BYTES + Short.BYTES + 3 * Long.BYTES;
+
+    private final ExecutorService executorService;
+    private final SimulationProperties.Analytics config;
+    private final SimulationMetrics metrics;
+    private final long windowMillis;
+    private final int partitionCapacity;
+    private final AtomicReferenceArray<Partition> partitions;
+    private volatile boolean accepting;
+
+    public SimulationAnalytics(ExecutorService executorService, SimulationProperties properties,
+                               SimulationMetrics metrics) {
+        this.executorService = executorService;
+        this.config = properties.getAnalytics();
+        this.metrics = metrics;
+        this.windowMillis = TimeUnit.MINUTES.toMillis(config.getWindowMinutes());
+        this.partitions = new AtomicReferenceArray<>(Math.max(1, config.getRetainedWindows()));
+        this.partitionCapacity = config.getPartitionCapacity() > 0
+                ? config.getPartitionCapacity()
+                : (int) Math.min(Integer.MAX_VALUE - 8,
+                        Math.max(1, config.getExpectedRowsPerSecond() * TimeUnit.MILLISECONDS.toSeconds(windowMillis)));
+
+        if (isEnabled()) {
+            log.info("Armazém analítico: {} partições de {} linhas ({} MB cada)", partitions.length(),
+                    partitionCapacity, (long) partitionCapacity * ROW_BYTES / (1024 * 1024));
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        accepting = isEnabled();
+    }
+
+    public void add(SimulationResponse response) {
+        if (accepting) {
+            add(response, System.currentTimeMillis());
+        }
+    }
+
+    void add(SimulationResponse response, long timestamp) {
+        Partition partition = partitionFor(timestamp);
+        if (partition == null) {
+            metrics.recordAnalyticsDropped("expired");
+            return;
+        }
+
+        boolean appended = partition.append(timestamp,
+                AgeTier.of(response.getClientAge()).ordinal(),
+                response.getLoanTermMonths(),
+                LoanCalculator.toCents(response.getLoanAmount()),
+                LoanCalculator.toCents(response.getMonthlyPayment()),
+                LoanCalculator.toCents(response.getTotalInterest()));
+        if (!appended) {
+            metrics.recordAnalyticsDropped("full");
+        }
+    }
+
+    /**
+     * Partição da janela do instante; abre uma nova sobre a mais antiga do anel quando preciso.
+     * Retorna null para instantes de janelas já sobrescritas.
+     */
+    private Partition partitionFor(long timestamp) {
+        long window = timestamp / windowMillis;
+        int slot = (int) (window % partitions.length());
+
+        while (true) {
+            Partition current = partitions.get(slot);
+            if (current != null && current.window == window) {
+                return current;
+            }
+            if (current != null && current.window > window) {
+                return null;
+            }
+            Partition created = new Partition(window, window * windowMillis, partitionCapacity);
+            if (partitions.compareAndSet(slot, current, created)) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Agrega as simulações dos últimos {@code lastMinutes} (padrão: toda a retenção) por
+     * AGE_TIER, TERM ou HOUR, com filtros opcionais de faixa etária e prazo.
+     */
+    public AnalyticsResponse query(String groupBy, String ageTier, Integer minTerm, Integer maxTerm,
+                                   Integer lastMinutes) {
+        return query(groupBy, ageTier, minTerm, maxTerm, lastMinutes, System.currentTimeMillis());
+    }
+
+    AnalyticsResponse query(String groupBy, String ageTier, Integer minTerm, Integer maxTerm,
+                            Integer lastMinutes, long now) {
+        long start = System.nanoTime();
+        long retentionMillis = windowMillis * partitions.length();
+        long span = lastMinutes != null ? TimeUnit.MINUTES.toMillis(lastMinutes) : retentionMillis;
+        if (span <= 0) {
+            throw new ValidationException("lastMinutes", lastMinutes, "O período deve ser positivo", "LastMinutes");
+        }
+
+        long from = Math.max(now - span, (now / windowMillis - partitions.length() + 1) * windowMillis);
+        Filter filter = new Filter(parseGroupBy(groupBy), from, now, parseTier(ageTier),
+                minTerm != null ? minTerm : 0,
+                maxTerm != null ? maxTerm : SimulationRequestValidator.TERM_MAX);
+
+        List<CompletableFuture<Totals>> scans = new ArrayList<>();
+        int blockSize = Math.max(1, config.getScanBlockSize());
+        for (int slot = 0; slot < partitions.length(); slot++) {
+            Partition partition = partitions.get(slot);
+            if (partition == null || partition.windowStart + windowMillis <= from || partition.windowStart > now) {
+                continue;
+            }
+            int size = partition.size();
+            for (int first = 0; first < size; first += blockSize) {
+                int begin = first;
+                int end = Math.min(size, first + blockSize);
+                scans.add(CompletableFuture.supplyAsync(() -> partition.scan(filter, begin, end), executorService));
+            }
+        }
+
+        Totals total = new Totals(filter.keyCount());
+        scans.forEach(scan -> total.merge(scan.join()));
+
+        metrics.recordAnalyticsQuery(total.scanned, System.nanoTime() - start);
+        return toResponse(filter, total);
+    }
+
+    private static AnalyticsResponse toResponse(Filter filter, Totals total) {
+        List<AnalyticsResponse.Group> groups = new ArrayList<>();
+        for (int key = 0; key < total.count.length; key++) {
+            long count = total.count[key];
+            if (count == 0) {
+                continue;
+            }
+            groups.add(AnalyticsResponse.Group.builder()
+                    .key(filter.label(key))
+                    .count(count)
+                    .share(BigDecimal.valueOf(count * 100).divide(BigDecimal.valueOf(total.matched), 2, RoundingMode.HALF_UP))
+                    .totalLoanAmount(BigDecimal.valueOf(total.loanAmount[key], 2))
+                    .averageLoanAmount(average(total.loanAmount[key], count))
+                    .averageMonthlyPayment(average(total.monthlyPayment[key], count))
+                    .totalInterest(BigDecimal.valueOf(total.interest[key], 2))
+                    .build());
+        }
+
+        return AnalyticsResponse.builder()
+                .groupBy(filter.groupBy.name())
+                .from(Instant.ofEpochMilli(filter.from))
+                .to(Instant.ofEpochMilli(filter.to))
+                .scannedRows(total.scanned)
+                .matchedRows(total.matched)
+                .groups(groups)
+                .build();
+    }
+
+    private static BigDecimal average(long cents, long count) {
+        return BigDecimal.valueOf(cents, 2).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private static GroupBy parseGroupBy(String groupBy) {
+        try {
+            return GroupBy.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ValidationException("groupBy", groupBy,
+                    "Agrupamento inválido. Use um de: " + Arrays.toString(GroupBy.values()), "UnknownGroupBy");
+        }
+    }
+
+    private static int parseTier(String ageTier) {
+        if (ageTier == null) {
+            return -1;
+        }
+        try {
+            return AgeTier.valueOf(ageTier.toUpperCase(Locale.ROOT)).ordinal();
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("ageTier", ageTier,
+                    "Faixa etária inválida. Use uma de: " + Arrays.toString(TIERS), "UnknownAgeTier");
+        }
+    }
+
+    public enum GroupBy {
+        AGE_TIER, TERM, HOUR
+    }
+
+    /**
+     * Filtros e chave de grupo de uma consulta; HOUR conta as horas a partir da primeira do intervalo.
+     */
+    private static final class Filter {
+
+        private final GroupBy groupBy;
+        private final long from;
+        private final long to;
+        private final long firstHour;
+        private final int tier;
+        private final int minTerm;
+        private final int maxTerm;
+
+        private Filter(GroupBy groupBy, long from, long to, int tier, int minTerm, int maxTerm) {
+            this.groupBy = groupBy;
+            this.from = from;
+            this.to = to;
+            this.firstHour = from - Math.floorMod(from, HOUR_MILLIS);
+            this.tier = tier;
+            this.minTerm = minTerm;
+            this.maxTerm = maxTerm;
+        }
+
+        private int keyCount() {
+            return switch (groupBy) {
+                case AGE_TIER -> TIERS.length;
+                case TERM -> SimulationRequestValidator.TERM_MAX + 1;
+                case HOUR -> (int) ((to - firstHour) / HOUR_MILLIS) + 1;
+            };
+        }
+
+        private String label(int key) {
+            return switch (groupBy) {
+                case AGE_TIER -> TIERS[key].name();
+                case TERM -> Integer.toString(key);
+                case HOUR -> Instant.ofEpochMilli(firstHour + key * HOUR_MILLIS).toString();
+            };
+        }
+    }
+
+    /**
+     * Somas por chave de grupo; cada bloco da varredura tem as suas, combinadas no fim.
+     */
+    private static final class Totals {
+
+        private final long[] count;
+        private final long[] loanAmount;
+        private final long[] monthlyPayment;
+        private final long[] interest;
+        private long scanned;
+        private long matched;
+
+        private Totals(int keys) {
+            this.count = new long[keys];
+            this.loanAmount = new long[keys];
+            this.monthlyPayment = new long[keys];
+            this.interest = new long[keys];
+        }
+
+        private void merge(Totals other) {
+            for (int key = 0; key < count.length; key++) {
+                count[key] += other.count[key];
+                loanAmount[key] += other.loanAmount[key];
+                monthlyPayment[key] += other.monthlyPayment[key];
+                interest[key] += other.interest[key];
+            }
+            scanned += other.scanned;
+            matched += other.matched;
+        }
+    }
+
+    /**
+     * Colunas de uma janela. O instante é guardado como deslocamento em ms desde o início da janela,
+     * mais um: zero marca linha reservada e ainda não publicada.
+     */
+    private static final class Partition {
+
+        private final long window;
+        private final long windowStart;
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicIntegerArray stamps;
+        private final byte[] tiers;
+        private final short[] terms;
+        private final long[] loanAmounts;
+        private final long[] monthlyPayments;
+        private final long[] interests;
+
+        private Partition(long window, long windowStart, int capacity) {
+            this.window = window;
+            this.windowStart = windowStart;
+            this.stamps = new AtomicIntegerArray(capacity);
+            this.tiers = new byte[capacity];
+            this.terms = new short[capacity];
+            this.loanAmounts = new long[capacity];
+            this.monthlyPayments = new long[capacity];
+            this.interests = new long[capacity];
+        }
+
+        private int size() {
+            return Math.min(reserved.get(), stamps.length());
+        }
+
+        /**
+         * Reserva a próxima linha e grava o instante por último, publicando as demais colunas.
+         * Partição cheia não reserva mais, para o contador não crescer a cada descarte.
+         */
+        private boolean append(long timestamp, int tier, int term, long loanAmount,
+                               long monthlyPayment, long interest) {
+            if (reserved.get() >= stamps.length()) {
+                return false;
+            }
+            int row = reserved.getAndIncrement();
+            if (row >= stamps.length()) {
+                return false;
+            }
+            tiers[row] = (byte) tier;
+            terms[row] = (short) term;
+            loanAmounts[row] = loanAmount;
+            monthlyPayments[row] = monthlyPayment;
+            interests[row] = interest;
+            stamps.set(row, (int) (timestamp - windowStart) + 1);
+            return true;
+        }
+
+        private Totals scan(Filter filter, int begin, int end) {
+            Totals totals = new Totals(filter.keyCount());
+            long fromOffset = filter.from - windowStart;
+            long toOffset = filter.to - windowStart;
+
+            for (int row = begin; row < end; row++) {
+                int stamp = stamps.get(row);
+                if (stamp == 0) {
+                    continue;
+                }
+                int offset = stamp - 1;
+                int term = terms[row];
+                if (offset < fromOffset || offset > toOffset
+                        || (filter.tier >= 0 && tiers[row] != filter.tier)
+                        || term < filter.minTerm || term > filter.maxTerm) {
+                    continue;
+                }
+
+                int key = switch (filter.groupBy) {
+                    case AGE_TIER -> tiers[row];
+                    case TERM -> term;
+                    case HOUR -> (int) ((windowStart + offset - filter.firstHour) / HOUR_MILLIS);
+                };
+                totals.count[key]++;
+                totals.loanAmount[key] += loanAmounts[row];
+                totals.monthlyPayment[key] += monthlyPayments[row];
+                totals.interest[key] += interests[row];
+                totals.matched++;
+            }
+
+            totals.scanned = end - begin;
+            return totals;
+        }
+    }
+}
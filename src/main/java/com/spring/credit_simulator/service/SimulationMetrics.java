@@ -0,0 +1,337 @@
+package com.spring.credit_simulator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Métricas do pipeline de simulação, expostas em /actuator/prometheus.
+ * Os medidores do caminho por item são registrados uma única vez e alimentados com durações
+ * em nanossegundos (sem Timer.Sample nem Tags por chamada), para não alocar por simulação.
+ */
+@Component
+public class SimulationMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer simulateTimer;
+    private final Timer calculatorTimer;
+    private final DistributionSummary batchSize;
+    private final Counter syncDispatch;
+    private final Counter asyncDispatch;
+    private final DistributionSummary microBatchSize;
+    private final Timer microBatchWait;
+    private final Counter scenarioPaths;
+    private final Counter scenarioBudgetExhausted;
+    private final Timer scenarioDuration;
+    private final Counter recordingRecorded;
+    private final Counter recordingFailed;
+    private final DistributionSummary recordingFlushSize;
+    private final Timer recordingFlushDuration;
+    private final Map<String, Counter> recordingDropped = new ConcurrentHashMap<>();
+    private final Map<String, Counter> analyticsDropped = new ConcurrentHashMap<>();
+    private final Counter analyticsScannedRows;
+    private final Timer analyticsQuery;
+    private final Counter notModified;
+    private final Counter csvProcessedRows;
+    private final Counter csvRejectedRows;
+    private final Timer csvBatch;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deadlineExceeded = new ConcurrentHashMap<>();
+    private final Counter abandonedSimulations;
+    private final Map<String, Counter> brokerPublishes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> brokerSpills = new ConcurrentHashMap<>();
+    private final Counter brokerReconciled;
+    private final AtomicLong warmupNanos = new AtomicLong();
+    private final AtomicInteger warmupIterations = new AtomicInteger();
+    private final AtomicInteger warmupCompleted = new AtomicInteger();
+
+    public SimulationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.simulateTimer = latencyTimer("simulation.simulate",
+                "Duração de SimulationService.simulate por item", registry);
+        this.calculatorTimer = latencyTimer("simulation.calculator",
+                "Duração dos cálculos do LoanCalculator (parcela, total e juros) por item", registry);
+        this.batchSize = DistributionSummary.builder("simulation.batch.size")
+                .description("Quantidade de simulações por batch recebido")
+                .baseUnit("simulations")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(registry);
+        this.syncDispatch = dispatchCounter("sync", registry);
+        this.asyncDispatch = dispatchCounter("async", registry);
+        this.microBatchSize = DistributionSummary.builder("simulation.microbatch.size")
+                .description("Simulações individuais agrupadas por passo do micro-batching")
+                .baseUnit("simulations")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_024.0)
+                .register(registry);
+        this.microBatchWait = latencyTimer("simulation.microbatch.wait",
+                "Espera da requisição mais antiga do lote até o início do passo (latência adicionada)", registry);
+        this.scenarioPaths = Counter.builder("simulation.scenarios.paths")
+                .description("Trajetórias de taxa avaliadas nas simulações de cenários")
+                .register(registry);
+        this.scenarioBudgetExhausted = Counter.builder("simulation.scenarios.budget.exhausted")
+                .description("Simulações de cenários encerradas pelo orçamento de tempo antes de todas as trajetórias")
+                .register(registry);
+        this.scenarioDuration = Timer.builder("simulation.scenarios.duration")
+                .description("Duração de uma simulação de cenários (todas as trajetórias)")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        this.recordingRecorded = Counter.builder("simulation.recording.recorded")
+                .description("Simulações gravadas no banco pelo escritor em segundo plano")
+                .register(registry);
+        this.recordingFailed = Counter.builder("simulation.recording.failed")
+                .description("Simulações perdidas por falha na gravação (linha recusada pelo banco)")
+                .register(registry);
+        this.recordingFlushSize = DistributionSummary.builder("simulation.recording.flush.size")
+                .description("Registros por executeBatch/commit do escritor")
+                .baseUnit("simulations")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(registry);
+        this.recordingFlushDuration = Timer.builder("simulation.recording.flush")
+                .description("Duração de um executeBatch/commit do escritor")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        this.analyticsScannedRows = Counter.builder("simulation.analytics.scanned.rows")
+                .description("Linhas percorridas pelas consultas analíticas")
+                .register(registry);
+        this.analyticsQuery = Timer.builder("simulation.analytics.query")
+                .description("Duração de uma consulta analítica (varredura paralela e combinação)")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        this.notModified = Counter.builder("simulation.http.not.modified")
+                .description("GET de simulação respondidos com 304 pelo ETag, sem cálculo")
+                .register(registry);
+        this.abandonedSimulations = Counter.builder("simulation.deadline.abandoned")
+                .description("Simulações descartadas sem cálculo por prazo esgotado ou cliente desconectado")
+                .register(registry);
+        this.brokerReconciled = Counter.builder("simulation.broker.reconciled")
+                .description("Blocos em espera republicados no broker depois da volta")
+                .register(registry);
+        this.csvProcessedRows = csvRowsCounter("processed", registry);
+        this.csvRejectedRows = csvRowsCounter("rejected", registry);
+        this.csvBatch = Timer.builder("simulation.csv.batch")
+                .description("Duração de um batch em CSV, da leitura do upload à última linha escrita")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry);
+
+        TimeGauge.builder("simulation.warmup.duration", warmupNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Duração do aquecimento executado antes da prontidão")
+                .register(registry);
+        Gauge.builder("simulation.warmup.iterations", warmupIterations, AtomicInteger::get)
+                .description("Simulações executadas no aquecimento")
+                .register(registry);
+        Gauge.builder("simulation.warmup.completed", warmupCompleted, AtomicInteger::get)
+                .description("1 quando o aquecimento executou todas as iterações, 0 se o orçamento de tempo esgotou")
+                .register(registry);
+    }
+
+    public void recordSimulation(long nanos) {
+        simulateTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCalculator(long nanos) {
+        calculatorTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tamanho do batch e decisão de despacho (sync para ≤100, async acima).
+     */
+    public void recordBatchDispatch(int size, boolean async) {
+        batchSize.record(size);
+        (async ? asyncDispatch : syncDispatch).increment();
+    }
+
+    /**
+     * Tamanho do lote e espera da requisição mais antiga até o início do passo.
+     */
+    public void recordMicroBatch(int size, long waitNanos) {
+        microBatchSize.record(size);
+        microBatchWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordScenarios(long paths, long nanos, boolean budgetExhausted) {
+        scenarioPaths.increment(paths);
+        scenarioDuration.record(nanos, TimeUnit.NANOSECONDS);
+        if (budgetExhausted) {
+            scenarioBudgetExhausted.increment();
+        }
+    }
+
+    /**
+     * Ocupação do buffer de gravação, lida só na coleta.
+     */
+    public void bindRecordingBuffer(Collection<?> buffer) {
+        Gauge.builder("simulation.recording.buffer", buffer, Collection::size)
+                .description("Simulações aguardando gravação no buffer em memória")
+                .register(registry);
+    }
+
+    public void recordRecordingFlush(int size, int failed, long nanos) {
+        recordingFlushSize.record(size);
+        recordingFlushDuration.record(nanos, TimeUnit.NANOSECONDS);
+        recordingRecorded.increment(size - failed);
+        recordingFailed.increment(failed);
+    }
+
+    /**
+     * Registro descartado antes de chegar ao buffer: "full" (buffer cheio), "closed" (após o
+     * desligamento) ou "interrupted" (espera por vaga interrompida).
+     */
+    public void recordRecordingDropped(String reason) {
+        recordingDropped.computeIfAbsent(reason, key -> Counter.builder("simulation.recording.dropped")
+                        .description("Simulações não gravadas por falta de vaga no buffer, por motivo")
+                        .tag("reason", key)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    public void recordCsvBatch(long processedRows, long rejectedRows, long nanos) {
+        csvProcessedRows.increment(processedRows);
+        csvRejectedRows.increment(rejectedRows);
+        csvBatch.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAnalyticsQuery(long scannedRows, long nanos) {
+        analyticsScannedRows.increment(scannedRows);
+        analyticsQuery.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Simulação fora do armazém analítico: "full" (partição da janela cheia) ou "expired"
+     * (instante de uma janela já sobrescrita).
+     */
+    public void recordAnalyticsDropped(String reason) {
+        analyticsDropped.computeIfAbsent(reason, key -> Counter.builder("simulation.analytics.dropped")
+                        .description("Simulações não incluídas no armazém analítico, por motivo")
+                        .tag("reason", key)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Recusa por motivo (ex.: "loanAmount.DecimalMin", "birthDate.MinAge"). Os motivos vêm das
+     * constraints do DTO e das regras de negócio, então a cardinalidade é fixa.
+     */
+    public void recordRejection(String reason) {
+        rejections.computeIfAbsent(reason, key -> Counter.builder("simulation.validation.rejections")
+                        .description("Simulações recusadas por validação, por motivo")
+                        .tag("reason", key)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Requisição abandonada: "expired" (prazo esgotado) ou "disconnected" (cliente desconectou).
+     */
+    public void recordDeadlineExceeded(String reason) {
+        deadlineExceeded.computeIfAbsent(reason, key -> Counter.builder("simulation.deadline.exceeded")
+                        .description("Requisições com o trabalho restante abandonado, por motivo")
+                        .tag("reason", key)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordAbandonedSimulations(long count) {
+        abandonedSimulations.increment(count);
+    }
+
+    /**
+     * Publicação no broker: "success", "failure" (erro ou timeout) ou "rejected" (circuito aberto,
+     * sem tentativa).
+     */
+    public void recordBrokerPublish(String result) {
+        brokerPublishes.computeIfAbsent(result, key -> Counter.builder("simulation.broker.publish")
+                        .description("Publicações de blocos no broker, por resultado")
+                        .tag("result", key)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Bloco que não foi ao broker: "local" (simulado no pool do nó), "deferred" (fila local cheia,
+     * aguarda a reconciliação) ou "refused" (fila de espera também cheia, batch recusado).
+     */
+    public void recordBrokerSpill(String target) {
+        brokerSpills.computeIfAbsent(target, key -> Counter.builder("simulation.broker.spilled")
+                        .description("Blocos desviados do broker com o circuito aberto, por destino")
+                        .tag("target", key)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordBrokerReconciled(int chunks) {
+        brokerReconciled.increment(chunks);
+    }
+
+    /**
+     * Estado do circuito (1 aberto ou em teste, 0 fechado) e blocos aguardando a reconciliação,
+     * lidos só na coleta.
+     */
+    public void bindBrokerCircuit(BooleanSupplier open, Collection<?> backlog) {
+        Gauge.builder("simulation.broker.circuit.open", open, supplier -> supplier.getAsBoolean() ? 1 : 0)
+                .description("1 enquanto o circuito do broker está aberto ou em teste")
+                .register(registry);
+        Gauge.builder("simulation.broker.backlog", backlog, Collection::size)
+                .description("Blocos aguardando a volta do broker para serem republicados")
+                .register(registry);
+    }
+
+    public void recordWarmup(long nanos, int iterations, boolean completed) {
+        warmupNanos.set(nanos);
+        warmupIterations.set(iterations);
+        warmupCompleted.set(completed ? 1 : 0);
+    }
+
+    private static Timer latencyTimer(String name, String description, MeterRegistry registry) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    private static Counter csvRowsCounter(String result, MeterRegistry registry) {
+        return Counter.builder("simulation.csv.rows")
+                .description("Linhas dos batches em CSV, simuladas ou recusadas")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter dispatchCounter(String mode, MeterRegistry registry) {
+        return Counter.builder("simulation.batch.dispatch")
+                .description("Decisões de processamento de batch (sync/async)")
+                .tag("mode", mode)
+                .register(registry);
+    }
+}
@@ -0,0 +1,183 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.util.PaymentFactors;
+import com.spring.credit_simulator.util.StageTimings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Micro-batching das simulações individuais por combinação: a requisição que encontra uma vaga de
+ * combinador calcula, num único passo, o que estiver pendente (até {@code maxSize}), compartilhando
+ * os fatores de parcela por taxa e prazo; as demais só aguardam o resultado. Com vaga livre o passo
+ * começa na hora; com todas ocupadas, o lote cresce enquanto o passo anterior roda, e a espera
+ * adicionada fica limitada à duração de um passo. Desligado, delega direto ao SimulationService.
+ */
+@Component
+@Slf4j
+public class SimulationMicroBatcher {
+
+    private final SimulationService simulationService;
+    private final ExecutorService executorService;
+    private final SimulationProperties.MicroBatch config;
+    private final SimulationMetrics metrics;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final Semaphore combiners = new Semaphore(Runtime.getRuntime().availableProcessors());
+
+    public SimulationMicroBatcher(SimulationService simulationService, ExecutorService executorService,
+                                  SimulationProperties properties, SimulationMetrics metrics) {
+        this.simulationService = simulationService;
+        this.executorService = executorService;
+        this.config = properties.getMicroBatch();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Variante bloqueante: a thread da requisição pode ser a combinadora do lote.
+     * Recusas de validação chegam ao chamador como no cálculo direto.
+     */
+    public SimulationResponse simulate(SimulationRequest request) {
+        if (!config.isEnabled()) {
+            return simulationService.simulate(request);
+        }
+
+        Pending item = enqueue(request);
+        combine(item);
+
+        try {
+            return item.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Variante não bloqueante: a combinação roda no pool de simulação.
+     */
+    public CompletableFuture<SimulationResponse> simulateAsync(SimulationRequest request) {
+        if (!config.isEnabled()) {
+            return simulationService.simulateAsync(request);
+        }
+
+        Pending item = enqueue(request);
+        if (combiners.availablePermits() > 0) {
+            combineInPool();
+        }
+        return item.future;
+    }
+
+    private Pending enqueue(SimulationRequest request) {
+        Pending item = new Pending(request, StageTimings.current(), System.nanoTime());
+        pending.add(item);
+        return item;
+    }
+
+    /**
+     * Combina lotes até o próprio item ({@code own}) ficar pronto; sem item próprio, até esvaziar a fila.
+     * A vaga é liberada antes de verificar a fila de novo: um item enfileirado depois dessa verificação
+     * encontra a vaga livre.
+     */
+    private void combine(Pending own) {
+        if (!combiners.tryAcquire()) {
+            return;
+        }
+
+        try {
+            while (own == null || !own.future.isDone()) {
+                List<Pending> batch = drain();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                run(batch);
+            }
+        } finally {
+            combiners.release();
+        }
+
+        // Os donos dos itens restantes estão só aguardando: outro combinador assume no pool
+        if (!pending.isEmpty()) {
+            combineInPool();
+        }
+    }
+
+    private void combineInPool() {
+        try {
+            executorService.execute(() -> combine(null));
+        } catch (RejectedExecutionException e) {
+            Pending item;
+            while ((item = pending.poll()) != null) {
+                item.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private List<Pending> drain() {
+        int maxSize = Math.max(1, config.getMaxSize());
+        List<Pending> batch = new ArrayList<>(Math.min(maxSize, 64));
+
+        Pending item;
+        while (batch.size() < maxSize && (item = pending.poll()) != null) {
+            batch.add(item);
+        }
+
+        if (!batch.isEmpty()) {
+            metrics.recordMicroBatch(batch.size(), System.nanoTime() - batch.get(0).enqueuedAt);
+        }
+        return batch;
+    }
+
+    /**
+     * Passo em lote: um cache de fatores por passo; cada item mantém sua medição e seu resultado.
+     * A thread combinadora pode ser a de uma requisição medida, então a medição dela é restaurada.
+     */
+    private void run(List<Pending> batch) {
+        PaymentFactors factors = new PaymentFactors();
+        StageTimings own = StageTimings.current();
+
+        try {
+            for (Pending item : batch) {
+                StageTimings.bind(item.timings);
+                try {
+                    item.future.complete(simulationService.simulate(item.request, factors));
+                } catch (RuntimeException e) {
+                    item.future.completeExceptionally(e);
+                }
+            }
+        } finally {
+            if (own != null) {
+                StageTimings.bind(own);
+            } else {
+                StageTimings.unbind();
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        private final SimulationRequest request;
+        private final StageTimings timings;
+        private final long enqueuedAt;
+        private final CompletableFuture<SimulationResponse> future = new CompletableFuture<>();
+
+        private Pending(SimulationRequest request, StageTimings timings, long enqueuedAt) {
+            this.request = request;
+            this.timings = timings;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gravação write-behind das simulações concluídas num H2 local: a thread do pool só enfileira a
+ * resposta num buffer circular limitado, e um único escritor grava em lotes JDBC (addBatch,
+ * executeBatch e um commit por lote) ao juntar {@code flushSize} registros ou a cada
+ * {@code flushIntervalMs}. Buffer cheio descarta e conta em métrica, sem bloquear o cálculo,
+ * a menos que {@code offerTimeoutMs} peça espera. Lote recusado pelo banco é refeito registro a
+ * registro, descartando só as linhas inválidas. No desligamento o escritor para e o que
+ * restou no buffer é gravado antes de fechar a conexão.
+ * <p>
+ * Só aceita registros depois da prontidão: as simulações sintéticas do aquecimento não são gravadas.
+ */
+@Component
+@Slf4j
+public class SimulationRecorder {
+
+    // Tamanho da coluna batch_id; ids maiores são truncados em vez de derrubar o lote
+    static final int MAX_BATCH_ID_LENGTH = 64;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS simulation_record (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                recorded_at TIMESTAMP NOT NULL,
+                batch_id VARCHAR(64),
+                loan_amount DECIMAL(12, 2) NOT NULL,
+                birth_date DATE NOT NULL,
+                client_age INT NOT NULL,
+                term_months INT NOT NULL,
+                annual_rate DECIMAL(7, 4) NOT NULL,
+                monthly_payment DECIMAL(14, 2) NOT NULL,
+                total_amount DECIMAL(14, 2) NOT NULL,
+                total_interest DECIMAL(14, 2) NOT NULL,
+                iof_amount DECIMAL(14, 2),
+                fees_amount DECIMAL(14, 2),
+                cet_annual_rate DECIMAL(9, 4)
+            )""";
+
+    private static final String INSERT = "INSERT INTO simulation_record (recorded_at, batch_id, loan_amount, "
+            + "birth_date, client_age, term_months, annual_rate, monthly_payment, total_amount, total_interest, "
+            + "iof_amount, fees_amount, cet_annual_rate) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final SimulationProperties.Recording config;
+    private final SimulationMetrics metrics;
+    private final AtomicInteger offered = new AtomicInteger();
+
+    private BlockingQueue<Entry> buffer;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Thread writer;
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private volatile boolean closed;
+
+    public SimulationRecorder(SimulationProperties properties, SimulationMetrics metrics) {
+        this.config = properties.getRecording();
+        this.metrics = metrics;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Abre a conexão, cria a tabela e inicia o escritor; registros só são aceitos após a prontidão.
+     */
+    @PostConstruct
+    public void open() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            connection = DriverManager.getConnection(config.getUrl());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+            }
+            connection.setAutoCommit(false);
+            insert = connection.prepareStatement(INSERT);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao abrir o banco de gravação de simulações", e);
+        }
+
+        buffer = new ArrayBlockingQueue<>(config.getBufferSize());
+        metrics.bindRecordingBuffer(buffer);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "simulation-recorder");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("Gravação de simulações aberta em {} (buffer {}, lotes de {})",
+                config.getUrl(), config.getBufferSize(), config.getFlushSize());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        accepting = connection != null;
+    }
+
+    /**
+     * Para de aceitar, espera o escritor terminar o lote corrente e grava o que restou no buffer.
+     */
+    @PreDestroy
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+
+        accepting = false;
+        closed = true;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writer.isAlive()) {
+            log.warn("Escritor de simulações não terminou; {} registros no buffer não foram gravados", buffer.size());
+        } else {
+            drain();
+        }
+
+        try {
+            insert.close();
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Falha ao fechar o banco de gravação de simulações", e);
+        }
+        connection = null;
+    }
+
+    /**
+     * Enfileira a simulação concluída (batchId nulo para simulações individuais, truncado em
+     * {@value #MAX_BATCH_ID_LENGTH} caracteres). Custo no caminho quente: uma alocação e um offer
+     * no buffer.
+     */
+    public void record(String batchId, SimulationResponse response) {
+        if (!accepting) {
+            if (closed) {
+                metrics.recordRecordingDropped("closed");
+            }
+            return;
+        }
+
+        if (batchId != null && batchId.length() > MAX_BATCH_ID_LENGTH) {
+            batchId = batchId.substring(0, MAX_BATCH_ID_LENGTH);
+        }
+        if (!offer(new Entry(System.currentTimeMillis(), batchId, response))) {
+            return;
+        }
+
+        if (offered.incrementAndGet() % config.getFlushSize() == 0) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean offer(Entry entry) {
+        long timeoutMs = config.getOfferTimeoutMs();
+        if (timeoutMs <= 0) {
+            if (buffer.offer(entry)) {
+                return true;
+            }
+            metrics.recordRecordingDropped("full");
+            return false;
+        }
+
+        try {
+            if (buffer.offer(entry, timeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            metrics.recordRecordingDropped("full");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metrics.recordRecordingDropped("interrupted");
+        }
+        return false;
+    }
+
+    private void writeLoop() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMs());
+
+        while (running) {
+            if (buffer.size() < config.getFlushSize()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            drain();
+        }
+    }
+
+    /**
+     * Grava em lotes de até flushSize até esvaziar o buffer.
+     */
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(Math.min(config.getFlushSize(), config.getBufferSize()));
+        while (buffer.drainTo(batch, config.getFlushSize()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        long start = System.nanoTime();
+        int failed = 0;
+
+        try {
+            for (Entry entry : batch) {
+                bind(entry);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            log.warn("Falha ao gravar lote de {} simulações; gravando uma a uma: {}", batch.size(), e.toString());
+            rollback();
+            failed = writeEach(batch);
+        }
+
+        metrics.recordRecordingFlush(batch.size(), failed, System.nanoTime() - start);
+    }
+
+    /**
+     * Refaz o lote registro a registro, para uma linha inválida não descartar as demais.
+     * Retorna quantos registros não puderam ser gravados.
+     */
+    private int writeEach(List<Entry> batch) {
+        int failed = 0;
+        try {
+            insert.clearBatch();
+            for (Entry entry : batch) {
+                try {
+                    bind(entry);
+                    insert.executeUpdate();
+                } catch (SQLException e) {
+                    failed++;
+                    log.debug("Simulação do batch {} descartada na gravação: {}", entry.batchId, e.toString());
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            log.error("Falha ao gravar lote de {} simulações; descartado", batch.size(), e);
+            rollback();
+            return batch.size();
+        }
+
+        if (failed > 0) {
+            log.error("{} de {} simulações do lote descartadas na gravação", failed, batch.size());
+        }
+        return failed;
+    }
+
+    private void bind(Entry entry) throws SQLException {
+        SimulationResponse response = entry.response;
+        insert.setTimestamp(1, new Timestamp(entry.recordedAt));
+        insert.setString(2, entry.batchId);
+        insert.setBigDecimal(3, response.getLoanAmount());
+        insert.setDate(4, Date.valueOf(response.getBirthDate()));
+        insert.setInt(5, response.getClientAge());
+        insert.setInt(6, response.getLoanTermMonths());
+        insert.setBigDecimal(7, response.getAnnualInterestRate());
+        insert.setBigDecimal(8, response.getMonthlyPayment());
+        insert.setBigDecimal(9, response.getTotalAmount());
+        insert.setBigDecimal(10, response.getTotalInterest());
+        insert.setBigDecimal(11, response.getIofAmount());
+        insert.setBigDecimal(12, response.getFeesAmount());
+        insert.setBigDecimal(13, response.getCetAnnualRate());
+    }
+
+    private void rollback() {
+        try {
+            insert.clearBatch();
+            connection.rollback();
+        } catch (SQLException rollbackError) {
+            log.warn("Falha no rollback do lote de simulações", rollbackError);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long recordedAt;
+        private final String batchId;
+        private final SimulationResponse response;
+
+        private Entry(long recordedAt, String batchId, SimulationResponse response) {
+            this.recordedAt = recordedAt;
+            this.batchId = batchId;
+            this.response = response;
+        }
+    }
+}
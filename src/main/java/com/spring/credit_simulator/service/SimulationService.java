@@ -1,21 +1,48 @@
 package com.spring.credit_simulator.service;
 
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
 import com.spring.credit_simulator.dto.BatchSimulationRequest;
 import com.spring.credit_simulator.dto.BatchSimulationResponse;
+import com.spring.credit_simulator.dto.IndexedSimulationResponse;
+import com.spring.credit_simulator.dto.SimulationGridRequest;
+import com.spring.credit_simulator.dto.SimulationInput;
 import com.spring.credit_simulator.dto.SimulationRequest;
 import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.BrokerUnavailableException;
+import com.spring.credit_simulator.exception.DeadlineExceededException;
 import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.AgeTier;
+import com.spring.credit_simulator.util.IndexCurve;
 import com.spring.credit_simulator.util.LoanCalculator;
+import com.spring.credit_simulator.util.PaymentFactors;
+import com.spring.credit_simulator.util.RequestDeadline;
+import com.spring.credit_simulator.util.SimulationAggregate;
+import com.spring.credit_simulator.util.StageTimings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,46 +50,231 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SimulationService {
 
+    private static final int SYNC_BATCH_LIMIT = 100;
+
     private final ExecutorService executorService;
+    private final BatchAggregationService batchAggregationService;
+    private final BatchJournal batchJournal;
+    private final SimulationRecorder recorder;
+    private final SimulationAnalytics analytics;
+    private final SimulationProperties properties;
+    private final SimulationMetrics metrics;
+    private final Optional<MessageService> messageService;
+    private final Map<String, ChunkProgress> chunkProgress = new ConcurrentHashMap<>();
 
     public SimulationResponse simulate(SimulationRequest request) {
         log.debug("Iniciando simulação para: {}", request);
+        return simulate(request.getLoanAmount(), request.getBirthDate(), request.getLoanTermMonths(), null, null);
+    }
 
-        int age = calculateAge(request.getBirthDate());
+    /**
+     * Simulação dentro de um passo em lote: itens com a mesma taxa e prazo compartilham o fator de parcela.
+     */
+    public SimulationResponse simulate(SimulationRequest request, PaymentFactors factors) {
+        log.debug("Iniciando simulação para: {}", request);
+        return simulate(request.getLoanAmount(), request.getBirthDate(), request.getLoanTermMonths(), factors, null);
+    }
+
+    /**
+     * Grade de prazos para o mesmo valor e cliente, na ordem pedida.
+     */
+    public List<SimulationResponse> simulateGrid(SimulationGridRequest request) {
+        log.debug("Iniciando grade de {} prazos para: {}", request.getTerms().size(), request);
+        PaymentFactors factors = new PaymentFactors();
+        RequestDeadline deadline = RequestDeadline.current();
+        List<SimulationResponse> responses = new ArrayList<>(request.getTerms().size());
+        for (int term : request.getTerms()) {
+            checkDeadline(deadline, request.getTerms().size() - responses.size());
+            responses.add(simulate(request.getLoanAmount(), request.getBirthDate(), term, factors, null));
+        }
+        return responses;
+    }
+
+    private SimulationResponse simulate(SimulationRequest request, String batchId) {
+        log.debug("Iniciando simulação para: {}", request);
+        return simulate(request.getLoanAmount(), request.getBirthDate(), request.getLoanTermMonths(), null, batchId);
+    }
+
+    SimulationResponse simulate(SimulationInput input, PaymentFactors factors, String batchId) {
+        log.debug("Iniciando simulação para: {}", input);
+        return simulate(input.getLoanAmount(), input.getBirthDate(), input.getLoanTermMonths(), factors, batchId);
+    }
+
+    /**
+     * Caminho quente: prazo primitivo e resposta criada pelo construtor, sem builder.
+     * Sem {@code factors}, o fator de parcela é calculado só para este item.
+     * A resposta é entregue ao gravador write-behind com o batch de origem (nulo se individual)
+     * e ao armazém analítico em memória.
+     */
+    private SimulationResponse simulate(BigDecimal loanAmount, LocalDate birthDate, int loanTermMonths,
+                                        PaymentFactors factors, String batchId) {
+        long start = System.nanoTime();
+
+        int age = calculateAge(birthDate);
         validateAge(age);
 
-        BigDecimal annualRate = determineInterestRate(age);
-        log.info("Taxa de juros determinada: {}% ao ano para idade {}", annualRate, age);
+        AgeTier tier = AgeTier.of(age);
+        BigDecimal annualRate = tier.getAnnualInterestRate();
+        log.debug("Taxa de juros determinada: {}% ao ano para idade {}", annualRate, age);
 
-        BigDecimal monthlyPayment = LoanCalculator.calculateMonthlyPayment(
-                request.getLoanAmount(),
-                annualRate,
-                request.getLoanTermMonths()
-        );
+        long calculatorStart = System.nanoTime();
+        LoanCalculator.PaymentFactor factor = factors != null
+                ? factors.get(tier, loanTermMonths)
+                : LoanCalculator.paymentFactor(annualRate, loanTermMonths);
+        BigDecimal monthlyPayment = factor.monthlyPayment(loanAmount);
 
         BigDecimal totalAmount = LoanCalculator.calculateTotalAmount(
                 monthlyPayment,
-                request.getLoanTermMonths()
+                loanTermMonths
         );
 
         BigDecimal totalInterest = LoanCalculator.calculateTotalInterest(
                 totalAmount,
-                request.getLoanAmount()
+                loanAmount
         );
 
-        SimulationResponse response = SimulationResponse.builder()
-                .loanAmount(request.getLoanAmount())
+        Cet cet = properties.getCet().isEnabled()
+                ? calculateCet(loanAmount, tier, loanTermMonths, factor, factors)
+                : Cet.NONE;
+        long calculatorNanos = System.nanoTime() - calculatorStart;
+        metrics.recordCalculator(calculatorNanos);
+
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.add(StageTimings.Stage.RATE, calculatorStart - start);
+            timings.add(StageTimings.Stage.CALCULATOR, calculatorNanos);
+        }
+
+        SimulationResponse response = new SimulationResponse(loanAmount, birthDate, age, loanTermMonths,
+                annualRate, monthlyPayment, totalAmount, totalInterest,
+                cet.iofAmount, cet.feesAmount, cet.annualRate);
+
+        log.debug("Simulação concluída. Parcela: R$ {}", monthlyPayment);
+        if (isSampled()) {
+            log.info("Simulação amostrada (1 a cada {}): idade {}, taxa {}% ao ano, prazo {} meses, parcela R$ {}",
+                    properties.getLogging().getSampleRate(), age, annualRate,
+                    loanTermMonths, monthlyPayment);
+        }
+
+        recorder.record(batchId, response);
+        analytics.add(response);
+        metrics.recordSimulation(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * IOF, tarifa e seguro são descontados do valor liberado; o CET é a taxa em que o valor líquido
+     * iguala o valor presente das parcelas. No lote, alíquota de IOF e solução vêm do cache de fatores.
+     */
+    private Cet calculateCet(BigDecimal loanAmount, AgeTier tier, int loanTermMonths,
+                             LoanCalculator.PaymentFactor factor, PaymentFactors factors) {
+        SimulationProperties.Cet config = properties.getCet();
+        double dailyRate = config.getIofDailyRate() / 100;
+        double additionalRate = config.getIofAdditionalRate() / 100;
+
+        double iofRate = factors != null
+                ? factors.iofRate(tier, loanTermMonths, dailyRate, additionalRate, config.getIofMaxDays())
+                : LoanCalculator.iofRate(factor, dailyRate, additionalRate, config.getIofMaxDays());
+
+        BigDecimal iofAmount = LoanCalculator.toMoney(loanAmount.multiply(BigDecimal.valueOf(iofRate)));
+        BigDecimal feesAmount = LoanCalculator.toMoney(loanAmount
+                .multiply(BigDecimal.valueOf(config.getInsuranceRate() / 100))
+                .add(config.getFee()));
+
+        double netRatio = 1 - iofAmount.add(feesAmount).doubleValue() / loanAmount.doubleValue();
+        double cetMonthlyRate = factors != null
+                ? factors.cetMonthlyRate(tier, loanTermMonths, netRatio)
+                : LoanCalculator.cetMonthlyRate(factor, netRatio);
+
+        return new Cet(iofAmount, feesAmount, LoanCalculator.toAnnualPercent(cetMonthlyRate));
+    }
+
+    /**
+     * Simulação pós-fixada sobre uma versão da curva do índice: parcela em O(1) pelas somas de prefixo;
+     * a tabela, O(prazo), só com {@code includeSchedule}.
+     */
+    public IndexedSimulationResponse simulateIndexed(SimulationRequest request, IndexCurve curve,
+                                                     boolean includeSchedule) {
+        log.debug("Iniciando simulação pós-fixada ({} v{}) para: {}", curve.getName(), curve.getVersion(), request);
+
+        BigDecimal loanAmount = request.getLoanAmount();
+        int loanTermMonths = request.getLoanTermMonths();
+        int age = calculateAge(request.getBirthDate());
+        validateAge(age);
+        AgeTier tier = AgeTier.of(age);
+
+        BigDecimal monthlyPayment = curve.monthlyPayment(tier, loanAmount, loanTermMonths);
+        BigDecimal totalAmount = LoanCalculator.calculateTotalAmount(monthlyPayment, loanTermMonths);
+
+        return IndexedSimulationResponse.builder()
+                .loanAmount(loanAmount)
                 .birthDate(request.getBirthDate())
                 .clientAge(age)
-                .loanTermMonths(request.getLoanTermMonths())
-                .annualInterestRate(annualRate)
+                .loanTermMonths(loanTermMonths)
+                .index(curve.getName())
+                .curveVersion(curve.getVersion())
+                .spreadAnnualRate(tier.getAnnualInterestRate())
                 .monthlyPayment(monthlyPayment)
                 .totalAmount(totalAmount)
-                .totalInterest(totalInterest)
+                .totalInterest(LoanCalculator.calculateTotalInterest(totalAmount, loanAmount))
+                .schedule(includeSchedule ? indexedSchedule(curve, tier, loanAmount, monthlyPayment, loanTermMonths) : null)
                 .build();
+    }
 
-        log.info("Simulação concluída. Parcela: R$ {}", monthlyPayment);
-        return response;
+    /**
+     * Lote pós-fixado: todos os itens usam a mesma versão da curva, sem cópia.
+     */
+    public List<IndexedSimulationResponse> simulateIndexed(List<SimulationRequest> requests, IndexCurve curve) {
+        RequestDeadline deadline = RequestDeadline.current();
+        List<IndexedSimulationResponse> responses = new ArrayList<>(requests.size());
+        for (SimulationRequest request : requests) {
+            checkDeadline(deadline, requests.size() - responses.size());
+            responses.add(simulateIndexed(request, curve, false));
+        }
+        return responses;
+    }
+
+    /**
+     * Saldo de cada mês pela forma fechada da curva; juros e amortização saem da diferença de saldos.
+     */
+    private List<IndexedSimulationResponse.Installment> indexedSchedule(IndexCurve curve, AgeTier tier,
+                                                                        BigDecimal loanAmount, BigDecimal monthlyPayment,
+                                                                        int loanTermMonths) {
+        List<IndexedSimulationResponse.Installment> schedule = new ArrayList<>(loanTermMonths);
+        double principal = loanAmount.doubleValue();
+        double payment = monthlyPayment.doubleValue();
+        BigDecimal previousBalance = loanAmount;
+
+        for (int month = 1; month <= loanTermMonths; month++) {
+            double rate = curve.monthlyRate(tier, month);
+            BigDecimal balance;
+            BigDecimal interest;
+            BigDecimal installment;
+
+            if (month < loanTermMonths) {
+                balance = LoanCalculator.toMoney(BigDecimal.valueOf(curve.balanceAfter(tier, principal, payment, month)));
+                installment = monthlyPayment;
+                interest = installment.subtract(previousBalance.subtract(balance));
+            } else {
+                balance = BigDecimal.ZERO.setScale(2);
+                interest = LoanCalculator.toMoney(previousBalance.multiply(BigDecimal.valueOf(rate)));
+                installment = previousBalance.add(interest);
+            }
+
+            schedule.add(new IndexedSimulationResponse.Installment(month,
+                    BigDecimal.valueOf(rate * 100).setScale(4, RoundingMode.HALF_UP),
+                    installment, interest, previousBalance.subtract(balance), balance));
+            previousBalance = balance;
+        }
+
+        return schedule;
+    }
+
+    /**
+     * Variante não bloqueante: o cálculo roda no pool de simulação e a thread da requisição é liberada.
+     */
+    public CompletableFuture<SimulationResponse> simulateAsync(SimulationRequest request) {
+        return CompletableFuture.supplyAsync(StageTimings.propagate(() -> simulate(request)), executorService);
     }
 
     /**
@@ -73,7 +285,10 @@ public class SimulationService {
         log.info("Processando batch {} com {} simulações",
                 batchRequest.getBatchId(), totalSimulations);
 
-        if (batchRequest.getSimulations().size() > 100) {
+        boolean async = batchRequest.getSimulations().size() > SYNC_BATCH_LIMIT;
+        metrics.recordBatchDispatch(batchRequest.getSimulations().size(), async);
+
+        if (async) {
             return processAsyncBatch(batchRequest);
         } else {
             return processSyncBatch(batchRequest);
@@ -81,29 +296,136 @@ public class SimulationService {
     }
 
     /**
-     * Processamento paralelo usando CompletableFuture com pool de threads customizado.
+     * Mesma estratégia de processBatch, compondo futures em vez de bloquear com join():
+     * o resultado é completado pela última tarefa do pool.
+     */
+    public CompletableFuture<Object> processBatchAsync(BatchSimulationRequest batchRequest) {
+        log.info("Processando batch {} com {} simulações (não bloqueante)",
+                batchRequest.getBatchId(), batchRequest.getTotalSimulations());
+
+        boolean async = batchRequest.getSimulations().size() > SYNC_BATCH_LIMIT;
+        metrics.recordBatchDispatch(batchRequest.getSimulations().size(), async);
+
+        if (async) {
+            // fsync do journal também fora da thread da requisição
+            return CompletableFuture.supplyAsync(() -> processAsyncBatch(batchRequest), executorService);
+        } else {
+            return processSyncBatchAsync(batchRequest).thenApply(responses -> responses);
+        }
+    }
+
+    /**
+     * Com prazo, a espera termina nele: as tarefas ainda na fila são descartadas e a resposta não
+     * é montada. A desconexão do cliente não é detectada aqui; só o prazo cancela.
      */
     private List<SimulationResponse> processSyncBatch(BatchSimulationRequest batchRequest) {
+        CompletableFuture<List<SimulationResponse>> result = processSyncBatchAsync(batchRequest);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return result.join();
+        }
+
+        try {
+            return result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            deadline.cancel(RequestDeadline.EXPIRED);
+            throw deadline.exceeded();
+        } catch (InterruptedException e) {
+            // Só no desligamento do container; não é cancelamento do cliente
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeadlineExceededException exceeded) {
+                throw exceeded;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Processamento paralelo usando CompletableFuture com pool de threads customizado.
+     * Cancelada a requisição (prazo ou desconexão), as tarefas que ainda não começaram são
+     * descartadas e o resultado falha com DeadlineExceededException.
+     */
+    private CompletableFuture<List<SimulationResponse>> processSyncBatchAsync(BatchSimulationRequest batchRequest) {
         log.debug("Processando batch sincronamente");
 
+        RequestDeadline deadline = RequestDeadline.current();
+        checkDeadline(deadline, batchRequest.getSimulations().size());
+
         List<CompletableFuture<SimulationResponse>> futures = batchRequest.getSimulations()
                 .stream()
                 .map(request -> CompletableFuture.supplyAsync(
-                        () -> simulate(request),
+                        StageTimings.propagate(() -> simulate(request, batchRequest.getBatchId())),
                         executorService
                 ))
                 .collect(Collectors.toList());
 
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .collect(Collectors.toList());
+        CompletableFuture<List<SimulationResponse>> result = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<SimulationResponse> responses = futures.stream()
+                            .map(CompletableFuture::join)
+                            .collect(Collectors.toList());
+
+                    SimulationAggregate aggregate = new SimulationAggregate();
+                    responses.forEach(response -> accumulate(aggregate, response));
+                    batchAggregationService.register(batchRequest.getBatchId(), responses.size());
+                    batchAggregationService.publish(batchRequest.getBatchId(), aggregate);
+                    logBatchSummary(batchRequest.getBatchId());
+
+                    return responses;
+                });
+
+        if (deadline != null) {
+            deadline.onCancel(() -> abandon(futures, result, deadline));
+        }
+        return result;
     }
 
+    /**
+     * Falha o resultado antes de cancelar as tarefas, para que a causa seja o prazo e não o
+     * cancelamento. Tarefas já em execução terminam, mas o resultado delas é descartado.
+     */
+    private void abandon(List<CompletableFuture<SimulationResponse>> futures,
+                         CompletableFuture<List<SimulationResponse>> result, RequestDeadline deadline) {
+        if (!result.completeExceptionally(deadline.exceeded())) {
+            return;
+        }
+
+        int abandoned = 0;
+        for (CompletableFuture<SimulationResponse> future : futures) {
+            if (future.cancel(false)) {
+                abandoned++;
+            }
+        }
+        metrics.recordAbandonedSimulations(abandoned);
+        log.debug("Batch abandonado ({}): {} de {} simulações descartadas",
+                deadline.exceeded().getReason(), abandoned, futures.size());
+    }
+
+    /**
+     * Registra o batch no journal (durável antes do 202) e despacha os blocos: para a mensageria
+     * particionada quando configurada, senão para o pool de threads local.
+     */
     private BatchSimulationResponse processAsyncBatch(BatchSimulationRequest batchRequest) {
         log.info("Enviando batch {} para processamento assíncrono",
                 batchRequest.getBatchId());
 
-        // Em produção: messageService.sendToQueue(batchRequest);
+        String batchId = batchRequest.getBatchId();
+        List<SimulationRequest> simulations = batchRequest.getSimulations();
+        int chunkSize = properties.getBatch().getChunkSize();
+
+        batchJournal.recordAccepted(batchId, chunkSize, simulations);
+        batchAggregationService.register(batchId, simulations.size());
+        try {
+            dispatchChunks(batchId, simulations, chunkSize, Set.of());
+        } catch (BrokerUnavailableException e) {
+            // Recusado com 503: resultados de blocos já despachados são ignorados e o batch não é retomado
+            chunkProgress.remove(batchId);
+            batchAggregationService.discard(batchId);
+            batchJournal.recordBatchCompleted(batchId);
+            throw e;
+        }
 
         return BatchSimulationResponse.accepted(
                 batchRequest.getBatchId(),
@@ -111,6 +433,149 @@ public class SimulationService {
         );
     }
 
+    /**
+     * Retoma batches não concluídos do journal a partir do último checkpoint:
+     * blocos já registrados entram direto no agregado e só os restantes são recalculados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingBatches() {
+        for (BatchJournal.JournaledBatch batch : batchJournal.drainRecoveredBatches()) {
+            String batchId = batch.getBatchId();
+            int totalChunks = (batch.getSimulations().size() + batch.getChunkSize() - 1) / batch.getChunkSize();
+
+            log.info("Retomando batch {}: {} de {} blocos já concluídos",
+                    batchId, batch.getCompletedChunks().size(), totalChunks);
+
+            batchAggregationService.register(batchId, batch.getSimulations().size());
+            batch.getCompletedChunks().values()
+                    .forEach(partial -> batchAggregationService.publish(batchId, partial));
+
+            try {
+                dispatchChunks(batchId, batch.getSimulations(), batch.getChunkSize(),
+                        batch.getCompletedChunks().keySet());
+            } catch (BrokerUnavailableException e) {
+                // Continua no journal e é retomado no próximo início
+                chunkProgress.remove(batchId);
+                batchAggregationService.discard(batchId);
+                log.warn("Batch {} não retomado: {}", batchId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resultado de um bloco, vindo do pool local ou de um consumidor de qualquer réplica.
+     * Reentregas do mesmo bloco são ignoradas para não contar simulações em dobro.
+     */
+    public void onChunkCompleted(String batchId, int offset, SimulationAggregate partial) {
+        ChunkProgress progress = chunkProgress.get(batchId);
+        if (progress == null || !progress.completedOffsets.add(offset)) {
+            log.debug("Resultado ignorado (duplicado ou batch desconhecido): batch {} bloco {}", batchId, offset);
+            return;
+        }
+
+        batchJournal.recordChunkCompleted(batchId, offset, partial);
+        batchAggregationService.publish(batchId, partial);
+
+        if (progress.remainingChunks.decrementAndGet() == 0) {
+            chunkProgress.remove(batchId);
+            batchJournal.recordBatchCompleted(batchId);
+            logBatchSummary(batchId);
+        }
+    }
+
+    private void dispatchChunks(String batchId, List<SimulationRequest> simulations,
+                                int chunkSize, Set<Integer> completedOffsets) {
+        List<Integer> pendingOffsets = new ArrayList<>();
+        for (int offset = 0; offset < simulations.size(); offset += chunkSize) {
+            if (!completedOffsets.contains(offset)) {
+                pendingOffsets.add(offset);
+            }
+        }
+
+        if (pendingOffsets.isEmpty()) {
+            batchJournal.recordBatchCompleted(batchId);
+            return;
+        }
+
+        chunkProgress.put(batchId, new ChunkProgress(pendingOffsets.size()));
+
+        for (int offset : pendingOffsets) {
+            BatchChunkMessage chunk = BatchChunkMessage.of(batchId, simulations, offset, chunkSize);
+
+            if (messageService.isPresent()) {
+                messageService.get().sendChunk(chunk);
+            } else {
+                // Forma compacta: a lista desserializada do batch não fica retida até o bloco rodar
+                List<SimulationInput> inputs = SimulationInput.of(chunk.getSimulations());
+                CompletableFuture
+                        .runAsync(() -> onChunkCompleted(batchId, offset, simulateInputs(batchId, inputs)), executorService)
+                        .exceptionally(ex -> {
+                            log.error("Falha ao processar bloco {} do batch {}", offset, batchId, ex);
+                            return null;
+                        });
+            }
+        }
+    }
+
+    /**
+     * Simula um bloco acumulando somente o agregado do worker, sem materializar as respostas.
+     * Recusas por regra de negócio são contabilizadas e não interrompem o bloco.
+     */
+    SimulationAggregate simulateChunk(String batchId, List<SimulationRequest> chunk) {
+        return simulateInputs(batchId, SimulationInput.of(chunk));
+    }
+
+    private SimulationAggregate simulateInputs(String batchId, List<SimulationInput> chunk) {
+        SimulationAggregate partial = new SimulationAggregate();
+        PaymentFactors factors = new PaymentFactors();
+
+        for (SimulationInput input : chunk) {
+            try {
+                accumulate(partial, simulate(input, factors, batchId));
+            } catch (ValidationException e) {
+                partial.addRejected();
+            }
+        }
+
+        return partial;
+    }
+
+    private void accumulate(SimulationAggregate aggregate, SimulationResponse response) {
+        aggregate.add(
+                AgeTier.of(response.getClientAge()),
+                LoanCalculator.toCents(response.getLoanAmount()),
+                LoanCalculator.toCents(response.getMonthlyPayment()),
+                LoanCalculator.toCents(response.getTotalAmount()),
+                LoanCalculator.toCents(response.getTotalInterest())
+        );
+    }
+
+    /**
+     * Amostragem sem contador compartilhado: evita contenção entre as threads do pool.
+     */
+    private boolean isSampled() {
+        int sampleRate = properties.getLogging().getSampleRate();
+        return sampleRate > 0 && log.isInfoEnabled()
+                && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Uma única linha por batch, em vez de uma por simulação.
+     */
+    private void logBatchSummary(String batchId) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        batchAggregationService.getSummary(batchId).ifPresent(summary -> log.info(
+                "Batch {} concluído: {} simulações ({} rejeitadas), valor financiado R$ {}, juros R$ {}, " +
+                        "parcela média R$ {} (p50 R$ {}, p99 R$ {})",
+                batchId, summary.getProcessedSimulations(), summary.getRejectedSimulations(),
+                summary.getTotalLoanAmount(), summary.getTotalInterest(),
+                summary.getMonthlyPayment().getAverage(), summary.getMonthlyPayment().getP50(),
+                summary.getMonthlyPayment().getP99()));
+    }
+
     /**
      * Usa Period.between() para cálculo preciso considerando mês e dia.
      */
@@ -122,26 +587,55 @@ public class SimulationService {
 
     private void validateAge(int age) {
         if (age < 18) {
-            throw ValidationException.invalidAge(age);
+            throw rejected(ValidationException.invalidAge(age));
         }
 
         if (age > 120) {
-            throw ValidationException.invalidMaxAge(age);
+            throw rejected(ValidationException.invalidMaxAge(age));
         }
     }
 
     /**
-     * Taxas por faixa etária: ≤25: 5%, 26-40: 3%, 41-60: 2%, >60: 4%.
+     * Recusa o trabalho restante se a requisição já foi cancelada, contando as simulações que
+     * deixam de ser feitas.
      */
-    private BigDecimal determineInterestRate(int age) {
-        if (age <= 25) {
-            return new BigDecimal("5.0");
-        } else if (age <= 40) {
-            return new BigDecimal("3.0");
-        } else if (age <= 60) {
-            return new BigDecimal("2.0");
-        } else {
-            return new BigDecimal("4.0");
+    private void checkDeadline(RequestDeadline deadline, int pendingSimulations) {
+        if (deadline != null && deadline.isExceeded()) {
+            metrics.recordAbandonedSimulations(pendingSimulations);
+            throw deadline.exceeded();
+        }
+    }
+
+    private ValidationException rejected(ValidationException ex) {
+        metrics.recordRejection(ex.getField() + "." + ex.getReason());
+        return ex;
+    }
+
+    private static final class Cet {
+
+        private static final Cet NONE = new Cet(null, null, null);
+
+        private final BigDecimal iofAmount;
+        private final BigDecimal feesAmount;
+        private final BigDecimal annualRate;
+
+        private Cet(BigDecimal iofAmount, BigDecimal feesAmount, BigDecimal annualRate) {
+            this.iofAmount = iofAmount;
+            this.feesAmount = feesAmount;
+            this.annualRate = annualRate;
+        }
+    }
+
+    /**
+     * Blocos pendentes de um batch em andamento neste nó (dono do batch).
+     */
+    private static final class ChunkProgress {
+
+        private final Set<Integer> completedOffsets = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger remainingChunks;
+
+        private ChunkProgress(int pendingChunks) {
+            this.remainingChunks = new AtomicInteger(pendingChunks);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.spring.credit_simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.validation.SimulationRequestValidator;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquecimento do JIT na subida: um mix sintético de todas as faixas etárias e prazos passa pelo
+ * caminho real (desserialização Jackson, Bean Validation, validador de batch, SimulationService
+ * e serialização individual e em lista). Roda como ApplicationRunner, então a prontidão
+ * (ReadinessState.ACCEPTING_TRAFFIC) só é publicada depois que ele termina ou esgota o orçamento.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SimulationWarmup implements ApplicationRunner {
+
+    // Bordas e meio de cada faixa etária (≤25, 26-40, 41-60, >60)
+    private static final int[] AGES = {18, 22, 25, 26, 33, 40, 41, 50, 60, 61, 75, 95};
+    private static final int[] TERMS = {6, 12, 24, 36, 60, 96, 120, 180, 240, 300, 360};
+    private static final String[] AMOUNTS = {"1000.00", "15750.50", "250000", "1000000.00"};
+    private static final int BATCH_SIZE = 100;
+
+    private final SimulationService simulationService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SimulationProperties properties;
+    private final SimulationMetrics metrics;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SimulationProperties.Warmup warmup = properties.getWarmup();
+        if (!warmup.isEnabled() || warmup.getIterations() <= 0) {
+            return;
+        }
+
+        log.info("Aquecimento iniciado: até {} simulações em {} ms", warmup.getIterations(), warmup.getBudgetMs());
+        List<byte[]> payloads = createPayloads();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(warmup.getBudgetMs());
+        int iterations = 0;
+
+        try {
+            List<SimulationRequest> requests = new ArrayList<>(BATCH_SIZE);
+            List<SimulationResponse> responses = new ArrayList<>(BATCH_SIZE);
+
+            while (iterations < warmup.getIterations() && System.nanoTime() < deadline) {
+                SimulationRequest request = objectMapper.readValue(
+                        payloads.get(iterations % payloads.size()), SimulationRequest.class);
+                validator.validate(request);
+
+                SimulationResponse response = simulationService.simulate(request);
+                objectMapper.writeValueAsBytes(response);
+
+                requests.add(request);
+                responses.add(response);
+                if (responses.size() == BATCH_SIZE) {
+                    SimulationRequestValidator.validateAll(requests);
+                    objectMapper.writeValueAsBytes(responses);
+                    requests.clear();
+                    responses.clear();
+                }
+                iterations++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Aquecimento interrompido após {} simulações", iterations, e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        boolean completed = iterations >= warmup.getIterations();
+        metrics.recordWarmup(elapsed, iterations, completed);
+        log.info("Aquecimento concluído em {} ms: {} simulações{}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                iterations, completed ? "" : " (orçamento de tempo esgotado)");
+    }
+
+    /**
+     * Todas as combinações de idade, prazo e valor, em JSON como chegam na API.
+     */
+    private static List<byte[]> createPayloads() {
+        LocalDate today = LocalDate.now();
+        List<byte[]> payloads = new ArrayList<>(AGES.length * TERMS.length * AMOUNTS.length);
+
+        for (int age : AGES) {
+            for (int term : TERMS) {
+                for (int i = 0; i < AMOUNTS.length; i++) {
+                    LocalDate birthDate = today.minusYears(age).minusDays(1 + (long) i * 60);
+                    payloads.add(String.format(Locale.ROOT,
+                            "{\"loanAmount\":%s,\"birthDate\":\"%s\",\"loanTermMonths\":%d}",
+                            AMOUNTS[i], birthDate, term).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        return payloads;
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring.credit_simulator.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Faixas etárias e respectivas taxas anuais: ≤25: 5%, 26-40: 3%, 41-60: 2%, >60: 4%.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AgeTier {
+
+    YOUNG(25, new BigDecimal("5.0"), "Até 25 anos"),
+    ADULT(40, new BigDecimal("3.0"), "26 a 40 anos"),
+    MIDDLE_AGE(60, new BigDecimal("2.0"), "41 a 60 anos"),
+    SENIOR(Integer.MAX_VALUE, new BigDecimal("4.0"), "Acima de 60 anos");
+
+    private final int maxAge;
+    private final BigDecimal annualInterestRate;
+    private final String description;
+
+    public static AgeTier of(int age) {
+        if (age <= YOUNG.maxAge) {
+            return YOUNG;
+        } else if (age <= ADULT.maxAge) {
+            return ADULT;
+        } else if (age <= MIDDLE_AGE.maxAge) {
+            return MIDDLE_AGE;
+        } else {
+            return SENIOR;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.spring.credit_simulator.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Leitura de simulações em CSV direto do buffer de bytes, sem String por linha nem por campo:
+ * o valor sai de um long e uma escala, a data de yyyy-MM-dd e o prazo de dígitos ASCII.
+ * Colunas: loanAmount,birthDate,loanTermMonths, com ponto decimal. Aceita BOM UTF-8, cabeçalho
+ * (primeira linha começando por letra), campos entre aspas, CRLF e linhas em branco.
+ * <p>
+ * Uma linha malformada não interrompe a leitura: vem com {@link #getError()} preenchido e os
+ * campos que puderam ser lidos. Os campos valem até a próxima chamada de {@link #next()}.
+ * Não é thread-safe.
+ */
+public final class CsvSimulationReader {
+
+    public static final String COLUMNS_MESSAGE = "A linha deve ter 3 colunas: loanAmount,birthDate,loanTermMonths";
+    public static final String AMOUNT_FORMAT_MESSAGE = "Valor do empréstimo inválido (use ponto decimal, ex.: 50000.00)";
+    public static final String DATE_FORMAT_MESSAGE = "Data de nascimento inválida (use aaaa-mm-dd)";
+    public static final String TERM_FORMAT_MESSAGE = "Prazo do empréstimo inválido";
+
+    private static final int MAX_AMOUNT_DIGITS = 18;
+    private static final int MAX_TERM_DIGITS = 9;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+    private boolean overlong;
+    private long lineNumber;
+
+    private int fieldStart;
+    private int fieldEnd;
+
+    private BigDecimal loanAmount;
+    private LocalDate birthDate;
+    private Integer loanTermMonths;
+    private String error;
+
+    public CsvSimulationReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Avança para a próxima linha com dados; {@code false} no fim do arquivo.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            int end = nextLineEnd();
+            if (end < 0) {
+                return false;
+            }
+
+            int start = position;
+            position = Math.min(end + 1, limit);
+            lineNumber++;
+
+            if (overlong) {
+                overlong = false;
+                reject("A linha excede " + buffer.length + " bytes");
+                return true;
+            }
+
+            int stop = end;
+            if (stop > start && buffer[stop - 1] == '\r') {
+                stop--;
+            }
+            if (lineNumber == 1 && stop - start >= 3
+                    && buffer[start] == (byte) 0xEF && buffer[start + 1] == (byte) 0xBB && buffer[start + 2] == (byte) 0xBF) {
+                start += 3;
+            }
+            if (isBlank(start, stop) || (lineNumber == 1 && isHeader(start, stop))) {
+                continue;
+            }
+
+            parse(start, stop);
+            return true;
+        }
+    }
+
+    /**
+     * Número da linha no arquivo (a partir de 1, contando cabeçalho e linhas em branco).
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public BigDecimal getLoanAmount() {
+        return loanAmount;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public Integer getLoanTermMonths() {
+        return loanTermMonths;
+    }
+
+    /**
+     * Problemas de formato da linha, separados por "; "; nulo quando a linha foi lida inteira.
+     * Campos vazios não são erro de formato: ficam nulos para a validação de obrigatoriedade.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Índice do '\n' que encerra a linha corrente (ou {@code limit} na última linha sem quebra);
+     * -1 quando não há mais linhas. Completa o buffer quando a linha não cabe no que já foi lido.
+     */
+    private int nextLineEnd() throws IOException {
+        int scan = position;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+
+            if (eof) {
+                return position < limit || overlong ? limit : -1;
+            }
+
+            if (position == 0 && limit == buffer.length) {
+                // Linha maior que o buffer: descarta o que já leu e segue até a quebra
+                overlong = true;
+                limit = 0;
+            } else if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+
+            scan = limit;
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    private void parse(int start, int stop) {
+        loanAmount = null;
+        birthDate = null;
+        loanTermMonths = null;
+        error = null;
+
+        int first = indexOf(',', start, stop);
+        int second = first < 0 ? -1 : indexOf(',', first + 1, stop);
+        if (second < 0 || indexOf(',', second + 1, stop) >= 0) {
+            error = COLUMNS_MESSAGE;
+            return;
+        }
+
+        if (field(start, first)) {
+            loanAmount = parseAmount();
+        }
+        if (field(first + 1, second)) {
+            birthDate = parseDate();
+        }
+        if (field(second + 1, stop)) {
+            loanTermMonths = parseTerm();
+        }
+    }
+
+    /**
+     * Valor como long sem sinal e escala: mesma precisão e escala de {@code new BigDecimal(texto)}.
+     */
+    private BigDecimal parseAmount() {
+        long unscaled = 0;
+        int scale = -1;
+        int digits = 0;
+
+        for (int i = fieldStart; i < fieldEnd; i++) {
+            byte b = buffer[i];
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            if (b < '0' || b > '9' || ++digits > MAX_AMOUNT_DIGITS) {
+                addError(AMOUNT_FORMAT_MESSAGE);
+                return null;
+            }
+            unscaled = unscaled * 10 + (b - '0');
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+
+        if (digits == 0) {
+            addError(AMOUNT_FORMAT_MESSAGE);
+            return null;
+        }
+        return BigDecimal.valueOf(unscaled, Math.max(scale, 0));
+    }
+
+    private LocalDate parseDate() {
+        if (fieldEnd - fieldStart != 10 || buffer[fieldStart + 4] != '-' || buffer[fieldStart + 7] != '-') {
+            addError(DATE_FORMAT_MESSAGE);
+            return null;
+        }
+
+        int year = digits(fieldStart, fieldStart + 4);
+        int month = digits(fieldStart + 5, fieldStart + 7);
+        int day = digits(fieldStart + 8, fieldStart + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            addError(DATE_FORMAT_MESSAGE);
+            return null;
+        }
+
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            addError(DATE_FORMAT_MESSAGE);
+            return null;
+        }
+    }
+
+    private Integer parseTerm() {
+        int term = fieldEnd - fieldStart <= MAX_TERM_DIGITS ? digits(fieldStart, fieldEnd) : -1;
+        if (term < 0) {
+            addError(TERM_FORMAT_MESSAGE);
+            return null;
+        }
+        return term;
+    }
+
+    /**
+     * Inteiro formado só por dígitos ASCII; -1 se houver outro caractere.
+     */
+    private int digits(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Delimita o campo sem espaços nem aspas ao redor; {@code false} se ficar vazio.
+     */
+    private boolean field(int start, int stop) {
+        while (start < stop && buffer[start] == ' ') {
+            start++;
+        }
+        while (stop > start && buffer[stop - 1] == ' ') {
+            stop--;
+        }
+        if (stop - start >= 2 && buffer[start] == '"' && buffer[stop - 1] == '"') {
+            start++;
+            stop--;
+        }
+
+        fieldStart = start;
+        fieldEnd = stop;
+        return start < stop;
+    }
+
+    private boolean isHeader(int start, int stop) {
+        field(start, stop);
+        if (fieldStart < fieldEnd && buffer[fieldStart] == '"') {
+            fieldStart++;
+        }
+        return fieldStart < fieldEnd && Character.isLetter(buffer[fieldStart]);
+    }
+
+    private boolean isBlank(int start, int stop) {
+        for (int i = start; i < stop; i++) {
+            if (buffer[i] != ' ' && buffer[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void reject(String message) {
+        loanAmount = null;
+        birthDate = null;
+        loanTermMonths = null;
+        error = message;
+    }
+
+    private void addError(String message) {
+        error = error == null ? message : error + "; " + message;
+    }
+}
@@ -0,0 +1,118 @@
+package com.spring.credit_simulator.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Curva de projeção de um índice (CDI, IPCA) já preparada para o pós-fixado: a taxa do mês k é
+ * (1 + índice_k) * (1 + spread) - 1, com o spread mensal da faixa etária (taxa anual / 12).
+ * <p>
+ * Os fatores de desconto acumulados e suas somas são montados uma vez por versão da curva, como
+ * produtos e somas de prefixo por faixa: a parcela é PV / anuidade[n] e o saldo após k parcelas é
+ * (PV - PMT * anuidade[k]) / desconto[k], ambos O(1). Imutável; compartilhada por todas as threads.
+ */
+public final class IndexCurve {
+
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    private final String name;
+    private final long version;
+    private final int curveMonths;
+    private final double[] indexRates;
+    private final double[][] monthlyRates;
+    private final double[][] discounts;
+    private final double[][] annuities;
+
+    /**
+     * @param indexRates taxa mensal do índice em decimal, a partir do mês 1; além do último mês a
+     *                   última taxa se repete até {@code maxTermMonths}
+     */
+    public IndexCurve(String name, long version, double[] indexRates, int maxTermMonths) {
+        if (indexRates.length == 0) {
+            throw new IllegalArgumentException("Curva " + name + " sem taxas");
+        }
+
+        this.name = name;
+        this.version = version;
+        this.curveMonths = indexRates.length;
+        this.indexRates = new double[maxTermMonths + 1];
+        for (int month = 1; month <= maxTermMonths; month++) {
+            this.indexRates[month] = indexRates[Math.min(month, indexRates.length) - 1];
+        }
+
+        AgeTier[] tiers = AgeTier.values();
+        this.monthlyRates = new double[tiers.length][];
+        this.discounts = new double[tiers.length][];
+        this.annuities = new double[tiers.length][];
+
+        for (AgeTier tier : tiers) {
+            double spread = tier.getAnnualInterestRate().doubleValue() / 1200;
+            double[] rates = new double[maxTermMonths + 1];
+            double[] discount = new double[maxTermMonths + 1];
+            double[] annuity = new double[maxTermMonths + 1];
+            discount[0] = 1;
+
+            for (int month = 1; month <= maxTermMonths; month++) {
+                rates[month] = (1 + this.indexRates[month]) * (1 + spread) - 1;
+                discount[month] = discount[month - 1] / (1 + rates[month]);
+                annuity[month] = annuity[month - 1] + discount[month];
+            }
+
+            monthlyRates[tier.ordinal()] = rates;
+            discounts[tier.ordinal()] = discount;
+            annuities[tier.ordinal()] = annuity;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Meses efetivamente projetados no arquivo; depois deles a taxa é extrapolada.
+     */
+    public int getCurveMonths() {
+        return curveMonths;
+    }
+
+    public int getMaxTermMonths() {
+        return indexRates.length - 1;
+    }
+
+    public double indexRate(int month) {
+        return indexRates[month];
+    }
+
+    /**
+     * Taxa do mês (índice mais spread da faixa), em decimal.
+     */
+    public double monthlyRate(AgeTier tier, int month) {
+        return monthlyRates[tier.ordinal()][month];
+    }
+
+    /**
+     * Parcela constante que quita o valor à curva projetada: PV / soma dos descontos até o prazo.
+     */
+    public BigDecimal monthlyPayment(AgeTier tier, BigDecimal loanAmount, int termMonths) {
+        checkTerm(termMonths);
+        return loanAmount.divide(BigDecimal.valueOf(annuities[tier.ordinal()][termMonths]), 2, ROUNDING_MODE);
+    }
+
+    /**
+     * Saldo devedor após {@code month} parcelas de {@code monthlyPayment}, sem percorrer a tabela.
+     */
+    public double balanceAfter(AgeTier tier, double loanAmount, double monthlyPayment, int month) {
+        checkTerm(month);
+        return (loanAmount - monthlyPayment * annuities[tier.ordinal()][month]) / discounts[tier.ordinal()][month];
+    }
+
+    private void checkTerm(int termMonths) {
+        if (termMonths < 0 || termMonths > getMaxTermMonths()) {
+            throw new IllegalArgumentException("Prazo fora da curva " + name + ": " + termMonths);
+        }
+    }
+}
@@ -12,19 +12,26 @@ public class LoanCalculator {
     private static final int CALCULATION_SCALE = 10; // Precisão para cálculos intermediários
     private static final int MONEY_SCALE = 2; // Precisão final (centavos)
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP; // Padrão bancário
+    private static final int IOF_DAYS_PER_MONTH = 30;
+    private static final double CET_TOLERANCE = 1e-13; // Taxa mensal; o CET anual é exibido com 2 casas
+    private static final int CET_MAX_ITERATIONS = 50;
 
     public static BigDecimal calculateMonthlyPayment(
             BigDecimal loanAmount,
             BigDecimal annualInterestRate,
             int termMonths) {
 
+        return paymentFactor(annualInterestRate, termMonths).monthlyPayment(loanAmount);
+    }
+
+    /**
+     * Parte da fórmula que depende só da taxa e do prazo: r * (1 + r)^n e (1 + r)^n - 1.
+     * Pode ser reaproveitada para vários valores financiados com a mesma taxa e o mesmo prazo.
+     */
+    public static PaymentFactor paymentFactor(BigDecimal annualInterestRate, int termMonths) {
         // Caso especial: taxa zero
         if (annualInterestRate.compareTo(BigDecimal.ZERO) == 0) {
-            return loanAmount.divide(
-                    BigDecimal.valueOf(termMonths),
-                    MONEY_SCALE,
-                    ROUNDING_MODE
-            );
+            return new PaymentFactor(termMonths, null, null, 0.0, 1.0);
         }
 
         // Taxa anual % para mensal decimal: 5.0 → 5.0/100/12 = 5.0/1200
@@ -37,12 +44,152 @@ public class LoanCalculator {
         BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate);
         BigDecimal onePlusRatePowerN = pow(onePlusRate, termMonths);
 
-        BigDecimal denominator = onePlusRatePowerN.subtract(BigDecimal.ONE);
-        BigDecimal numerator = loanAmount
-                .multiply(monthlyRate)
-                .multiply(onePlusRatePowerN);
+        // multiply() é exato: PV * (r * (1 + r)^n) é idêntico a (PV * r) * (1 + r)^n
+        return new PaymentFactor(termMonths,
+                monthlyRate.multiply(onePlusRatePowerN),
+                onePlusRatePowerN.subtract(BigDecimal.ONE),
+                monthlyRate.doubleValue(),
+                onePlusRatePowerN.doubleValue());
+    }
+
+    /**
+     * IOF por unidade de valor financiado no Sistema Price: alíquota diária sobre a amortização de cada
+     * parcela pelos dias até o vencimento (30 por mês, limitado a {@code maxDays}) mais a adicional
+     * sobre o total. Forma fechada: as amortizações crescem em progressão geométrica de razão (1 + r),
+     * então só os meses abaixo do limite de dias são somados um a um (12 com 365 dias) e o restante
+     * usa (1 + r)^n do fator.
+     */
+    public static double iofRate(PaymentFactor factor, double dailyRate, double additionalRate, int maxDays) {
+        int n = factor.termMonths;
+        double r = factor.monthlyRate;
+        double firstAmortization = 1 / factor.annuity() - r;
+        int linearMonths = Math.min(n, maxDays / IOF_DAYS_PER_MONTH);
+
+        double weightedDays = 0;
+        double amortization = firstAmortization;
+        for (int month = 1; month <= linearMonths; month++) {
+            weightedDays += amortization * IOF_DAYS_PER_MONTH * month;
+            amortization *= 1 + r;
+        }
+
+        // Soma das amortizações dos meses linearMonths+1..n, todas com maxDays
+        double remaining = r == 0
+                ? firstAmortization * (n - linearMonths)
+                : firstAmortization * (factor.growth - Math.pow(1 + r, linearMonths)) / r;
+        weightedDays += remaining * maxDays;
+
+        return dailyRate * weightedDays + additionalRate;
+    }
+
+    /**
+     * Taxa mensal do CET: a taxa i em que o valor liberado (fração {@code netRatio} do financiado,
+     * descontados IOF, tarifas e seguro) iguala o valor presente das parcelas. Newton-Raphson a partir
+     * da taxa nominal.
+     */
+    public static double cetMonthlyRate(PaymentFactor factor, double netRatio) {
+        return cetMonthlyRate(factor, netRatio, initialCetGuess(factor, netRatio), null);
+    }
 
-        return numerator.divide(denominator, MONEY_SCALE, ROUNDING_MODE);
+    /**
+     * Mesma solução partindo de uma estimativa próxima (ex.: o CET de outro item com a mesma taxa e prazo).
+     */
+    public static double cetMonthlyRate(PaymentFactor factor, double netRatio, double seed) {
+        return cetMonthlyRate(factor, netRatio, seed > 0 ? seed : initialCetGuess(factor, netRatio), null);
+    }
+
+    /**
+     * a(i) = (1 - (1 + i)^-n) / i é convexa e decrescente: partindo à esquerda da raiz, Newton converge
+     * sem ultrapassá-la; partindo à direita, o primeiro passo cai à esquerda e segue monotônico.
+     * expm1/log1p mantêm a precisão com taxas pequenas. O alvo usa a anuidade do fator (a mesma
+     * potência arredondada da parcela), então sem encargos o CET é a taxa nominal a menos de 1e-9.
+     */
+    static double cetMonthlyRate(PaymentFactor factor, double netRatio, double seed, int[] iterations) {
+        if (!(netRatio > 0 && netRatio <= 1)) {
+            throw new IllegalArgumentException("Encargos devem ser menores que o valor do empréstimo: " + netRatio);
+        }
+        if (netRatio == 1 && factor.monthlyRate == 0) {
+            return 0;
+        }
+
+        int n = factor.termMonths;
+        double target = netRatio * factor.annuity();
+        double rate = seed;
+
+        for (int iteration = 1; iteration <= CET_MAX_ITERATIONS; iteration++) {
+            double logGrowth = Math.log1p(rate);
+            double annuity = -Math.expm1(-n * logGrowth) / rate;
+            double derivative = (n * Math.exp(-(n + 1) * logGrowth) - annuity) / rate;
+            double step = (annuity - target) / derivative;
+            rate -= step;
+
+            if (Math.abs(step) <= CET_TOLERANCE) {
+                if (iterations != null) {
+                    iterations[0] = iteration;
+                }
+                return rate;
+            }
+        }
+
+        throw new ArithmeticException("CET não convergiu em " + CET_MAX_ITERATIONS + " iterações");
+    }
+
+    /**
+     * Taxa nominal; sem juros, o zero da aproximação linear a(i) ≈ n - n(n + 1)/2 * i (tangente, à esquerda da raiz).
+     */
+    private static double initialCetGuess(PaymentFactor factor, double netRatio) {
+        if (factor.monthlyRate > 0) {
+            return factor.monthlyRate;
+        }
+        int n = factor.termMonths;
+        return 2 * (1 - netRatio) / (n + 1);
+    }
+
+    /**
+     * Saldo devedor após {@code month} parcelas, em forma fechada: PV(1 + r)^k - PMT((1 + r)^k - 1) / r.
+     * Com a parcela arredondada, o saldo no fim do prazo é o resíduo do arredondamento.
+     */
+    public static double balanceAfter(PaymentFactor factor, double loanAmount, double monthlyPayment, int month) {
+        double r = factor.monthlyRate;
+        if (r == 0) {
+            return loanAmount - monthlyPayment * month;
+        }
+        double growth = Math.exp(month * Math.log1p(r));
+        return loanAmount * growth - monthlyPayment * (growth - 1) / r;
+    }
+
+    /**
+     * Parcela que quita {@code balance} em {@code months} meses à taxa do fator.
+     */
+    public static double paymentFor(PaymentFactor factor, double balance, int months) {
+        double r = factor.monthlyRate;
+        if (r == 0) {
+            return balance / months;
+        }
+        return balance * r / -Math.expm1(-months * Math.log1p(r));
+    }
+
+    /**
+     * Meses (fracionários) para quitar {@code balance} com parcelas de {@code monthlyPayment}:
+     * -ln(1 - B r / PMT) / ln(1 + r). A parte fracionária é a última parcela, menor.
+     */
+    public static double monthsToRepay(PaymentFactor factor, double balance, double monthlyPayment) {
+        double r = factor.monthlyRate;
+        if (r == 0) {
+            return balance / monthlyPayment;
+        }
+        return -Math.log1p(-balance * r / monthlyPayment) / Math.log1p(r);
+    }
+
+    /**
+     * Taxa mensal para anual efetiva em %, com 2 casas: (1 + i)^12 - 1.
+     */
+    public static BigDecimal toAnnualPercent(double monthlyRate) {
+        return BigDecimal.valueOf(Math.expm1(12 * Math.log1p(monthlyRate)) * 100)
+                .setScale(MONEY_SCALE, ROUNDING_MODE);
+    }
+
+    public static BigDecimal toMoney(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, ROUNDING_MODE);
     }
 
     public static BigDecimal calculateTotalAmount(
@@ -61,6 +208,65 @@ public class LoanCalculator {
                 .setScale(MONEY_SCALE, ROUNDING_MODE);
     }
 
+    /**
+     * Converte valor monetário para centavos (long), usado nas agregações sem BigDecimal.
+     */
+    public static long toCents(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, ROUNDING_MODE).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Fator de parcela de uma taxa e prazo (Sistema Price); numerador e denominador nulos na taxa zero.
+     */
+    public static final class PaymentFactor {
+
+        private final int termMonths;
+        private final BigDecimal rateTimesGrowth;
+        private final BigDecimal denominator;
+        private final double monthlyRate;
+        private final double growth;
+
+        private PaymentFactor(int termMonths, BigDecimal rateTimesGrowth, BigDecimal denominator,
+                              double monthlyRate, double growth) {
+            this.termMonths = termMonths;
+            this.rateTimesGrowth = rateTimesGrowth;
+            this.denominator = denominator;
+            this.monthlyRate = monthlyRate;
+            this.growth = growth;
+        }
+
+        public int getTermMonths() {
+            return termMonths;
+        }
+
+        /**
+         * Taxa mensal decimal (5% a.a. → 0.0041666667).
+         */
+        public double getMonthlyRate() {
+            return monthlyRate;
+        }
+
+        /**
+         * Valor presente de uma parcela de 1 por mês durante o prazo: ((1 + r)^n - 1) / (r * (1 + r)^n).
+         */
+        public double annuity() {
+            return monthlyRate == 0 ? termMonths : (growth - 1) / (monthlyRate * growth);
+        }
+
+        public BigDecimal monthlyPayment(BigDecimal loanAmount) {
+            if (rateTimesGrowth == null) {
+                return loanAmount.divide(
+                        BigDecimal.valueOf(termMonths),
+                        MONEY_SCALE,
+                        ROUNDING_MODE
+                );
+            }
+
+            return loanAmount.multiply(rateTimesGrowth)
+                    .divide(denominator, MONEY_SCALE, ROUNDING_MODE);
+        }
+    }
+
     /**
      * Implementação customizada de potência para BigDecimal (não tem pow() nativo).
      */
@@ -0,0 +1,62 @@
+package com.spring.credit_simulator.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fatores de parcela memorizados dentro de um lote: itens com a mesma faixa etária (taxa) e o
+ * mesmo prazo compartilham o cálculo de (1 + r)^n, a alíquota de IOF e o ponto de partida do CET.
+ * Não é thread-safe; um por lote, com os mesmos parâmetros de encargos para todos os itens.
+ */
+public final class PaymentFactors {
+
+    private static final int TERM_KEY_RANGE = 1 << 16;
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    public LoanCalculator.PaymentFactor get(AgeTier tier, int termMonths) {
+        return entry(tier, termMonths).factor;
+    }
+
+    public double iofRate(AgeTier tier, int termMonths, double dailyRate, double additionalRate, int maxDays) {
+        Entry entry = entry(tier, termMonths);
+        if (Double.isNaN(entry.iofRate)) {
+            entry.iofRate = LoanCalculator.iofRate(entry.factor, dailyRate, additionalRate, maxDays);
+        }
+        return entry.iofRate;
+    }
+
+    /**
+     * Mesma proporção de encargos que o item anterior da chave reaproveita a solução; proporção
+     * próxima (encargos arredondados em centavos, tarifa fixa) parte dela e converge em 1 ou 2 passos.
+     */
+    public double cetMonthlyRate(AgeTier tier, int termMonths, double netRatio) {
+        Entry entry = entry(tier, termMonths);
+        if (netRatio != entry.cetNetRatio) {
+            entry.cetMonthlyRate = LoanCalculator.cetMonthlyRate(entry.factor, netRatio, entry.cetMonthlyRate);
+            entry.cetNetRatio = netRatio;
+        }
+        return entry.cetMonthlyRate;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry entry(AgeTier tier, int termMonths) {
+        return entries.computeIfAbsent(tier.ordinal() * TERM_KEY_RANGE + termMonths,
+                key -> new Entry(LoanCalculator.paymentFactor(tier.getAnnualInterestRate(), termMonths)));
+    }
+
+    private static final class Entry {
+
+        private final LoanCalculator.PaymentFactor factor;
+        private double iofRate = Double.NaN;
+        private double cetNetRatio = Double.NaN;
+        private double cetMonthlyRate;
+
+        private Entry(LoanCalculator.PaymentFactor factor) {
+            this.factor = factor;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.spring.credit_simulator.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Sketch de quantis mesclável com erro relativo limitado (buckets logarítmicos, estilo DDSketch).
+ * Trabalha com valores em centavos; duas instâncias são combinadas somando os contadores.
+ */
+public class QuantileSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01; // Erro relativo máximo de 1%
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int BUCKET_COUNT = 1024; // gamma^1024 cobre até ~R$ 7,8 milhões
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+
+    public void add(long valueCents) {
+        counts[bucketIndex(valueCents)]++;
+        count++;
+    }
+
+    public void merge(QuantileSketch other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Valor aproximado (em centavos) do quantil q ∈ [0, 1]. Retorna 0 quando o sketch está vazio.
+     */
+    public long quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.floor(q * (count - 1));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative > rank) {
+                return bucketValue(i);
+            }
+        }
+        return bucketValue(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Serialização esparsa (apenas buckets não vazios), usada pelo journal de checkpoints.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int nonEmpty = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount != 0) {
+                nonEmpty++;
+            }
+        }
+
+        out.writeShort(nonEmpty);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        int nonEmpty = in.readUnsignedShort();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = in.readUnsignedShort();
+            long bucketCount = in.readLong();
+            counts[index] += bucketCount;
+            count += bucketCount;
+        }
+    }
+
+    private static int bucketIndex(long valueCents) {
+        if (valueCents <= 1) {
+            return 0;
+        }
+        int index = (int) Math.ceil(Math.log(valueCents) / LOG_GAMMA);
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Ponto médio do bucket (gamma^(i-1), gamma^i], que garante o erro relativo declarado.
+     */
+    private static long bucketValue(int index) {
+        if (index == 0) {
+            return 1;
+        }
+        return Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.spring.credit_simulator.util;
+
+import com.spring.credit_simulator.exception.DeadlineExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Prazo de uma requisição, vindo do header ou do padrão configurado. Quando ele esgota ou o
+ * cliente desconecta, a requisição é cancelada uma única vez: o motivo vai para
+ * {@code onExceeded} (métricas) e as ações registradas em {@link #onCancel} descartam o trabalho
+ * pendente (ex.: tarefas do batch ainda na fila do pool). Sem prazo, current() é null e nada
+ * é verificado.
+ */
+public final class RequestDeadline {
+
+    public static final String EXPIRED = "expired";
+    public static final String DISCONNECTED = "disconnected";
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Consumer<String> onExceeded;
+    private final AtomicReference<String> cancelReason = new AtomicReference<>();
+    private final List<Runnable> cancellations = new ArrayList<>();
+
+    public RequestDeadline(long timeoutNanos, Consumer<String> onExceeded) {
+        this.deadlineNanos = System.nanoTime() + timeoutNanos;
+        this.onExceeded = onExceeded;
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Leva o prazo da requisição atual para a tarefa executada no pool.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+
+        return () -> {
+            bind(deadline);
+            try {
+                return task.get();
+            } finally {
+                unbind();
+            }
+        };
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Verdadeiro depois do cancelamento ou quando o prazo já passou (o que cancela na hora).
+     */
+    public boolean isExceeded() {
+        if (cancelReason.get() == null && remainingNanos() <= 0) {
+            cancel(EXPIRED);
+        }
+        return cancelReason.get() != null;
+    }
+
+    /**
+     * Cancela a requisição; só o primeiro motivo conta e as ações rodam uma vez, nesta thread.
+     */
+    public void cancel(String reason) {
+        if (!cancelReason.compareAndSet(null, reason)) {
+            return;
+        }
+
+        onExceeded.accept(reason);
+        List<Runnable> pending;
+        synchronized (cancellations) {
+            pending = new ArrayList<>(cancellations);
+            cancellations.clear();
+        }
+        pending.forEach(Runnable::run);
+    }
+
+    /**
+     * Ação para descartar o trabalho pendente; roda na hora se a requisição já foi cancelada.
+     */
+    public void onCancel(Runnable cancellation) {
+        synchronized (cancellations) {
+            if (cancelReason.get() == null) {
+                cancellations.add(cancellation);
+                return;
+            }
+        }
+        cancellation.run();
+    }
+
+    public DeadlineExceededException exceeded() {
+        String reason = cancelReason.get();
+        return new DeadlineExceededException(reason != null ? reason : EXPIRED);
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring.credit_simulator.util;
+
+/**
+ * Agregado parcial de cenários de taxa: total pago e maior parcela de cada trajetória, em centavos.
+ * Mesmo esquema do SimulationAggregate: cada bloco de trajetórias acumula o seu e os parciais são
+ * combinados por merge(), somando os sketches de quantis. Não é thread-safe.
+ */
+public class ScenarioAggregate {
+
+    private long count;
+    private final Series totalPaid = new Series();
+    private final Series maxInstallment = new Series();
+
+    public void add(long totalPaidCents, long maxInstallmentCents) {
+        count++;
+        totalPaid.add(totalPaidCents);
+        maxInstallment.add(maxInstallmentCents);
+    }
+
+    public void merge(ScenarioAggregate other) {
+        count += other.count;
+        totalPaid.merge(other.totalPaid);
+        maxInstallment.merge(other.maxInstallment);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Series getTotalPaid() {
+        return totalPaid;
+    }
+
+    public Series getMaxInstallment() {
+        return maxInstallment;
+    }
+
+    /**
+     * Soma, mínimo/máximo e sketch de uma medida por trajetória.
+     */
+    public static final class Series {
+
+        private long count;
+        private long sumCents;
+        private long minCents = Long.MAX_VALUE;
+        private long maxCents = Long.MIN_VALUE;
+        private final QuantileSketch sketch = new QuantileSketch();
+
+        private void add(long cents) {
+            count++;
+            sumCents += cents;
+            minCents = Math.min(minCents, cents);
+            maxCents = Math.max(maxCents, cents);
+            sketch.add(cents);
+        }
+
+        private void merge(Series other) {
+            count += other.count;
+            sumCents += other.sumCents;
+            minCents = Math.min(minCents, other.minCents);
+            maxCents = Math.max(maxCents, other.maxCents);
+            sketch.merge(other.sketch);
+        }
+
+        public long getMinCents() {
+            return count == 0 ? 0 : minCents;
+        }
+
+        public long getMaxCents() {
+            return count == 0 ? 0 : maxCents;
+        }
+
+        public long getAverageCents() {
+            return count == 0 ? 0 : Math.round((double) sumCents / count);
+        }
+
+        /**
+         * Quantil aproximado (erro relativo de até 1%), limitado ao intervalo [mínimo, máximo] observado.
+         */
+        public long getQuantileCents(double q) {
+            if (count == 0) {
+                return 0;
+            }
+            return Math.max(minCents, Math.min(maxCents, sketch.quantile(q)));
+        }
+    }
+}
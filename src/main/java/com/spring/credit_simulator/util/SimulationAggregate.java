@@ -0,0 +1,185 @@
+package com.spring.credit_simulator.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Agregado parcial de simulações: somas, mínimo/máximo, sketch de parcelas e histograma por faixa etária.
+ * Valores monetários em centavos (long) para evitar alocação de BigDecimal por item.
+ * Não é thread-safe: cada worker acumula o seu parcial e a combinação é feita via merged().
+ */
+public class SimulationAggregate {
+
+    private static final int TIER_COUNT = AgeTier.values().length;
+
+    private long count;
+    private long rejectedCount;
+    private long loanAmountCents;
+    private long monthlyPaymentCents;
+    private long totalAmountCents;
+    private long totalInterestCents;
+    private long minMonthlyPaymentCents = Long.MAX_VALUE;
+    private long maxMonthlyPaymentCents = Long.MIN_VALUE;
+    private final QuantileSketch monthlyPaymentSketch = new QuantileSketch();
+    private final long[] tierCounts = new long[TIER_COUNT];
+    private final long[] tierLoanAmountCents = new long[TIER_COUNT];
+
+    public void add(AgeTier tier, long loanAmountCents, long monthlyPaymentCents,
+                    long totalAmountCents, long totalInterestCents) {
+        count++;
+        this.loanAmountCents += loanAmountCents;
+        this.monthlyPaymentCents += monthlyPaymentCents;
+        this.totalAmountCents += totalAmountCents;
+        this.totalInterestCents += totalInterestCents;
+        minMonthlyPaymentCents = Math.min(minMonthlyPaymentCents, monthlyPaymentCents);
+        maxMonthlyPaymentCents = Math.max(maxMonthlyPaymentCents, monthlyPaymentCents);
+        monthlyPaymentSketch.add(monthlyPaymentCents);
+        tierCounts[tier.ordinal()]++;
+        tierLoanAmountCents[tier.ordinal()] += loanAmountCents;
+    }
+
+    /**
+     * Simulação recusada por regra de negócio (ex.: idade): conta para o progresso, não para as somas.
+     */
+    public void addRejected() {
+        rejectedCount++;
+    }
+
+    public void merge(SimulationAggregate other) {
+        count += other.count;
+        rejectedCount += other.rejectedCount;
+        loanAmountCents += other.loanAmountCents;
+        monthlyPaymentCents += other.monthlyPaymentCents;
+        totalAmountCents += other.totalAmountCents;
+        totalInterestCents += other.totalInterestCents;
+        minMonthlyPaymentCents = Math.min(minMonthlyPaymentCents, other.minMonthlyPaymentCents);
+        maxMonthlyPaymentCents = Math.max(maxMonthlyPaymentCents, other.maxMonthlyPaymentCents);
+        monthlyPaymentSketch.merge(other.monthlyPaymentSketch);
+        for (int i = 0; i < TIER_COUNT; i++) {
+            tierCounts[i] += other.tierCounts[i];
+            tierLoanAmountCents[i] += other.tierLoanAmountCents[i];
+        }
+    }
+
+    /**
+     * Combinação sem efeitos colaterais, adequada para atualizações via CAS (AtomicReference).
+     */
+    public static SimulationAggregate merged(SimulationAggregate left, SimulationAggregate right) {
+        SimulationAggregate result = new SimulationAggregate();
+        result.merge(left);
+        result.merge(right);
+        return result;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(rejectedCount);
+        out.writeLong(loanAmountCents);
+        out.writeLong(monthlyPaymentCents);
+        out.writeLong(totalAmountCents);
+        out.writeLong(totalInterestCents);
+        out.writeLong(minMonthlyPaymentCents);
+        out.writeLong(maxMonthlyPaymentCents);
+        for (int i = 0; i < TIER_COUNT; i++) {
+            out.writeLong(tierCounts[i]);
+            out.writeLong(tierLoanAmountCents[i]);
+        }
+        monthlyPaymentSketch.writeTo(out);
+    }
+
+    public static SimulationAggregate readFrom(DataInput in) throws IOException {
+        SimulationAggregate aggregate = new SimulationAggregate();
+        aggregate.count = in.readLong();
+        aggregate.rejectedCount = in.readLong();
+        aggregate.loanAmountCents = in.readLong();
+        aggregate.monthlyPaymentCents = in.readLong();
+        aggregate.totalAmountCents = in.readLong();
+        aggregate.totalInterestCents = in.readLong();
+        aggregate.minMonthlyPaymentCents = in.readLong();
+        aggregate.maxMonthlyPaymentCents = in.readLong();
+        for (int i = 0; i < TIER_COUNT; i++) {
+            aggregate.tierCounts[i] = in.readLong();
+            aggregate.tierLoanAmountCents[i] = in.readLong();
+        }
+        aggregate.monthlyPaymentSketch.readFrom(in);
+        return aggregate;
+    }
+
+    /**
+     * Forma binária compacta para trafegar o parcial entre nós (mensageria).
+     */
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            writeTo(new DataOutputStream(bytes));
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SimulationAggregate fromBytes(byte[] bytes) {
+        try {
+            return readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getLoanAmountCents() {
+        return loanAmountCents;
+    }
+
+    public long getTotalAmountCents() {
+        return totalAmountCents;
+    }
+
+    public long getTotalInterestCents() {
+        return totalInterestCents;
+    }
+
+    public long getMinMonthlyPaymentCents() {
+        return count == 0 ? 0 : minMonthlyPaymentCents;
+    }
+
+    public long getMaxMonthlyPaymentCents() {
+        return count == 0 ? 0 : maxMonthlyPaymentCents;
+    }
+
+    public long getAverageMonthlyPaymentCents() {
+        return count == 0 ? 0 : Math.round((double) monthlyPaymentCents / count);
+    }
+
+    /**
+     * Quantil aproximado da parcela, limitado ao intervalo [mínimo, máximo] observado.
+     */
+    public long getMonthlyPaymentQuantileCents(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long estimate = monthlyPaymentSketch.quantile(q);
+        return Math.max(minMonthlyPaymentCents, Math.min(maxMonthlyPaymentCents, estimate));
+    }
+
+    public long getTierCount(AgeTier tier) {
+        return tierCounts[tier.ordinal()];
+    }
+
+    public long getTierLoanAmountCents(AgeTier tier) {
+        return tierLoanAmountCents[tier.ordinal()];
+    }
+}
@@ -0,0 +1,132 @@
+package com.spring.credit_simulator.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Tempos por etapa de uma requisição amostrada, emitidos no header Server-Timing.
+ * Só existe quando a requisição pede o detalhamento; nas demais, current() é null e as
+ * etapas não são medidas. Etapas por item (taxa, cálculo) somam os tempos de todos os itens
+ * do batch, inclusive os executados no pool.
+ */
+public final class StageTimings {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Stage {
+        DESERIALIZATION("deserialization"),
+        VALIDATION("validation"),
+        RATE("rate"),
+        CALCULATOR("calculator"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+    }
+
+    private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+    private final long createdAt = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(Stage.values().length);
+    private final AtomicLongArray counts = new AtomicLongArray(Stage.values().length);
+    private final long[] startedAt = new long[Stage.values().length]; // Etapas da thread da requisição
+
+    public static StageTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(StageTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Encerra a etapa na requisição atual, se ela estiver sendo medida.
+     */
+    public static void stopCurrent(Stage stage) {
+        StageTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.stop(stage);
+        }
+    }
+
+    /**
+     * Leva a medição da requisição atual para a tarefa executada no pool.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        StageTimings timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+
+        return () -> {
+            bind(timings);
+            try {
+                return task.get();
+            } finally {
+                unbind();
+            }
+        };
+    }
+
+    public void start(Stage stage) {
+        startedAt[stage.ordinal()] = System.nanoTime();
+    }
+
+    public void stop(Stage stage) {
+        long started = startedAt[stage.ordinal()];
+        if (started != 0) {
+            startedAt[stage.ordinal()] = 0;
+            add(stage, System.nanoTime() - started);
+        }
+    }
+
+    public void add(Stage stage, long elapsedNanos) {
+        nanos.addAndGet(stage.ordinal(), elapsedNanos);
+        counts.incrementAndGet(stage.ordinal());
+    }
+
+    public long getNanos(Stage stage) {
+        return nanos.get(stage.ordinal());
+    }
+
+    public long getCount(Stage stage) {
+        return counts.get(stage.ordinal());
+    }
+
+    /**
+     * Ex.: deserialization;dur=0.210, rate;dur=1.532;desc="100 itens", total;dur=4.870
+     */
+    public String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder();
+
+        for (Stage stage : Stage.values()) {
+            long count = getCount(stage);
+            if (count == 0) {
+                continue;
+            }
+
+            appendMetric(header, stage.getMetricName(), getNanos(stage));
+            if (count > 1) {
+                header.append(";desc=\"").append(count).append(" itens\"");
+            }
+        }
+
+        appendMetric(header, "total", System.nanoTime() - createdAt);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long elapsedNanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.3f", elapsedNanos / 1_000_000.0));
+    }
+}
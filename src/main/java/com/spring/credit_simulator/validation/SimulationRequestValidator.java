@@ -0,0 +1,117 @@
+package com.spring.credit_simulator.validation;
+
+import com.spring.credit_simulator.dto.SimulationRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validação pré-compilada de SimulationRequest: as mesmas constraints declaradas no DTO
+ * (@NotNull, @DecimalMin, @DecimalMax, @Digits, @Past, @Min, @Max), avaliadas com comparações
+ * diretas, sem metadados nem reflexão do Hibernate Validator. As mensagens são as mesmas
+ * referenciadas pelas anotações do DTO.
+ */
+public final class SimulationRequestValidator {
+
+    public static final String LOAN_AMOUNT_MIN = "1000.00";
+    public static final String LOAN_AMOUNT_MAX = "1000000.00";
+    public static final int LOAN_AMOUNT_INTEGER_DIGITS = 8;
+    public static final int LOAN_AMOUNT_FRACTION_DIGITS = 2;
+    public static final int TERM_MIN = 6;
+    public static final int TERM_MAX = 360;
+
+    public static final String LOAN_AMOUNT_REQUIRED_MESSAGE = "O valor do empréstimo é obrigatório";
+    public static final String LOAN_AMOUNT_MIN_MESSAGE = "O valor mínimo do empréstimo é R$ 1.000,00";
+    public static final String LOAN_AMOUNT_MAX_MESSAGE = "O valor máximo do empréstimo é R$ 1.000.000,00";
+    public static final String LOAN_AMOUNT_DIGITS_MESSAGE =
+            "O valor deve ter no máximo 8 dígitos inteiros e 2 decimais";
+    public static final String BIRTH_DATE_REQUIRED_MESSAGE = "A data de nascimento é obrigatória";
+    public static final String BIRTH_DATE_PAST_MESSAGE = "A data de nascimento deve estar no passado";
+    public static final String TERM_REQUIRED_MESSAGE = "O prazo do empréstimo é obrigatório";
+    public static final String TERM_MIN_MESSAGE = "O prazo mínimo é de 6 meses";
+    public static final String TERM_MAX_MESSAGE = "O prazo máximo é de 360 meses (30 anos)";
+
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal(LOAN_AMOUNT_MIN);
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal(LOAN_AMOUNT_MAX);
+
+    private SimulationRequestValidator() {
+    }
+
+    /**
+     * Valida todos os itens e retorna somente as violações, com o índice do item.
+     * Itens nulos são ignorados, como na validação em cascata (@Valid).
+     */
+    public static List<Violation> validateAll(List<SimulationRequest> requests) {
+        List<Violation> violations = new ArrayList<>(0);
+        LocalDate today = LocalDate.now();
+
+        for (int index = 0; index < requests.size(); index++) {
+            SimulationRequest request = requests.get(index);
+            if (request != null) {
+                validate(index, request, today, violations);
+            }
+        }
+
+        return violations;
+    }
+
+    static void validate(int index, SimulationRequest request, LocalDate today, List<Violation> violations) {
+        validate(index, request.getLoanAmount(), request.getBirthDate(), request.getLoanTermMonths(),
+                today, violations);
+    }
+
+    /**
+     * Mesmas regras sobre os campos já lidos, para entradas que não passam por SimulationRequest
+     * (ex.: linhas do batch em CSV).
+     */
+    public static void validate(int index, BigDecimal amount, LocalDate birthDate, Integer term,
+                                LocalDate today, List<Violation> violations) {
+        if (amount == null) {
+            violations.add(new Violation(index, "loanAmount", "NotNull", LOAN_AMOUNT_REQUIRED_MESSAGE));
+        } else {
+            if (amount.compareTo(MIN_AMOUNT) < 0) {
+                violations.add(new Violation(index, "loanAmount", "DecimalMin", LOAN_AMOUNT_MIN_MESSAGE));
+            }
+            if (amount.compareTo(MAX_AMOUNT) > 0) {
+                violations.add(new Violation(index, "loanAmount", "DecimalMax", LOAN_AMOUNT_MAX_MESSAGE));
+            }
+            // Mesma contagem do @Digits para BigDecimal (sem remover zeros à direita)
+            int integerDigits = amount.precision() - amount.scale();
+            int fractionDigits = Math.max(amount.scale(), 0);
+            if (integerDigits > LOAN_AMOUNT_INTEGER_DIGITS || fractionDigits > LOAN_AMOUNT_FRACTION_DIGITS) {
+                violations.add(new Violation(index, "loanAmount", "Digits", LOAN_AMOUNT_DIGITS_MESSAGE));
+            }
+        }
+
+        if (birthDate == null) {
+            violations.add(new Violation(index, "birthDate", "NotNull", BIRTH_DATE_REQUIRED_MESSAGE));
+        } else if (!birthDate.isBefore(today)) {
+            violations.add(new Violation(index, "birthDate", "Past", BIRTH_DATE_PAST_MESSAGE));
+        }
+
+        if (term == null) {
+            violations.add(new Violation(index, "loanTermMonths", "NotNull", TERM_REQUIRED_MESSAGE));
+        } else if (term < TERM_MIN) {
+            violations.add(new Violation(index, "loanTermMonths", "Min", TERM_MIN_MESSAGE));
+        } else if (term > TERM_MAX) {
+            violations.add(new Violation(index, "loanTermMonths", "Max", TERM_MAX_MESSAGE));
+        }
+    }
+
+    /**
+     * Violação de um item do batch: índice, campo, constraint equivalente e mensagem.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Violation {
+
+        private final int index;
+        private final String field;
+        private final String constraint;
+        private final String message;
+    }
+}
@@ -0,0 +1,32 @@
+package com.spring.credit_simulator.validation;
+
+import com.spring.credit_simulator.dto.SimulationRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.List;
+
+public class SimulationsValidator implements ConstraintValidator<ValidSimulations, List<SimulationRequest>> {
+
+    @Override
+    public boolean isValid(List<SimulationRequest> simulations, ConstraintValidatorContext context) {
+        if (simulations == null) {
+            return true; // Responsabilidade do @NotEmpty
+        }
+
+        List<SimulationRequestValidator.Violation> violations = SimulationRequestValidator.validateAll(simulations);
+        if (violations.isEmpty()) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        for (SimulationRequestValidator.Violation violation : violations) {
+            context.buildConstraintViolationWithTemplate(violation.getMessage())
+                    .addPropertyNode(violation.getField())
+                    .inIterable()
+                    .atIndex(violation.getIndex())
+                    .addConstraintViolation();
+        }
+        return false;
+    }
+}
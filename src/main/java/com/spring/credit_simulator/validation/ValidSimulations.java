@@ -0,0 +1,27 @@
+package com.spring.credit_simulator.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida os itens de uma lista de SimulationRequest com SimulationRequestValidator, no lugar
+ * da cascata @Valid. As violações saem em simulations[i].campo com as mensagens do DTO.
+ */
+@Documented
+@Constraint(validatedBy = SimulationsValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidSimulations {
+
+    String message() default "Simulações inválidas";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
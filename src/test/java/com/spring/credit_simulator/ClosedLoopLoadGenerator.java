@@ -0,0 +1,207 @@
+package com.spring.credit_simulator;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Gerador de carga em malha fechada: cada usuário virtual envia a próxima requisição assim que
+ * recebe a resposta anterior, escolhendo o cenário pelo peso do mix. Latências em microssegundos
+ * em histogramas HDR por usuário (sem contenção), combinados ao final; o aquecimento é descartado.
+ */
+final class ClosedLoopLoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+
+    private final String baseUrl;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    ClosedLoopLoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * @param body gera o corpo JSON a partir do gerador aleatório do usuário virtual (dados variados e reproduzíveis)
+     */
+    ClosedLoopLoadGenerator scenario(String name, int weight, String path, int expectedStatus,
+                                     Function<Random, String> body) {
+        if (weight > 0) {
+            scenarios.add(new Scenario(name, weight, path, expectedStatus, body));
+        }
+        return this;
+    }
+
+    Report run(int concurrency, Duration warmup, Duration measurement) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long stopAt = measureFrom + measurement.toNanos();
+
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<String, ScenarioStats>>> results = new ArrayList<>();
+            for (int user = 0; user < concurrency; user++) {
+                long seed = user;
+                results.add(users.submit(() -> runUser(new Random(seed), measureFrom, stopAt)));
+            }
+
+            Map<String, ScenarioStats> merged = new LinkedHashMap<>();
+            for (Future<Map<String, ScenarioStats>> result : results) {
+                result.get().forEach((name, stats) ->
+                        merged.computeIfAbsent(name, key -> new ScenarioStats()).merge(stats));
+            }
+            return new Report(merged, measurement);
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private Map<String, ScenarioStats> runUser(Random random, long measureFrom, long stopAt) {
+        int totalWeight = scenarios.stream().mapToInt(scenario -> scenario.weight).sum();
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name, new ScenarioStats()));
+
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            Scenario scenario = pick(random.nextInt(totalWeight));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(scenario.body.apply(random)))
+                    .build();
+
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() == scenario.expectedStatus;
+            } catch (Exception e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                ok = false;
+            }
+
+            long end = System.nanoTime();
+            if (now >= measureFrom) {
+                stats.get(scenario.name).record((end - now) / 1_000, ok);
+            }
+        }
+        return stats;
+    }
+
+    private Scenario pick(int ticket) {
+        for (Scenario scenario : scenarios) {
+            ticket -= scenario.weight;
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static final class Scenario {
+
+        private final String name;
+        private final int weight;
+        private final String path;
+        private final int expectedStatus;
+        private final Function<Random, String> body;
+
+        private Scenario(String name, int weight, String path, int expectedStatus, Function<Random, String> body) {
+            this.name = name;
+            this.weight = weight;
+            this.path = path;
+            this.expectedStatus = expectedStatus;
+            this.body = body;
+        }
+    }
+
+    static final class ScenarioStats {
+
+        private final Histogram latencies = new Histogram(MAX_LATENCY_MICROS, 3);
+        private long errors;
+
+        private void record(long micros, boolean ok) {
+            latencies.recordValue(Math.min(Math.max(micros, 1), MAX_LATENCY_MICROS));
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        private void merge(ScenarioStats other) {
+            latencies.add(other.latencies);
+            errors += other.errors;
+        }
+
+        Histogram getLatencies() {
+            return latencies;
+        }
+
+        long getErrors() {
+            return errors;
+        }
+    }
+
+    static final class Report {
+
+        private final Map<String, ScenarioStats> scenarios;
+        private final ScenarioStats total = new ScenarioStats();
+        private final Duration measurement;
+
+        private Report(Map<String, ScenarioStats> scenarios, Duration measurement) {
+            this.scenarios = scenarios;
+            this.measurement = measurement;
+            scenarios.values().forEach(total::merge);
+        }
+
+        ScenarioStats getTotal() {
+            return total;
+        }
+
+        double throughput() {
+            return total.latencies.getTotalCount() / (measurement.toNanos() / 1_000_000_000.0);
+        }
+
+        double errorRate() {
+            long count = total.latencies.getTotalCount();
+            return count == 0 ? 1.0 : (double) total.errors / count;
+        }
+
+        static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1_000.0;
+        }
+
+        String format() {
+            StringBuilder report = new StringBuilder(String.format("%-10s %9s %8s %10s %10s %10s %10s%n",
+                    "Cenário", "Reqs", "Erros", "p50 ms", "p99 ms", "p99.9 ms", "máx ms"));
+            scenarios.forEach((name, stats) -> appendLine(report, name, stats));
+            appendLine(report, "total", total);
+            report.append(String.format("Vazão: %.1f req/s, taxa de erro: %.2f%%%n", throughput(), errorRate() * 100));
+            return report.toString();
+        }
+
+        private static void appendLine(StringBuilder report, String name, ScenarioStats stats) {
+            Histogram histogram = stats.latencies;
+            report.append(String.format("%-10s %9d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    name, histogram.getTotalCount(), stats.errors,
+                    millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1_000.0));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.spring.credit_simulator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga HTTP ponta a ponta (Tomcat, Jackson, Bean Validation e endpoints reais).
+ * Parâmetros e limites de regressão via -D, por exemplo:
+ * mvn test -Dtest=HttpLoadTest -Dloadtest.concurrency=32 -Dloadtest.duration-seconds=60 -Dloadtest.max-p99-ms=50
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HttpLoadTest {
+
+    private static final int CONCURRENCY = intProperty("loadtest.concurrency", 8);
+    private static final Duration WARMUP = Duration.ofSeconds(intProperty("loadtest.warmup-seconds", 3));
+    private static final Duration DURATION = Duration.ofSeconds(intProperty("loadtest.duration-seconds", 5));
+    private static final int BATCH_SIZE = intProperty("loadtest.batch-size", 20);
+
+    // Mix de requisições em pesos relativos
+    private static final int MIX_SINGLE = intProperty("loadtest.mix.single", 75);
+    private static final int MIX_BATCH = intProperty("loadtest.mix.batch", 20);
+    private static final int MIX_INVALID = intProperty("loadtest.mix.invalid", 5);
+
+    // Limites de regressão: padrões folgados para máquinas de CI compartilhadas
+    private static final double MAX_P99_MS = doubleProperty("loadtest.max-p99-ms", 1000);
+    private static final double MAX_P999_MS = doubleProperty("loadtest.max-p999-ms", 3000);
+    private static final double MIN_THROUGHPUT = doubleProperty("loadtest.min-throughput", 20);
+    private static final double MAX_ERROR_RATE = doubleProperty("loadtest.max-error-rate", 0.0);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Carga HTTP: percentis de latência e vazão dentro dos limites de regressão")
+    void cargaHttpDentroDosLimites() throws Exception {
+        ClosedLoopLoadGenerator generator = new ClosedLoopLoadGenerator("http://localhost:" + port)
+                .scenario("simulacao", MIX_SINGLE, "/api/v1/simulations", 200, HttpLoadTest::simulacao)
+                .scenario("batch", MIX_BATCH, "/api/v1/simulations/batch", 200, HttpLoadTest::batch)
+                .scenario("invalida", MIX_INVALID, "/api/v1/simulations", 400, HttpLoadTest::simulacaoMenorDeIdade);
+
+        ClosedLoopLoadGenerator.Report report = generator.run(CONCURRENCY, WARMUP, DURATION);
+
+        System.out.printf("%nCarga HTTP: %d usuários, %ds de medição (batch de %d itens)%n%s",
+                CONCURRENCY, DURATION.toSeconds(), BATCH_SIZE, report.format());
+
+        double p99 = ClosedLoopLoadGenerator.Report.millis(report.getTotal().getLatencies(), 99);
+        double p999 = ClosedLoopLoadGenerator.Report.millis(report.getTotal().getLatencies(), 99.9);
+
+        assertAll(
+                () -> assertTrue(report.errorRate() <= MAX_ERROR_RATE,
+                        String.format("Taxa de erro %.4f acima de %.4f", report.errorRate(), MAX_ERROR_RATE)),
+                () -> assertTrue(p99 <= MAX_P99_MS,
+                        String.format("p99 de %.2f ms acima de %.2f ms", p99, MAX_P99_MS)),
+                () -> assertTrue(p999 <= MAX_P999_MS,
+                        String.format("p99.9 de %.2f ms acima de %.2f ms", p999, MAX_P999_MS)),
+                () -> assertTrue(report.throughput() >= MIN_THROUGHPUT,
+                        String.format("Vazão de %.1f req/s abaixo de %.1f req/s", report.throughput(), MIN_THROUGHPUT))
+        );
+    }
+
+    private static String simulacao(Random random) {
+        return item(random, 18 + random.nextInt(62));
+    }
+
+    private static String simulacaoMenorDeIdade(Random random) {
+        return item(random, 10 + random.nextInt(8));
+    }
+
+    private static String batch(Random random) {
+        return IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> simulacao(random))
+                .collect(Collectors.joining(",", "{\"simulations\":[", "]}"));
+    }
+
+    /**
+     * Valores de R$ 1.000 a R$ 1.000.000 e prazos de 6 a 360 meses.
+     */
+    private static String item(Random random, int idade) {
+        LocalDate birthDate = LocalDate.now().minusYears(idade).minusDays(1 + random.nextInt(300));
+        return String.format(Locale.ROOT, "{\"loanAmount\":%d.%02d,\"birthDate\":\"%s\",\"loanTermMonths\":%d}",
+                1_000 + random.nextInt(999_000), random.nextInt(100), birthDate, 6 + random.nextInt(355));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.spring.credit_simulator;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vazão de simulações individuais com e sem micro-batching, na mesma aplicação e com a mesma carga.
+ * O padrão é o cenário em que o agrupamento deveria compensar: muitos usuários concorrentes e um
+ * único prazo longo, para que o lote inteiro compartilhe o fator de parcela. As rodadas alternam
+ * os dois modos para que o aquecimento do JIT não favoreça o que roda por último. Fora do build
+ * padrão (perfil performance).
+ * mvn -Pperformance test -Dtest=MicroBatchingLoadTest -Dloadtest.duration-seconds=30 -Dloadtest.microbatch.terms=12,24,36,48,60,72,84,96,120,180,240,360
+ */
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MicroBatchingLoadTest {
+
+    private static final int[] PRAZOS = Arrays.stream(System.getProperty("loadtest.microbatch.terms", "360").split(","))
+            .mapToInt(prazo -> Integer.parseInt(prazo.trim()))
+            .toArray();
+
+    private static final int CONCURRENCY = intProperty("loadtest.concurrency", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(intProperty("loadtest.warmup-seconds", 2));
+    private static final Duration DURATION = Duration.ofSeconds(intProperty("loadtest.duration-seconds", 3));
+    private static final int ROUNDS = intProperty("loadtest.microbatch.rounds", 2);
+
+    // Razão mínima entre as vazões (com / sem): ligado, o micro-batching não pode perder da simulação direta
+    private static final double MIN_GAIN = doubleProperty("loadtest.microbatch.min-gain", 1.0);
+
+    @Autowired
+    private SimulationProperties properties;
+
+    @LocalServerPort
+    private int port;
+
+    @AfterEach
+    void tearDown() {
+        properties.getMicroBatch().setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Carga HTTP: vazão de simulações individuais com e sem micro-batching")
+    void vazaoComESemMicroBatching() throws Exception {
+        // Rodada descartada de cada modo: o JIT ainda compila os dois caminhos nos primeiros segundos
+        properties.getMicroBatch().setEnabled(false);
+        executar();
+        properties.getMicroBatch().setEnabled(true);
+        executar();
+
+        double vazaoDireta = 0;
+        double vazaoAgrupada = 0;
+
+        for (int rodada = 0; rodada < ROUNDS; rodada++) {
+            // ABBA: cada modo roda uma vez primeiro e uma vez por último a cada duas rodadas
+            boolean agrupadoPrimeiro = rodada % 2 == 1;
+            for (boolean agrupado : new boolean[]{agrupadoPrimeiro, !agrupadoPrimeiro}) {
+                properties.getMicroBatch().setEnabled(agrupado);
+                ClosedLoopLoadGenerator.Report report = executar();
+                System.out.printf("%nRodada %d, %s micro-batching:%n%s",
+                        rodada + 1, agrupado ? "com" : "sem", report.format());
+
+                assertEquals(0.0, report.errorRate());
+                if (agrupado) {
+                    vazaoAgrupada += report.throughput() / ROUNDS;
+                } else {
+                    vazaoDireta += report.throughput() / ROUNDS;
+                }
+            }
+        }
+
+        double ganho = vazaoAgrupada / vazaoDireta;
+        System.out.printf("%nMicro-batching: %d usuários, %d rodadas de %ds, lote máximo %d%n" +
+                        "Vazão média: %.0f → %.0f req/s (%.2fx)%n",
+                CONCURRENCY, ROUNDS, DURATION.toSeconds(), properties.getMicroBatch().getMaxSize(),
+                vazaoDireta, vazaoAgrupada, ganho);
+
+        assertTrue(ganho >= MIN_GAIN, String.format("Vazão com micro-batching %.2fx da direta", ganho));
+    }
+
+    private ClosedLoopLoadGenerator.Report executar() throws Exception {
+        return new ClosedLoopLoadGenerator("http://localhost:" + port)
+                .scenario("simulacao", 1, "/api/v1/simulations", 200, MicroBatchingLoadTest::simulacao)
+                .run(CONCURRENCY, WARMUP, DURATION);
+    }
+
+    private static String simulacao(Random random) {
+        LocalDate birthDate = LocalDate.now().minusYears(18 + random.nextInt(62)).minusDays(1 + random.nextInt(300));
+        return String.format(Locale.ROOT, "{\"loanAmount\":%d.%02d,\"birthDate\":\"%s\",\"loanTermMonths\":%d}",
+                1_000 + random.nextInt(999_000), random.nextInt(100), birthDate,
+                PRAZOS[random.nextInt(PRAZOS.length)]);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -34,13 +34,9 @@ class PerformanceTest {
     @Order(1)
     @DisplayName("Deve processar simulação individual em menos de 100ms")
     void testePerformanceSimulacaoIndividual() {
+        // JIT já aquecido pelo SimulationWarmup na subida do contexto
         SimulationRequest request = criarRequestPadrao();
 
-        // Warmup da JVM para medições precisas (JIT compilation)
-        for (int i = 0; i < 10; i++) {
-            simulationService.simulate(request);
-        }
-
         Instant inicio = Instant.now();
         SimulationResponse response = simulationService.simulate(request);
         Instant fim = Instant.now();
@@ -0,0 +1,106 @@
+package com.spring.credit_simulator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tempo de início até a primeira simulação bem-sucedida (POST /api/v1/simulations com 200),
+ * medido em processos novos da aplicação empacotada. Só roda quando o comando é informado, por exemplo:
+ * mvn test -Dtest=StartupTimeTest -Dstartup.command="java -jar target/credit-simulator-0.0.1-SNAPSHOT.jar"
+ */
+@EnabledIfSystemProperty(named = "startup.command", matches = ".+")
+class StartupTimeTest {
+
+    private static final String COMMAND = System.getProperty("startup.command", "");
+    private static final int RUNS = Integer.parseInt(System.getProperty("startup.runs", "5"));
+    private static final long MAX_MS = Long.parseLong(System.getProperty("startup.max-ms", "60000"));
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    @DisplayName("Início: tempo até a primeira simulação bem-sucedida")
+    void tempoAtePrimeiraSimulacao() throws Exception {
+        List<Long> tempos = new ArrayList<>();
+        for (int run = 0; run < RUNS; run++) {
+            tempos.add(medir());
+        }
+
+        long[] ordenados = tempos.stream().mapToLong(Long::longValue).sorted().toArray();
+        long mediana = ordenados[ordenados.length / 2];
+        System.out.printf("%nInício até a primeira simulação (%d execuções): min %d ms, mediana %d ms, max %d ms%n" +
+                        "Comando: %s%nExecuções: %s%n",
+                RUNS, ordenados[0], mediana, ordenados[ordenados.length - 1], COMMAND, tempos);
+
+        assertTrue(mediana <= MAX_MS, String.format("Mediana de %d ms acima de %d ms", mediana, MAX_MS));
+    }
+
+    /**
+     * Sobe um processo novo em porta livre e sonda até a primeira resposta 200.
+     */
+    private long medir() throws Exception {
+        int port = portaLivre();
+        List<String> command = new ArrayList<>(Arrays.asList(COMMAND.trim().split("\\s+")));
+        command.add("--server.port=" + port);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/simulations"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                        "{\"loanAmount\":50000.00,\"birthDate\":\"%s\",\"loanTermMonths\":24}",
+                        LocalDate.now().minusYears(35))))
+                .build();
+
+        long inicio = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - inicio < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    fail("Processo encerrado antes de responder, código " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+                    }
+                } catch (ConnectException e) {
+                    // Servidor ainda não está escutando
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            return fail("Sem resposta 200 em " + TIMEOUT.toSeconds() + "s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.spring.credit_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Consultas analíticas com o armazém ligado: só as simulações atendidas depois da prontidão contam
+ * (o aquecimento da subida fica de fora).
+ */
+@SpringBootTest(properties = "simulation.analytics.enabled=true")
+@AutoConfigureMockMvc
+class AnalyticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("GET /api/v1/analytics/simulations - Deve agregar simulações individuais e do batch")
+    void deveAgregarSimulacoesAtendidas() throws Exception {
+        mockMvc.perform(post("/api/v1/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedido(35, 24))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/simulations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BatchSimulationRequest.builder()
+                                .simulations(List.of(pedido(20, 24), pedido(22, 36), pedido(50, 24)))
+                                .build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/analytics/simulations").param("groupBy", "AGE_TIER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupBy").value("AGE_TIER"))
+                .andExpect(jsonPath("$.matchedRows").value(4))
+                .andExpect(jsonPath("$.groups", hasSize(3)))
+                .andExpect(jsonPath("$.groups[0].key").value("YOUNG"))
+                .andExpect(jsonPath("$.groups[0].count").value(2))
+                .andExpect(jsonPath("$.groups[0].share").value("50.00"))
+                .andExpect(jsonPath("$.groups[0].totalLoanAmount").value("20000.00"));
+
+        mockMvc.perform(get("/api/v1/analytics/simulations")
+                        .param("groupBy", "TERM")
+                        .param("maxTerm", "24")
+                        .param("lastMinutes", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRows").value(3))
+                .andExpect(jsonPath("$.groups[0].key").value("24"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/analytics/simulations - Deve recusar agrupamento desconhecido")
+    void deveRecusarAgrupamentoDesconhecido() throws Exception {
+        mockMvc.perform(get("/api/v1/analytics/simulations").param("groupBy", "MONTH"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("groupBy"));
+    }
+
+    private static SimulationRequest pedido(int idade, int prazo) {
+        return SimulationRequest.builder()
+                .loanAmount(new BigDecimal("10000.00"))
+                .birthDate(LocalDate.now().minusYears(idade).minusDays(1))
+                .loanTermMonths(prazo)
+                .build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.spring.credit_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração da variante não bloqueante, incluindo carga concorrente contra o servidor
+ * real com poucas threads de requisição.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.threads.max=" + AsyncSimulationControllerIntegrationTest.THREADS_TOMCAT
+)
+@AutoConfigureMockMvc
+class AsyncSimulationControllerIntegrationTest {
+
+    static final int THREADS_TOMCAT = 4;
+    private static final int REQUISICOES_CONCORRENTES = 48;
+    private static final int SIMULACOES_POR_BATCH = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExecutorService simulationExecutorService;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("POST /api/v1/async/simulations - Deve simular empréstimo com o mesmo contrato")
+    void deveSimularEmprestimoComMesmoContrato() throws Exception {
+        SimulationRequest request = criarSimulacao(35, 24);
+
+        MvcResult async = mockMvc.perform(post("/api/v1/async/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpoAsync = mockMvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientAge").value(35))
+                .andExpect(jsonPath("$.annualInterestRate").value("3.0"))
+                .andExpect(jsonPath("$.monthlyPayment").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        String corpoSync = mockMvc.perform(post("/api/v1/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(corpoSync, corpoAsync);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/async/simulations - Deve rejeitar menor de idade com 400")
+    void deveRejeitarMenorDeIdade() throws Exception {
+        MvcResult async = mockMvc.perform(post("/api/v1/async/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarSimulacao(17, 12))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(async))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/async/simulations/batch - Deve processar batch pequeno e aceitar batch grande")
+    void deveProcessarBatchPequenoEAceitarBatchGrande() throws Exception {
+        MvcResult pequeno = mockMvc.perform(post("/api/v1/async/simulations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarBatch(2))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pequeno))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        MvcResult grande = mockMvc.perform(post("/api/v1/async/simulations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarBatch(150))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(grande))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.totalSimulations").value(150))
+                .andExpect(jsonPath("$.status").value("ACEITO"));
+    }
+
+    /**
+     * Servidor real: o header é emitido no dispatch assíncrono, depois que o pool concluiu o cálculo.
+     */
+    @Test
+    @DisplayName("POST /api/v1/async/simulations - Deve emitir Server-Timing quando solicitado")
+    void deveEmitirServerTimingQuandoSolicitado() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/async/simulations"))
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Server-Timing", "1")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(criarSimulacao(35, 24))))
+                .build();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"clientAge\":35"), response.body());
+        String serverTiming = response.headers().firstValue("Server-Timing").orElse("");
+        assertTrue(serverTiming.contains("calculator;dur=") && serverTiming.contains("serialization;dur="),
+                serverTiming);
+    }
+
+    /**
+     * Com {@value #THREADS_TOMCAT} threads de requisição, o endpoint bloqueante mantém no máximo
+     * {@value #THREADS_TOMCAT} batches em andamento; o não bloqueante aceita todos e deixa o pool
+     * de simulação como único limite. Mede o pico de tarefas na fila do pool durante a carga.
+     */
+    @Test
+    @DisplayName("Carga: variante não bloqueante deve manter mais requisições em andamento")
+    void varianteNaoBloqueanteDeveManterMaisRequisicoesEmAndamento() throws Exception {
+        String corpo = objectMapper.writeValueAsString(criarBatch(SIMULACOES_POR_BATCH));
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        // Aquecimento de ambos os caminhos
+        disparar(client, "/api/v1/simulations/batch", corpo);
+        disparar(client, "/api/v1/async/simulations/batch", corpo);
+
+        int picoBloqueante = disparar(client, "/api/v1/simulations/batch", corpo);
+        int picoNaoBloqueante = disparar(client, "/api/v1/async/simulations/batch", corpo);
+
+        int emAndamentoBloqueante = batchesEmAndamento(picoBloqueante);
+        int emAndamentoNaoBloqueante = batchesEmAndamento(picoNaoBloqueante);
+        System.out.printf("Batches simultâneos em andamento (pico, %d threads Tomcat): bloqueante %d, não bloqueante %d%n",
+                THREADS_TOMCAT, emAndamentoBloqueante, emAndamentoNaoBloqueante);
+
+        assertTrue(emAndamentoBloqueante <= THREADS_TOMCAT);
+        assertTrue(emAndamentoNaoBloqueante > emAndamentoBloqueante,
+                String.format("Não bloqueante deveria superar bloqueante: %d vs %d",
+                        emAndamentoNaoBloqueante, emAndamentoBloqueante));
+    }
+
+    /**
+     * Dispara as requisições concorrentes e retorna o pico de tarefas enfileiradas no pool de simulação.
+     */
+    private int disparar(HttpClient client, String path, String corpo) throws Exception {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) simulationExecutorService;
+        AtomicInteger pico = new AtomicInteger();
+        AtomicBoolean medindo = new AtomicBoolean(true);
+
+        Thread amostrador = new Thread(() -> {
+            while (medindo.get()) {
+                pico.accumulateAndGet(pool.getQueue().size(), Math::max);
+                LockSupport.parkNanos(50_000);
+            }
+        });
+        amostrador.setDaemon(true);
+        amostrador.start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+
+        List<CompletableFuture<HttpResponse<String>>> respostas = IntStream.range(0, REQUISICOES_CONCORRENTES)
+                .mapToObj(i -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .collect(Collectors.toList());
+
+        for (CompletableFuture<HttpResponse<String>> resposta : respostas) {
+            assertEquals(200, resposta.get().statusCode());
+        }
+
+        medindo.set(false);
+        amostrador.join();
+        return pico.get();
+    }
+
+    private static int batchesEmAndamento(int tarefas) {
+        return (tarefas + SIMULACOES_POR_BATCH - 1) / SIMULACOES_POR_BATCH;
+    }
+
+    private static SimulationRequest criarSimulacao(int idade, int prazo) {
+        return SimulationRequest.builder()
+                .loanAmount(new BigDecimal("50000.00"))
+                .birthDate(LocalDate.now().minusYears(idade))
+                .loanTermMonths(prazo)
+                .build();
+    }
+
+    private static BatchSimulationRequest criarBatch(int tamanho) {
+        return BatchSimulationRequest.builder()
+                .simulations(IntStream.range(0, tamanho)
+                        .mapToObj(i -> criarSimulacao(20 + i % 50, 360))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.credit_simulator.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Batch em CSV pela API: resultado na própria resposta e em arquivo para download.
+ */
+@SpringBootTest(properties = "simulation.csv.result-directory=target/csv-results")
+@AutoConfigureMockMvc
+class CsvBatchControllerIntegrationTest {
+
+    private static final String CSV = "loanAmount,birthDate,loanTermMonths\n" +
+            "50000.00," + LocalDate.now().minusYears(35).minusDays(1) + ",24\n" +
+            "500.00," + LocalDate.now().minusYears(35).minusDays(1) + ",24\n" +
+            "10000.00," + LocalDate.now().minusYears(20).minusDays(1) + ",12\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/batch/csv - Deve devolver uma linha de resultado por linha do arquivo")
+    void deveDevolverResultadoEmCsv() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/simulations/batch/csv")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().exists(CsvBatchController.BATCH_ID_HEADER))
+                .andReturn();
+
+        List<String> linhas = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, linhas.size());
+        assertTrue(linhas.get(0).startsWith("line,loanAmount,"));
+        assertTrue(linhas.get(1).startsWith("2,50000.00,"));
+        assertTrue(linhas.get(1).contains(",35,3.0,2149.06,"), linhas.get(1));
+        assertTrue(linhas.get(2).startsWith("3,500.00,") && linhas.get(2).endsWith("\""), linhas.get(2));
+        assertTrue(linhas.get(3).startsWith("4,10000.00,"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/batch/csv/file - Deve gravar o resultado para download")
+    void deveGravarResultadoParaDownload() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/simulations/batch/csv/file")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", startsWith("/api/v1/simulations/batch/csv/")))
+                .andExpect(jsonPath("$.totalRows").value(3))
+                .andExpect(jsonPath("$.processedRows").value(2))
+                .andExpect(jsonPath("$.rejectedRows").value(1))
+                .andReturn();
+
+        String location = result.getResponse().getHeader("Location");
+        String csv = mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(4, csv.lines().count());
+
+        mockMvc.perform(get("/api/v1/simulations/batch/csv/00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound());
+    }
+}
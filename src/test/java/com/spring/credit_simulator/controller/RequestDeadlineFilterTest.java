@@ -0,0 +1,56 @@
+package com.spring.credit_simulator.controller;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.service.SimulationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prazo escolhido pelo filtro: limites dos endpoints JSON e prazo próprio dos endpoints CSV.
+ */
+class RequestDeadlineFilterTest {
+
+    private SimulationProperties properties;
+    private RequestDeadlineFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimulationProperties();
+        filter = new RequestDeadlineFilter(properties, new SimulationMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Endpoints JSON usam o prazo padrão e limitam o header ao teto")
+    void endpointsJsonDevemUsarPadraoETeto() {
+        assertEquals(30_000, filter.timeoutMillis(requisicao("/api/v1/simulations/batch", null)));
+        assertEquals(500, filter.timeoutMillis(requisicao("/api/v1/simulations/batch", "500")));
+        assertEquals(60_000, filter.timeoutMillis(requisicao("/api/v1/simulations/batch", "600000")));
+        assertEquals(30_000, filter.timeoutMillis(requisicao("/api/v1/simulations", "abc")));
+    }
+
+    @Test
+    @DisplayName("Endpoints CSV não herdam os limites do JSON")
+    void endpointsCsvDevemUsarPrazoProprio() {
+        assertEquals(0, filter.timeoutMillis(requisicao("/api/v1/simulations/batch/csv", null)));
+        assertEquals(0, filter.timeoutMillis(requisicao("/api/v1/simulations/batch/csv/file", null)));
+        assertEquals(600_000, filter.timeoutMillis(requisicao("/api/v1/simulations/batch/csv/file", "600000")));
+
+        properties.getDeadline().setCsvTimeoutMs(300_000);
+        assertEquals(300_000, filter.timeoutMillis(requisicao("/api/v1/simulations/batch/csv", null)));
+        assertEquals(300_000, filter.timeoutMillis(requisicao("/api/v1/simulations/batch/csv", "600000")));
+        assertEquals(90_000, filter.timeoutMillis(requisicao("/api/v1/simulations/batch/csv", "90000")));
+    }
+
+    private MockHttpServletRequest requisicao(String uri, String prazo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (prazo != null) {
+            request.addHeader(properties.getDeadline().getHeader(), prazo);
+        }
+        return request;
+    }
+}
@@ -2,10 +2,13 @@ package com.spring.credit_simulator.controller;
 
 import com.spring.credit_simulator.dto.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -27,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 class SimulationControllerIntegrationTest {
 
     @Autowired
@@ -35,6 +39,9 @@ class SimulationControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private SimulationRequest validRequest;
     private String validRequestJson;
 
@@ -217,6 +224,35 @@ class SimulationControllerIntegrationTest {
                 .andExpect(jsonPath("$.acceptedAt").exists());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/simulations/batch - batchId enviado no corpo deve ser ignorado")
+    void batchIdDoCorpoDeveSerIgnorado() throws Exception {
+        SimulationRequest template = SimulationRequest.builder()
+                .loanAmount(new BigDecimal("10000.00"))
+                .birthDate(LocalDate.now().minusYears(30))
+                .loanTermMonths(12)
+                .build();
+        List<SimulationRequest> simulacoes = Arrays.asList(new SimulationRequest[150]);
+        simulacoes.replaceAll(ignored -> template);
+        ObjectNode corpo = objectMapper.valueToTree(BatchSimulationRequest.builder().simulations(simulacoes).build());
+
+        corpo.putNull("batchId");
+        mockMvc.perform(post("/api/v1/simulations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo.toString()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.batchId").isString());
+
+        corpo.put("batchId", "lote-do-cliente");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/simulations/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo.toString()))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.batchId").value(not("lote-do-cliente")));
+        }
+    }
+
     @Test
     @DisplayName("Deve aceitar e retornar datas no formato ISO 8601")
     void deveAceitarFormatoDataISO() throws Exception {
@@ -266,13 +302,345 @@ class SimulationControllerIntegrationTest {
     @Test
     @DisplayName("GET /api/v1/simulations/batch/{id}/status - Deve retornar status do batch")
     void deveRetornarStatusDoBatch() throws Exception {
-        String batchId = "test-batch-123";
+        BatchSimulationRequest batchRequest = BatchSimulationRequest.builder()
+                .simulations(List.of(validRequest))
+                .build();
+
+        String batchId = mockMvc.perform(post("/api/v1/simulations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SimulationController.BATCH_ID_HEADER);
+        assertNotEquals(batchRequest.getBatchId(), batchId);
 
         mockMvc.perform(get("/api/v1/simulations/batch/{id}/status", batchId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.batchId").value(batchId))
                 .andExpect(jsonPath("$.status").exists())
                 .andExpect(jsonPath("$.message").exists())
-                .andExpect(jsonPath("$.progress").isNumber());
+                .andExpect(jsonPath("$.progress").isNumber())
+                .andExpect(jsonPath("$.progress").value(100));
+
+        mockMvc.perform(get("/api/v1/simulations/batch/{id}/status", "test-batch-123"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/simulations/batch/{id}/summary - Deve retornar resumo agregado do batch")
+    void deveRetornarResumoAgregadoDoBatch() throws Exception {
+        BatchSimulationRequest batchRequest = BatchSimulationRequest.builder()
+                .simulations(Arrays.asList(validRequest, validRequest))
+                .build();
+
+        String batchId = mockMvc.perform(post("/api/v1/simulations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SimulationController.BATCH_ID_HEADER);
+
+        mockMvc.perform(get("/api/v1/simulations/batch/{id}/summary", batchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.processedSimulations").value(2))
+                .andExpect(jsonPath("$.totalLoanAmount").value("100000.00"))
+                .andExpect(jsonPath("$.monthlyPayment.p50").isString())
+                .andExpect(jsonPath("$.ageTiers", hasSize(4)))
+                .andExpect(jsonPath("$.ageTiers[1].count").value(2));
+
+        mockMvc.perform(get("/api/v1/simulations/batch/{id}/summary", "batch-inexistente"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Deve expor métricas do pipeline")
+    void deveExporMetricasDoPipeline() throws Exception {
+        mockMvc.perform(post("/api/v1/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"loanAmount\": 500.00, \"birthDate\": \"1990-01-01\", \"loanTermMonths\": 24}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("simulation_simulate_seconds_bucket")))
+                .andExpect(content().string(containsString("simulation_calculator_seconds_count")))
+                .andExpect(content().string(containsString("executor_queued_tasks{name=\"simulation\"")))
+                .andExpect(content().string(containsString("executor_active_threads{name=\"simulation\"")))
+                .andExpect(content().string(containsString(
+                        "simulation_validation_rejections_total{reason=\"loanAmount.DecimalMin\"")));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/health/readiness - Deve ficar pronto somente após o aquecimento")
+    void deveFicarProntoAposAquecimento() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("simulation_warmup_duration_seconds")))
+                .andExpect(content().string(containsString("simulation_warmup_iterations")))
+                .andExpect(content().string(containsString("simulation_warmup_completed")));
+    }
+
+    @Test
+    @DisplayName("Server-Timing - Deve detalhar etapas apenas quando solicitado pelo header")
+    void deveDetalharEtapasQuandoSolicitado() throws Exception {
+        mockMvc.perform(post("/api/v1/simulations")
+                        .header("X-Server-Timing", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyPayment").isString())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("deserialization;dur="),
+                        containsString("validation;dur="),
+                        containsString("rate;dur="),
+                        containsString("calculator;dur="),
+                        containsString("serialization;dur="),
+                        containsString("total;dur="))));
+
+        mockMvc.perform(post("/api/v1/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+
+    @Test
+    @DisplayName("Server-Timing - Batch deve somar etapas por item")
+    void batchDeveSomarEtapasPorItem() throws Exception {
+        BatchSimulationRequest batchRequest = BatchSimulationRequest.builder()
+                .simulations(Arrays.asList(validRequest, validRequest, validRequest))
+                .build();
+
+        mockMvc.perform(post("/api/v1/simulations/batch")
+                        .header("X-Server-Timing", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(header().string("Server-Timing", allOf(
+                        matchesPattern(".*rate;dur=[0-9.]+;desc=\"3 itens\".*"),
+                        matchesPattern(".*calculator;dur=[0-9.]+;desc=\"3 itens\".*"))));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/indexed - Deve simular pós-fixado com tabela quitando o saldo")
+    void deveSimularPosFixadoComTabela() throws Exception {
+        mockMvc.perform(post("/api/v1/simulations/indexed")
+                        .param("index", "ipca")
+                        .param("schedule", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.index").value("IPCA"))
+                .andExpect(jsonPath("$.curveVersion").isNumber())
+                .andExpect(jsonPath("$.spreadAnnualRate").value("3.0"))
+                .andExpect(jsonPath("$.monthlyPayment").isString())
+                .andExpect(jsonPath("$.schedule", hasSize(24)))
+                .andExpect(jsonPath("$.schedule[0].month").value(1))
+                .andExpect(jsonPath("$.schedule[23].balance").value("0.00"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/indexed/batch - Deve usar a mesma curva em todos os itens")
+    void batchPosFixadoDeveUsarMesmaCurva() throws Exception {
+        BatchSimulationRequest batchRequest = BatchSimulationRequest.builder()
+                .simulations(Arrays.asList(validRequest, validRequest))
+                .build();
+
+        mockMvc.perform(post("/api/v1/simulations/indexed/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index").value("CDI"))
+                .andExpect(jsonPath("$[0].schedule").doesNotExist())
+                .andExpect(jsonPath("$[1].monthlyPayment").isString());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/indexed - Índice desconhecido deve retornar 400")
+    void indiceDesconhecidoDeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/v1/simulations/indexed")
+                        .param("index", "SELIC")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("index"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/indexed/scenarios - Deve retornar distribuições reproduzíveis pela semente")
+    void deveSimularCenariosReproduziveis() throws Exception {
+        ScenarioSimulationRequest request = ScenarioSimulationRequest.builder()
+                .simulation(validRequest)
+                .paths(500)
+                .seed(2024L)
+                .build();
+        String json = objectMapper.writeValueAsString(request);
+
+        MvcResult primeira = mockMvc.perform(post("/api/v1/simulations/indexed/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seed").value(2024))
+                .andExpect(jsonPath("$.completedPaths").value(500))
+                .andExpect(jsonPath("$.totalPaid.p50").isString())
+                .andExpect(jsonPath("$.maxInstallment.p99").isString())
+                .andReturn();
+
+        MvcResult segunda = mockMvc.perform(post("/api/v1/simulations/indexed/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ScenarioSimulationResponse a = objectMapper.readValue(primeira.getResponse().getContentAsString(),
+                ScenarioSimulationResponse.class);
+        ScenarioSimulationResponse b = objectMapper.readValue(segunda.getResponse().getContentAsString(),
+                ScenarioSimulationResponse.class);
+        assertEquals(a.getTotalPaid(), b.getTotalPaid());
+        assertEquals(a.getMaxInstallment(), b.getMaxInstallment());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/prepayments - Deve calcular vários cenários na mesma chamada")
+    void deveCalcularCenariosDeAmortizacao() throws Exception {
+        PrepaymentRequest request = PrepaymentRequest.builder()
+                .simulation(validRequest)
+                .scenarios(List.of(
+                        PrepaymentRequest.Scenario.builder().month(12).build(),
+                        PrepaymentRequest.Scenario.builder().month(6).amount(new BigDecimal("5000.00")).build(),
+                        PrepaymentRequest.Scenario.builder().month(6).amount(new BigDecimal("5000.00"))
+                                .mode(PrepaymentRequest.Mode.REDUCE_PAYMENT).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/simulations/prepayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.simulation.monthlyPayment").isString())
+                .andExpect(jsonPath("$.scenarios", hasSize(3)))
+                .andExpect(jsonPath("$.scenarios[0].payoff").value(true))
+                .andExpect(jsonPath("$.scenarios[1].mode").value("REDUCE_TERM"))
+                .andExpect(jsonPath("$.scenarios[1].remainingMonths").value(lessThan(18)))
+                .andExpect(jsonPath("$.scenarios[2].remainingMonths").value(18))
+                .andExpect(jsonPath("$.scenarios[2].interestSaved").isString());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/simulations/prepayments - Mês negativo deve retornar 400")
+    void mesNegativoDeveRetornar400() throws Exception {
+        PrepaymentRequest request = PrepaymentRequest.builder()
+                .simulation(validRequest)
+                .scenarios(List.of(PrepaymentRequest.Scenario.builder().month(-1).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/simulations/prepayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/simulations - Deve responder 304 ao If-None-Match sem recalcular")
+    void getDeveResponder304SemRecalcular() throws Exception {
+        String birthDate = validRequest.getBirthDate().toString();
+        MvcResult primeira = mockMvc.perform(get("/api/v1/simulations")
+                        .param("loanAmount", "50000.00")
+                        .param("birthDate", birthDate)
+                        .param("loanTermMonths", "24"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", startsWith("max-age=")))
+                .andExpect(header().string("Cache-Control", containsString("public")))
+                .andExpect(jsonPath("$.clientAge").value(35))
+                .andReturn();
+
+        String etag = primeira.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""), etag);
+
+        // Mesmo corpo do POST
+        mockMvc.perform(post("/api/v1/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson))
+                .andExpect(content().json(primeira.getResponse().getContentAsString(), true));
+
+        long calculadas = meterRegistry.get("simulation.simulate").timer().count();
+        double naoModificadas = meterRegistry.get("simulation.http.not.modified").counter().count();
+        mockMvc.perform(get("/api/v1/simulations")
+                        .param("loanAmount", "50000.00")
+                        .param("birthDate", birthDate)
+                        .param("loanTermMonths", "24")
+                        .header("If-None-Match", "\"outro\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        assertEquals(calculadas, meterRegistry.get("simulation.simulate").timer().count());
+        assertEquals(naoModificadas + 1, meterRegistry.get("simulation.http.not.modified").counter().count());
+
+        // Outro prazo, outro ETag
+        mockMvc.perform(get("/api/v1/simulations")
+                        .param("loanAmount", "50000.00")
+                        .param("birthDate", birthDate)
+                        .param("loanTermMonths", "36")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/simulations - Cache deve expirar na próxima virada de idade")
+    void cacheDeveExpirarNaViradaDeIdade() throws Exception {
+        LocalDate aniversarioAmanha = LocalDate.now().minusYears(30).plusDays(1);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/simulations")
+                        .param("loanAmount", "10000.00")
+                        .param("birthDate", aniversarioAmanha.toString())
+                        .param("loanTermMonths", "12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientAge").value(29))
+                .andReturn();
+
+        long maxAge = Long.parseLong(result.getResponse().getHeader("Cache-Control").replaceAll(".*max-age=(\\d+).*", "$1"));
+        long ateMeiaNoite = java.time.Duration.between(java.time.ZonedDateTime.now(),
+                LocalDate.now().plusDays(1).atStartOfDay(java.time.ZoneId.systemDefault())).getSeconds();
+        assertTrue(maxAge > 0 && maxAge <= ateMeiaNoite + 1, "max-age=" + maxAge + ", meia-noite em " + ateMeiaNoite);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/simulations/grid - Deve simular cada prazo na ordem pedida")
+    void gradeDeveSimularCadaPrazo() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/simulations/grid")
+                        .param("loanAmount", "50000.00")
+                        .param("birthDate", validRequest.getBirthDate().toString())
+                        .param("terms", "36,12,24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].loanTermMonths").value(36))
+                .andExpect(jsonPath("$[1].loanTermMonths").value(12))
+                .andExpect(jsonPath("$[2].loanTermMonths").value(24))
+                .andReturn();
+
+        String etag = result.getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/v1/simulations/grid")
+                        .param("loanAmount", "50000.00")
+                        .param("birthDate", validRequest.getBirthDate().toString())
+                        .param("terms", "36,12,24")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/v1/simulations/grid")
+                        .param("loanAmount", "50000.00")
+                        .param("birthDate", validRequest.getBirthDate().toString())
+                        .param("terms", "12,5"))
+                .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+}
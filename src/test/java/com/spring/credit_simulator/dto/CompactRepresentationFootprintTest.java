@@ -0,0 +1,166 @@
+package com.spring.credit_simulator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Footprint (JOL) das formas compactas do caminho interno contra as formas anteriores:
+ * SimulationRequest retido nos blocos vs SimulationInput, e resposta @Data com Integer
+ * criada por builder vs SimulationResponse imutável com int criada pelo construtor.
+ */
+class CompactRepresentationFootprintTest {
+
+    private static final int TAMANHO_BATCH = 10_000;
+
+    @Test
+    @DisplayName("Forma compacta deve ocupar menos memória por item e por batch")
+    void formaCompactaDeveOcuparMenosMemoria() {
+        List<SimulationRequest> requests = criarRequests();
+        List<SimulationInput> inputs = SimulationInput.of(requests);
+        List<RespostaLegada> respostasLegadas = requests.stream()
+                .map(CompactRepresentationFootprintTest::respostaLegada)
+                .collect(Collectors.toCollection(ArrayList::new));
+        List<SimulationResponse> respostas = requests.stream()
+                .map(CompactRepresentationFootprintTest::resposta)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        long requestsBytes = GraphLayout.parseInstance(requests).totalSize();
+        long inputsBytes = GraphLayout.parseInstance(inputs).totalSize();
+        long legadasBytes = GraphLayout.parseInstance(respostasLegadas).totalSize();
+        long respostasBytes = GraphLayout.parseInstance(respostas).totalSize();
+
+        System.out.printf("Objeto (shallow): SimulationRequest %d B, SimulationInput %d B, " +
+                        "resposta @Data %d B, SimulationResponse %d B%n",
+                ClassLayout.parseClass(SimulationRequest.class).instanceSize(),
+                ClassLayout.parseClass(SimulationInput.class).instanceSize(),
+                ClassLayout.parseClass(RespostaLegada.class).instanceSize(),
+                ClassLayout.parseClass(SimulationResponse.class).instanceSize());
+        System.out.printf("Entrada retida (grafo): %.1f -> %.1f B/item, batch de %d: %d -> %d B%n",
+                (double) requestsBytes / TAMANHO_BATCH, (double) inputsBytes / TAMANHO_BATCH,
+                TAMANHO_BATCH, requestsBytes, inputsBytes);
+        System.out.printf("Resposta (grafo): %.1f -> %.1f B/item, batch de %d: %d -> %d B%n",
+                (double) legadasBytes / TAMANHO_BATCH, (double) respostasBytes / TAMANHO_BATCH,
+                TAMANHO_BATCH, legadasBytes, respostasBytes);
+
+        assertTrue(inputsBytes < requestsBytes, inputsBytes + " vs " + requestsBytes);
+        assertTrue(respostasBytes < legadasBytes, respostasBytes + " vs " + legadasBytes);
+    }
+
+    /**
+     * Além do retido, o builder anterior gerava um objeto extra (e Integers) por resposta.
+     */
+    @Test
+    @DisplayName("Construtor deve alocar menos que o builder por resposta")
+    void construtorDeveAlocarMenosQueBuilder() {
+        List<SimulationRequest> requests = criarRequests();
+
+        for (int i = 0; i < 5; i++) {
+            alocacaoLegada(requests);
+            alocacaoCompacta(requests);
+        }
+        long legada = alocacaoLegada(requests);
+        long compacta = alocacaoCompacta(requests);
+
+        System.out.printf("Alocação por resposta: builder @Data %.1f B, construtor %.1f B%n",
+                (double) legada / TAMANHO_BATCH, (double) compacta / TAMANHO_BATCH);
+        assertTrue(compacta < legada, compacta + " vs " + legada);
+    }
+
+    private static long alocacaoLegada(List<SimulationRequest> requests) {
+        RespostaLegada[] destino = new RespostaLegada[requests.size()];
+        long antes = bytesAlocados();
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] = respostaLegada(requests.get(i));
+        }
+        return bytesAlocados() - antes;
+    }
+
+    private static long alocacaoCompacta(List<SimulationRequest> requests) {
+        SimulationResponse[] destino = new SimulationResponse[requests.size()];
+        long antes = bytesAlocados();
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] = resposta(requests.get(i));
+        }
+        return bytesAlocados() - antes;
+    }
+
+    private static long bytesAlocados() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Valores distintos por item, como num batch real; prazos acima de 127 fogem do cache de Integer.
+     */
+    private static List<SimulationRequest> criarRequests() {
+        return IntStream.range(0, TAMANHO_BATCH)
+                .mapToObj(i -> SimulationRequest.builder()
+                        .loanAmount(new BigDecimal(10_000 + i).setScale(2))
+                        .birthDate(LocalDate.of(1960, 1, 1).plusDays(i))
+                        .loanTermMonths(6 + i % 355)
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static RespostaLegada respostaLegada(SimulationRequest request) {
+        return RespostaLegada.builder()
+                .loanAmount(request.getLoanAmount())
+                .birthDate(request.getBirthDate())
+                .clientAge(Integer.valueOf(30 + request.getLoanTermMonths() % 40))
+                .loanTermMonths(Integer.valueOf(request.getLoanTermMonths()))
+                .annualInterestRate(new BigDecimal("3.0"))
+                .monthlyPayment(request.getLoanAmount())
+                .totalAmount(request.getLoanAmount())
+                .totalInterest(request.getLoanAmount())
+                .iofAmount(request.getLoanAmount())
+                .feesAmount(request.getLoanAmount())
+                .cetAnnualRate(new BigDecimal("3.0"))
+                .build();
+    }
+
+    private static SimulationResponse resposta(SimulationRequest request) {
+        return new SimulationResponse(request.getLoanAmount(), request.getBirthDate(),
+                30 + request.getLoanTermMonths() % 40, request.getLoanTermMonths(), new BigDecimal("3.0"),
+                request.getLoanAmount(), request.getLoanAmount(), request.getLoanAmount(),
+                request.getLoanAmount(), request.getLoanAmount(), new BigDecimal("3.0"));
+    }
+
+    /**
+     * Forma anterior de SimulationResponse: mutável, Integer e criada por builder (com os campos de CET
+     * acrescentados depois, para comparar o mesmo conteúdo).
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class RespostaLegada {
+
+        private BigDecimal loanAmount;
+        private LocalDate birthDate;
+        private Integer clientAge;
+        private Integer loanTermMonths;
+        private BigDecimal annualInterestRate;
+        private BigDecimal monthlyPayment;
+        private BigDecimal totalAmount;
+        private BigDecimal totalInterest;
+        private BigDecimal iofAmount;
+        private BigDecimal feesAmount;
+        private BigDecimal cetAnnualRate;
+    }
+}
@@ -0,0 +1,146 @@
+package com.spring.credit_simulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que o serializador dedicado gera exatamente os mesmos bytes do serializador reflexivo
+ * e mede o ganho de CPU na serialização de lotes.
+ */
+class SimulationResponseSerializerTest {
+
+    private final ObjectMapper dedicado = criarMapper(JsonInclude.Include.NON_NULL, false);
+    private final ObjectMapper reflexivo = criarMapper(JsonInclude.Include.NON_NULL, true);
+
+    @Test
+    @DisplayName("Deve gerar JSON idêntico ao serializador reflexivo")
+    void deveGerarJsonIdenticoAoReflexivo() throws Exception {
+        SimulationResponse response = criarResposta(0);
+
+        assertArrayEquals(reflexivo.writeValueAsBytes(response), dedicado.writeValueAsBytes(response));
+        assertEquals("{\"loanAmount\":\"50000.00\",\"birthDate\":\"1990-05-15\",\"clientAge\":35," +
+                        "\"loanTermMonths\":24,\"annualInterestRate\":\"3.0\",\"monthlyPayment\":\"2149.06\"," +
+                        "\"totalAmount\":\"51577.44\",\"totalInterest\":\"1577.44\"}",
+                dedicado.writeValueAsString(response));
+    }
+
+    /**
+     * Casos de borda do caminho rápido: escala zero, negativos, zeros à esquerda e notação científica.
+     */
+    @ParameterizedTest
+    @DisplayName("Deve formatar BigDecimal como BigDecimal.toString()")
+    @ValueSource(strings = {"0", "0.00", "5.0", "10000", "-0.04", "0.05", "0.000001", "0.0000001",
+            "123456789012345678", "1234567890123456789.01", "1E+3", "-999999.99", "7.123456789012345678"})
+    void deveFormatarBigDecimalComoToString(String valor) throws Exception {
+        SimulationResponse response = SimulationResponse.builder()
+                .totalInterest(new BigDecimal(valor))
+                .build();
+
+        assertEquals(reflexivo.writeValueAsString(response), dedicado.writeValueAsString(response));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar inclusão de nulos e datas fora do caminho rápido")
+    void deveRespeitarInclusaoDeNulosEDatas() throws Exception {
+        SimulationResponse response = SimulationResponse.builder()
+                .birthDate(LocalDate.of(999, 1, 2))
+                .clientAge(30)
+                .build();
+
+        assertEquals(reflexivo.writeValueAsString(response), dedicado.writeValueAsString(response));
+
+        ObjectMapper dedicadoComNulos = criarMapper(JsonInclude.Include.ALWAYS, false);
+        ObjectMapper reflexivoComNulos = criarMapper(JsonInclude.Include.ALWAYS, true);
+        assertEquals(reflexivoComNulos.writeValueAsString(response), dedicadoComNulos.writeValueAsString(response));
+    }
+
+    @Test
+    @DisplayName("Deve serializar lista de batch de forma idêntica")
+    void deveSerializarListaDeBatchDeFormaIdentica() throws Exception {
+        List<SimulationResponse> batch = criarBatch(500);
+
+        assertArrayEquals(reflexivo.writeValueAsBytes(batch), dedicado.writeValueAsBytes(batch));
+    }
+
+    /**
+     * Benchmark simples (aquecimento + medição) de um batch de 10.000 respostas.
+     */
+    @Test
+    @DisplayName("Benchmark: serialização dedicada vs reflexiva de 10.000 respostas")
+    void benchmarkSerializacao() throws Exception {
+        List<SimulationResponse> batch = criarBatch(10_000);
+
+        for (int i = 0; i < 20; i++) {
+            reflexivo.writeValueAsBytes(batch);
+            dedicado.writeValueAsBytes(batch);
+        }
+
+        long reflexivoNs = medir(reflexivo, batch);
+        long dedicadoNs = medir(dedicado, batch);
+
+        System.out.printf("Serialização de %d respostas: reflexivo %.1f ns/item, dedicado %.1f ns/item%n",
+                batch.size(), (double) reflexivoNs / batch.size(), (double) dedicadoNs / batch.size());
+
+        assertArrayEquals(reflexivo.writeValueAsBytes(batch), dedicado.writeValueAsBytes(batch));
+    }
+
+    private static long medir(ObjectMapper mapper, List<SimulationResponse> batch) throws Exception {
+        int iteracoes = 20;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteracoes; i++) {
+            mapper.writeValueAsBytes(batch);
+        }
+        return (System.nanoTime() - inicio) / iteracoes;
+    }
+
+    private static ObjectMapper criarMapper(JsonInclude.Include inclusao, boolean reflexivo) {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setSerializationInclusion(inclusao);
+        if (reflexivo) {
+            mapper.addMixIn(SimulationResponse.class, SerializacaoReflexiva.class);
+        }
+        return mapper;
+    }
+
+    private static List<SimulationResponse> criarBatch(int tamanho) {
+        return IntStream.range(0, tamanho)
+                .mapToObj(SimulationResponseSerializerTest::criarResposta)
+                .collect(Collectors.toList());
+    }
+
+    private static SimulationResponse criarResposta(int seed) {
+        return SimulationResponse.builder()
+                .loanAmount(new BigDecimal("50000.00").add(BigDecimal.valueOf(seed, 2)))
+                .birthDate(LocalDate.of(1990, 5, 15).minusDays(seed))
+                .clientAge(35)
+                .loanTermMonths(24)
+                .annualInterestRate(new BigDecimal("3.0"))
+                .monthlyPayment(new BigDecimal("2149.06"))
+                .totalAmount(new BigDecimal("51577.44"))
+                .totalInterest(new BigDecimal("1577.44"))
+                .build();
+    }
+
+    /**
+     * Restaura o serializador de bean padrão do Jackson (referência do JSON anterior).
+     */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class SerializacaoReflexiva {
+    }
+}
@@ -0,0 +1,72 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.util.AgeTier;
+import com.spring.credit_simulator.util.SimulationAggregate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da retenção dos agregados: batches concluídos saem por tempo ou por limite, os em
+ * andamento nunca.
+ */
+class BatchAggregationServiceTest {
+
+    @Test
+    @DisplayName("Deve manter só os resumos concluídos mais recentes até o limite")
+    void deveManterResumosAteOLimite() {
+        SimulationProperties properties = new SimulationProperties();
+        properties.getBatch().setMaxRetainedSummaries(2);
+        BatchAggregationService service = new BatchAggregationService(properties);
+
+        service.register("em-andamento", 2);
+        service.publish("em-andamento", parcial(1));
+        for (int i = 0; i < 3; i++) {
+            service.register("lote-" + i, 1);
+            service.publish("lote-" + i, parcial(1));
+        }
+
+        assertTrue(service.getSummary("lote-0").isEmpty());
+        assertEquals("CONCLUIDO", service.getSummary("lote-1").orElseThrow().getStatus());
+        assertEquals("CONCLUIDO", service.getSummary("lote-2").orElseThrow().getStatus());
+        assertEquals("PROCESSANDO", service.getSummary("em-andamento").orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Resumo concluído deve expirar após a retenção")
+    void resumoConcluidoDeveExpirar() throws Exception {
+        SimulationProperties properties = new SimulationProperties();
+        properties.getBatch().setSummaryRetentionMs(20);
+        BatchAggregationService service = new BatchAggregationService(properties);
+
+        service.register("antigo", 1);
+        service.publish("antigo", parcial(1));
+        assertTrue(service.getSummary("antigo").isPresent());
+
+        Thread.sleep(40);
+        service.register("novo", 1);
+
+        assertTrue(service.getSummary("antigo").isEmpty());
+        assertTrue(service.getSummary("novo").isPresent());
+    }
+
+    @Test
+    @DisplayName("Id repetido não deve ser mesclado ao batch existente")
+    void idRepetidoNaoDeveSerMesclado() {
+        BatchAggregationService service = new BatchAggregationService();
+        service.register("lote", 10);
+
+        assertThrows(IllegalStateException.class, () -> service.register("lote", 5));
+        assertEquals(10, service.getSummary("lote").orElseThrow().getTotalSimulations());
+    }
+
+    private static SimulationAggregate parcial(int simulacoes) {
+        SimulationAggregate aggregate = new SimulationAggregate();
+        for (int i = 0; i < simulacoes; i++) {
+            aggregate.add(AgeTier.of(30), 1_000_000, 85_000, 1_020_000, 20_000);
+        }
+        return aggregate;
+    }
+}
@@ -0,0 +1,299 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.BatchSummaryResponse;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do journal de checkpoints: queda da JVM no meio do batch e retomada a partir do checkpoint.
+ */
+class BatchJournalTest {
+
+    private static final int TOTAL_SIMULACOES = 1000;
+    private static final int TAMANHO_BLOCO = 100;
+    private static final int BLOCOS_ANTES_DA_QUEDA = 3;
+
+    @TempDir
+    Path diretorio;
+
+    private final SimulationMetrics metrics = new SimulationMetrics(new SimpleMeterRegistry());
+    private SimulationProperties properties;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimulationProperties();
+        properties.getBatch().setChunkSize(TAMANHO_BLOCO);
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(diretorio.toString());
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Simula kill -9: só os primeiros blocos executam, o último registro fica truncado e a JVM "reinicia".
+     */
+    @Test
+    @DisplayName("Deve retomar batch após reinício sem perder nem duplicar simulações")
+    void deveRetomarBatchAposReinicioSemPerderNemDuplicar() throws Exception {
+        List<SimulationRequest> simulations = criarSimulacoes();
+
+        // Primeira "vida" da aplicação: executor morre após alguns blocos
+        BatchJournal journalAntes = new BatchJournal(properties);
+        journalAntes.open();
+        SimulationService servicoAntes = SimulationServiceFixture
+                .with(executorQueMorreApos(BLOCOS_ANTES_DA_QUEDA), properties, metrics)
+                .journal(journalAntes)
+                .build();
+
+        BatchSimulationRequest batchRequest = BatchSimulationRequest.builder()
+                .simulations(simulations)
+                .build();
+        servicoAntes.processBatch(batchRequest);
+        journalAntes.close();
+
+        // Gravação interrompida no meio de um registro
+        Files.write(diretorio.resolve("batches.journal"), new byte[]{0, 0, 1, 0, 7, 7},
+                StandardOpenOption.APPEND);
+
+        // Segunda "vida": replay do journal e retomada
+        BatchJournal journalDepois = new BatchJournal(properties);
+        journalDepois.open();
+        BatchAggregationService agregacaoDepois = new BatchAggregationService();
+        SimpleMeterRegistry registryDepois = new SimpleMeterRegistry();
+        SimulationService servicoDepois = SimulationServiceFixture
+                .with(executorService, properties, new SimulationMetrics(registryDepois))
+                .aggregation(agregacaoDepois)
+                .journal(journalDepois)
+                .build();
+
+        servicoDepois.resumePendingBatches();
+        BatchSummaryResponse summary = aguardarConclusao(agregacaoDepois, batchRequest.getBatchId());
+        journalDepois.close();
+
+        // Apenas os blocos sem checkpoint foram recalculados
+        int recalculadas = TOTAL_SIMULACOES - BLOCOS_ANTES_DA_QUEDA * TAMANHO_BLOCO;
+        assertEquals(recalculadas, registryDepois.get("simulation.simulate").timer().count());
+
+        // Cada item aparece exatamente uma vez no resultado
+        assertEquals(TOTAL_SIMULACOES, summary.getProcessedSimulations());
+        assertEquals(somaValores(simulations), summary.getTotalLoanAmount());
+        assertEquals(somaJurosReferencia(simulations), summary.getTotalInterest());
+
+        // Batch concluído é removido na compactação: nada a retomar no próximo início
+        BatchJournal journalFinal = new BatchJournal(properties);
+        journalFinal.open();
+        assertTrue(journalFinal.drainRecoveredBatches().isEmpty());
+        journalFinal.close();
+    }
+
+    @Test
+    @DisplayName("Deve restaurar checkpoints dos blocos concluídos no replay")
+    void deveRestaurarCheckpointsNoReplay() {
+        BatchJournal journal = new BatchJournal(properties);
+        journal.open();
+        SimulationService servico = SimulationServiceFixture.with(executorQueMorreApos(2), properties, metrics)
+                .journal(journal)
+                .build();
+
+        servico.processBatch(BatchSimulationRequest.builder()
+                .simulations(criarSimulacoes())
+                .build());
+        journal.close();
+
+        BatchJournal reaberto = new BatchJournal(properties);
+        reaberto.open();
+        List<BatchJournal.JournaledBatch> pendentes = reaberto.drainRecoveredBatches();
+        reaberto.close();
+
+        assertEquals(1, pendentes.size());
+        BatchJournal.JournaledBatch batch = pendentes.get(0);
+        assertEquals(TOTAL_SIMULACOES, batch.getSimulations().size());
+        assertEquals(List.of(0, TAMANHO_BLOCO), List.copyOf(batch.getCompletedChunks().keySet()));
+        assertEquals(TAMANHO_BLOCO, batch.getCompletedChunks().get(0).getCount());
+    }
+
+    @Test
+    @DisplayName("Cabeçalho com tamanho absurdo na cauda não deve impedir a retomada")
+    void tamanhoAbsurdoNaCaudaNaoDeveImpedirRetomada() throws Exception {
+        BatchJournal journal = new BatchJournal(properties);
+        journal.open();
+        journal.recordAccepted("pendente", TAMANHO_BLOCO, criarSimulacoes());
+        journal.close();
+
+        // Lixo no lugar do próximo registro: tamanho de ~2 GB
+        Files.write(diretorio.resolve("batches.journal"), new byte[]{0x7F, (byte) 0xFF, (byte) 0xFF, 0x00, 1, 2, 3, 4},
+                StandardOpenOption.APPEND);
+
+        BatchJournal reaberto = new BatchJournal(properties);
+        reaberto.open();
+        List<BatchJournal.JournaledBatch> pendentes = reaberto.drainRecoveredBatches();
+        reaberto.close();
+
+        assertEquals(List.of("pendente"), pendentes.stream().map(BatchJournal.JournaledBatch::getBatchId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve compactar o journal em execução mantendo só os batches pendentes")
+    void deveCompactarEmExecucao() throws Exception {
+        properties.getJournal().setCompactAfterCompletedBatches(3);
+        BatchJournal journal = new BatchJournal(properties);
+        journal.open();
+        Path arquivo = diretorio.resolve("batches.journal");
+        List<SimulationRequest> simulacoes = criarSimulacoes();
+
+        journal.recordAccepted("pendente", TAMANHO_BLOCO, simulacoes);
+        journal.recordChunkCompleted("pendente", 0, SimulationServiceFixture.with(executorService, properties, metrics)
+                .journal(journal)
+                .build()
+                .simulateChunk("pendente", simulacoes.subList(0, TAMANHO_BLOCO)));
+        for (int i = 0; i < 2; i++) {
+            journal.recordAccepted("concluido-" + i, TAMANHO_BLOCO, simulacoes);
+            journal.recordBatchCompleted("concluido-" + i);
+        }
+        long antes = Files.size(arquivo);
+
+        journal.compactIfNeeded();
+        assertEquals(antes, Files.size(arquivo), "Abaixo do limite não deve compactar");
+
+        journal.recordAccepted("concluido-2", TAMANHO_BLOCO, simulacoes);
+        journal.recordBatchCompleted("concluido-2");
+        journal.compactIfNeeded();
+        assertTrue(Files.size(arquivo) < antes, "Arquivo deveria encolher após a compactação");
+
+        // Continua gravando no arquivo novo
+        journal.recordAccepted("depois", TAMANHO_BLOCO, simulacoes);
+        journal.close();
+
+        BatchJournal reaberto = new BatchJournal(properties);
+        reaberto.open();
+        List<BatchJournal.JournaledBatch> pendentes = reaberto.drainRecoveredBatches();
+        reaberto.close();
+
+        assertEquals(List.of("pendente", "depois"),
+                pendentes.stream().map(BatchJournal.JournaledBatch::getBatchId).toList());
+        assertEquals(List.of(0), List.copyOf(pendentes.get(0).getCompletedChunks().keySet()));
+    }
+
+    @Test
+    @DisplayName("Journal desabilitado não deve gravar em disco")
+    void journalDesabilitadoNaoDeveGravar() {
+        properties.getJournal().setEnabled(false);
+        BatchJournal journal = new BatchJournal(properties);
+        journal.open();
+
+        journal.recordAccepted("batch", TAMANHO_BLOCO, criarSimulacoes());
+
+        assertFalse(Files.exists(diretorio.resolve("batches.journal")));
+        assertTrue(journal.drainRecoveredBatches().isEmpty());
+    }
+
+    /**
+     * Executa as primeiras tarefas na própria thread e descarta o restante, como um processo encerrado.
+     */
+    private static ExecutorService executorQueMorreApos(int tarefas) {
+        AtomicInteger executadas = new AtomicInteger();
+
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                if (executadas.getAndIncrement() < tarefas) {
+                    command.run();
+                }
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return List.of();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Valores distintos por item: qualquer duplicação ou perda altera a soma.
+     */
+    private List<SimulationRequest> criarSimulacoes() {
+        return IntStream.range(0, TOTAL_SIMULACOES)
+                .mapToObj(i -> SimulationRequest.builder()
+                        .loanAmount(new BigDecimal(1000 + i).setScale(2))
+                        .birthDate(LocalDate.now().minusYears(20 + i % 50))
+                        .loanTermMonths(6 + i % 120)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static BigDecimal somaValores(List<SimulationRequest> simulations) {
+        return simulations.stream()
+                .map(SimulationRequest::getLoanAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal somaJurosReferencia(List<SimulationRequest> simulations) {
+        SimulationService referencia = SimulationServiceFixture
+                .with(executorService, new SimulationProperties(), metrics).build();
+
+        return simulations.stream()
+                .map(referencia::simulate)
+                .map(SimulationResponse::getTotalInterest)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BatchSummaryResponse aguardarConclusao(
+            BatchAggregationService aggregationService, String batchId) throws InterruptedException {
+        for (int i = 0; i < 400; i++) {
+            BatchSummaryResponse summary = aggregationService.getSummary(batchId).orElseThrow();
+            if ("CONCLUIDO".equals(summary.getStatus())) {
+                return summary;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Batch " + batchId + " não concluiu a tempo");
+    }
+}
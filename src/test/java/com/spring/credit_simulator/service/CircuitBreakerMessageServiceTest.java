@@ -0,0 +1,323 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.BatchSummaryResponse;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.exception.BrokerUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do circuit breaker da mensageria contra um broker em memória com falhas injetadas
+ * (travado ou recusando publicações), incluindo a fila de espera limitada.
+ */
+class CircuitBreakerMessageServiceTest {
+
+    private static final int TAMANHO_BLOCO = 50;
+    private static final long TIMEOUT_PUBLICACAO_MS = 50;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final FaultyBroker broker = new FaultyBroker();
+    private SimulationProperties properties;
+    private CircuitBreakerMessageService breaker;
+    private BatchAggregationService aggregationService;
+    private SimulationService simulationService;
+    private volatile CountDownLatch bloqueioLocal = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimulationProperties();
+        properties.getBatch().setChunkSize(TAMANHO_BLOCO);
+        properties.getBroker().setPublishTimeoutMs(TIMEOUT_PUBLICACAO_MS);
+        properties.getBroker().setFailureThreshold(2);
+        properties.getBroker().setOpenDurationMs(100);
+        properties.getBroker().setReconcileIntervalMs(20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bloqueioLocal.countDown();
+        broker.recover();
+        if (breaker != null) {
+            breaker.close();
+        }
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Broker travado não deve prender a requisição e os blocos devem rodar no pool local")
+    void brokerTravadoDeveDesviarParaOPoolLocal() throws Exception {
+        properties.getBroker().setLocalQueueCapacity(100);
+        iniciar();
+        broker.hang();
+
+        BatchSimulationRequest batch = criarBatch(TAMANHO_BLOCO * 10);
+        long inicio = System.nanoTime();
+        simulationService.processBatch(batch);
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Só as publicações até abrir o circuito esperam o timeout
+        assertTrue(decorridoMs < TIMEOUT_PUBLICACAO_MS * 2 + 500, "Requisição presa por " + decorridoMs + " ms");
+        assertEquals(CircuitBreakerMessageService.State.OPEN, breaker.getState());
+        assertEquals(2.0, registry.get("simulation.broker.publish").tag("result", "failure").counter().count());
+        assertEquals(8.0, registry.get("simulation.broker.publish").tag("result", "rejected").counter().count());
+        assertEquals(10.0, registry.get("simulation.broker.spilled").tag("target", "local").counter().count());
+
+        BatchSummaryResponse summary = aguardarConclusao(batch.getBatchId());
+        assertEquals(500L, summary.getProcessedSimulations());
+    }
+
+    @Test
+    @DisplayName("Excedente da fila local deve ser republicado quando o broker volta")
+    void excedenteDeveSerReconciliadoNaVoltaDoBroker() throws Exception {
+        properties.getBroker().setLocalQueueCapacity(0);
+        iniciar();
+        broker.fail();
+
+        BatchSimulationRequest batch = criarBatch(TAMANHO_BLOCO * 6);
+        simulationService.processBatch(batch);
+
+        assertEquals(6, breaker.getBacklogSize());
+        assertEquals(1.0, registry.get("simulation.broker.circuit.open").gauge().value());
+        assertTrue(broker.published.isEmpty());
+
+        broker.recover();
+        for (int i = 0; i < 300 && breaker.getBacklogSize() > 0; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, breaker.getBacklogSize());
+        assertEquals(CircuitBreakerMessageService.State.CLOSED, breaker.getState());
+        assertEquals(6.0, registry.get("simulation.broker.reconciled").counter().count());
+        assertEquals(List.of(0, 50, 100, 150, 200, 250),
+                broker.published.stream().map(BatchChunkMessage::getOffset).collect(Collectors.toList()));
+
+        // Consumidor do broker recuperado
+        for (BatchChunkMessage chunk : broker.published) {
+            simulationService.onChunkCompleted(chunk.getBatchId(), chunk.getOffset(),
+                    simulationService.simulateChunk(chunk.getBatchId(), chunk.getSimulations()));
+        }
+        assertEquals(300L, aguardarConclusao(batch.getBatchId()).getProcessedSimulations());
+    }
+
+    @Test
+    @DisplayName("Vagas locais liberadas devem consumir a fila de espera sem a volta do broker")
+    void vagasLocaisDevemConsumirAFilaDeEspera() throws Exception {
+        properties.getBroker().setLocalQueueCapacity(1);
+        properties.getBroker().setReconcileIntervalMs(60_000);
+        iniciar();
+        broker.fail();
+
+        bloqueioLocal = new CountDownLatch(1);
+
+        BatchSimulationRequest batch = criarBatch(TAMANHO_BLOCO * 6);
+        simulationService.processBatch(batch);
+
+        // A única vaga local está ocupada pelo primeiro bloco
+        assertEquals(5, breaker.getBacklogSize());
+        assertEquals(5.0, registry.get("simulation.broker.spilled").tag("target", "deferred").counter().count());
+
+        bloqueioLocal.countDown();
+        assertEquals(300L, aguardarConclusao(batch.getBatchId()).getProcessedSimulations());
+        assertEquals(0, breaker.getBacklogSize());
+        assertTrue(broker.published.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Fila de espera cheia deve recusar o batch e liberar os blocos dele")
+    void filaDeEsperaCheiaDeveRecusarOBatch() {
+        properties.getBroker().setLocalQueueCapacity(0);
+        properties.getBroker().setMaxBacklogChunks(4);
+        properties.getBroker().setReconcileIntervalMs(60_000);
+        iniciar();
+        broker.fail();
+
+        BatchSimulationRequest aceito = criarBatch(TAMANHO_BLOCO * 3);
+        simulationService.processBatch(aceito);
+        assertEquals(3, breaker.getBacklogSize());
+
+        BatchSimulationRequest recusado = criarBatch(TAMANHO_BLOCO * 6);
+        assertThrows(BrokerUnavailableException.class, () -> simulationService.processBatch(recusado));
+
+        assertEquals(3, breaker.getBacklogSize());
+        assertTrue(aggregationService.getSummary(recusado.getBatchId()).isEmpty());
+        assertEquals("PROCESSANDO", aggregationService.getSummary(aceito.getBatchId()).orElseThrow().getStatus());
+        assertEquals(1.0, registry.get("simulation.broker.spilled").tag("target", "refused").counter().count());
+    }
+
+    @Test
+    @DisplayName("Falha no teste do broker deve reabrir o circuito")
+    void falhaNoTesteDeveReabrirOCircuito() throws Exception {
+        properties.getBroker().setReconcileIntervalMs(60_000);
+        iniciar();
+        broker.fail();
+
+        for (int i = 0; i < 2; i++) {
+            breaker.sendChunk(bloco(i));
+        }
+        assertEquals(CircuitBreakerMessageService.State.OPEN, breaker.getState());
+
+        Thread.sleep(150);
+        breaker.sendChunk(bloco(2));
+        assertEquals(CircuitBreakerMessageService.State.OPEN, breaker.getState());
+        assertEquals(3.0, registry.get("simulation.broker.publish").tag("result", "failure").counter().count());
+
+        broker.recover();
+        Thread.sleep(150);
+        breaker.sendChunk(bloco(3));
+        assertEquals(CircuitBreakerMessageService.State.CLOSED, breaker.getState());
+        assertEquals(1, broker.published.size());
+    }
+
+    @Test
+    @DisplayName("Teste do broker interrompido deve reabrir o circuito em vez de ficar meio aberto")
+    void testeInterrompidoDeveReabrirOCircuito() throws Exception {
+        properties.getBroker().setPublishTimeoutMs(5_000);
+        properties.getBroker().setReconcileIntervalMs(60_000);
+        iniciar();
+        broker.fail();
+
+        for (int i = 0; i < 2; i++) {
+            breaker.sendChunk(bloco(i));
+        }
+        assertEquals(CircuitBreakerMessageService.State.OPEN, breaker.getState());
+
+        broker.hang();
+        Thread.sleep(150);
+        Thread requisicao = new Thread(() -> breaker.sendChunk(bloco(2)));
+        requisicao.start();
+        for (int i = 0; i < 200 && breaker.getState() != CircuitBreakerMessageService.State.HALF_OPEN; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(CircuitBreakerMessageService.State.HALF_OPEN, breaker.getState());
+
+        requisicao.interrupt();
+        requisicao.join(1_000);
+        assertFalse(requisicao.isAlive());
+        assertEquals(CircuitBreakerMessageService.State.OPEN, breaker.getState());
+
+        broker.recover();
+        Thread.sleep(150);
+        breaker.sendChunk(bloco(3));
+        assertEquals(CircuitBreakerMessageService.State.CLOSED, breaker.getState());
+    }
+
+    private void iniciar() {
+        aggregationService = new BatchAggregationService();
+        // Blocos desviados ao pool local esperam o bloqueio, para os testes controlarem as vagas
+        breaker = new CircuitBreakerMessageService(broker, executorService, () -> {
+            try {
+                bloqueioLocal.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return simulationService;
+        }, properties, metrics);
+        breaker.start();
+        simulationService = SimulationServiceFixture.with(executorService, properties, metrics)
+                .aggregation(aggregationService)
+                .messaging(breaker)
+                .build();
+    }
+
+    private BatchChunkMessage bloco(int indice) {
+        return BatchChunkMessage.builder()
+                .batchId("batch-breaker")
+                .offset(indice * TAMANHO_BLOCO)
+                .simulations(criarBatch(1).getSimulations())
+                .build();
+    }
+
+    private BatchSimulationRequest criarBatch(int tamanho) {
+        List<SimulationRequest> simulations = IntStream.range(0, tamanho)
+                .mapToObj(i -> SimulationRequest.builder()
+                        .loanAmount(new BigDecimal("10000.00"))
+                        .birthDate(LocalDate.now().minusYears(20 + i % 50))
+                        .loanTermMonths(12)
+                        .build())
+                .collect(Collectors.toList());
+
+        return BatchSimulationRequest.builder()
+                .simulations(simulations)
+                .build();
+    }
+
+    private BatchSummaryResponse aguardarConclusao(String batchId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            BatchSummaryResponse summary = aggregationService.getSummary(batchId).orElseThrow();
+            if ("CONCLUIDO".equals(summary.getStatus())) {
+                return summary;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Batch " + batchId + " não concluiu a tempo");
+    }
+
+    /**
+     * Broker em memória com falhas injetadas: "hang" trava a publicação (conexão sem resposta),
+     * "fail" recusa com erro (conexão recusada) e "recover" volta ao normal.
+     */
+    static class FaultyBroker implements MessageService {
+
+        private final Queue<BatchChunkMessage> published = new ConcurrentLinkedQueue<>();
+        private volatile CountDownLatch hung = new CountDownLatch(0);
+        private volatile boolean failing;
+
+        void hang() {
+            hung = new CountDownLatch(1);
+        }
+
+        void fail() {
+            failing = true;
+        }
+
+        void recover() {
+            failing = false;
+            hung.countDown();
+        }
+
+        @Override
+        public void sendToQueue(BatchSimulationRequest batchRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendChunk(BatchChunkMessage chunk) {
+            try {
+                hung.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Publicação interrompida", e);
+            }
+            if (failing) {
+                throw new IllegalStateException("Conexão recusada pelo broker");
+            }
+            published.add(chunk);
+        }
+
+        @Override
+        public String checkBatchStatus(String batchId) {
+            return "NAO_ENCONTRADO";
+        }
+    }
+}
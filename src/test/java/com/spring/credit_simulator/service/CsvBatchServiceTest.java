@@ -0,0 +1,176 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.CsvBatchResponse;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.validation.SimulationRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch em CSV com blocos pequenos: a saída deve manter a ordem do arquivo e trazer as mesmas
+ * parcelas da simulação individual.
+ */
+class CsvBatchServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final SimulationProperties properties = new SimulationProperties();
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final SimulationService simulationService = SimulationServiceFixture
+            .with(executorService, properties, metrics).build();
+    private final CsvBatchService csvBatchService = new CsvBatchService(
+            executorService, simulationService, properties, metrics);
+
+    @BeforeEach
+    void setUp() {
+        properties.getCsv().setChunkSize(7);
+        properties.getCsv().setMaxInFlightChunks(2);
+        properties.getCsv().setReadBufferSize(64);
+        properties.getCsv().setResultDirectory(diretorio.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Resultado deve seguir a ordem do arquivo com as parcelas da simulação individual")
+    void resultadoDeveSeguirAOrdemDoArquivo() throws IOException {
+        LocalDate hoje = LocalDate.now();
+        StringBuilder csv = new StringBuilder("loanAmount,birthDate,loanTermMonths\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(10_000 + i * 250).append(".00,").append(hoje.minusYears(18 + i % 70).minusDays(1))
+                    .append(',').append(6 + i * 3).append('\n');
+        }
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        CsvBatchResponse response = csvBatchService.process("batch-csv", entrada(csv.toString()), saida);
+
+        assertEquals(100, response.getTotalRows());
+        assertEquals(100, response.getProcessedRows());
+        assertEquals(0, response.getRejectedRows());
+
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(CsvBatchService.RESULT_HEADER.strip(), linhas.get(0));
+        assertEquals(101, linhas.size());
+        for (int i = 0; i < 100; i++) {
+            SimulationResponse esperada = simulationService.simulate(SimulationRequest.builder()
+                    .loanAmount(BigDecimal.valueOf(1_000_000L + i * 25_000L, 2))
+                    .birthDate(hoje.minusYears(18 + i % 70).minusDays(1))
+                    .loanTermMonths(6 + i * 3)
+                    .build());
+            String[] colunas = linhas.get(i + 1).split(",", -1);
+            assertEquals(Integer.toString(i + 2), colunas[0]);
+            assertEquals(esperada.getLoanAmount().toPlainString(), colunas[1]);
+            assertEquals(Integer.toString(esperada.getClientAge()), colunas[4]);
+            assertEquals(esperada.getMonthlyPayment().toPlainString(), colunas[6]);
+            assertEquals(esperada.getCetAnnualRate().toPlainString(), colunas[9]);
+            assertEquals("", colunas[10]);
+        }
+
+        assertEquals(100.0, registry.get("simulation.csv.rows").tag("result", "processed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Linhas inválidas ou recusadas devem sair com a mensagem sem interromper o batch")
+    void linhasInvalidasDevemSairComAMensagem() throws IOException {
+        LocalDate adulto = LocalDate.now().minusYears(35);
+        String csv = "500.00," + adulto + ",24\n" +
+                "50000.00," + LocalDate.now().minusYears(10) + ",24\n" +
+                "abc," + adulto + ",24\n" +
+                "50000.00,,\n" +
+                "50000.00," + adulto + ",24\n";
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        CsvBatchResponse response = csvBatchService.process("batch-csv", entrada(csv), saida);
+
+        assertEquals(5, response.getTotalRows());
+        assertEquals(1, response.getProcessedRows());
+        assertEquals(4, response.getRejectedRows());
+
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("1,500.00," + adulto + ",24,,,,,,,\"" + SimulationRequestValidator.LOAN_AMOUNT_MIN_MESSAGE + "\"",
+                linhas.get(1));
+        assertTrue(linhas.get(2).endsWith("\"" + ValidationException.invalidAge(10).getMessage() + "\""),
+                linhas.get(2));
+        assertTrue(linhas.get(3).startsWith("3,,"), linhas.get(3));
+        assertTrue(linhas.get(4).contains(SimulationRequestValidator.BIRTH_DATE_REQUIRED_MESSAGE + "; "
+                + SimulationRequestValidator.TERM_REQUIRED_MESSAGE), linhas.get(4));
+        assertTrue(linhas.get(5).startsWith("5,50000.00," + adulto + ",24,35,"), linhas.get(5));
+        assertTrue(linhas.get(5).endsWith(","), linhas.get(5));
+    }
+
+    @Test
+    @DisplayName("Falha de escrita deve interromper o batch e não deixar blocos na fila")
+    void falhaDeEscritaDeveInterromperOBatch() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            csv.append("10000.00,1990-01-01,24\n");
+        }
+        OutputStream desconectado = new OutputStream() {
+            private int escritas;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (++escritas > 3) {
+                    throw new IOException("Conexão encerrada pelo cliente");
+                }
+            }
+        };
+
+        assertThrows(IOException.class, () -> csvBatchService.process("batch-csv", entrada(csv.toString()), desconectado));
+        assertTrue(registry.get("simulation.csv.rows").tag("result", "processed").counter().count() < 1_000);
+        assertEquals(1.0, registry.get("simulation.deadline.exceeded").tag("reason", "disconnected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Resultado em arquivo deve ser encontrado só pelo id gerado")
+    void resultadoEmArquivoDeveSerEncontradoPeloId() throws IOException {
+        CsvBatchResponse response = csvBatchService.processToFile(entrada("50000.00,1990-05-15,24\n"));
+
+        Path arquivo = csvBatchService.resultFile(response.getBatchId()).orElseThrow();
+        assertEquals(diretorio.resolve(response.getBatchId() + ".csv"), arquivo);
+        assertEquals(2, Files.readAllLines(arquivo).size());
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(1, arquivos.count());
+        }
+
+        assertTrue(csvBatchService.resultFile("../" + response.getBatchId()).isEmpty());
+        assertTrue(csvBatchService.resultFile("00000000-0000-0000-0000-000000000000").isEmpty());
+    }
+
+    private static ByteArrayInputStream entrada(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,94 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.IndexCurve;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga, versão e recarga das curvas de índice a partir de arquivo local.
+ */
+class IndexCurveRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimulationProperties properties = new SimulationProperties();
+    private IndexCurveRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar as curvas padrão do classpath")
+    void deveCarregarCurvasPadrao() {
+        registry = abrir();
+
+        IndexCurve cdi = registry.get(null);
+        assertEquals("CDI", cdi.getName());
+        assertEquals(120, cdi.getCurveMonths());
+        assertEquals(0.0105, cdi.indexRate(1), 1e-12);
+        assertSame(registry.get("ipca"), registry.get("IPCA"));
+    }
+
+    @Test
+    @DisplayName("Índice desconhecido deve ser recusado como erro de validação")
+    void indiceDesconhecidoDeveSerRecusado() {
+        registry = abrir();
+
+        ValidationException erro = assertThrows(ValidationException.class, () -> registry.get("SELIC"));
+        assertEquals("index", erro.getField());
+        assertEquals("UnknownIndex", erro.getReason());
+    }
+
+    @Test
+    @DisplayName("Arquivo alterado deve gerar nova versão; inválido deve manter a anterior")
+    void arquivoAlteradoDeveGerarNovaVersao() throws Exception {
+        Path arquivo = directory.resolve("cdi.csv");
+        Files.writeString(arquivo, "mes,taxa\n1,1.00\n2,0.90\n");
+        properties.getIndexed().setCurves(Map.of("CDI", arquivo.toUri().toString()));
+        registry = abrir();
+
+        IndexCurve original = registry.get("CDI");
+        registry.refresh();
+        assertSame(original, registry.get("CDI"));
+
+        Files.writeString(arquivo, "# nova projeção\nmes,taxa\n1,0.80\n");
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(Files.getLastModifiedTime(arquivo).toMillis() + 1_000));
+        registry.refresh();
+
+        IndexCurve recarregada = registry.get("CDI");
+        assertTrue(recarregada.getVersion() > original.getVersion());
+        assertEquals(0.008, recarregada.indexRate(1), 1e-12);
+        // Quem já tinha a versão anterior continua com ela intacta
+        assertEquals(0.009, original.indexRate(2), 1e-12);
+
+        Files.writeString(arquivo, "mes,taxa\n1,0.80\n3,0.70\n");
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(Files.getLastModifiedTime(arquivo).toMillis() + 2_000));
+        registry.refresh();
+
+        assertSame(recarregada, registry.get("CDI"));
+    }
+
+    private IndexCurveRegistry abrir() {
+        properties.getIndexed().setRefreshIntervalMs(0);
+        IndexCurveRegistry aberto = new IndexCurveRegistry(properties, new DefaultResourceLoader());
+        aberto.open();
+        return aberto;
+    }
+}
@@ -0,0 +1,357 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.RabbitMessagingConfig;
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchChunkMessage;
+import com.spring.credit_simulator.dto.BatchChunkResultMessage;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.BatchSummaryResponse;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes da mensageria particionada contra um broker em memória (substituto do RabbitMQ):
+ * distribuição entre partições e o caminho real de uma réplica, com as mensagens em JSON pelo
+ * mesmo conversor da aplicação, o {@link BatchChunkWorker} consumindo e o resultado voltando ao
+ * nó dono.
+ */
+class PartitionedMessageServiceTest {
+
+    private static final int PARTICOES = 8;
+    private static final int TAMANHO_BLOCO = 50;
+    private static final int SIMULACOES_ESCALA = 40_000;
+    private static final int RODADAS_ESCALA = 3;
+    /** Ganho mínimo de vazão com N consumidores sobre 1; abaixo do ideal (N) pela agregação no dono. */
+    private static final double GANHO_MINIMO_ESCALA = 1.3;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final SimulationMetrics metrics = new SimulationMetrics(new SimpleMeterRegistry());
+    private final MessageConverter converter = new RabbitMessagingConfig()
+            .jsonMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+    private SimulationProperties properties;
+    private InMemoryBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimulationProperties();
+        properties.getBatch().setChunkSize(TAMANHO_BLOCO);
+        properties.getMessaging().setPartitions(PARTICOES);
+        properties.getMessaging().setNodeId("no-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (broker != null) {
+            broker.stop();
+        }
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve distribuir blocos do batch entre todas as partições")
+    void deveDistribuirBlocosEntreParticoes() {
+        BatchAggregationService aggregationService = new BatchAggregationService();
+        broker = new InMemoryBroker(aggregationService, properties, converter);
+        SimulationService simulationService = criarServico(aggregationService, broker);
+
+        simulationService.processBatch(criarBatch(TAMANHO_BLOCO * PARTICOES * 2));
+
+        for (int partition = 0; partition < PARTICOES; partition++) {
+            assertEquals(2, broker.publishedPerPartition.get(partition),
+                    "Partição " + partition + " deveria receber 2 blocos");
+        }
+        assertTrue(broker.partitions.stream()
+                .flatMap(BlockingQueue::stream)
+                .map(broker::decode)
+                .allMatch(chunk -> "no-a".equals(chunk.getOwnerNode())));
+    }
+
+    @Test
+    @DisplayName("Deve consolidar resultados no nó dono ignorando reentregas")
+    void deveConsolidarResultadosIgnorandoReentregas() throws Exception {
+        BatchAggregationService aggregationService = new BatchAggregationService();
+        broker = new InMemoryBroker(aggregationService, properties, converter);
+        SimulationService simulationService = criarServico(aggregationService, broker);
+
+        BatchSimulationRequest batch = criarBatch(500);
+        simulationService.processBatch(batch);
+
+        // Reentrega da mesma mensagem do primeiro bloco (ex.: consumidor caiu sem ack)
+        Message primeiro = broker.partitions.stream()
+                .flatMap(BlockingQueue::stream)
+                .filter(message -> broker.decode(message).getOffset() == 0)
+                .findFirst()
+                .orElseThrow();
+        broker.partitions.get(0).add(primeiro);
+
+        BatchChunkWorker worker = broker.worker("no-a", simulationService);
+        broker.startConsumers(2, worker);
+        BatchSummaryResponse summary = aguardarConclusao(aggregationService, batch.getBatchId());
+
+        assertEquals(500L, summary.getProcessedSimulations());
+        assertEquals("CONCLUIDO", broker.checkBatchStatus(batch.getBatchId()));
+    }
+
+    /**
+     * Outra réplica consome os blocos do nó dono: a mensagem vai e volta em JSON e só o dono
+     * registra o resultado.
+     */
+    @Test
+    @DisplayName("Bloco consumido por outra réplica deve voltar ao nó dono pelo worker")
+    void blocoConsumidoPorOutraReplicaDeveVoltarAoDono() throws Exception {
+        BatchAggregationService agregacaoDono = new BatchAggregationService();
+        broker = new InMemoryBroker(agregacaoDono, properties, converter);
+        SimulationService dono = criarServico(agregacaoDono, broker);
+        broker.worker("no-a", dono);
+
+        BatchAggregationService agregacaoReplica = new BatchAggregationService();
+        SimulationService replica = criarServico(agregacaoReplica, broker);
+        BatchChunkWorker workerReplica = broker.worker("no-b", replica);
+
+        BatchSimulationRequest batch = criarBatch(300);
+        dono.processBatch(batch);
+
+        Message mensagem = broker.partitions.stream()
+                .flatMap(BlockingQueue::stream)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, mensagem.getMessageProperties().getContentType());
+        assertTrue(new String(mensagem.getBody(), StandardCharsets.UTF_8).contains("\"ownerNode\":\"no-a\""));
+
+        broker.startConsumers(1, workerReplica);
+        BatchSummaryResponse summary = aguardarConclusao(agregacaoDono, batch.getBatchId());
+
+        assertEquals(300L, summary.getProcessedSimulations());
+        assertEquals(new BigDecimal("3000000.00"), summary.getTotalLoanAmount());
+        assertEquals(6, broker.resultsPerNode.get("no-a"));
+        assertNull(broker.resultsPerNode.get("no-b"));
+        assertTrue(agregacaoReplica.getSummary(batch.getBatchId()).isEmpty());
+    }
+
+    /**
+     * Consumidores simulando de verdade (cálculo das parcelas no worker, JSON nos dois sentidos):
+     * mais consumidores devem drenar as mesmas filas em menos tempo.
+     */
+    @Test
+    @Tag("performance")
+    @DisplayName("Vazão deve crescer com o número de consumidores")
+    void vazaoDeveCrescerComOsConsumidores() throws Exception {
+        int consumidores = Math.min(4, Runtime.getRuntime().availableProcessors());
+        assumeTrue(consumidores >= 2, "Escala horizontal exige ao menos 2 processadores");
+
+        // Rodadas alternadas (a primeira só aquece o JIT); vale o melhor tempo de cada cenário
+        long umConsumidor = Long.MAX_VALUE;
+        long variosConsumidores = Long.MAX_VALUE;
+        for (int rodada = 0; rodada <= RODADAS_ESCALA; rodada++) {
+            long um = medirConsumo(1, SIMULACOES_ESCALA);
+            long varios = medirConsumo(consumidores, SIMULACOES_ESCALA);
+            if (rodada > 0) {
+                umConsumidor = Math.min(umConsumidor, um);
+                variosConsumidores = Math.min(variosConsumidores, varios);
+            }
+        }
+        double ganho = (double) umConsumidor / variosConsumidores;
+
+        assertTrue(ganho >= GANHO_MINIMO_ESCALA, String.format(
+                "1 consumidor: %d ms, %d consumidores: %d ms (ganho %.2fx, mínimo %.2fx)",
+                umConsumidor / 1_000_000, consumidores, variosConsumidores / 1_000_000, ganho, GANHO_MINIMO_ESCALA));
+    }
+
+    /**
+     * Publica o batch inteiro nas partições e mede só o consumo, do início dos consumidores até a
+     * consolidação no nó dono.
+     */
+    private long medirConsumo(int consumidores, int simulacoes) throws Exception {
+        BatchAggregationService aggregationService = new BatchAggregationService();
+        broker = new InMemoryBroker(aggregationService, properties, converter);
+        SimulationService simulationService = criarServico(aggregationService, broker);
+        BatchChunkWorker worker = broker.worker("no-a", simulationService);
+
+        BatchSimulationRequest batch = criarBatch(simulacoes, 360);
+        simulationService.processBatch(batch);
+        int blocos = simulacoes / TAMANHO_BLOCO;
+        while (broker.partitions.stream().mapToInt(BlockingQueue::size).sum() < blocos) {
+            Thread.sleep(1);
+        }
+
+        long inicio = System.nanoTime();
+        broker.startConsumers(consumidores, worker);
+        BatchSummaryResponse summary = aguardarConclusao(aggregationService, batch.getBatchId());
+        long decorrido = System.nanoTime() - inicio;
+        broker.stop();
+
+        assertEquals(simulacoes, summary.getProcessedSimulations());
+        return decorrido;
+    }
+
+    private SimulationService criarServico(BatchAggregationService aggregationService, MessageService messageService) {
+        return SimulationServiceFixture.with(executorService, properties, metrics)
+                .aggregation(aggregationService)
+                .messaging(messageService)
+                .build();
+    }
+
+    private BatchSimulationRequest criarBatch(int tamanho) {
+        return criarBatch(tamanho, 12);
+    }
+
+    private BatchSimulationRequest criarBatch(int tamanho, int prazoMeses) {
+        List<SimulationRequest> simulations = IntStream.range(0, tamanho)
+                .mapToObj(i -> SimulationRequest.builder()
+                        .loanAmount(new BigDecimal("10000.00"))
+                        .birthDate(LocalDate.now().minusYears(20 + i % 50))
+                        .loanTermMonths(prazoMeses)
+                        .build())
+                .collect(Collectors.toList());
+
+        return BatchSimulationRequest.builder()
+                .simulations(simulations)
+                .build();
+    }
+
+    private static BatchSummaryResponse aguardarConclusao(
+            BatchAggregationService aggregationService, String batchId) throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            BatchSummaryResponse summary = aggregationService.getSummary(batchId).orElseThrow();
+            if ("CONCLUIDO".equals(summary.getStatus())) {
+                return summary;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Batch " + batchId + " não concluiu a tempo");
+    }
+
+    /**
+     * Broker em memória: uma fila de mensagens serializadas por partição, consumidores concorrentes
+     * que percorrem todas as partições (como réplicas com prefetch 1) e a exchange de resultados,
+     * que entrega ao worker do nó indicado na routing key.
+     */
+    static class InMemoryBroker extends PartitionedMessageService {
+
+        private final List<BlockingQueue<Message>> partitions = new ArrayList<>();
+        private final AtomicIntegerArray publishedPerPartition;
+        private final Map<String, BatchChunkWorker> workers = new ConcurrentHashMap<>();
+        private final Map<String, Integer> resultsPerNode = new ConcurrentHashMap<>();
+        private final List<Thread> consumers = new ArrayList<>();
+        private final MessageConverter converter;
+        private final RabbitTemplate resultsTemplate;
+
+        InMemoryBroker(BatchAggregationService aggregationService, SimulationProperties properties,
+                       MessageConverter converter) {
+            super(aggregationService, properties);
+            int count = properties.getMessaging().getPartitions();
+            for (int i = 0; i < count; i++) {
+                partitions.add(new LinkedBlockingQueue<>());
+            }
+            this.publishedPerPartition = new AtomicIntegerArray(count);
+            this.converter = converter;
+            this.resultsTemplate = new RabbitTemplate() {
+                @Override
+                public void convertAndSend(String exchange, String routingKey, Object object) {
+                    assertEquals(RabbitMessagingConfig.RESULTS_EXCHANGE, exchange);
+                    deliverResult(routingKey, converter.toMessage(object, new MessageProperties()));
+                }
+            };
+        }
+
+        @Override
+        protected void publish(int partition, BatchChunkMessage chunk) {
+            partitions.get(partition).add(converter.toMessage(chunk, new MessageProperties()));
+            publishedPerPartition.incrementAndGet(partition);
+        }
+
+        /**
+         * Worker da réplica {@code nodeId}, publicando resultados na exchange deste broker.
+         */
+        BatchChunkWorker worker(String nodeId, SimulationService simulationService) {
+            BatchChunkWorker worker = new BatchChunkWorker(simulationService, resultsTemplate);
+            workers.put(nodeId, worker);
+            return worker;
+        }
+
+        /**
+         * Como o listener: o tipo vem do parâmetro do método, não do header da mensagem.
+         */
+        BatchChunkMessage decode(Message message) {
+            return (BatchChunkMessage) fromMessage(message, BatchChunkMessage.class);
+        }
+
+        private Object fromMessage(Message message, Class<?> type) {
+            message.getMessageProperties().setInferredArgumentType(type);
+            return converter.fromMessage(message);
+        }
+
+        private void deliverResult(String nodeId, Message message) {
+            BatchChunkWorker owner = workers.get(nodeId);
+            assertNotNull(owner, "Resultado sem fila de destino: " + nodeId);
+            resultsPerNode.merge(nodeId, 1, Integer::sum);
+            owner.handleResult((BatchChunkResultMessage) fromMessage(message, BatchChunkResultMessage.class));
+        }
+
+        void startConsumers(int count, BatchChunkWorker worker) {
+            for (int c = 0; c < count; c++) {
+                int firstPartition = c;
+                Thread consumer = new Thread(() -> consume(firstPartition, worker), "consumer-" + c);
+                consumer.setDaemon(true);
+                consumers.add(consumer);
+                consumer.start();
+            }
+        }
+
+        void stop() {
+            consumers.forEach(Thread::interrupt);
+            consumers.clear();
+        }
+
+        private void consume(int firstPartition, BatchChunkWorker worker) {
+            int next = firstPartition;
+            int idlePolls = 0;
+
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Message message = partitions.get(next++ % partitions.size()).poll();
+                    if (message == null) {
+                        if (++idlePolls >= partitions.size()) {
+                            Thread.sleep(1);
+                            idlePolls = 0;
+                        }
+                        continue;
+                    }
+                    idlePolls = 0;
+
+                    worker.handleChunk(decode(message));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.PrepaymentRequest;
+import com.spring.credit_simulator.dto.PrepaymentResponse;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cenários de quitação e amortização conferidos contra a tabela percorrida mês a mês.
+ */
+class PrepaymentServiceTest {
+
+    // 35 anos: 3% a.a., 0,25% ao mês
+    private static final double TAXA_MENSAL = 3.0 / 1200;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final SimulationProperties properties = new SimulationProperties();
+    private final SimulationMetrics metrics = new SimulationMetrics(new SimpleMeterRegistry());
+    private final PrepaymentService prepaymentService = new PrepaymentService(
+            SimulationServiceFixture.with(executorService, properties, metrics).build());
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Quitação no mês deve pagar o saldo da tabela e economizar o resto dos juros")
+    void quitacaoDevePagarSaldoDaTabela() {
+        PrepaymentResponse response = prepaymentService.simulate(pedido(
+                cenario(0, null, null), cenario(12, null, null), cenario(59, null, null)));
+
+        double parcela = response.getSimulation().getMonthlyPayment().doubleValue();
+        for (PrepaymentResponse.Result resultado : response.getScenarios()) {
+            double saldo = saldoPelaTabela(100000.0, parcela, resultado.getMonth());
+
+            assertTrue(resultado.isPayoff());
+            assertEquals(saldo, resultado.getOutstandingBalance().doubleValue(), 0.01);
+            assertEquals(resultado.getOutstandingBalance(), resultado.getPrepaymentAmount());
+            assertEquals(0, resultado.getRemainingMonths());
+            assertEquals(parcela * (60 - resultado.getMonth()) - resultado.getOutstandingBalance().doubleValue(),
+                    resultado.getInterestSaved().doubleValue(), 0.001);
+        }
+
+        // Quitar antes da primeira parcela devolve só o valor financiado
+        assertEquals(new BigDecimal("100000.00"), response.getScenarios().get(0).getOutstandingBalance());
+        assertEquals(response.getSimulation().getTotalInterest(), response.getScenarios().get(0).getInterestSaved());
+    }
+
+    @Test
+    @DisplayName("Amortização reduzindo prazo deve manter a parcela e encurtar como a tabela")
+    void amortizacaoReduzindoPrazoDeveEncurtarComoTabela() {
+        PrepaymentResponse response = prepaymentService.simulate(pedido(
+                cenario(12, new BigDecimal("20000.00"), PrepaymentRequest.Mode.REDUCE_TERM)));
+        PrepaymentResponse.Result resultado = response.getScenarios().get(0);
+        double parcela = response.getSimulation().getMonthlyPayment().doubleValue();
+
+        // Tabela: parcelas cheias enquanto o saldo corrigido passa da parcela; a última leva o resto
+        double saldo = resultado.getRemainingBalance().doubleValue();
+        int meses = 0;
+        double pago = 0;
+        while (saldo > 1e-9) {
+            double devido = saldo * (1 + TAXA_MENSAL);
+            double pagamento = Math.min(parcela, devido);
+            saldo = devido - pagamento;
+            pago += pagamento;
+            meses++;
+        }
+
+        assertFalse(resultado.isPayoff());
+        assertEquals(response.getSimulation().getMonthlyPayment(), resultado.getMonthlyPayment());
+        assertEquals(meses, resultado.getRemainingMonths());
+        assertTrue(meses < 48);
+        assertEquals(pago - parcela * (meses - 1), resultado.getLastPayment().doubleValue(), 0.01);
+        assertEquals(parcela * 48 - 20000.0 - pago, resultado.getInterestSaved().doubleValue(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Amortização reduzindo parcela deve manter o prazo e zerar o saldo no fim")
+    void amortizacaoReduzindoParcelaDeveManterPrazo() {
+        PrepaymentResponse response = prepaymentService.simulate(pedido(
+                cenario(24, new BigDecimal("10000.00"), PrepaymentRequest.Mode.REDUCE_PAYMENT)));
+        PrepaymentResponse.Result resultado = response.getScenarios().get(0);
+        double parcelaNova = resultado.getMonthlyPayment().doubleValue();
+
+        double saldo = resultado.getRemainingBalance().doubleValue();
+        for (int mes = 0; mes < 36; mes++) {
+            saldo = saldo * (1 + TAXA_MENSAL) - parcelaNova;
+        }
+
+        assertEquals(36, resultado.getRemainingMonths());
+        assertTrue(parcelaNova < response.getSimulation().getMonthlyPayment().doubleValue());
+        assertEquals(0.0, saldo, 36 * 0.005 * 1.1);
+        assertTrue(resultado.getInterestSaved().signum() > 0);
+    }
+
+    @Test
+    @DisplayName("Valor maior que o saldo deve quitar e mês no fim do prazo deve ser recusado")
+    void valorMaiorQueSaldoDeveQuitar() {
+        PrepaymentResponse response = prepaymentService.simulate(pedido(
+                cenario(55, new BigDecimal("999999.00"), PrepaymentRequest.Mode.REDUCE_PAYMENT)));
+        assertTrue(response.getScenarios().get(0).isPayoff());
+
+        ValidationException erro = assertThrows(ValidationException.class,
+                () -> prepaymentService.simulate(pedido(cenario(1, null, null), cenario(60, null, null))));
+        assertEquals("scenarios[1].month", erro.getField());
+    }
+
+    private static double saldoPelaTabela(double valor, double parcela, int meses) {
+        double saldo = valor;
+        for (int mes = 0; mes < meses; mes++) {
+            saldo = saldo * (1 + TAXA_MENSAL) - parcela;
+        }
+        return saldo;
+    }
+
+    private static PrepaymentRequest pedido(PrepaymentRequest.Scenario... cenarios) {
+        return PrepaymentRequest.builder()
+                .simulation(SimulationRequest.builder()
+                        .loanAmount(new BigDecimal("100000.00"))
+                        .birthDate(LocalDate.now().minusYears(35))
+                        .loanTermMonths(60)
+                        .build())
+                .scenarios(List.of(cenarios))
+                .build();
+    }
+
+    private static PrepaymentRequest.Scenario cenario(int mes, BigDecimal valor, PrepaymentRequest.Mode modo) {
+        return PrepaymentRequest.Scenario.builder()
+                .month(mes)
+                .amount(valor)
+                .mode(modo)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.ScenarioSimulationRequest;
+import com.spring.credit_simulator.dto.ScenarioSimulationResponse;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.AgeTier;
+import com.spring.credit_simulator.util.IndexCurve;
+import com.spring.credit_simulator.util.LoanCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reprodutibilidade, orçamento de tempo e coerência das distribuições do Monte Carlo pós-fixado.
+ */
+class ScenarioSimulationServiceTest {
+
+    private static final IndexCurve CURVA = new IndexCurve("TESTE", 1,
+            new double[]{0.0100, 0.0098, 0.0095, 0.0092, 0.0090, 0.0088, 0.0085}, 360);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationProperties properties = new SimulationProperties();
+    private final List<ExecutorService> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    @DisplayName("Mesma semente deve gerar o mesmo resultado com qualquer número de threads")
+    void mesmaSementeDeveGerarMesmoResultado() {
+        properties.getScenarios().setBlockSize(100);
+        ScenarioSimulationRequest request = cenarios(2_000, 42L, 30.0);
+
+        ScenarioSimulationResponse umaThread = servico(1).simulate(request, CURVA);
+        ScenarioSimulationResponse quatroThreads = servico(4).simulate(request, CURVA);
+
+        assertEquals(2_000, umaThread.getCompletedPaths());
+        assertFalse(umaThread.isBudgetExhausted());
+        assertEquals(umaThread.getTotalPaid(), quatroThreads.getTotalPaid());
+        assertEquals(umaThread.getMaxInstallment(), quatroThreads.getMaxInstallment());
+
+        ScenarioSimulationResponse outraSemente = servico(4).simulate(cenarios(2_000, 43L, 30.0), CURVA);
+        assertNotEquals(umaThread.getTotalPaid(), outraSemente.getTotalPaid());
+    }
+
+    @Test
+    @DisplayName("Sem volatilidade e com índice constante todas as trajetórias devem igualar o Price")
+    void semVolatilidadeDeveIgualarPrice() {
+        IndexCurve constante = new IndexCurve("CONSTANTE", 1, new double[]{0.0}, 360);
+
+        ScenarioSimulationResponse response = servico(2).simulate(cenarios(500, 7L, 0.0), constante);
+
+        BigDecimal parcela = LoanCalculator.calculateMonthlyPayment(
+                new BigDecimal("100000.00"), AgeTier.ADULT.getAnnualInterestRate(), 120);
+        assertEquals(parcela, response.getProjectedMonthlyPayment());
+        assertEquals(response.getTotalPaid().getMin(), response.getTotalPaid().getMax());
+        assertEquals(parcela.doubleValue(), response.getMaxInstallment().getMax().doubleValue(), 0.01);
+        assertEquals(parcela.doubleValue() * 120, response.getTotalPaid().getAverage().doubleValue(), 1.0);
+    }
+
+    @Test
+    @DisplayName("Volatilidade maior deve abrir a distribuição da maior parcela")
+    void volatilidadeMaiorDeveAbrirDistribuicao() {
+        ScenarioSimulationResponse baixa = servico(4).simulate(cenarios(4_000, 1L, 10.0), CURVA);
+        ScenarioSimulationResponse alta = servico(4).simulate(cenarios(4_000, 1L, 60.0), CURVA);
+
+        BigDecimal faixaBaixa = baixa.getMaxInstallment().getP99().subtract(baixa.getMaxInstallment().getP50());
+        BigDecimal faixaAlta = alta.getMaxInstallment().getP99().subtract(alta.getMaxInstallment().getP50());
+        assertTrue(faixaAlta.compareTo(faixaBaixa) > 0, faixaBaixa + " vs " + faixaAlta);
+    }
+
+    @Test
+    @DisplayName("Orçamento de tempo esgotado deve retornar só as trajetórias concluídas")
+    void orcamentoEsgotadoDeveRetornarParcial() {
+        properties.getScenarios().setTimeBudgetMs(20);
+        properties.getScenarios().setMaxPaths(1_000_000);
+        properties.getScenarios().setBlockSize(256);
+
+        ScenarioSimulationResponse response = servico(2).simulate(cenarios(1_000_000, 5L, 25.0), CURVA);
+
+        assertTrue(response.isBudgetExhausted());
+        assertTrue(response.getCompletedPaths() < 1_000_000);
+        assertTrue(response.getElapsedMs() < 2_000, "Levou " + response.getElapsedMs() + " ms");
+        assertEquals(1.0, registry.get("simulation.scenarios.budget.exhausted").counter().count());
+        assertEquals(response.getCompletedPaths(), (long) registry.get("simulation.scenarios.paths").counter().count());
+    }
+
+    @Test
+    @DisplayName("Trajetórias acima do máximo configurado devem ser recusadas")
+    void trajetoriasAcimaDoMaximoDevemSerRecusadas() {
+        properties.getScenarios().setMaxPaths(1_000);
+
+        ValidationException erro = assertThrows(ValidationException.class,
+                () -> servico(1).simulate(cenarios(1_001, 1L, 25.0), CURVA));
+        assertEquals("paths", erro.getField());
+    }
+
+    private ScenarioSimulationService servico(int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        pools.add(pool);
+        SimulationMetrics metrics = new SimulationMetrics(registry);
+        SimulationService simulationService = SimulationServiceFixture.with(pool, properties, metrics).build();
+        return new ScenarioSimulationService(pool, simulationService, properties, metrics);
+    }
+
+    private static ScenarioSimulationRequest cenarios(int trajetorias, long semente, double volatilidade) {
+        return ScenarioSimulationRequest.builder()
+                .simulation(SimulationRequest.builder()
+                        .loanAmount(new BigDecimal("100000.00"))
+                        .birthDate(LocalDate.now().minusYears(35))
+                        .loanTermMonths(120)
+                        .build())
+                .paths(trajetorias)
+                .seed(semente)
+                .volatility(volatilidade)
+                .build();
+    }
+}
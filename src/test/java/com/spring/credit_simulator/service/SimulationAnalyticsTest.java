@@ -0,0 +1,219 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.AnalyticsResponse;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.AgeTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Consultas do armazém colunar conferidas contra a mesma agregação feita linha a linha.
+ */
+class SimulationAnalyticsTest {
+
+    private static final long AGORA = Instant.parse("2026-03-10T15:30:00Z").toEpochMilli();
+    private static final long MINUTO = TimeUnit.MINUTES.toMillis(1);
+    private static final int[] PRAZOS = {6, 12, 24, 36, 48, 60, 120, 360};
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final SimulationProperties properties = new SimulationProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.getAnalytics().setEnabled(true);
+        properties.getAnalytics().setWindowMinutes(60);
+        properties.getAnalytics().setRetainedWindows(3);
+        properties.getAnalytics().setPartitionCapacity(1_000);
+        properties.getAnalytics().setScanBlockSize(64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Agregados por faixa, prazo e hora devem igualar a agregação linha a linha")
+    void agregadosDevemIgualarAgregacaoLinhaALinha() {
+        SimulationAnalytics analytics = criar();
+        List<Linha> linhas = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 1_500; i++) {
+            // Últimos 150 minutos: três janelas de uma hora
+            long instante = AGORA - random.nextInt(149) * MINUTO - random.nextInt(60_000);
+            SimulationResponse response = resposta(18 + random.nextInt(70),
+                    PRAZOS[random.nextInt(PRAZOS.length)], 1_000 + random.nextInt(500_000));
+            analytics.add(response, instante);
+            linhas.add(new Linha(instante, response));
+        }
+
+        AnalyticsResponse porFaixa = analytics.query("age_tier", null, null, null, null, AGORA);
+        assertEquals(1_500, porFaixa.getScannedRows());
+        assertEquals(1_500, porFaixa.getMatchedRows());
+        conferir(porFaixa, linhas, linha -> true, linha -> AgeTier.of(linha.response.getClientAge()).name());
+
+        AnalyticsResponse porPrazo = analytics.query("TERM", "ADULT", 24, 120, null, AGORA);
+        conferir(porPrazo, linhas,
+                linha -> AgeTier.of(linha.response.getClientAge()) == AgeTier.ADULT
+                        && linha.response.getLoanTermMonths() >= 24 && linha.response.getLoanTermMonths() <= 120,
+                linha -> Integer.toString(linha.response.getLoanTermMonths()));
+
+        AnalyticsResponse porHora = analytics.query("HOUR", null, null, null, 90, AGORA);
+        assertEquals(Instant.ofEpochMilli(AGORA - 90 * MINUTO), porHora.getFrom());
+        conferir(porHora, linhas, linha -> linha.instante >= AGORA - 90 * MINUTO,
+                linha -> Instant.ofEpochMilli(linha.instante - linha.instante % TimeUnit.HOURS.toMillis(1)).toString());
+        assertEquals(List.of("2026-03-10T14:00:00Z", "2026-03-10T15:00:00Z"),
+                porHora.getGroups().stream().map(AnalyticsResponse.Group::getKey).toList());
+    }
+
+    @Test
+    @DisplayName("Partição cheia e janela sobrescrita devem descartar e a retenção deve limitar a consulta")
+    void particaoCheiaEJanelaSobrescritaDevemDescartar() {
+        properties.getAnalytics().setPartitionCapacity(10);
+        SimulationAnalytics analytics = criar();
+
+        for (int i = 0; i < 12; i++) {
+            analytics.add(resposta(30, 24, 10_000), AGORA);
+        }
+        // Mesma posição do anel que a janela corrente, três horas antes
+        analytics.add(resposta(30, 24, 10_000), AGORA - TimeUnit.HOURS.toMillis(3));
+        // Fora da retenção, em posição livre do anel: entra, mas a consulta não alcança
+        analytics.add(resposta(30, 24, 10_000), AGORA - TimeUnit.HOURS.toMillis(4));
+
+        AnalyticsResponse response = analytics.query("AGE_TIER", null, null, null, 24 * 60, AGORA);
+
+        assertEquals(10, response.getMatchedRows());
+        assertEquals(Instant.parse("2026-03-10T13:00:00Z"), response.getFrom());
+        assertEquals(2.0, registry.get("simulation.analytics.dropped").tag("reason", "full").counter().count());
+        assertEquals(1.0, registry.get("simulation.analytics.dropped").tag("reason", "expired").counter().count());
+
+        AnalyticsResponse.Group adultos = response.getGroups().get(0);
+        assertEquals("ADULT", adultos.getKey());
+        assertEquals(new BigDecimal("100.00"), adultos.getShare());
+        assertEquals(new BigDecimal("100000.00"), adultos.getTotalLoanAmount());
+        assertEquals(new BigDecimal("10000.00"), adultos.getAverageLoanAmount());
+    }
+
+    @Test
+    @DisplayName("Inclusões concorrentes devem preencher a partição sem perder nem duplicar linhas")
+    void inclusoesConcorrentesDevemPreencherAParticao() throws Exception {
+        properties.getAnalytics().setPartitionCapacity(0);
+        properties.getAnalytics().setWindowMinutes(1);
+        properties.getAnalytics().setExpectedRowsPerSecond(100);
+        SimulationAnalytics analytics = criar();
+        int capacidade = 100 * 60;
+        int threads = 8;
+        int porThread = 1_000;
+
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> inclusoes = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            inclusoes.add(executorService.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porThread; i++) {
+                    analytics.add(resposta(30, 24, 10_000), AGORA);
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> inclusao : inclusoes) {
+            inclusao.get(10, TimeUnit.SECONDS);
+        }
+
+        AnalyticsResponse response = analytics.query("AGE_TIER", null, null, null, null, AGORA);
+        assertEquals(capacidade, response.getScannedRows());
+        assertEquals(capacidade, response.getMatchedRows());
+        assertEquals(BigDecimal.valueOf(capacidade * 10_000L).setScale(2), response.getGroups().get(0).getTotalLoanAmount());
+        assertEquals(threads * porThread - capacidade,
+                registry.get("simulation.analytics.dropped").tag("reason", "full").counter().count());
+    }
+
+    @Test
+    @DisplayName("Agrupamento ou faixa desconhecidos devem ser recusados")
+    void agrupamentoDesconhecidoDeveSerRecusado() {
+        SimulationAnalytics analytics = criar();
+
+        assertEquals("groupBy", assertThrows(ValidationException.class,
+                () -> analytics.query("MONTH", null, null, null, null, AGORA)).getField());
+        assertEquals("ageTier", assertThrows(ValidationException.class,
+                () -> analytics.query("TERM", "KIDS", null, null, null, AGORA)).getField());
+    }
+
+    private SimulationAnalytics criar() {
+        return new SimulationAnalytics(executorService, properties, new SimulationMetrics(registry));
+    }
+
+    private static void conferir(AnalyticsResponse response, List<Linha> linhas, Predicate<Linha> filtro,
+                                 Function<Linha, String> chave) {
+        Map<String, long[]> esperado = new TreeMap<>();
+        for (Linha linha : linhas) {
+            if (filtro.test(linha)) {
+                long[] somas = esperado.computeIfAbsent(chave.apply(linha), key -> new long[3]);
+                somas[0]++;
+                somas[1] += linha.response.getLoanAmount().movePointRight(2).longValueExact();
+                somas[2] += linha.response.getTotalInterest().movePointRight(2).longValueExact();
+            }
+        }
+
+        assertEquals(esperado.size(), response.getGroups().size());
+        assertEquals(esperado.values().stream().mapToLong(somas -> somas[0]).sum(), response.getMatchedRows());
+        for (AnalyticsResponse.Group grupo : response.getGroups()) {
+            long[] somas = esperado.get(grupo.getKey());
+            assertNotNull(somas, grupo.getKey());
+            assertEquals(somas[0], grupo.getCount(), grupo.getKey());
+            assertEquals(BigDecimal.valueOf(somas[1], 2), grupo.getTotalLoanAmount(), grupo.getKey());
+            assertEquals(BigDecimal.valueOf(somas[2], 2), grupo.getTotalInterest(), grupo.getKey());
+        }
+    }
+
+    private static SimulationResponse resposta(int idade, int prazo, long valor) {
+        BigDecimal loanAmount = BigDecimal.valueOf(valor * 100, 2);
+        BigDecimal monthlyPayment = loanAmount.multiply(new BigDecimal("1.1"))
+                .divide(BigDecimal.valueOf(prazo), 2, RoundingMode.HALF_UP);
+        BigDecimal totalAmount = monthlyPayment.multiply(BigDecimal.valueOf(prazo));
+        return SimulationResponse.builder()
+                .loanAmount(loanAmount)
+                .clientAge(idade)
+                .loanTermMonths(prazo)
+                .monthlyPayment(monthlyPayment)
+                .totalAmount(totalAmount)
+                .totalInterest(totalAmount.subtract(loanAmount))
+                .build();
+    }
+
+    private static final class Linha {
+
+        private final long instante;
+        private final SimulationResponse response;
+
+        private Linha(long instante, SimulationResponse response) {
+            this.instante = instante;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.spring.credit_simulator.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.read.ListAppender;
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Volume e custo do log no caminho quente: uma linha agregada por batch e amostragem dos itens.
+ */
+class SimulationLoggingTest {
+
+    private static final int TOTAL_SIMULACOES = 10_000;
+
+    @TempDir
+    Path diretorio;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private final SimulationProperties properties = new SimulationProperties();
+    private final SimulationMetrics metrics = new SimulationMetrics(new SimpleMeterRegistry());
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SimulationService.class);
+    private Level nivelOriginal;
+    private Appender<ILoggingEvent> appenderDoTeste;
+
+    @BeforeEach
+    void setUp() {
+        nivelOriginal = logger.getLevel();
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appenderDoTeste != null) {
+            logger.detachAppender(appenderDoTeste);
+            appenderDoTeste.stop();
+        }
+        logger.setLevel(nivelOriginal);
+        logger.setAdditive(true);
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Batch deve gerar uma única linha de resumo em INFO, sem linhas por item")
+    void batchDeveGerarUmaLinhaDeResumo() {
+        properties.getLogging().setSampleRate(0);
+        ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+        anexar(eventos, Level.INFO);
+
+        criarServico().processBatch(criarBatch(50));
+
+        List<String> mensagens = eventos.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .collect(Collectors.toList());
+        assertEquals(1, mensagens.stream().filter(m -> m.contains("concluído")).count(), mensagens.toString());
+        assertTrue(mensagens.stream().anyMatch(m -> m.contains("50 simulações (0 rejeitadas)")));
+        assertTrue(mensagens.stream().noneMatch(m -> m.startsWith("Simulação")));
+    }
+
+    @Test
+    @DisplayName("Amostragem deve registrar em INFO apenas uma fração das simulações")
+    void amostragemDeveRegistrarFracaoDasSimulacoes() {
+        properties.getLogging().setSampleRate(100);
+        ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+        anexar(eventos, Level.INFO);
+
+        SimulationService servico = criarServico();
+        criarBatch(TOTAL_SIMULACOES).getSimulations().forEach(servico::simulate);
+
+        long amostradas = eventos.list.stream()
+                .filter(evento -> evento.getFormattedMessage().startsWith("Simulação amostrada"))
+                .count();
+        assertTrue(amostradas > 0 && amostradas < TOTAL_SIMULACOES / 20, "Amostradas: " + amostradas);
+    }
+
+    /**
+     * Antes: linhas por item gravadas sincronamente (equivalente ao INFO por simulação anterior).
+     * Depois: INFO com amostragem e appender assíncrono com buffer limitado. Comparação de vazão,
+     * sensível à carga da máquina: só roda no perfil performance.
+     */
+    @Test
+    @Tag("performance")
+    @DisplayName("Benchmark: log síncrono por item vs amostrado assíncrono")
+    void benchmarkLogPorItemVsAmostradoAssincrono() {
+        List<SimulationRequest> simulacoes = criarBatch(TOTAL_SIMULACOES).getSimulations();
+        SimulationService servico = criarServico();
+
+        FileAppender<ILoggingEvent> sincrono = criarArquivo("sincrono.log");
+        anexar(sincrono, Level.DEBUG);
+        medir(servico, simulacoes);
+        double vazaoAntes = medir(servico, simulacoes);
+        logger.detachAppender(sincrono);
+        sincrono.stop();
+
+        AsyncAppender assincrono = new AsyncAppender();
+        assincrono.setContext(contexto());
+        assincrono.setQueueSize(properties.getLogging().getAsyncQueueSize());
+        assincrono.setNeverBlock(true);
+        assincrono.addAppender(criarArquivo("assincrono.log"));
+        assincrono.start();
+        anexar(assincrono, Level.INFO);
+        medir(servico, simulacoes);
+        double vazaoDepois = medir(servico, simulacoes);
+
+        System.out.printf("Vazão de simulate(): log síncrono por item %.0f/s, amostrado assíncrono %.0f/s%n",
+                vazaoAntes, vazaoDepois);
+
+        assertTrue(vazaoDepois > vazaoAntes,
+                String.format("Log amostrado deveria ser mais rápido: %.0f vs %.0f", vazaoDepois, vazaoAntes));
+    }
+
+    private static double medir(SimulationService servico, List<SimulationRequest> simulacoes) {
+        long inicio = System.nanoTime();
+        simulacoes.forEach(servico::simulate);
+        return simulacoes.size() / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+    }
+
+    private void anexar(Appender<ILoggingEvent> appender, Level nivel) {
+        if (!appender.isStarted()) {
+            appender.setContext(contexto());
+            appender.start();
+        }
+        logger.setLevel(nivel);
+        logger.addAppender(appender);
+        appenderDoTeste = appender;
+    }
+
+    private FileAppender<ILoggingEvent> criarArquivo(String nome) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto());
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSS} %5level [%thread] %logger{39} : %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> arquivo = new FileAppender<>();
+        arquivo.setContext(contexto());
+        arquivo.setFile(diretorio.resolve(nome).toString());
+        arquivo.setEncoder(encoder);
+        arquivo.start();
+        return arquivo;
+    }
+
+    private static LoggerContext contexto() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+
+    private SimulationService criarServico() {
+        return SimulationServiceFixture.with(executorService, properties, metrics).build();
+    }
+
+    private static BatchSimulationRequest criarBatch(int tamanho) {
+        return BatchSimulationRequest.builder()
+                .simulations(IntStream.range(0, tamanho)
+                        .mapToObj(i -> SimulationRequest.builder()
+                                .loanAmount(new BigDecimal("10000.00"))
+                                .birthDate(LocalDate.now().minusYears(20 + i % 50))
+                                .loanTermMonths(12 + i % 48)
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
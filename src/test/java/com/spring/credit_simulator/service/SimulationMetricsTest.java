@@ -0,0 +1,114 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.exception.ValidationException;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das métricas do pipeline contra o registry Prometheus real.
+ */
+class SimulationMetricsTest {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private final SimulationProperties properties = new SimulationProperties();
+    private final SimulationService simulationService = SimulationServiceFixture
+            .with(executorService, properties, metrics).build();
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve registrar tempos por item, tamanho de batch e decisão de despacho")
+    void deveRegistrarTemposTamanhoEDespacho() {
+        simulationService.processBatch(criarBatch(10));
+
+        assertEquals(10, registry.get("simulation.simulate").timer().count());
+        assertEquals(10, registry.get("simulation.calculator").timer().count());
+
+        simulationService.processBatch(criarBatch(150));
+
+        assertEquals(2, registry.get("simulation.batch.size").summary().count());
+        assertEquals(160.0, registry.get("simulation.batch.size").summary().totalAmount());
+        assertEquals(1.0, registry.get("simulation.batch.dispatch").tag("mode", "sync").counter().count());
+        assertEquals(1.0, registry.get("simulation.batch.dispatch").tag("mode", "async").counter().count());
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("simulation_simulate_seconds_bucket"));
+        assertTrue(scrape.contains("simulation_batch_size_simulations_bucket"));
+    }
+
+    @Test
+    @DisplayName("Deve contar recusas de regra de negócio por motivo")
+    void deveContarRecusasPorMotivo() {
+        SimulationRequest menor = criarSimulacao(17);
+
+        assertThrows(ValidationException.class, () -> simulationService.simulate(menor));
+        assertThrows(ValidationException.class, () -> simulationService.simulate(menor));
+
+        assertEquals(2.0, registry.get("simulation.validation.rejections")
+                .tag("reason", "birthDate.MinAge").counter().count());
+    }
+
+    /**
+     * O caminho por item usa medidores pré-registrados e durações primitivas: gravar não deve alocar.
+     */
+    @Test
+    @DisplayName("Gravar métricas por item não deve alocar memória")
+    void gravarMetricasPorItemNaoDeveAlocar() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iteracoes = 200_000;
+
+        for (int i = 0; i < iteracoes; i++) {
+            metrics.recordSimulation(1_000 + i % 50_000);
+            metrics.recordCalculator(500 + i % 20_000);
+        }
+
+        long thread = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iteracoes; i++) {
+            metrics.recordSimulation(1_000 + i % 50_000);
+            metrics.recordCalculator(500 + i % 20_000);
+        }
+        long alocados = threads.getThreadAllocatedBytes(thread) - antes;
+
+        System.out.printf("Alocação por gravação de métricas: %.3f bytes/item%n", (double) alocados / iteracoes);
+        assertTrue(alocados < iteracoes / 10, "Bytes alocados: " + alocados);
+    }
+
+    private static BatchSimulationRequest criarBatch(int tamanho) {
+        return BatchSimulationRequest.builder()
+                .simulations(IntStream.range(0, tamanho)
+                        .mapToObj(i -> criarSimulacao(20 + i % 50))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static SimulationRequest criarSimulacao(int idade) {
+        return SimulationRequest.builder()
+                .loanAmount(new BigDecimal("10000.00"))
+                .birthDate(LocalDate.now().minusYears(idade))
+                .loanTermMonths(12)
+                .build();
+    }
+}
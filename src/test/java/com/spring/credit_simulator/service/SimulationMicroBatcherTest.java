@@ -0,0 +1,224 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.StageTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Agrupamento, tamanho máximo do lote e isolamento de falhas do micro-batching.
+ */
+class SimulationMicroBatcherTest {
+
+    private static final int[] PRAZOS = {12, 24, 36, 48, 60, 72, 84, 96, 120, 180, 240, 360};
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private final SimulationProperties properties = new SimulationProperties();
+    private final SimulationService simulationService = SimulationServiceFixture
+            .with(executorService, properties, metrics).build();
+    private final SimulationMicroBatcher batcher =
+            new SimulationMicroBatcher(simulationService, executorService, properties, metrics);
+
+    @BeforeEach
+    void setUp() {
+        properties.getMicroBatch().setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Requisições concorrentes devem ser agrupadas com o mesmo resultado do cálculo isolado")
+    void deveAgruparComMesmoResultadoDoCalculoIsolado() {
+        List<SimulationRequest> requests = IntStream.range(0, 200)
+                .mapToObj(i -> criarSimulacao(20 + i % 60, PRAZOS[i % PRAZOS.length],
+                        new BigDecimal("10000.00").add(BigDecimal.valueOf(i * 137L, 2))))
+                .collect(Collectors.toList());
+
+        List<CompletableFuture<SimulationResponse>> futures = requests.stream()
+                .map(batcher::simulateAsync)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(simulationService.simulate(requests.get(i)), futures.get(i).join());
+        }
+
+        DistributionSummary tamanho = registry.get("simulation.microbatch.size").summary();
+        assertEquals(200.0, tamanho.totalAmount());
+        assertTrue(tamanho.count() < 200, "Passos: " + tamanho.count());
+        assertTrue(tamanho.max() <= properties.getMicroBatch().getMaxSize());
+    }
+
+    @Test
+    @DisplayName("Requisição isolada deve ser calculada na hora, sem esperar outras")
+    void requisicaoIsoladaDeveSerCalculadaNaHora() {
+        SimulationResponse response = batcher.simulate(criarSimulacao(35, 24, new BigDecimal("50000.00")));
+
+        assertEquals(35, response.getClientAge());
+        assertEquals(1, registry.get("simulation.microbatch.size").summary().count());
+        assertEquals(1.0, registry.get("simulation.microbatch.size").summary().max());
+    }
+
+    @Test
+    @DisplayName("Lote não deve passar do tamanho máximo")
+    void loteNaoDevePassarDoTamanhoMaximo() {
+        properties.getMicroBatch().setMaxSize(4);
+
+        List<CompletableFuture<SimulationResponse>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> batcher.simulateAsync(criarSimulacao(30, 12, new BigDecimal("5000.00"))))
+                .collect(Collectors.toList());
+        futures.forEach(CompletableFuture::join);
+
+        DistributionSummary tamanho = registry.get("simulation.microbatch.size").summary();
+        assertEquals(100.0, tamanho.totalAmount());
+        assertTrue(tamanho.max() <= 4, "Maior lote: " + tamanho.max());
+    }
+
+    @Test
+    @DisplayName("Recusa de um item deve falhar só o seu chamador")
+    void recusaDeveFalharSoOSeuChamador() {
+
+        CompletableFuture<SimulationResponse> valida = batcher.simulateAsync(
+                criarSimulacao(30, 12, new BigDecimal("5000.00")));
+        CompletableFuture<SimulationResponse> menor = batcher.simulateAsync(
+                criarSimulacao(17, 12, new BigDecimal("5000.00")));
+
+        assertEquals(30, valida.join().getClientAge());
+        CompletionException erro = assertThrows(CompletionException.class, menor::join);
+        assertInstanceOf(ValidationException.class, erro.getCause());
+
+        // Variante bloqueante: a exceção original, como no cálculo direto
+        assertThrows(ValidationException.class,
+                () -> batcher.simulate(criarSimulacao(17, 12, new BigDecimal("5000.00"))));
+    }
+
+    @Test
+    @DisplayName("Requisição combinadora deve manter a própria medição de Server-Timing")
+    void combinadoraDeveManterPropriaMedicao() {
+        StageTimings timings = new StageTimings();
+        StageTimings.bind(timings);
+        try {
+            batcher.simulate(criarSimulacao(35, 24, new BigDecimal("50000.00")));
+
+            assertSame(timings, StageTimings.current());
+            assertEquals(1, timings.getCount(StageTimings.Stage.CALCULATOR));
+        } finally {
+            StageTimings.unbind();
+        }
+    }
+
+    @Test
+    @DisplayName("Desligado, deve delegar direto ao serviço")
+    void desligadoDeveDelegarDiretoAoServico() {
+        properties.getMicroBatch().setEnabled(false);
+
+        SimulationRequest request = criarSimulacao(45, 60, new BigDecimal("20000.00"));
+
+        assertEquals(simulationService.simulate(request), batcher.simulate(request));
+        assertEquals(simulationService.simulate(request), batcher.simulateAsync(request).join());
+        assertEquals(0, registry.get("simulation.microbatch.size").summary().count());
+    }
+
+    /**
+     * Usuários concorrentes em malha fechada chamando o serviço direto e pelo micro-batching, em
+     * rodadas alternadas. O ganho vem dos fatores repetidos no lote e paga a troca de thread de quem
+     * aguarda: com prazos longos e concentrados compensa; com muitos prazos curtos, não.
+     */
+    @ParameterizedTest(name = "prazos {0}")
+    @DisplayName("Benchmark: vazão de simulações individuais concorrentes, direta vs micro-batching")
+    @ValueSource(strings = {"12,24,36,48,60,72,84,96,120,180,240,360", "360"})
+    void benchmarkDiretaVsMicroBatching(String mixDePrazos) throws Exception {
+        int usuarios = 32;
+        int[] prazos = Arrays.stream(mixDePrazos.split(",")).mapToInt(Integer::parseInt).toArray();
+        List<SimulationRequest> requests = IntStream.range(0, 4_096)
+                .mapToObj(i -> criarSimulacao(18 + i * 7 % 62, prazos[i * 5 % prazos.length],
+                        new BigDecimal("1000.00").add(BigDecimal.valueOf(i * 99_991L % 99_900_000L, 2))))
+                .collect(Collectors.toList());
+
+        medir(usuarios, requests, simulationService::simulate, 1_000);
+        medir(usuarios, requests, batcher::simulate, 1_000);
+
+        double direta = 0;
+        double agrupada = 0;
+        for (int rodada = 0; rodada < 4; rodada++) {
+            boolean agrupadaPrimeiro = rodada % 2 == 1;
+            for (boolean agrupado : new boolean[]{agrupadaPrimeiro, !agrupadaPrimeiro}) {
+                if (agrupado) {
+                    agrupada += medir(usuarios, requests, batcher::simulate, 1_000) / 4;
+                } else {
+                    direta += medir(usuarios, requests, simulationService::simulate, 1_000) / 4;
+                }
+            }
+        }
+
+        DistributionSummary tamanho = registry.get("simulation.microbatch.size").summary();
+        System.out.printf("Simulações individuais (%d usuários, prazos %s): direta %.0f/s, micro-batching %.0f/s " +
+                "(%.2fx), lote médio %.1f%n", usuarios, mixDePrazos, direta, agrupada, agrupada / direta, tamanho.mean());
+        assertTrue(tamanho.mean() > 1);
+    }
+
+    private static double medir(int usuarios, List<SimulationRequest> requests,
+                                Function<SimulationRequest, SimulationResponse> simular, long duracaoMs)
+            throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(usuarios);
+        long fim = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(duracaoMs);
+        long inicio = System.nanoTime();
+        try {
+            List<Future<Integer>> contagens = IntStream.range(0, usuarios)
+                    .mapToObj(usuario -> threads.submit(() -> {
+                        int feitas = 0;
+                        for (int i = usuario; System.nanoTime() < fim; i += usuarios) {
+                            simular.apply(requests.get(i % requests.size()));
+                            feitas++;
+                        }
+                        return feitas;
+                    }))
+                    .collect(Collectors.toList());
+
+            long total = 0;
+            for (Future<Integer> contagem : contagens) {
+                total += contagem.get();
+            }
+            return total / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static SimulationRequest criarSimulacao(int idade, int prazo, BigDecimal valor) {
+        return SimulationRequest.builder()
+                .loanAmount(valor)
+                .birthDate(LocalDate.now().minusYears(idade))
+                .loanTermMonths(prazo)
+                .build();
+    }
+}
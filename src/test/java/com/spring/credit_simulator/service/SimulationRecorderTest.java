@@ -0,0 +1,198 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import com.spring.credit_simulator.dto.SimulationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gravação write-behind no H2: lotes por tamanho e intervalo, descarte com buffer cheio, linhas
+ * inválidas isoladas e gravação do que restou no buffer ao desligar.
+ */
+class SimulationRecorderTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private SimulationProperties properties;
+    private SimulationRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimulationProperties();
+        properties.getRecording().setEnabled(true);
+        properties.getRecording().setUrl("jdbc:h2:file:" + diretorio.resolve("simulacoes") + ";DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Simulações individuais e do batch devem ser gravadas em lotes com o batch de origem")
+    void deveGravarSimulacoesEmLotes() throws Exception {
+        properties.getRecording().setFlushSize(100);
+        properties.getRecording().setFlushIntervalMs(50);
+        SimulationService servico = abrirServico();
+
+        SimulationResponse individual = servico.simulate(pedido(30));
+        BatchSimulationRequest batch = BatchSimulationRequest.builder()
+                .batchId("lote-gravacao")
+                .simulations(IntStream.range(0, 100).mapToObj(i -> pedido(20 + i % 50)).toList())
+                .build();
+        servico.processBatch(batch);
+
+        aguardarGravados(101);
+
+        assertEquals(100, contar("SELECT COUNT(*) FROM simulation_record WHERE batch_id = 'lote-gravacao'"));
+        try (Connection conexao = DriverManager.getConnection(properties.getRecording().getUrl());
+             Statement statement = conexao.createStatement();
+             ResultSet linha = statement.executeQuery(
+                     "SELECT * FROM simulation_record WHERE batch_id IS NULL")) {
+            assertTrue(linha.next());
+            assertEquals(0, individual.getMonthlyPayment().compareTo(linha.getBigDecimal("monthly_payment")));
+            assertEquals(0, individual.getCetAnnualRate().compareTo(linha.getBigDecimal("cet_annual_rate")));
+            assertEquals(individual.getLoanTermMonths(), linha.getInt("term_months"));
+            assertEquals(individual.getBirthDate(), linha.getDate("birth_date").toLocalDate());
+        }
+        assertTrue(registry.get("simulation.recording.flush.size").summary().count() >= 2);
+    }
+
+    @Test
+    @DisplayName("Buffer cheio deve descartar sem bloquear e o desligamento deve gravar o que restou")
+    void bufferCheioDeveDescartarEDesligamentoDeveGravar() throws Exception {
+        properties.getRecording().setBufferSize(10);
+        properties.getRecording().setFlushSize(1_000);
+        properties.getRecording().setFlushIntervalMs(60_000);
+        SimulationService servico = abrirServico();
+
+        for (int i = 0; i < 25; i++) {
+            servico.simulate(pedido(40));
+        }
+
+        assertEquals(15.0, registry.get("simulation.recording.dropped").tag("reason", "full").counter().count());
+        assertEquals(10.0, registry.get("simulation.recording.buffer").gauge().value());
+
+        recorder.close();
+        servico.simulate(pedido(40));
+
+        assertEquals(10, contar("SELECT COUNT(*) FROM simulation_record"));
+        assertEquals(10.0, registry.get("simulation.recording.recorded").counter().count());
+        assertEquals(1.0, registry.get("simulation.recording.dropped").tag("reason", "closed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Linha recusada pelo banco não deve descartar o restante do lote")
+    void linhaInvalidaNaoDeveDescartarOLote() throws Exception {
+        properties.getRecording().setFlushSize(1_000);
+        properties.getRecording().setFlushIntervalMs(60_000);
+        SimulationService servico = abrirServico();
+
+        SimulationResponse valida = servico.simulate(pedido(30));
+        // Valor acima de DECIMAL(12, 2): a linha é recusada pelo banco
+        SimulationResponse invalida = SimulationResponse.builder()
+                .loanAmount(new BigDecimal("99999999999999.00"))
+                .birthDate(valida.getBirthDate())
+                .clientAge(valida.getClientAge())
+                .loanTermMonths(valida.getLoanTermMonths())
+                .annualInterestRate(valida.getAnnualInterestRate())
+                .monthlyPayment(valida.getMonthlyPayment())
+                .totalAmount(valida.getTotalAmount())
+                .totalInterest(valida.getTotalInterest())
+                .build();
+        String idLongo = "x".repeat(SimulationRecorder.MAX_BATCH_ID_LENGTH * 2);
+        recorder.record(idLongo, valida);
+        recorder.record("lote", invalida);
+        recorder.record("lote", valida);
+
+        recorder.close();
+
+        assertEquals(3, contar("SELECT COUNT(*) FROM simulation_record"));
+        assertEquals(1, contar("SELECT COUNT(*) FROM simulation_record WHERE batch_id = '"
+                + idLongo.substring(0, SimulationRecorder.MAX_BATCH_ID_LENGTH) + "'"));
+        assertEquals(3.0, registry.get("simulation.recording.recorded").counter().count());
+        assertEquals(1.0, registry.get("simulation.recording.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Simulações antes da prontidão (aquecimento) não devem ser gravadas")
+    void antesDaProntidaoNaoDeveGravar() throws Exception {
+        recorder = new SimulationRecorder(properties, metrics);
+        recorder.open();
+        SimulationService servico = criarServico();
+
+        servico.simulate(pedido(50));
+        recorder.onApplicationReady();
+        servico.simulate(pedido(51));
+        recorder.close();
+
+        assertEquals(1, contar("SELECT COUNT(*) FROM simulation_record"));
+        assertTrue(registry.find("simulation.recording.dropped").counters().isEmpty());
+    }
+
+    private SimulationService abrirServico() {
+        recorder = new SimulationRecorder(properties, metrics);
+        recorder.open();
+        recorder.onApplicationReady();
+        return criarServico();
+    }
+
+    private SimulationService criarServico() {
+        return SimulationServiceFixture.with(executorService, properties, metrics)
+                .recorder(recorder)
+                .build();
+    }
+
+    private void aguardarGravados(long esperado) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (contar("SELECT COUNT(*) FROM simulation_record") < esperado && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(esperado, contar("SELECT COUNT(*) FROM simulation_record"));
+    }
+
+    private long contar(String sql) throws SQLException {
+        try (Connection conexao = DriverManager.getConnection(properties.getRecording().getUrl());
+             Statement statement = conexao.createStatement();
+             ResultSet resultado = statement.executeQuery(sql)) {
+            resultado.next();
+            return resultado.getLong(1);
+        }
+    }
+
+    private static SimulationRequest pedido(int idade) {
+        return SimulationRequest.builder()
+                .loanAmount(new BigDecimal("25000.00"))
+                .birthDate(LocalDate.now().minusYears(idade))
+                .loanTermMonths(48)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.spring.credit_simulator.service;
+
+import com.spring.credit_simulator.config.SimulationProperties;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Monta o SimulationService dos testes com as dependências padrão (agregação, journal, gravador e
+ * armazém analítico desligados, sem mensageria); cada teste troca só o que importa para ele.
+ * Uma dependência nova do serviço entra aqui, não em cada teste.
+ */
+public final class SimulationServiceFixture {
+
+    private final ExecutorService executorService;
+    private final SimulationProperties properties;
+    private final SimulationMetrics metrics;
+    private BatchAggregationService aggregationService;
+    private BatchJournal journal;
+    private SimulationRecorder recorder;
+    private MessageService messageService;
+
+    private SimulationServiceFixture(ExecutorService executorService, SimulationProperties properties,
+                                     SimulationMetrics metrics) {
+        this.executorService = executorService;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    public static SimulationServiceFixture with(ExecutorService executorService, SimulationProperties properties,
+                                                SimulationMetrics metrics) {
+        return new SimulationServiceFixture(executorService, properties, metrics);
+    }
+
+    public SimulationServiceFixture aggregation(BatchAggregationService aggregationService) {
+        this.aggregationService = aggregationService;
+        return this;
+    }
+
+    public SimulationServiceFixture journal(BatchJournal journal) {
+        this.journal = journal;
+        return this;
+    }
+
+    public SimulationServiceFixture recorder(SimulationRecorder recorder) {
+        this.recorder = recorder;
+        return this;
+    }
+
+    public SimulationServiceFixture messaging(MessageService messageService) {
+        this.messageService = messageService;
+        return this;
+    }
+
+    public SimulationService build() {
+        return new SimulationService(executorService,
+                aggregationService != null ? aggregationService : new BatchAggregationService(),
+                journal != null ? journal : new BatchJournal(properties),
+                recorder != null ? recorder : new SimulationRecorder(properties, metrics),
+                new SimulationAnalytics(executorService, properties, metrics),
+                properties, metrics, Optional.ofNullable(messageService));
+    }
+}
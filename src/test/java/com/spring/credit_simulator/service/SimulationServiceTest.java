@@ -1,7 +1,12 @@
 package com.spring.credit_simulator.service;
 
+import com.spring.credit_simulator.config.SimulationProperties;
 import com.spring.credit_simulator.dto.*;
+import com.spring.credit_simulator.exception.DeadlineExceededException;
 import com.spring.credit_simulator.exception.ValidationException;
+import com.spring.credit_simulator.util.PaymentFactors;
+import com.spring.credit_simulator.util.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,8 +18,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,7 +39,14 @@ class SimulationServiceTest {
     private MessageService messageService;
 
     private final ExecutorService executorService = Executors.newFixedThreadPool(10);
-    private final SimulationService simulationService = new SimulationService(executorService);
+    private final BatchAggregationService batchAggregationService = new BatchAggregationService();
+    private final SimulationProperties properties = new SimulationProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final SimulationService simulationService = SimulationServiceFixture
+            .with(executorService, properties, metrics)
+            .aggregation(batchAggregationService)
+            .build();
 
     private SimulationRequest validRequest;
     private LocalDate adultBirthDate;
@@ -243,4 +259,195 @@ class SimulationServiceTest {
 
         assertTrue(exception.getMessage().contains("Idade inválida"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch assíncrono: o resumo é montado só com agregados parciais dos blocos.
+     */
+    @Test
+    @DisplayName("Deve agregar estatísticas do batch assíncrono sem materializar respostas")
+    void deveAgregarEstatisticasDoBatchAssincrono() throws Exception {
+        List<SimulationRequest> simulations = IntStream.range(0, 1200)
+                .mapToObj(i -> SimulationRequest.builder()
+                        .loanAmount(new BigDecimal("10000.00"))
+                        .birthDate(i % 2 == 0 ? youngAdultBirthDate : seniorBirthDate)
+                        .loanTermMonths(12)
+                        .build())
+                .collect(Collectors.toList());
+
+        BatchSimulationRequest batchRequest = BatchSimulationRequest.builder()
+                .simulations(simulations)
+                .build();
+
+        Object result = simulationService.processBatch(batchRequest);
+        assertInstanceOf(BatchSimulationResponse.class, result);
+
+        BatchSummaryResponse summary = aguardarConclusao(batchRequest.getBatchId());
+
+        assertEquals(1200L, summary.getProcessedSimulations());
+        assertEquals(0L, summary.getRejectedSimulations());
+        assertEquals(new BigDecimal("12000000.00"), summary.getTotalLoanAmount());
+        assertEquals(0, summary.getTotalAmount()
+                .compareTo(summary.getTotalLoanAmount().add(summary.getTotalInterest())));
+
+        // 5% a.a. → 856.07; 4% a.a. → 851.50
+        assertEquals(new BigDecimal("851.50"), summary.getMonthlyPayment().getMin());
+        assertEquals(new BigDecimal("856.07"), summary.getMonthlyPayment().getMax());
+
+        assertEquals(600L, summary.getAgeTiers().get(0).getCount());
+        assertEquals(0L, summary.getAgeTiers().get(1).getCount());
+        assertEquals(600L, summary.getAgeTiers().get(3).getCount());
+    }
+
+    @Test
+    @DisplayName("Deve contabilizar recusas de negócio no resumo do batch")
+    void deveContabilizarRecusasNoResumo() {
+        List<SimulationRequest> chunk = Arrays.asList(
+                validRequest,
+                SimulationRequest.builder()
+                        .loanAmount(new BigDecimal("5000.00"))
+                        .birthDate(LocalDate.now().minusYears(17))
+                        .loanTermMonths(12)
+                        .build()
+        );
+
+        var partial = simulationService.simulateChunk("batch-teste", chunk);
+
+        assertEquals(1, partial.getCount());
+        assertEquals(1, partial.getRejectedCount());
+    }
+
+    /**
+     * IOF, tarifa e seguro saem do valor liberado: o valor presente das parcelas à taxa do CET
+     * deve igualar o valor líquido.
+     */
+    @Test
+    @DisplayName("Deve calcular CET com IOF, tarifa e seguro")
+    void deveCalcularCetComIofTarifaESeguro() {
+        properties.getCet().setFee(new BigDecimal("500.00"));
+        properties.getCet().setInsuranceRate(1.0);
+
+        SimulationResponse response = simulationService.simulate(validRequest);
+
+        assertEquals(new BigDecimal("1000.00"), response.getFeesAmount());
+        // IOF pela tabela de amortização: 0,0082% ao dia sobre cada amortização (até 365 dias) mais 0,38%
+        double taxa = response.getAnnualInterestRate().doubleValue() / 1200;
+        double saldo = 50000.0;
+        double iof = saldo * 0.0038;
+        for (int mes = 1; mes <= 24; mes++) {
+            double amortizacao = response.getMonthlyPayment().doubleValue() - saldo * taxa;
+            iof += amortizacao * 0.000082 * Math.min(30 * mes, 365);
+            saldo -= amortizacao;
+        }
+        assertEquals(iof, response.getIofAmount().doubleValue(), 1.0);
+
+        double liquido = response.getLoanAmount().subtract(response.getIofAmount())
+                .subtract(response.getFeesAmount()).doubleValue();
+        double mensal = Math.pow(1 + response.getCetAnnualRate().doubleValue() / 100, 1.0 / 12) - 1;
+        double valorPresente = 0;
+        for (int mes = 1; mes <= 24; mes++) {
+            valorPresente += response.getMonthlyPayment().doubleValue() / Math.pow(1 + mensal, mes);
+        }
+        // CET anual com 2 casas: diferença de arredondamento bem abaixo de R$ 10
+        assertEquals(liquido, valorPresente, 10.0);
+    }
+
+    @Test
+    @DisplayName("Passo em lote deve gerar o mesmo CET do cálculo individual")
+    void passoEmLoteDeveGerarMesmoCetDoCalculoIndividual() {
+        properties.getCet().setFee(new BigDecimal("150.00"));
+        PaymentFactors factors = new PaymentFactors();
+
+        for (int i = 0; i < 500; i++) {
+            SimulationRequest request = SimulationRequest.builder()
+                    .loanAmount(new BigDecimal("1000.00").add(BigDecimal.valueOf(i * 1_234_567L, 2)))
+                    .birthDate(LocalDate.now().minusYears(18 + i % 70))
+                    .loanTermMonths(new int[]{12, 24, 48, 120, 360}[i % 5])
+                    .build();
+
+            assertEquals(simulationService.simulate(request), simulationService.simulate(request, factors));
+        }
+    }
+
+    @Test
+    @DisplayName("CET desligado não deve preencher os campos de encargos")
+    void cetDesligadoNaoDevePreencherEncargos() {
+        properties.getCet().setEnabled(false);
+
+        SimulationResponse response = simulationService.simulate(validRequest);
+
+        assertNull(response.getIofAmount());
+        assertNull(response.getFeesAmount());
+        assertNull(response.getCetAnnualRate());
+        assertNotNull(response.getMonthlyPayment());
+    }
+
+    @Test
+    @DisplayName("Batch síncrono com prazo já esgotado não deve simular nada")
+    void batchComPrazoEsgotadoNaoDeveSimular() {
+        RequestDeadline.bind(new RequestDeadline(0, metrics::recordDeadlineExceeded));
+        try {
+            DeadlineExceededException ex = assertThrows(DeadlineExceededException.class,
+                    () -> simulationService.processBatch(batch(30)));
+            assertEquals(RequestDeadline.EXPIRED, ex.getReason());
+        } finally {
+            RequestDeadline.unbind();
+        }
+
+        assertEquals(0, registry.get("simulation.simulate").timer().count());
+        assertEquals(30.0, registry.get("simulation.deadline.abandoned").counter().count());
+        assertEquals(1.0, registry.get("simulation.deadline.exceeded").tag("reason", "expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("Prazo esgotado durante o batch síncrono deve descartar as tarefas ainda na fila")
+    void prazoEsgotadoDeveDescartarTarefasNaFila() throws Exception {
+        ExecutorService unicaThread = Executors.newSingleThreadExecutor();
+        SimulationService service = SimulationServiceFixture.with(unicaThread, properties, metrics)
+                .aggregation(batchAggregationService)
+                .build();
+        CountDownLatch liberar = new CountDownLatch(1);
+        unicaThread.execute(() -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        RequestDeadline.bind(new RequestDeadline(TimeUnit.MILLISECONDS.toNanos(100), metrics::recordDeadlineExceeded));
+        try {
+            assertThrows(DeadlineExceededException.class, () -> service.processBatch(batch(50)));
+        } finally {
+            RequestDeadline.unbind();
+            liberar.countDown();
+        }
+
+        unicaThread.shutdown();
+        assertTrue(unicaThread.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, registry.get("simulation.simulate").timer().count());
+        assertEquals(50.0, registry.get("simulation.deadline.abandoned").counter().count());
+    }
+
+    private static BatchSimulationRequest batch(int tamanho) {
+        return BatchSimulationRequest.builder()
+                .simulations(IntStream.range(0, tamanho)
+                        .mapToObj(i -> SimulationRequest.builder()
+                                .loanAmount(new BigDecimal("10000.00"))
+                                .birthDate(LocalDate.now().minusYears(30))
+                                .loanTermMonths(12 + i)
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private BatchSummaryResponse aguardarConclusao(String batchId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            BatchSummaryResponse summary = batchAggregationService.getSummary(batchId).orElseThrow();
+            if ("CONCLUIDO".equals(summary.getStatus())) {
+                return summary;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Batch " + batchId + " não concluiu a tempo");
+    }
+}
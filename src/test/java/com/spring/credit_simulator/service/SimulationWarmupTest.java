@@ -0,0 +1,80 @@
+package com.spring.credit_simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spring.credit_simulator.config.SimulationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aquecimento na subida: limite de iterações, orçamento de tempo e métricas.
+ */
+class SimulationWarmupTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationMetrics metrics = new SimulationMetrics(registry);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private final SimulationProperties properties = new SimulationProperties();
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final SimulationWarmup warmup = new SimulationWarmup(
+            SimulationServiceFixture.with(executorService, properties, metrics).build(),
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            validatorFactory.getValidator(), properties, metrics);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Deve executar todas as iterações pelo caminho real e registrar a duração")
+    void deveExecutarTodasAsIteracoes() {
+        properties.getWarmup().setIterations(1_000);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertEquals(1_000, registry.get("simulation.warmup.iterations").gauge().value());
+        assertEquals(1.0, registry.get("simulation.warmup.completed").gauge().value());
+        assertTrue(registry.get("simulation.warmup.duration").timeGauge().value() > 0);
+        assertEquals(1_000, registry.get("simulation.simulate").timer().count());
+        assertTrue(registry.find("simulation.validation.rejections").counters().isEmpty(),
+                "O mix sintético não deve gerar recusas");
+    }
+
+    @Test
+    @DisplayName("Deve parar ao esgotar o orçamento de tempo")
+    void devePararAoEsgotarOrcamento() {
+        properties.getWarmup().setIterations(Integer.MAX_VALUE);
+        properties.getWarmup().setBudgetMs(200);
+
+        long inicio = System.nanoTime();
+        warmup.run(new DefaultApplicationArguments());
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertEquals(0.0, registry.get("simulation.warmup.completed").gauge().value());
+        assertTrue(registry.get("simulation.warmup.iterations").gauge().value() > 0);
+        assertTrue(decorridoMs < 2_000, "Decorrido: " + decorridoMs + " ms");
+    }
+
+    @Test
+    @DisplayName("Desabilitado, não deve executar simulações")
+    void desabilitadoNaoDeveExecutar() {
+        properties.getWarmup().setEnabled(false);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertEquals(0, registry.get("simulation.simulate").timer().count());
+        assertEquals(0.0, registry.get("simulation.warmup.iterations").gauge().value());
+    }
+}
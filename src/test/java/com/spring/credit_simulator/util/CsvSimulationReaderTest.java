@@ -0,0 +1,132 @@
+package com.spring.credit_simulator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvSimulationReaderTest {
+
+    @Test
+    @DisplayName("Deve ler BOM, cabeçalho, aspas, CRLF e linhas em branco com a mesma escala do texto")
+    void deveLerFormatosAceitos() throws IOException {
+        CsvSimulationReader reader = leitor("\uFEFFloanAmount,birthDate,loanTermMonths\r\n" +
+                "50000.00,1990-05-15,24\r\n" +
+                "\r\n" +
+                " \"1500\" , \"1985-02-28\" ,6\n" +
+                "1000000.5,2000-12-31,360", 64);
+
+        assertTrue(reader.next());
+        assertEquals(2, reader.getLineNumber());
+        assertEquals(new BigDecimal("50000.00"), reader.getLoanAmount());
+        assertEquals(2, reader.getLoanAmount().scale());
+        assertEquals(LocalDate.of(1990, 5, 15), reader.getBirthDate());
+        assertEquals(24, reader.getLoanTermMonths());
+        assertNull(reader.getError());
+
+        assertTrue(reader.next());
+        assertEquals(4, reader.getLineNumber());
+        assertEquals(new BigDecimal("1500"), reader.getLoanAmount());
+        assertEquals(LocalDate.of(1985, 2, 28), reader.getBirthDate());
+        assertEquals(6, reader.getLoanTermMonths());
+
+        assertTrue(reader.next());
+        assertEquals(5, reader.getLineNumber());
+        assertEquals(new BigDecimal("1000000.5"), reader.getLoanAmount());
+        assertEquals(360, reader.getLoanTermMonths());
+
+        assertFalse(reader.next());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    @DisplayName("Linhas malformadas devem vir com erro sem interromper a leitura")
+    void linhasMalformadasDevemVirComErro() throws IOException {
+        CsvSimulationReader reader = leitor("50.000,00,1990-05-15,24\n" +
+                "abc,1990-02-30,2x\n" +
+                ",,\n" +
+                "50000.00,1990-05-15,24\n", 64);
+
+        assertTrue(reader.next());
+        assertEquals(CsvSimulationReader.COLUMNS_MESSAGE, reader.getError());
+
+        assertTrue(reader.next());
+        assertEquals(CsvSimulationReader.AMOUNT_FORMAT_MESSAGE + "; " + CsvSimulationReader.DATE_FORMAT_MESSAGE
+                + "; " + CsvSimulationReader.TERM_FORMAT_MESSAGE, reader.getError());
+        assertNull(reader.getLoanAmount());
+
+        // Campos vazios ficam para a validação de obrigatoriedade
+        assertTrue(reader.next());
+        assertNull(reader.getError());
+        assertNull(reader.getLoanAmount());
+        assertNull(reader.getBirthDate());
+        assertNull(reader.getLoanTermMonths());
+
+        assertTrue(reader.next());
+        assertNull(reader.getError());
+        assertEquals(4, reader.getLineNumber());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    @DisplayName("Linhas que cruzam o buffer devem ser lidas e a maior que ele recusada")
+    void linhasQueCruzamOBufferDevemSerLidas() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            csv.append(1_000 + i).append(".25,1980-01-").append(String.format("%02d", 1 + i % 28)).append(',')
+                    .append(6 + i % 355).append('\n');
+            if (i == 500) {
+                csv.append("9".repeat(100)).append(",1980-01-01,12\n");
+            }
+        }
+
+        // Leituras de poucos bytes por vez, como chegam pela rede
+        CsvSimulationReader reader = new CsvSimulationReader(new GotejandoInputStream(csv.toString()), 32);
+        int linhas = 0;
+        int recusadas = 0;
+        while (reader.next()) {
+            if (reader.getError() != null) {
+                assertEquals(502, reader.getLineNumber());
+                assertTrue(reader.getError().contains("32 bytes"));
+                recusadas++;
+                continue;
+            }
+            assertEquals(BigDecimal.valueOf(100_000L + linhas * 100L + 25, 2), reader.getLoanAmount());
+            assertEquals(6 + linhas % 355, reader.getLoanTermMonths());
+            linhas++;
+        }
+
+        assertEquals(1_000, linhas);
+        assertEquals(1, recusadas);
+    }
+
+    private static CsvSimulationReader leitor(String csv, int bufferSize) {
+        return new CsvSimulationReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), bufferSize);
+    }
+
+    private static final class GotejandoInputStream extends InputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        private GotejandoInputStream(String content) {
+            this.delegate = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return delegate.read(b, off, Math.min(len, 7));
+        }
+    }
+}
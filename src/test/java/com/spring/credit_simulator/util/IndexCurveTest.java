@@ -0,0 +1,82 @@
+package com.spring.credit_simulator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fatores acumulados da curva pós-fixada: equivalência com o Price a índice zero e saldo em forma fechada.
+ */
+class IndexCurveTest {
+
+    private static final double[] CURVA_CRESCENTE = {0.008, 0.0085, 0.009, 0.0095, 0.01};
+
+    @ParameterizedTest
+    @DisplayName("Índice zero deve reproduzir a parcela do Price com a taxa da faixa")
+    @CsvSource({
+            "10000.00, 12, YOUNG",
+            "50000.00, 24, ADULT",
+            "100000.00, 36, MIDDLE_AGE",
+            "1000000.00, 360, SENIOR"
+    })
+    void indiceZeroDeveReproduzirPrice(String valor, int prazo, AgeTier faixa) {
+        IndexCurve curva = new IndexCurve("ZERO", 1, new double[]{0.0}, 360);
+
+        assertEquals(LoanCalculator.calculateMonthlyPayment(new BigDecimal(valor), faixa.getAnnualInterestRate(), prazo),
+                curva.monthlyPayment(faixa, new BigDecimal(valor), prazo));
+    }
+
+    @Test
+    @DisplayName("Saldo em forma fechada deve igualar a evolução mês a mês")
+    void saldoEmFormaFechadaDeveIgualarEvolucaoMesAMes() {
+        IndexCurve curva = new IndexCurve("TESTE", 1, CURVA_CRESCENTE, 360);
+        double parcela = curva.monthlyPayment(AgeTier.ADULT, new BigDecimal("80000.00"), 120).doubleValue();
+
+        double saldo = 80000.0;
+        for (int mes = 1; mes <= 120; mes++) {
+            saldo = saldo * (1 + curva.monthlyRate(AgeTier.ADULT, mes)) - parcela;
+            assertEquals(saldo, curva.balanceAfter(AgeTier.ADULT, 80000.0, parcela, mes), 1e-6);
+        }
+
+        // Só o arredondamento da parcela sobra no fim
+        assertEquals(0.0, saldo, 120 * 0.005 * 4);
+    }
+
+    @Test
+    @DisplayName("Depois do último mês projetado a última taxa deve se repetir")
+    void ultimaTaxaDeveSeRepetir() {
+        IndexCurve curva = new IndexCurve("TESTE", 1, CURVA_CRESCENTE, 360);
+
+        assertEquals(5, curva.getCurveMonths());
+        assertEquals(0.008, curva.indexRate(1));
+        assertEquals(0.01, curva.indexRate(5));
+        assertEquals(0.01, curva.indexRate(360));
+        assertEquals((1.01) * (1 + 5.0 / 1200) - 1, curva.monthlyRate(AgeTier.YOUNG, 200), 1e-15);
+    }
+
+    @Test
+    @DisplayName("Curva maior deve gerar parcela maior para o mesmo spread")
+    void curvaMaiorDeveGerarParcelaMaior() {
+        IndexCurve baixa = new IndexCurve("BAIXA", 1, new double[]{0.005}, 360);
+        IndexCurve alta = new IndexCurve("ALTA", 2, new double[]{0.01}, 360);
+        BigDecimal valor = new BigDecimal("50000.00");
+
+        assertTrue(alta.monthlyPayment(AgeTier.ADULT, valor, 48)
+                .compareTo(baixa.monthlyPayment(AgeTier.ADULT, valor, 48)) > 0);
+    }
+
+    @Test
+    @DisplayName("Prazo além da curva deve ser recusado")
+    void prazoAlemDaCurvaDeveSerRecusado() {
+        IndexCurve curva = new IndexCurve("TESTE", 1, CURVA_CRESCENTE, 360);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> curva.monthlyPayment(AgeTier.ADULT, new BigDecimal("1000.00"), 361));
+        assertThrows(IllegalArgumentException.class, () -> new IndexCurve("VAZIA", 1, new double[0], 360));
+    }
+}
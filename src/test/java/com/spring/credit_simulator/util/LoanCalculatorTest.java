@@ -6,6 +6,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -127,6 +128,170 @@ class LoanCalculatorTest {
         assertTrue(totalJuros.compareTo(valorEmprestimo) < 0);
     }
 
+    /**
+     * Fator compartilhado por taxa e prazo: mesma parcela, valor e escala, da fórmula anterior
+     * ((PV × r) × (1 + r)^n) / ((1 + r)^n - 1) calculada item a item.
+     */
+    @ParameterizedTest
+    @DisplayName("Fator de parcela reaproveitado deve gerar a mesma parcela do cálculo isolado")
+    @CsvSource({"5.0, 360", "3.0, 12", "2.0, 120", "4.0, 1", "0, 24"})
+    void fatorReaproveitadoDeveGerarMesmaParcela(BigDecimal taxa, int prazo) {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(taxa, prazo);
+
+        for (int i = 0; i < 500; i++) {
+            BigDecimal valor = new BigDecimal("1000.00").add(BigDecimal.valueOf(i * 1_999_999L + 7, 2));
+
+            BigDecimal esperado = formulaPorItem(valor, taxa, prazo);
+
+            assertEquals(esperado, fator.monthlyPayment(valor));
+            assertEquals(esperado, LoanCalculator.calculateMonthlyPayment(valor, taxa, prazo));
+        }
+    }
+
+    /**
+     * Forma fechada do IOF contra a soma parcela a parcela da tabela Price.
+     */
+    @ParameterizedTest
+    @DisplayName("IOF em forma fechada deve coincidir com a soma pela tabela de amortização")
+    @CsvSource({"5.0, 6, 365", "3.0, 12, 365", "3.0, 13, 365", "2.0, 120, 365", "4.0, 360, 365",
+            "0, 24, 365", "5.0, 48, 100"})
+    void iofEmFormaFechadaDeveCoincidirComTabela(BigDecimal taxa, int prazo, int limiteDias) {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(taxa, prazo);
+        double r = fator.getMonthlyRate();
+
+        double saldo = 1;
+        double parcela = 1 / fator.annuity();
+        double diasPonderados = 0;
+        for (int mes = 1; mes <= prazo; mes++) {
+            double amortizacao = parcela - saldo * r;
+            diasPonderados += amortizacao * Math.min(30 * mes, limiteDias);
+            saldo -= amortizacao;
+        }
+        double esperado = 0.000082 * diasPonderados + 0.0038;
+
+        // (1 + r)^n do fator vem da potência com escala 10 por passo: resíduo da ordem de 1e-9
+        assertEquals(0, saldo, 1e-8);
+        assertEquals(esperado, LoanCalculator.iofRate(fator, 0.000082, 0.0038, limiteDias), 1e-9);
+    }
+
+    /**
+     * Newton-Raphson contra bisseção no fluxo de caixa explícito: valor liberado = Σ parcela / (1 + i)^j.
+     */
+    @ParameterizedTest
+    @DisplayName("CET por Newton-Raphson deve coincidir com a bisseção no fluxo de caixa")
+    @CsvSource({"5.0, 6", "5.0, 360", "3.0, 12", "2.0, 120", "4.0, 60", "0, 24", "0, 360"})
+    void cetDeveCoincidirComBissecao(BigDecimal taxa, int prazo) {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(taxa, prazo);
+
+        for (double liquido : new double[]{1, 0.9999, 0.99, 0.965, 0.9, 0.5}) {
+            int[] iteracoes = new int[1];
+            double cet = LoanCalculator.cetMonthlyRate(fator, liquido,
+                    fator.getMonthlyRate() > 0 ? fator.getMonthlyRate() : 2 * (1 - liquido) / (prazo + 1), iteracoes);
+
+            assertEquals(bissecao(1 / fator.annuity(), prazo, liquido), cet, 1e-12,
+                    String.format("taxa %s, prazo %d, líquido %.4f", taxa, prazo, liquido));
+            assertEquals(cet, LoanCalculator.cetMonthlyRate(fator, liquido));
+            assertTrue(iteracoes[0] <= 8, "Iterações: " + iteracoes[0]);
+            assertTrue(cet >= fator.getMonthlyRate() - 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("CET partindo da solução de um item vizinho deve convergir em até 3 passos")
+    void cetComPartidaVizinhaDeveConvergirRapido() {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(new BigDecimal("3.0"), 120);
+        double vizinho = LoanCalculator.cetMonthlyRate(fator, 0.96);
+
+        for (double liquido : new double[]{0.96 - 1e-6, 0.96 + 1e-6, 0.9595, 0.9605}) {
+            int[] iteracoes = new int[1];
+            double cet = LoanCalculator.cetMonthlyRate(fator, liquido, vizinho, iteracoes);
+
+            assertEquals(LoanCalculator.cetMonthlyRate(fator, liquido), cet, 1e-13);
+            assertTrue(iteracoes[0] <= 3, "Iterações: " + iteracoes[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Sem encargos, CET anual deve ser a taxa nominal capitalizada")
+    void semEncargosCetDeveSerTaxaNominalCapitalizada() {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(new BigDecimal("5.0"), 24);
+
+        // (1 + 0,05/12)^12 - 1 = 5,116%
+        assertEquals(new BigDecimal("5.12"), LoanCalculator.toAnnualPercent(LoanCalculator.cetMonthlyRate(fator, 1)));
+        assertEquals(new BigDecimal("0.00"), LoanCalculator.toAnnualPercent(0));
+    }
+
+    @Test
+    @DisplayName("Encargos iguais ou maiores que o empréstimo devem ser rejeitados")
+    void encargosMaioresQueEmprestimoDevemSerRejeitados() {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(new BigDecimal("5.0"), 24);
+
+        assertThrows(IllegalArgumentException.class, () -> LoanCalculator.cetMonthlyRate(fator, 0));
+        assertThrows(IllegalArgumentException.class, () -> LoanCalculator.cetMonthlyRate(fator, 1.01));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Saldo em forma fechada deve igualar a evolução mês a mês da tabela")
+    @CsvSource({
+            "50000.00, 3.0, 24",
+            "1000000.00, 4.0, 360",
+            "12000.00, 0, 12"
+    })
+    void saldoEmFormaFechadaDeveIgualarTabela(String valor, String taxa, int prazo) {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(new BigDecimal(taxa), prazo);
+        double parcela = fator.monthlyPayment(new BigDecimal(valor)).doubleValue();
+        double saldo = Double.parseDouble(valor);
+
+        for (int mes = 1; mes <= prazo; mes++) {
+            saldo = saldo * (1 + fator.getMonthlyRate()) - parcela;
+            assertEquals(saldo, LoanCalculator.balanceAfter(fator, Double.parseDouble(valor), parcela, mes), 1e-6);
+        }
+    }
+
+    @Test
+    @DisplayName("Prazo para quitar com a parcela deve inverter o cálculo da parcela")
+    void prazoParaQuitarDeveInverterParcela() {
+        LoanCalculator.PaymentFactor fator = LoanCalculator.paymentFactor(new BigDecimal("5.0"), 120);
+
+        double parcela = LoanCalculator.paymentFor(fator, 30000.0, 87);
+
+        assertEquals(87.0, LoanCalculator.monthsToRepay(fator, 30000.0, parcela), 1e-9);
+        assertEquals(0.0, LoanCalculator.balanceAfter(fator, 30000.0, parcela, 87), 1e-6);
+    }
+
+    private static double bissecao(double parcela, int prazo, double liquido) {
+        double baixo = -0.5;
+        double alto = 1;
+        for (int i = 0; i < 200; i++) {
+            double meio = (baixo + alto) / 2;
+            double valorPresente = 0;
+            for (int mes = 1; mes <= prazo; mes++) {
+                valorPresente += parcela / Math.pow(1 + meio, mes);
+            }
+            if (valorPresente > liquido) {
+                baixo = meio;
+            } else {
+                alto = meio;
+            }
+        }
+        return (baixo + alto) / 2;
+    }
+
+    private static BigDecimal formulaPorItem(BigDecimal valor, BigDecimal taxaAnual, int prazo) {
+        if (taxaAnual.signum() == 0) {
+            return valor.divide(BigDecimal.valueOf(prazo), 2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal taxaMensal = taxaAnual.divide(BigDecimal.valueOf(1200), 10, RoundingMode.HALF_UP);
+        BigDecimal potencia = BigDecimal.ONE;
+        for (int i = 0; i < prazo; i++) {
+            potencia = potencia.multiply(BigDecimal.ONE.add(taxaMensal)).setScale(10, RoundingMode.HALF_UP);
+        }
+
+        return valor.multiply(taxaMensal).multiply(potencia)
+                .divide(potencia.subtract(BigDecimal.ONE), 2, RoundingMode.HALF_UP);
+    }
+
     /**
      * Performance test: 10.000 cálculos em <1s para suportar batch processing.
      */
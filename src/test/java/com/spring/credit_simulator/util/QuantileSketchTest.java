@@ -0,0 +1,63 @@
+package com.spring.credit_simulator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do sketch de quantis: precisão relativa e combinação de parciais.
+ */
+class QuantileSketchTest {
+
+    @Test
+    @DisplayName("Deve estimar quantis com erro relativo de até 1%")
+    void deveEstimarQuantisComErroRelativoLimitado() {
+        Random random = new Random(42);
+        long[] valores = new long[20000];
+        QuantileSketch sketch = new QuantileSketch();
+
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = 300 + random.nextInt(10_000_000); // R$ 3,00 a R$ 100.003,00
+            sketch.add(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            long exato = valores[(int) Math.floor(q * (valores.length - 1))];
+            long estimado = sketch.quantile(q);
+            assertEquals(exato, estimado, exato * 0.01,
+                    String.format("Quantil %.2f fora da tolerância", q));
+        }
+    }
+
+    /**
+     * Parciais combinados devem responder exatamente como um sketch único.
+     */
+    @Test
+    @DisplayName("Deve combinar sketches parciais sem perda")
+    void deveCombinarSketchesParciais() {
+        QuantileSketch unico = new QuantileSketch();
+        QuantileSketch parcialA = new QuantileSketch();
+        QuantileSketch parcialB = new QuantileSketch();
+
+        for (long valor = 100; valor < 100_000; valor += 7) {
+            unico.add(valor);
+            (valor % 2 == 0 ? parcialA : parcialB).add(valor);
+        }
+        parcialA.merge(parcialB);
+
+        assertEquals(unico.getCount(), parcialA.getCount());
+        assertEquals(unico.quantile(0.5), parcialA.quantile(0.5));
+        assertEquals(unico.quantile(0.99), parcialA.quantile(0.99));
+    }
+
+    @Test
+    @DisplayName("Deve retornar zero para sketch vazio")
+    void deveRetornarZeroParaSketchVazio() {
+        assertEquals(0, new QuantileSketch().quantile(0.5));
+    }
+}
@@ -0,0 +1,74 @@
+package com.spring.credit_simulator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do prazo por requisição: cancelamento único e propagação para o pool.
+ */
+class RequestDeadlineTest {
+
+    @Test
+    @DisplayName("Cancelamento deve valer uma vez, com o primeiro motivo")
+    void cancelamentoDeveValerUmaVez() {
+        List<String> motivos = new ArrayList<>();
+        AtomicInteger acoes = new AtomicInteger();
+        RequestDeadline deadline = new RequestDeadline(TimeUnit.MINUTES.toNanos(1), motivos::add);
+        deadline.onCancel(acoes::incrementAndGet);
+
+        assertFalse(deadline.isExceeded());
+        deadline.cancel(RequestDeadline.DISCONNECTED);
+        deadline.cancel(RequestDeadline.EXPIRED);
+
+        assertTrue(deadline.isExceeded());
+        assertEquals(List.of(RequestDeadline.DISCONNECTED), motivos);
+        assertEquals(1, acoes.get());
+        assertEquals(RequestDeadline.DISCONNECTED, deadline.exceeded().getReason());
+
+        deadline.onCancel(acoes::incrementAndGet);
+        assertEquals(2, acoes.get());
+    }
+
+    @Test
+    @DisplayName("Prazo vencido deve cancelar na primeira verificação")
+    void prazoVencidoDeveCancelar() throws Exception {
+        List<String> motivos = new ArrayList<>();
+        RequestDeadline deadline = new RequestDeadline(TimeUnit.MILLISECONDS.toNanos(20), motivos::add);
+
+        Thread.sleep(40);
+
+        assertTrue(deadline.isExceeded());
+        assertTrue(deadline.isExceeded());
+        assertEquals(List.of(RequestDeadline.EXPIRED), motivos);
+    }
+
+    @Test
+    @DisplayName("Prazo deve chegar à tarefa executada no pool")
+    void prazoDeveChegarAoPool() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        RequestDeadline deadline = new RequestDeadline(TimeUnit.MINUTES.toNanos(1), motivo -> { });
+        try {
+            RequestDeadline.bind(deadline);
+            try {
+                assertSame(deadline, CompletableFuture.supplyAsync(
+                        RequestDeadline.propagate(RequestDeadline::current), executor).join());
+            } finally {
+                RequestDeadline.unbind();
+            }
+
+            assertNull(CompletableFuture.supplyAsync(RequestDeadline::current, executor).join());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.spring.credit_simulator.validation;
+
+import com.spring.credit_simulator.dto.BatchSimulationRequest;
+import com.spring.credit_simulator.dto.SimulationRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Equivalência do validador pré-compilado com a cascata @Valid do Hibernate Validator:
+ * mesmos caminhos e mensagens para itens válidos, inválidos e de borda.
+ */
+class SimulationRequestValidatorTest {
+
+    private static final String[] VALORES = {null, "999.99", "1000.00", "1000", "1000.001", "50000.5",
+            "1000000.00", "1000000.01", "123456789.00", "0.10", "-5", "1E+3", "1E+9", "2500.000", "75000.00"};
+    private static final Integer[] PRAZOS = {null, 0, 5, 6, 7, 180, 360, 361, -1};
+
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("Deve produzir as mesmas violações da cascata @Valid em itens aleatórios")
+    void deveProduzirMesmasViolacoesDaCascata() {
+        List<SimulationRequest> simulacoes = criarAleatorias(new Random(42), 5_000);
+
+        Set<String> esperado = validator.validate(new CascataValid(simulacoes)).stream()
+                .map(SimulationRequestValidatorTest::descrever)
+                .collect(Collectors.toSet());
+        Set<String> obtido = SimulationRequestValidator.validateAll(simulacoes).stream()
+                .map(violacao -> "simulations[" + violacao.getIndex() + "]." + violacao.getField()
+                        + "=" + violacao.getMessage())
+                .collect(Collectors.toSet());
+
+        assertFalse(esperado.isEmpty());
+        assertEquals(esperado, obtido);
+    }
+
+    @Test
+    @DisplayName("Deve expor as violações com o mesmo caminho quando usado via @ValidSimulations")
+    void deveExporViolacoesComMesmoCaminhoViaAnotacao() {
+        List<SimulationRequest> simulacoes = criarAleatorias(new Random(7), 500);
+
+        Set<String> esperado = validator.validate(new CascataValid(simulacoes)).stream()
+                .map(SimulationRequestValidatorTest::descrever)
+                .collect(Collectors.toSet());
+        Set<String> obtido = validator.validate(new BatchSimulationRequest(simulacoes)).stream()
+                .map(SimulationRequestValidatorTest::descrever)
+                .collect(Collectors.toSet());
+
+        assertEquals(esperado, obtido);
+    }
+
+    @Test
+    @DisplayName("Batch válido e itens nulos não devem gerar violações")
+    void batchValidoNaoDeveGerarViolacoes() {
+        List<SimulationRequest> simulacoes = new ArrayList<>(Arrays.asList(
+                criar("1000.00", LocalDate.now().minusDays(1), 6),
+                null,
+                criar("1000000.00", LocalDate.now().minusYears(40), 360)));
+
+        assertTrue(SimulationRequestValidator.validateAll(simulacoes).isEmpty());
+        assertTrue(validator.validate(new BatchSimulationRequest(simulacoes)).isEmpty());
+    }
+
+    /**
+     * Benchmark simples (aquecimento + medição) de 10.000 itens; o comparativo completo está no JMH
+     * (ValidationBenchmark, perfil benchmark).
+     */
+    @Test
+    @DisplayName("Benchmark: validador pré-compilado vs cascata @Valid em 10.000 itens")
+    void benchmarkValidadorVsCascata() {
+        List<SimulationRequest> simulacoes = criarAleatorias(new Random(1), 10_000);
+        CascataValid cascata = new CascataValid(simulacoes);
+
+        for (int i = 0; i < 10; i++) {
+            validator.validate(cascata);
+            SimulationRequestValidator.validateAll(simulacoes);
+        }
+
+        long inicio = System.nanoTime();
+        int violacoesCascata = validator.validate(cascata).size();
+        long cascataNs = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        int violacoesRapido = SimulationRequestValidator.validateAll(simulacoes).size();
+        long rapidoNs = System.nanoTime() - inicio;
+
+        System.out.printf("Validação de %d itens: cascata @Valid %.1f ns/item, pré-compilada %.1f ns/item%n",
+                simulacoes.size(), (double) cascataNs / simulacoes.size(), (double) rapidoNs / simulacoes.size());
+
+        assertEquals(violacoesCascata, violacoesRapido);
+    }
+
+    private static String descrever(ConstraintViolation<?> violacao) {
+        return violacao.getPropertyPath() + "=" + violacao.getMessage();
+    }
+
+    /**
+     * Mistura itens válidos (maioria) com valores, datas e prazos de borda.
+     */
+    private static List<SimulationRequest> criarAleatorias(Random random, int tamanho) {
+        LocalDate hoje = LocalDate.now();
+        return IntStream.range(0, tamanho)
+                .mapToObj(i -> {
+                    if (random.nextInt(4) != 0) {
+                        return criar("10000.00", hoje.minusYears(20 + random.nextInt(50)), 12 + random.nextInt(300));
+                    }
+                    LocalDate[] datas = {null, hoje, hoje.plusDays(1), hoje.minusDays(1), hoje.minusYears(30)};
+                    return criar(VALORES[random.nextInt(VALORES.length)],
+                            datas[random.nextInt(datas.length)],
+                            PRAZOS[random.nextInt(PRAZOS.length)]);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static SimulationRequest criar(String valor, LocalDate nascimento, Integer prazo) {
+        return SimulationRequest.builder()
+                .loanAmount(valor != null ? new BigDecimal(valor) : null)
+                .birthDate(nascimento)
+                .loanTermMonths(prazo)
+                .build();
+    }
+
+    /**
+     * Referência: a mesma lista com a validação em cascata anterior.
+     */
+    @Getter
+    @AllArgsConstructor
+    static class CascataValid {
+
+        @Valid
+        private List<SimulationRequest> simulations;
+    }
+}